@@ -0,0 +1,103 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Service;
+import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.service.CommunityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clearing a backlog of REQUESTED services: batch scheduler vs one
+ * service at a time.
+ *
+ * SCENARIOS:
+ * - autoSchedule: CommunityService.autoScheduleRequested(), one greedy
+ *   plan per provider (in parallel), all slots reserved, one saveAll()
+ * - oneByOne: scheduleAtNextAvailableSlot() for every request in
+ *   requestedAt order, the way the console schedules a service
+ *
+ * DATA:
+ * - backlog REQUESTED services of every type over PROVIDER_COUNT
+ *   providers, some urgent (BenchmarkData.backlogService)
+ * - Every provider already has a few weeks of back-to-back 4 hour
+ *   bookings, so both paths have to search past them
+ * - Every invocation starts from a fresh service (Level.Invocation
+ *   setup, excluded from the measurement)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BatchSchedulingBenchmark {
+
+    /**
+     * Bookings per provider made before the backlog is scheduled
+     */
+    private static final int EXISTING_BOOKINGS = 32;
+
+    @Param({"1000", "10000"})
+    public int backlog;
+
+    private CommunityService communityService;
+    private List<String> backlogIds;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        BenchmarkData.silenceConsole();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        InMemoryRepository<Service, String> repository = new InMemoryRepository<>();
+        communityService = new CommunityService(repository);
+        for (int i = 0; i < EXISTING_BOOKINGS * BenchmarkData.PROVIDER_COUNT; i++) {
+            String serviceId = repository.save(BenchmarkData.requestedService(i)).getServiceId();
+            communityService.scheduleService(serviceId, BenchmarkData.futureSlot(i));
+        }
+        backlogIds = new ArrayList<>(backlog);
+        for (int i = 0; i < backlog; i++) {
+            backlogIds.add(repository.save(BenchmarkData.backlogService(i)).getServiceId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreConsole();
+    }
+
+    @Benchmark
+    public CommunityService.BatchScheduleResult autoSchedule() {
+        return communityService.autoScheduleRequested();
+    }
+
+    @Benchmark
+    public int oneByOne() {
+        int scheduled = 0;
+        for (String serviceId : backlogIds) {
+            try {
+                communityService.scheduleAtNextAvailableSlot(serviceId, null);
+                scheduled++;
+            } catch (RuntimeException e) {
+                // No free slot in the horizon: left REQUESTED
+            }
+        }
+        return scheduled;
+    }
+}
@@ -0,0 +1,181 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.model.Service;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Random;
+
+/**
+ * Deterministic test data shared by the JMH benchmarks.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Utility class (final, private constructor, static methods)
+ * - Seeded Random for reproducible data sets
+ * - System.setOut/setErr redirection
+ *
+ * DATA SHAPE:
+ * - Resident i has email resident{i}@community.test and apartment APT-{i},
+ *   so any index below the data set size names an existing resident
+ * - Names combine FIRST_NAMES and LAST_NAMES; a last name matches
+ *   roughly 1 in LAST_NAMES.length residents
+ * - Every 10th resident is INACTIVE
+ * - Service i is requested by APT-{i} from one of PROVIDER_COUNT providers
+ *
+ * CONSOLE OUTPUT:
+ * - The services log every successful call to System.out; benchmarks
+ *   silence the console so they measure the services, not the terminal
+ */
+final class BenchmarkData {
+
+    static final String[] FIRST_NAMES = {
+            "Ana", "Bruno", "Carla", "Diego", "Elena", "Felipe", "Gabriela", "Hugo",
+            "Ines", "Julian", "Karina", "Lucas", "Marta", "Nicolas", "Olivia", "Pablo"
+    };
+
+    static final String[] LAST_NAMES = {
+            "Garcia", "Rodriguez", "Lopez", "Martinez", "Gonzalez", "Perez", "Sanchez", "Romero",
+            "Diaz", "Fernandez", "Torres", "Ruiz", "Alvarez", "Moreno", "Castro", "Ortiz",
+            "Silva", "Rojas", "Medina", "Herrera", "Suarez", "Aguirre", "Gimenez", "Molina",
+            "Vargas", "Acosta", "Benitez", "Ramos", "Sosa", "Ferreyra", "Maita", "Quiroga"
+    };
+
+    static final int PROVIDER_COUNT = 64;
+
+    /**
+     * Number of pre-generated lookup keys (power of two for cheap wrap-around)
+     */
+    static final int KEY_COUNT = 4096;
+
+    private static final PrintStream ORIGINAL_OUT = System.out;
+    private static final PrintStream ORIGINAL_ERR = System.err;
+
+    private BenchmarkData() {
+        // Utility class
+    }
+
+    static Resident resident(int i) {
+        String name = FIRST_NAMES[i % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+        LocalDate birthDate = LocalDate.of(1940 + i % 60, 1 + i % 12, 1 + i % 28);
+        Resident resident = new Resident(name, email(i), birthDate, apartment(i), 1 + i % 4);
+        if (i % 10 == 0) {
+            resident.setStatus(Resident.ResidentStatus.INACTIVE);
+        }
+        return resident;
+    }
+
+    static String email(int i) {
+        return "resident" + i + "@community.test";
+    }
+
+    static String apartment(int i) {
+        return "APT-" + i;
+    }
+
+    static String provider(int i) {
+        return "Provider " + (i % PROVIDER_COUNT);
+    }
+
+    /**
+     * A REQUESTED cleaning service with a deterministic id
+     * (cleaning is bookable on weekends, so any future slot is valid)
+     */
+    static Service requestedService(int i) {
+        return Service.builder()
+                .serviceId("BENCH_" + i)
+                .serviceType(Service.ServiceType.CLEANING)
+                .description("Benchmark cleaning " + i)
+                .providerName(provider(i))
+                .estimatedCost(50.0 + i % 100)
+                .requestedBy(apartment(i))
+                .build();
+    }
+
+    /**
+     * A REQUESTED service of any type for the scheduling backlog: every
+     * 16th is tagged urgent and every 64th carries priority 2
+     */
+    static Service backlogService(int i) {
+        Service.ServiceType[] types = Service.ServiceType.values();
+        Service.ServiceType type = types[i % types.length];
+        Service.ServiceBuilder builder = Service.builder()
+                .serviceId("BACKLOG_" + i)
+                .serviceType(type)
+                .description("Backlog " + type.getDisplayName() + " " + i)
+                .providerName(provider(i))
+                .estimatedCost(30.0 + i % 200)
+                .requestedBy(apartment(i))
+                .requestedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+        if (i % 16 == 0) {
+            builder.addTag("urgent");
+        }
+        if (i % 64 == 0) {
+            builder.metadata("priority", 2);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Historical service in one of the lifecycle states, spread over all types.
+     * Scheduled ones sit in the past so they never block future bookings.
+     */
+    static Service historicalService(int i) {
+        Service.ServiceType[] types = Service.ServiceType.values();
+        Service.ServiceType type = types[i % types.length];
+        Service.ServiceBuilder builder = Service.builder()
+                .serviceId("HIST_" + i)
+                .serviceType(type)
+                .description("Historical " + type.getDisplayName() + " " + i)
+                .providerName(provider(i))
+                .estimatedCost(20.0 + i % 500)
+                .requestedBy(apartment(i));
+        LocalDateTime past = LocalDateTime.of(2020, 1, 1, 0, 0).plusHours(24L * (i / PROVIDER_COUNT));
+        switch (i % 4) {
+            case 1 -> builder.status(Service.ServiceStatus.SCHEDULED).scheduledAt(past);
+            case 2 -> builder.status(Service.ServiceStatus.COMPLETED).scheduledAt(past).completedAt(past.plusHours(1));
+            case 3 -> builder.status(Service.ServiceStatus.CANCELLED);
+            default -> { }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Slot k of a provider's future calendar: back-to-back 4 hour blocks
+     * starting next Monday, one calendar per provider
+     */
+    static LocalDateTime futureSlot(int serviceIndex) {
+        LocalDateTime start = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(8, 0);
+        return start.plusHours(4L * (serviceIndex / PROVIDER_COUNT));
+    }
+
+    /**
+     * KEY_COUNT random indexes in [0, bound), reproducible across runs
+     */
+    static int[] randomIndexes(int bound, long seed) {
+        Random random = new Random(seed);
+        int[] indexes = new int[KEY_COUNT];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(bound);
+        }
+        return indexes;
+    }
+
+    static void silenceConsole() {
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+    }
+
+    static void restoreConsole() {
+        System.setOut(ORIGINAL_OUT);
+        System.setErr(ORIGINAL_ERR);
+    }
+}
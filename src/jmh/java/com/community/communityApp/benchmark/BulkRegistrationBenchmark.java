@@ -0,0 +1,93 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.service.ResidentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Onboarding a building: bulk registration vs one call per resident.
+ *
+ * SCENARIOS:
+ * - registerAll: the bulk pipeline (hash-set deduplication, one
+ *   batch write)
+ * - registerOneByOne: registerResident() in a loop, the former way
+ *
+ * DATA:
+ * - Every invocation starts from a fresh, empty service (Level.Invocation
+ *   setup, excluded from the measurement)
+ * - One row in fifty repeats an earlier apartment, so both paths also
+ *   handle rejections
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BulkRegistrationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int batch;
+
+    private List<Resident> residents;
+    private ResidentService residentService;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        BenchmarkData.silenceConsole();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        residentService = new ResidentService(new InMemoryRepository<>());
+        residents = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            Resident resident = BenchmarkData.resident(i);
+            if (i % 50 == 49) {
+                resident.setApartmentNumber(BenchmarkData.apartment(i - 1));
+            }
+            residents.add(resident);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreConsole();
+    }
+
+    @Benchmark
+    public ResidentService.BulkRegistrationReport registerAll() {
+        return residentService.registerAll(residents);
+    }
+
+    @Benchmark
+    public int registerOneByOne() {
+        int registered = 0;
+        for (Resident resident : residents) {
+            try {
+                residentService.registerResident(resident);
+                registered++;
+            } catch (RuntimeException e) {
+                // Duplicate apartment: counted as rejected
+            }
+        }
+        return registered;
+    }
+}
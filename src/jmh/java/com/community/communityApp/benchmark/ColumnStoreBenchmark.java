@@ -0,0 +1,116 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.analytics.ServiceColumnStore;
+import com.community.communityApp.model.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly cost-by-type report: columnar store vs streams over Service objects.
+ *
+ * SCENARIOS:
+ * - columnarMonthlyByType: GROUP BY (month, type) over all rows
+ * - columnarYearWindow: the same, restricted to one year of requests
+ * - objectMonthlyByType: the equivalent groupingBy() stream over a
+ *   list of services (smaller data set: the objects need far more heap)
+ *
+ * DATA:
+ * - Services spread over all types, one request every 30 seconds of
+ *   ~5 years for 5M rows, every 10th without a cost estimate
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ColumnStoreBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDateTime YEAR_FROM = LocalDateTime.of(2022, 1, 1, 0, 0);
+    private static final LocalDateTime YEAR_UNTIL = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    @State(Scope.Benchmark)
+    public static class Columns {
+        @Param({"1000000", "5000000"})
+        public int rows;
+
+        private ServiceColumnStore store;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            store = new ServiceColumnStore();
+            for (int i = 0; i < rows; i++) {
+                Service service = service(i);
+                store.onSave(service.getServiceId(), service);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ObjectGraph {
+        @Param({"1000000"})
+        public int objectRows;
+
+        private List<Service> services;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            services = new ArrayList<>(objectRows);
+            for (int i = 0; i < objectRows; i++) {
+                services.add(service(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<YearMonth, Map<Service.ServiceType, ServiceColumnStore.Aggregate>> columnarMonthlyByType(Columns columns) {
+        return columns.store.groupBy(ServiceColumnStore.Dimension.MONTH, ServiceColumnStore.Dimension.TYPE, null, null);
+    }
+
+    @Benchmark
+    public Map<YearMonth, Map<Service.ServiceType, ServiceColumnStore.Aggregate>> columnarYearWindow(Columns columns) {
+        return columns.store.groupBy(ServiceColumnStore.Dimension.MONTH, ServiceColumnStore.Dimension.TYPE,
+                YEAR_FROM, YEAR_UNTIL);
+    }
+
+    @Benchmark
+    public Map<YearMonth, Map<Service.ServiceType, Double>> objectMonthlyByType(ObjectGraph objects) {
+        return objects.services.stream()
+                .filter(service -> service.getEstimatedCost() != null)
+                .collect(Collectors.groupingBy(service -> YearMonth.from(service.getRequestedAt()), TreeMap::new,
+                        Collectors.groupingBy(Service::getServiceType,
+                                Collectors.summingDouble(Service::getEstimatedCost))));
+    }
+
+    private static Service service(int i) {
+        Service.ServiceType[] types = Service.ServiceType.values();
+        return Service.builder()
+                .serviceId("COL_" + i)
+                .serviceType(types[i % types.length])
+                .description("Columnar " + i)
+                .providerName(BenchmarkData.provider(i))
+                .estimatedCost(i % 10 == 0 ? null : 30.0 + i % 200)
+                .requestedBy(BenchmarkData.apartment(i % 2000))
+                .requestedAt(START.plusSeconds(30L * i))
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Service;
+import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.service.CommunityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the CommunityService use cases.
+ *
+ * SCENARIOS:
+ * - scheduleService: books a fresh REQUESTED service into the next free
+ *   4 hour block of its provider's calendar (never a conflict)
+ * - getStatistics: the service dashboard numbers
+ *
+ * SETUP:
+ * - size historical services across every type and status; the
+ *   scheduled ones lie in the past so they never collide with new slots
+ * - The service to schedule is created per invocation (Level.Invocation
+ *   is acceptable here: scheduling takes microseconds, far above the
+ *   setup overhead JMH warns about)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CommunityServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private InMemoryRepository<Service, String> repository;
+    private CommunityService communityService;
+    private int requested;
+
+    /**
+     * Per-invocation REQUESTED service, kept in its own state so the
+     * invocation-level setup only runs for scheduleService
+     */
+    @State(Scope.Thread)
+    public static class PendingRequest {
+        String serviceId;
+        LocalDateTime slot;
+
+        @Setup(Level.Invocation)
+        public void prepare(CommunityServiceBenchmark benchmark) {
+            int index = benchmark.requested++;
+            serviceId = benchmark.repository.save(BenchmarkData.requestedService(index)).getServiceId();
+            slot = BenchmarkData.futureSlot(index);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceConsole();
+        repository = new InMemoryRepository<>();
+        communityService = new CommunityService(repository);
+        for (int i = 0; i < size; i++) {
+            repository.save(BenchmarkData.historicalService(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreConsole();
+    }
+
+    @Benchmark
+    public Service scheduleService(PendingRequest pending) {
+        return communityService.scheduleService(pending.serviceId, pending.slot);
+    }
+
+    @Benchmark
+    public CommunityService.ServiceStatistics getStatistics() {
+        return communityService.getStatistics();
+    }
+}
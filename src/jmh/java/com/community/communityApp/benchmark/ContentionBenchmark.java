@@ -0,0 +1,150 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.service.ResidentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded scenarios: readers and writers sharing one repository.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Asymmetric thread groups (@Group / @GroupThreads)
+ * - Per-thread state (Scope.Thread) next to shared state (Scope.Group)
+ * - AtomicInteger for handing out distinct thread ids
+ *
+ * SCENARIOS:
+ * - readWrite: 2 threads overwrite residents while 6 look them up
+ * - statistics: 2 threads flip resident statuses (moving them between
+ *   status index keys) while 6 poll getStatistics()
+ * - registration: 8 threads register and delete their own residents,
+ *   contending on the indexes and the modification counters only
+ *
+ * WRITES:
+ * - Writers save fresh Resident instances instead of mutating shared
+ *   ones, so readers never observe a half-updated object; the
+ *   allocation is part of the measured write
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ContentionBenchmark {
+
+    /**
+     * Repository and service shared by all threads of a group
+     */
+    @State(Scope.Group)
+    public static class Community {
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        InMemoryRepository<Resident, String> repository;
+        ResidentService residentService;
+        final AtomicInteger threadIds = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BenchmarkData.silenceConsole();
+            repository = new InMemoryRepository<>();
+            residentService = new ResidentService(repository);
+            for (int i = 0; i < size; i++) {
+                repository.save(BenchmarkData.resident(i));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            BenchmarkData.restoreConsole();
+        }
+    }
+
+    /**
+     * Each thread walks its own sequence of random residents
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int[] indexes;
+        int position;
+        int threadId;
+
+        @Setup(Level.Trial)
+        public void setUp(Community community) {
+            threadId = community.threadIds.getAndIncrement();
+            indexes = BenchmarkData.randomIndexes(community.size, 1000L + threadId);
+        }
+
+        int next() {
+            position = (position + 1) & (BenchmarkData.KEY_COUNT - 1);
+            return indexes[position];
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(2)
+    public Resident readWriteSave(Community community, Cursor cursor) {
+        return community.repository.save(BenchmarkData.resident(cursor.next()));
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(6)
+    public Optional<Resident> readWriteFindById(Community community, Cursor cursor) {
+        return community.repository.findById(BenchmarkData.email(cursor.next()));
+    }
+
+    @Benchmark
+    @Group("statistics")
+    @GroupThreads(2)
+    public Resident statisticsUpdateStatus(Community community, Cursor cursor) {
+        int index = cursor.next();
+        Resident resident = BenchmarkData.resident(index);
+        resident.setStatus((cursor.position & 1) == 0
+                ? Resident.ResidentStatus.SUSPENDED
+                : Resident.ResidentStatus.ACTIVE);
+        return community.residentService.updateResident(resident);
+    }
+
+    @Benchmark
+    @Group("statistics")
+    @GroupThreads(6)
+    public ResidentService.ResidentStatistics statisticsRead(Community community) {
+        return community.residentService.getStatistics();
+    }
+
+    /**
+     * Thread i registers residents size + i * KEY_COUNT + k, so threads
+     * never collide on an email or apartment
+     */
+    @Benchmark
+    @Threads(8)
+    public boolean registration(Community community, Cursor cursor) {
+        int index = community.size + cursor.threadId * BenchmarkData.KEY_COUNT + cursor.position;
+        cursor.next();
+        Resident resident = BenchmarkData.resident(index);
+        community.residentService.registerResident(resident);
+        return community.residentService.deleteResident(resident.getEmail());
+    }
+}
@@ -0,0 +1,123 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.index.Bm25Index;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Free-text search over service descriptions: BM25 index vs a scan.
+ *
+ * SCENARIOS:
+ * - rareTerms: top 10 for a query of uncommon words
+ * - commonTerms: top 10 for a query whose words appear in a large
+ *   share of the texts (the index's worst case)
+ * - update: re-index one text with different words
+ * - scan: what exporting and grepping amounts to, a lowercase
+ *   contains() of every query word in every text
+ *
+ * DATA:
+ * - Texts of 4 to 15 words drawn from WORDS with a skewed
+ *   distribution, so early words are common and late ones rare
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FullTextSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "service", "repair", "leaking", "kitchen", "bathroom", "water", "pipe", "door", "window",
+            "light", "broken", "noise", "cleaning", "garden", "pool", "filter", "heater", "air",
+            "conditioning", "elevator", "lobby", "stairs", "roof", "gutter", "paint", "wall", "ceiling",
+            "floor", "tiles", "lock", "key", "intercom", "camera", "alarm", "sensor", "smoke",
+            "detector", "outlet", "switch", "breaker", "fuse", "drain", "clogged", "toilet", "shower",
+            "faucet", "valve", "boiler", "radiator", "thermostat", "ventilation", "mold", "damp",
+            "pest", "cockroaches", "termites", "rodents", "garbage", "recycling", "container", "hedge",
+            "lawn", "irrigation", "sprinkler", "chlorine", "pump", "skimmer", "parking", "gate", "barrier"
+    };
+
+    private static final String RARE_QUERY = "sprinkler skimmer barrier";
+    private static final String COMMON_QUERY = "leaking water pipe";
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    public int texts;
+
+    private Bm25Index<String, Integer> index;
+    private List<String> corpus;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        index = new Bm25Index<>("benchmark.fullText", text -> text);
+        corpus = new ArrayList<>(texts);
+        for (int i = 0; i < texts; i++) {
+            String text = randomText();
+            corpus.add(text);
+            index.onSave(i, text);
+        }
+    }
+
+    @Benchmark
+    public List<Bm25Index.Hit<Integer>> rareTerms() {
+        return index.search(RARE_QUERY, LIMIT);
+    }
+
+    @Benchmark
+    public List<Bm25Index.Hit<Integer>> commonTerms() {
+        return index.search(COMMON_QUERY, LIMIT);
+    }
+
+    @Benchmark
+    public void update() {
+        int i = random.nextInt(texts);
+        index.onSave(i, randomText());
+    }
+
+    @Benchmark
+    public int scan() {
+        String[] words = COMMON_QUERY.split(" ");
+        int matches = 0;
+        for (String text : corpus) {
+            String lower = text.toLowerCase();
+            for (String word : words) {
+                if (lower.contains(word)) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Skewed word choice: index = WORDS.length^u - 1 for uniform u
+     */
+    private String randomText() {
+        StringBuilder text = new StringBuilder();
+        int words = 4 + random.nextInt(12);
+        for (int w = 0; w < words; w++) {
+            int word = (int) Math.pow(WORDS.length, random.nextDouble()) - 1;
+            text.append(WORDS[Math.min(word, WORDS.length - 1)]).append(' ');
+        }
+        return text.toString();
+    }
+}
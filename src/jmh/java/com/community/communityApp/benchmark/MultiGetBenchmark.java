@@ -0,0 +1,77 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.repository.InMemoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-get (findByIds) across batch sizes, sequential vs parallel.
+ *
+ * SCENARIOS:
+ * - sequential: one map probe per id on the calling thread
+ * - parallel: the same probes split across the common ForkJoinPool
+ *
+ * DATA:
+ * - batch ids are random residents; one in eight is unknown, as in
+ *   notification jobs that reference residents who have moved out
+ * - The ids are a List, the worst case of the former contains()-based
+ *   implementation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MultiGetBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"100", "10000", "100000"})
+    public int batch;
+
+    private InMemoryRepository<Resident, String> repository;
+    private List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryRepository<>();
+        for (int i = 0; i < size; i++) {
+            repository.save(BenchmarkData.resident(i));
+        }
+
+        Random random = new Random(7);
+        ids = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            int index = i % 8 == 7 ? size + i : random.nextInt(size);
+            ids.add(BenchmarkData.email(index));
+        }
+    }
+
+    @Benchmark
+    public List<Resident> sequential() {
+        return repository.findByIds(ids);
+    }
+
+    @Benchmark
+    public List<Resident> parallel() {
+        return repository.findByIds(ids, true);
+    }
+}
@@ -0,0 +1,129 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.repository.InMemoryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the InMemoryRepository operations.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Annotation-driven configuration (JMH)
+ * - Generic repository used with a concrete entity type
+ *
+ * SCENARIOS:
+ * - save: overwrite of an existing resident (the size stays at the @Param)
+ * - findById: hit on a random existing id
+ * - findAll / findByPredicate: full copies and scans, O(n)
+ * - streamCount / forEachCount: the same scan without materializing a list
+ * - findByIds: multi-get of BATCH ids (a quarter of them missing);
+ *   see MultiGetBenchmark for larger batches
+ *
+ * RUNNING:
+ * - ./mvnw -Pjmh test-compile exec:exec -Djmh.args="RepositoryBenchmark"
+ * - The 1M size needs a few hundred MB of heap, hence -Xmx4g
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+
+    static final int BATCH = 100;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private InMemoryRepository<Resident, String> repository;
+    private Resident[] residents;
+    private String[] lookupIds;
+    private List<String> batchIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryRepository<>();
+        residents = new Resident[BenchmarkData.KEY_COUNT];
+        int[] picks = BenchmarkData.randomIndexes(size, 42);
+        for (int i = 0; i < size; i++) {
+            repository.save(BenchmarkData.resident(i));
+        }
+
+        lookupIds = new String[picks.length];
+        for (int i = 0; i < picks.length; i++) {
+            lookupIds[i] = BenchmarkData.email(picks[i]);
+            residents[i] = BenchmarkData.resident(picks[i]);
+        }
+
+        batchIds = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batchIds.add(i % 4 == 3 ? BenchmarkData.email(size + i) : lookupIds[i]);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (BenchmarkData.KEY_COUNT - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public Resident save() {
+        return repository.save(residents[next()]);
+    }
+
+    @Benchmark
+    public Optional<Resident> findById() {
+        return repository.findById(lookupIds[next()]);
+    }
+
+    @Benchmark
+    public List<Resident> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Resident> findByPredicate() {
+        return repository.findByPredicate(resident -> resident.getStatus() == Resident.ResidentStatus.INACTIVE);
+    }
+
+    @Benchmark
+    public long streamCount() {
+        return repository.stream()
+                .filter(resident -> resident.getStatus() == Resident.ResidentStatus.INACTIVE)
+                .count();
+    }
+
+    @Benchmark
+    public long forEachCount() {
+        long[] inactive = new long[1];
+        repository.forEach(resident -> {
+            if (resident.getStatus() == Resident.ResidentStatus.INACTIVE) {
+                inactive[0]++;
+            }
+        });
+        return inactive[0];
+    }
+
+    @Benchmark
+    public List<Resident> findByIds() {
+        return repository.findByIds(batchIds);
+    }
+}
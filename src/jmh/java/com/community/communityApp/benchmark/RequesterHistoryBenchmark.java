@@ -0,0 +1,96 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Service;
+import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.service.CommunityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The "my requests" read: one requester's services, newest first.
+ *
+ * SCENARIOS:
+ * - firstPage: getServicesByRequesterPage() without a cursor
+ * - deepPage: the page after a cursor half-way down the history
+ * - fullHistory: getServicesByRequester(), everything at once
+ *
+ * DATA:
+ * - 100k services over 16 apartments, so every requester has
+ *   history / 16 services; the page cost should not follow it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RequesterHistoryBenchmark {
+
+    private static final int REQUESTERS = 16;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1600", "100000"})
+    public int history;
+
+    private CommunityService communityService;
+    private String requester;
+    private Service middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceConsole();
+        InMemoryRepository<Service, String> repository = new InMemoryRepository<>();
+        communityService = new CommunityService(repository);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < history; i++) {
+            repository.save(Service.builder()
+                    .serviceId("HIST_" + i)
+                    .serviceType(Service.ServiceType.MAINTENANCE)
+                    .description("History " + i)
+                    .providerName(BenchmarkData.provider(i))
+                    .estimatedCost(40.0)
+                    .requestedBy(BenchmarkData.apartment(i % REQUESTERS))
+                    .requestedAt(start.plusMinutes(i))
+                    .build());
+        }
+        requester = BenchmarkData.apartment(0);
+        List<Service> all = communityService.getServicesByRequester(requester);
+        middleCursor = all.get(all.size() / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreConsole();
+    }
+
+    @Benchmark
+    public List<Service> firstPage() {
+        return communityService.getServicesByRequesterPage(requester, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Service> deepPage() {
+        return communityService.getServicesByRequesterPage(requester, middleCursor.getRequestedAt(),
+                middleCursor.getServiceId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Service> fullHistory() {
+        return communityService.getServicesByRequester(requester);
+    }
+}
@@ -0,0 +1,120 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.index.AutocompleteIndex;
+import com.community.communityApp.index.OccupancyIndex;
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.service.ResidentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the ResidentService use cases.
+ *
+ * SCENARIOS:
+ * - registerResident: registers one new resident and deletes it again,
+ *   so every invocation sees the same population size
+ * - searchByName: a selective last name (~3% of residents), the same
+ *   name as typed so far ("gar", one trigram) and a broad two-letter
+ *   fragment found in a large share of names
+ * - autocomplete: top 10 completions for a typed prefix
+ * - residentsPage: one 20-resident page in apartment order from the
+ *   middle of the listing (keyset seek, independent of the offset)
+ * - occupancy: first free unit and occupied count on a middle floor
+ *   of the synthetic building ("APT-i" is floor i / 100)
+ * - getStatistics: the community dashboard numbers
+ *
+ * SETUP:
+ * - The population is saved straight into the repository; the service
+ *   is created first so its indexes see every resident
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResidentServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private ResidentService residentService;
+    private Resident newcomer;
+    private String middleApartment;
+    private int middleFloor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceConsole();
+        InMemoryRepository<Resident, String> repository = new InMemoryRepository<>();
+        residentService = new ResidentService(repository);
+        for (int i = 0; i < size; i++) {
+            repository.save(BenchmarkData.resident(i));
+        }
+        newcomer = BenchmarkData.resident(size);
+        middleApartment = BenchmarkData.apartment(size / 2);
+        middleFloor = size / 2 / OccupancyIndex.UNITS_PER_FLOOR;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreConsole();
+    }
+
+    @Benchmark
+    public boolean registerResident() {
+        residentService.registerResident(newcomer);
+        return residentService.deleteResident(newcomer.getEmail());
+    }
+
+    @Benchmark
+    public List<Resident> searchByNameSelective() {
+        return residentService.searchByName("garcia");
+    }
+
+    @Benchmark
+    public List<Resident> searchByNameKeystroke() {
+        return residentService.searchByName("gar");
+    }
+
+    @Benchmark
+    public List<Resident> searchByNameBroad() {
+        return residentService.searchByName("ar");
+    }
+
+    @Benchmark
+    public List<AutocompleteIndex.Completion<String>> autocomplete() {
+        return residentService.autocomplete("gar", 10);
+    }
+
+    @Benchmark
+    public List<Resident> residentsPage() {
+        return residentService.getResidentsPage(middleApartment, 20);
+    }
+
+    @Benchmark
+    public int occupancy() {
+        return residentService.findFirstFreeUnit("APT", middleFloor).orElse(-1)
+                + residentService.getOccupiedUnitCount("APT", middleFloor);
+    }
+
+    @Benchmark
+    public ResidentService.ResidentStatistics getStatistics() {
+        return residentService.getStatistics();
+    }
+}
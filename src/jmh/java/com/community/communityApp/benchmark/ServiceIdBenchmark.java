@@ -0,0 +1,78 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Service;
+import com.community.communityApp.service.ServiceIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service id generation: Snowflake-style generator vs the former scheme.
+ *
+ * SCENARIOS:
+ * - legacy: millis + random(1000) through String.format, as
+ *   CommunityService.generateServiceId() used to do (and collide)
+ * - snowflake: ServiceIdGenerator.nextId(), the encoded id
+ * - snowflakeRaw: ServiceIdGenerator.nextValue(), the CAS alone
+ * - *Contended: the same with 8 threads sharing one generator, the
+ *   requestService() burst case
+ *
+ * NOTE: the generator can issue 4096 ids per millisecond before it
+ * borrows from the next one, so the throughput here is not capped by
+ * the clock
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceIdBenchmark {
+
+    private final ServiceIdGenerator generator = new ServiceIdGenerator();
+
+    @Benchmark
+    public String legacy() {
+        return legacyId(Service.ServiceType.MAINTENANCE);
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return generator.nextId(Service.ServiceType.MAINTENANCE);
+    }
+
+    @Benchmark
+    public long snowflakeRaw() {
+        return generator.nextValue();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyContended() {
+        return legacyId(Service.ServiceType.MAINTENANCE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeContended() {
+        return generator.nextId(Service.ServiceType.MAINTENANCE);
+    }
+
+    /**
+     * The generator CommunityService used before ServiceIdGenerator
+     */
+    private static String legacyId(Service.ServiceType serviceType) {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String random = String.valueOf((int) (Math.random() * 1000));
+        return String.format("%s_%s_%s", serviceType.name(), timestamp, random);
+    }
+}
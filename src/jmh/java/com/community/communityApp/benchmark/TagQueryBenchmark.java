@@ -0,0 +1,91 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.model.Service;
+import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.service.CommunityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "urgent AND maintenance AND NOT status:cancelled": tag index vs a scan.
+ *
+ * SCENARIOS:
+ * - tagQuery: findServicesByTags(), bitmap set algebra plus loading the
+ *   matches
+ * - tagCount: countServicesByTags(), the set algebra alone
+ * - predicateScan: findServices() with the equivalent predicate, which
+ *   tests (and copies the tags of) every service
+ *
+ * DATA:
+ * - historical services spread over all types and states; every 13th
+ *   is urgent, every 7th maintenance and every 4th cancelled, so the
+ *   query matches about 1 in 120
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TagQueryBenchmark {
+
+    private static final String QUERY = "urgent AND maintenance AND NOT status:cancelled";
+
+    @Param({"10000", "100000"})
+    public int services;
+
+    private CommunityService communityService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.silenceConsole();
+        InMemoryRepository<Service, String> repository = new InMemoryRepository<>();
+        communityService = new CommunityService(repository);
+        for (int i = 0; i < services; i++) {
+            Service service = BenchmarkData.historicalService(i);
+            if (i % 13 == 0) {
+                service.addTag("urgent");
+            }
+            repository.save(service);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.restoreConsole();
+    }
+
+    @Benchmark
+    public List<Service> tagQuery() {
+        return communityService.findServicesByTags(QUERY);
+    }
+
+    @Benchmark
+    public int tagCount() {
+        return communityService.countServicesByTags(QUERY);
+    }
+
+    @Benchmark
+    public List<Service> predicateScan() {
+        return communityService.findServices(service -> {
+            Set<String> tags = service.getTags();
+            return tags.contains("urgent") && tags.contains("maintenance")
+                    && service.getStatus() != Service.ServiceStatus.CANCELLED;
+        });
+    }
+}
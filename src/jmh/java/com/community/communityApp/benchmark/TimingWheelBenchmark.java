@@ -0,0 +1,98 @@
+package com.community.communityApp.benchmark;
+
+import com.community.communityApp.scheduling.HierarchicalTimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline timers with many pending: timing wheel vs a priority queue.
+ *
+ * SCENARIOS:
+ * - wheelScheduleAndCancel: arm a deadline and cancel it again, what
+ *   every schedule → start → complete sequence costs the monitor
+ * - queueScheduleAndCancel: the same on a PriorityQueue, where
+ *   remove(Object) is a linear search
+ * - wheelTick: one second of wheel time with pending timers spread over
+ *   the next week; every expired timer is re-armed a week ahead, so the
+ *   pending count stays constant
+ *
+ * DATA:
+ * - pending timers, deadlines uniform over one week at 1 s resolution
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TimingWheelBenchmark {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final long WEEK_MILLIS = 7L * 24 * 3600 * 1000;
+
+    @Param({"10000", "1000000"})
+    public int pending;
+
+    private HierarchicalTimingWheel<Long> wheel;
+    private PriorityQueue<Long> queue;
+    private long[] offsets;
+    private int next;
+    private long now;
+    private final List<Long> expired = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, 0);
+        queue = new PriorityQueue<>(pending);
+        for (int i = 0; i < pending; i++) {
+            long deadline = 1 + (long) (random.nextDouble() * WEEK_MILLIS);
+            wheel.schedule(deadline, deadline);
+            queue.add(deadline);
+        }
+        offsets = new long[BenchmarkData.KEY_COUNT];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = 1 + (long) (random.nextDouble() * WEEK_MILLIS);
+        }
+    }
+
+    @Benchmark
+    public boolean wheelScheduleAndCancel() {
+        long deadline = now + offsets[next++ & (BenchmarkData.KEY_COUNT - 1)];
+        return wheel.cancel(wheel.schedule(deadline, deadline));
+    }
+
+    @Benchmark
+    public boolean queueScheduleAndCancel() {
+        Long deadline = now + offsets[next++ & (BenchmarkData.KEY_COUNT - 1)];
+        queue.add(deadline);
+        return queue.remove(deadline);
+    }
+
+    @Benchmark
+    public int wheelTick() {
+        now += TICK_MILLIS;
+        expired.clear();
+        int fired = wheel.advanceTo(now, expired::add);
+        // Re-arm after the advance: the wheel must not change inside it
+        for (Long deadline : expired) {
+            wheel.schedule(deadline + WEEK_MILLIS, deadline + WEEK_MILLIS);
+        }
+        return fired;
+    }
+}
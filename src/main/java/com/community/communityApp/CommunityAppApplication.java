@@ -1,11 +1,20 @@
 package com.community.communityApp;
 
+import com.community.communityApp.analytics.ServiceColumnStore;
+import com.community.communityApp.codec.ResidentCodec;
+import com.community.communityApp.codec.ServiceCodec;
 import com.community.communityApp.exception.*;
+import com.community.communityApp.index.AutocompleteIndex;
 import com.community.communityApp.model.*;
+import com.community.communityApp.persistence.FsyncPolicy;
+import com.community.communityApp.persistence.RecordCodec;
 import com.community.communityApp.repository.*;
 import com.community.communityApp.service.*;
 import com.community.communityApp.util.*;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -64,6 +73,14 @@ public class CommunityAppApplication {
     private static CommunityService communityService;
     private static boolean isRunning = true;
     
+    /**
+     * DURABLE STORAGE (only when -Dcommunity.dataDir is set)
+     * 
+     * - Kept so cleanup() can flush and close the logs
+     */
+    private static PersistentRepository<Resident, String> persistentResidents;
+    private static PersistentRepository<Service, String> persistentServices;
+    
     /**
      * CONSTANTS for application configuration
      * 
@@ -76,6 +93,22 @@ public class CommunityAppApplication {
     private static final String APP_VERSION = "1.0.0";
     private static final String WELCOME_MESSAGE = "Welcome to the " + APP_NAME + " v" + APP_VERSION;
     
+    /**
+     * System property naming a directory for durable data.
+     * Without it the application keeps everything in memory.
+     */
+    private static final String DATA_DIR_PROPERTY = "community.dataDir";
+    
+    /**
+     * Residents shown per page when listing all residents
+     */
+    private static final int RESIDENTS_PAGE_SIZE = 20;
+    
+    /**
+     * Best matches shown by the full-text service search
+     */
+    private static final int SEARCH_RESULT_LIMIT = 10;
+    
     /**
      * Main method - application entry point
      * 
@@ -119,22 +152,42 @@ public class CommunityAppApplication {
      * INITIALIZATION:
      * - Sets up service dependencies
      * - Initializes repositories
-     * - Loads sample data
+     * - Loads sample data (unless restored from durable storage)
      * - Demonstrates dependency injection pattern
      */
     private static void initializeApplication() {
         MenuUtil.displayInfo("Initializing Community Management System...");
         
-        // REPOSITORY PATTERN: Create repositories
-        Repository<Resident, String> residentRepository = new InMemoryRepository<>();
-        Repository<Service, String> serviceRepository = new InMemoryRepository<>();
+        // REPOSITORY PATTERN: Create repositories (durable if a data directory is configured)
+        IndexedRepository<Resident, String> residentRepository;
+        IndexedRepository<Service, String> serviceRepository;
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        if (dataDir != null && !dataDir.trim().isEmpty()) {
+            Path root = Paths.get(dataDir.trim());
+            FsyncPolicy policy = FsyncPolicy.batched(64, Duration.ofMillis(50));
+            persistentResidents = new PersistentRepository<>(root.resolve("residents"),
+                    new ResidentCodec(), RecordCodec.utf8(), policy);
+            persistentServices = new PersistentRepository<>(root.resolve("services"),
+                    new ServiceCodec(), RecordCodec.utf8(), policy);
+            persistentResidents.startSnapshots(Duration.ofMinutes(1), 1000);
+            persistentServices.startSnapshots(Duration.ofMinutes(1), 1000);
+            residentRepository = persistentResidents;
+            serviceRepository = persistentServices;
+            MenuUtil.displayInfo("Using durable storage in " + root.toAbsolutePath());
+        } else {
+            residentRepository = new InMemoryRepository<>();
+            serviceRepository = new InMemoryRepository<>();
+        }
         
         // SERVICE LAYER: Initialize services with repositories
         residentService = new ResidentService(residentRepository);
         communityService = new CommunityService(serviceRepository);
+        communityService.startDeadlineMonitoring();
         
-        // SAMPLE DATA: Load initial data for demonstration
-        loadSampleData();
+        // SAMPLE DATA: Load initial data for demonstration (first run only)
+        if (residentRepository.count() == 0 && serviceRepository.count() == 0) {
+            loadSampleData();
+        }
         
         MenuUtil.displaySuccess("Application initialized successfully!");
     }
@@ -177,6 +230,15 @@ public class CommunityAppApplication {
                 Administrator.AdminRole.PRESIDENT
             );
             
+            // COLLECTIONS: Add service requests to residents
+            // (before registering, so the saved - and logged - state has them)
+            resident1.addServiceRequest("Weekly cleaning requested");
+            resident2.addServiceRequest("Maintenance request submitted");
+            
+            // OPTIONAL USAGE: Set phone numbers
+            resident1.setPhoneNumber("+1-555-0123");
+            resident2.setPhoneNumber("+1-555-0124");
+            
             // SERVICE REGISTRATION: Register residents
             residentService.registerResident(resident1);
             residentService.registerResident(resident2);
@@ -199,14 +261,6 @@ public class CommunityAppApplication {
                 "102"
             );
             
-            // COLLECTIONS: Add service requests to residents
-            resident1.addServiceRequest("Weekly cleaning requested");
-            resident2.addServiceRequest("Maintenance request submitted");
-            
-            // OPTIONAL USAGE: Set phone numbers
-            resident1.setPhoneNumber("+1-555-0123");
-            resident2.setPhoneNumber("+1-555-0124");
-            
             MenuUtil.displayInfo("Sample data loaded successfully!");
             
         } catch (Exception e) {
@@ -319,6 +373,8 @@ public class CommunityAppApplication {
             "Search Resident",
             "Update Resident",
             "Delete Resident",
+            "Import Residents from CSV",
+            "Export Residents to CSV",
             "Back to Main Menu"
         };
         
@@ -330,7 +386,9 @@ public class CommunityAppApplication {
             case 2 -> searchResident();
             case 3 -> updateResident();
             case 4 -> deleteResident();
-            case 5 -> { /* Return to main menu */ }
+            case 5 -> importResidents();
+            case 6 -> exportResidents();
+            case 7 -> { /* Return to main menu */ }
             default -> MenuUtil.displayError("Invalid choice");
         }
     }
@@ -415,24 +473,30 @@ public class CommunityAppApplication {
      * View all residents with formatted display
      * 
      * DATA DISPLAY:
-     * - Retrieves all residents from service
+     * - Retrieves residents page by page from the service
      * - Formats data for display
      * - Handles empty collections
      * - Demonstrates iteration
+     * 
+     * PAGING:
+     * - Each page continues after the last apartment shown, so only
+     *   the residents on screen are fetched
      */
     private static void viewAllResidents() {
         try {
             MenuUtil.displayHeader("All Residents");
             
-            // SERVICE CALL: Get all residents
-            List<Resident> residents = residentService.getAllResidentsSortedByApartment();
+            System.out.println(String.format("Found %d resident(s):", residentService.getResidentCount()));
+            System.out.println();
+            
+            // SERVICE CALL: First page of residents in apartment order
+            List<Resident> residents = residentService.getResidentsPage(null, RESIDENTS_PAGE_SIZE);
             
             if (residents.isEmpty()) {
                 MenuUtil.displayInfo("No residents found.");
-            } else {
-                System.out.println(String.format("Found %d resident(s):", residents.size()));
-                System.out.println();
-                
+            }
+            
+            while (!residents.isEmpty()) {
                 // ENHANCED FOR LOOP: Iterate through residents
                 for (Resident resident : residents) {
                     System.out.println("• " + resident.getDisplayInfo());
@@ -450,6 +514,12 @@ public class CommunityAppApplication {
                     
                     System.out.println();
                 }
+                
+                if (residents.size() < RESIDENTS_PAGE_SIZE || !MenuUtil.getConfirmation("Show more residents?")) {
+                    break;
+                }
+                String lastApartment = residents.get(residents.size() - 1).getApartmentNumber();
+                residents = residentService.getResidentsPage(lastApartment, RESIDENTS_PAGE_SIZE);
             }
             
         } catch (Exception e) {
@@ -476,6 +546,7 @@ public class CommunityAppApplication {
                 "Search by Email",
                 "Search by Apartment Number",
                 "Search by Name",
+                "Quick Search (name, apartment or email prefix)",
                 "Back"
             };
             
@@ -485,7 +556,8 @@ public class CommunityAppApplication {
                 case 0 -> searchByEmail();
                 case 1 -> searchByApartment();
                 case 2 -> searchByName();
-                case 3 -> { /* Return */ }
+                case 3 -> quickSearch();
+                case 4 -> { /* Return */ }
                 default -> MenuUtil.displayError("Invalid choice");
             }
             
@@ -565,6 +637,28 @@ public class CommunityAppApplication {
         MenuUtil.pauseForUser();
     }
     
+    /**
+     * Quick search by prefix (autocomplete)
+     * 
+     * PREFIX SEARCH:
+     * - One prefix matches name words, apartment numbers and emails
+     * - Served from the autocomplete index, top 10 suggestions
+     */
+    private static void quickSearch() {
+        String prefix = MenuUtil.getStringInput("Start typing a name, apartment or email: ", false);
+        
+        List<AutocompleteIndex.Completion<String>> suggestions = residentService.autocomplete(prefix, 10);
+        
+        if (suggestions.isEmpty()) {
+            MenuUtil.displayError("No residents start with: " + prefix);
+        } else {
+            MenuUtil.displaySuccess("Suggestions:");
+            suggestions.forEach(suggestion -> System.out.println("• " + suggestion + " → " + suggestion.getId()));
+        }
+        
+        MenuUtil.pauseForUser();
+    }
+    
     /**
      * Update resident information
      * 
@@ -662,6 +756,54 @@ public class CommunityAppApplication {
         MenuUtil.pauseForUser();
     }
     
+    /**
+     * Import residents from a CSV file
+     * 
+     * STREAMING IMPORT:
+     * - ResidentCsvService reads the file in buffered chunks and
+     *   registers residents in batches
+     * - Bad rows are reported with their line numbers, not thrown
+     */
+    private static void importResidents() {
+        try {
+            String file = MenuUtil.getStringInput("Enter CSV file path: ", false);
+            ResidentCsvService.ImportReport report = new ResidentCsvService(residentService)
+                    .importCsv(Paths.get(file.trim()));
+            
+            MenuUtil.displaySuccess(String.format("Imported %d of %d rows in %d ms (%.0f rows/s)",
+                    report.getRegistered(), report.getRowsRead(),
+                    report.getElapsed().toMillis(), report.getRowsPerSecond()));
+            if (report.getRejected() > 0) {
+                MenuUtil.displayWarning(report.getRejected() + " rows were rejected:");
+                report.getErrors().forEach(error -> System.out.println("  " + error));
+                if (report.getRejected() > report.getErrors().size()) {
+                    System.out.println("  ... and " + (report.getRejected() - report.getErrors().size()) + " more");
+                }
+            }
+            
+        } catch (Exception e) {
+            MenuUtil.displayError("Failed to import residents: " + e.getMessage());
+        }
+        
+        MenuUtil.pauseForUser();
+    }
+    
+    /**
+     * Export all residents to a CSV file (apartment order)
+     */
+    private static void exportResidents() {
+        try {
+            String file = MenuUtil.getStringInput("Enter CSV file path: ", false);
+            long written = new ResidentCsvService(residentService).exportCsv(Paths.get(file.trim()));
+            MenuUtil.displaySuccess("Exported " + written + " residents to " + file.trim());
+            
+        } catch (Exception e) {
+            MenuUtil.displayError("Failed to export residents: " + e.getMessage());
+        }
+        
+        MenuUtil.pauseForUser();
+    }
+    
     /**
      * Service management menu
      * 
@@ -675,6 +817,8 @@ public class CommunityAppApplication {
             "Request New Service",
             "View All Services",
             "Schedule Service",
+            "Auto-schedule Requested Services",
+            "Start Service",
             "Complete Service",
             "Cancel Service",
             "Back to Main Menu"
@@ -686,9 +830,11 @@ public class CommunityAppApplication {
             case 0 -> requestNewService();
             case 1 -> viewAllServices();
             case 2 -> scheduleService();
-            case 3 -> completeService();
-            case 4 -> cancelService();
-            case 5 -> { /* Return to main menu */ }
+            case 3 -> autoScheduleServices();
+            case 4 -> startService();
+            case 5 -> completeService();
+            case 6 -> cancelService();
+            case 7 -> { /* Return to main menu */ }
             default -> MenuUtil.displayError("Invalid choice");
         }
     }
@@ -783,6 +929,14 @@ public class CommunityAppApplication {
                 }
             }
             
+            List<Service> overdue = communityService.getOverdueServices();
+            if (!overdue.isEmpty()) {
+                System.out.println("\nOverdue - scheduled but not started (" + overdue.size() + "):");
+                System.out.println("-".repeat(50));
+                overdue.forEach(service -> System.out.println("• " + service.getServiceId() + " - due "
+                        + DateUtil.formatForDisplay(service.getScheduledAt().orElseThrow())));
+            }
+            
         } catch (Exception e) {
             MenuUtil.displayError("Failed to retrieve services: " + e.getMessage());
         }
@@ -815,11 +969,18 @@ public class CommunityAppApplication {
             System.out.println("Status: " + service.get().getStatus());
             System.out.println("Provider: " + service.get().getProviderName());
             
-            // DATE INPUT: Schedule datetime
-            String scheduleDateInput = MenuUtil.getStringInput("Enter schedule date and time (yyyy-MM-dd HH:mm): ", false);
+            // SLOT SUGGESTION: earliest free slot of the provider
+            Optional<LocalDateTime> nextSlot = communityService.findNextAvailableSlot(
+                service.get().getProviderName(), service.get().getServiceType(), LocalDateTime.now());
+            nextSlot.ifPresent(slot -> System.out.println("Next available slot: " + DateUtil.formatForDisplay(slot)));
+            
+            // DATE INPUT: Schedule datetime (empty = next available slot)
+            String scheduleDateInput = MenuUtil.getStringInput(nextSlot.isPresent()
+                ? "Enter schedule date and time (yyyy-MM-dd HH:mm, Enter for next available): "
+                : "Enter schedule date and time (yyyy-MM-dd HH:mm): ", nextSlot.isPresent());
             
-            Optional<LocalDateTime> scheduleTime = DateUtil.parseDateTime(scheduleDateInput, 
-                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+            Optional<LocalDateTime> scheduleTime = scheduleDateInput.isEmpty() ? nextSlot
+                : DateUtil.parseDateTime(scheduleDateInput, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
             
             if (scheduleTime.isEmpty()) {
                 MenuUtil.displayError("Invalid date format. Please use yyyy-MM-dd HH:mm");
@@ -842,6 +1003,65 @@ public class CommunityAppApplication {
         MenuUtil.pauseForUser();
     }
     
+    /**
+     * Schedule the whole REQUESTED backlog at once
+     * 
+     * BATCH SCHEDULING:
+     * - Earliest free slot per service, urgent requests first
+     * - Shows what was booked and what did not fit
+     */
+    private static void autoScheduleServices() {
+        try {
+            int backlog = communityService.getServicesByStatus(Service.ServiceStatus.REQUESTED).size();
+            if (backlog == 0) {
+                MenuUtil.displayInfo("No requested services to schedule.");
+            } else if (MenuUtil.getConfirmation("Schedule " + backlog + " requested service(s)?")) {
+                CommunityService.BatchScheduleResult result = communityService.autoScheduleRequested();
+                
+                MenuUtil.displaySuccess(result.getScheduled().size() + " service(s) scheduled");
+                result.getScheduled().forEach(service -> System.out.println("  " + service.getServiceId() + " → "
+                        + DateUtil.formatForDisplay(service.getScheduledAt().orElseThrow())));
+                result.getUnassigned().forEach(service -> System.out.println("  " + service.getServiceId()
+                        + ": no free slot for " + service.getProviderName()));
+            }
+            
+        } catch (ServiceException e) {
+            MenuUtil.displayError("Auto-scheduling failed: " + e.getUserFriendlyMessage());
+        } catch (Exception e) {
+            MenuUtil.displayError("Failed to auto-schedule services: " + e.getMessage());
+        }
+        
+        MenuUtil.pauseForUser();
+    }
+    
+    /**
+     * Start a scheduled service
+     * 
+     * SERVICE START:
+     * - SCHEDULED → IN_PROGRESS state transition
+     * - Business logic validation
+     * - User feedback
+     */
+    private static void startService() {
+        try {
+            String serviceId = MenuUtil.getStringInput("Enter service ID to start: ", false);
+            
+            Service startedService = communityService.startService(serviceId);
+            
+            MenuUtil.displaySuccess("Service started successfully!");
+            System.out.println("Service ID: " + startedService.getServiceId());
+            startedService.getStartedAt().ifPresent(startedAt ->
+                    System.out.println("Started at: " + DateUtil.formatForDisplay(startedAt)));
+            
+        } catch (ServiceException e) {
+            MenuUtil.displayError("Start failed: " + e.getUserFriendlyMessage());
+        } catch (Exception e) {
+            MenuUtil.displayError("Failed to start service: " + e.getMessage());
+        }
+        
+        MenuUtil.pauseForUser();
+    }
+    
     /**
      * Complete a service
      * 
@@ -921,6 +1141,9 @@ public class CommunityAppApplication {
             System.out.println("Active Residents: " + residentStats.getActiveResidents());
             System.out.println("Inactive Residents: " + residentStats.getInactiveResidents());
             System.out.println("Occupied Apartments: " + residentStats.getOccupiedApartments());
+            residentStats.getOccupancyByBuilding().forEach((building, units) ->
+                System.out.println("  Building " + (building.isEmpty() ? "(none)" : building) + ": "
+                        + units.cardinality() + " occupied units"));
             System.out.println();
             
             // SERVICE STATISTICS
@@ -939,6 +1162,24 @@ public class CommunityAppApplication {
                 System.out.println("  " + type.getDisplayName() + ": " + count));
             System.out.println();
             
+            // COST REPORTS (columnar aggregation)
+            System.out.println("Estimated Cost by Type:");
+            communityService.getCostByType(null, null).forEach((type, aggregate) ->
+                System.out.printf("  %s: total $%.2f, average %s (%d services)%n", type.getDisplayName(),
+                        aggregate.getCostSum(), formatCost(aggregate.getAverageCost()), aggregate.getCount()));
+            System.out.println();
+            
+            LocalDateTime yearAgo = LocalDate.now().withDayOfMonth(1).minusMonths(11).atStartOfDay();
+            System.out.println("Monthly Estimated Cost (last 12 months):");
+            communityService.getMonthlyCostByType(yearAgo, null).forEach((month, byType) -> {
+                double total = byType.values().stream().mapToDouble(ServiceColumnStore.Aggregate::getCostSum).sum();
+                System.out.printf("  %s: $%.2f%n", month, total);
+                byType.forEach((type, aggregate) ->
+                    System.out.printf("    %s: $%.2f (%d)%n", type.getDisplayName(),
+                            aggregate.getCostSum(), aggregate.getCount()));
+            });
+            System.out.println();
+            
             // APARTMENT AVAILABILITY
             Set<String> occupiedApartments = residentService.getOccupiedApartments();
             System.out.println("APARTMENT INFORMATION");
@@ -951,6 +1192,13 @@ public class CommunityAppApplication {
         MenuUtil.pauseForUser();
     }
     
+    /**
+     * Average cost for display ("n/a" when no service has an estimate)
+     */
+    private static String formatCost(OptionalDouble cost) {
+        return cost.isPresent() ? String.format("$%.2f", cost.getAsDouble()) : "n/a";
+    }
+    
     /**
      * Search and filter demonstration
      * 
@@ -969,6 +1217,8 @@ public class CommunityAppApplication {
                 "Filter by Service Type",
                 "Advanced Resident Search",
                 "Advanced Service Search",
+                "Search Services by Tags",
+                "Full-text Service Search",
                 "Back"
             };
             
@@ -979,7 +1229,9 @@ public class CommunityAppApplication {
                 case 1 -> filterByServiceType();
                 case 2 -> advancedResidentSearch();
                 case 3 -> advancedServiceSearch();
-                case 4 -> { /* Return */ }
+                case 4 -> searchServicesByTags();
+                case 5 -> fullTextServiceSearch();
+                case 6 -> { /* Return */ }
                 default -> MenuUtil.displayError("Invalid choice");
             }
             
@@ -1162,6 +1414,70 @@ public class CommunityAppApplication {
         MenuUtil.pauseForUser();
     }
     
+    /**
+     * Search services with a boolean tag query
+     * 
+     * INVERTED INDEX:
+     * - Tags combined with AND, OR, NOT and parentheses
+     * - Status filters as "status:<name>" pseudo-tags
+     * - Answered from tag bitmaps, not by testing every service
+     */
+    private static void searchServicesByTags() {
+        MenuUtil.displayHeader("Search Services by Tags");
+        
+        Map<String, Integer> tagCounts = communityService.getTagCounts();
+        if (!tagCounts.isEmpty()) {
+            System.out.println("Tags in use:");
+            tagCounts.forEach((tag, count) -> System.out.println("  " + tag + " (" + count + ")"));
+        }
+        
+        String query = MenuUtil.getStringInput("Enter query (e.g. urgent AND NOT status:cancelled): ", false);
+        try {
+            List<Service> results = communityService.findServicesByTags(query);
+            MenuUtil.displayInfo("Search Results for: " + query);
+            if (results.isEmpty()) {
+                System.out.println("No services found matching the query.");
+            } else {
+                System.out.println("Found " + results.size() + " service(s):");
+                results.forEach(service -> 
+                    System.out.println("• " + service.getServiceId() + " - " + service.getServiceType().getDisplayName()
+                            + " [" + service.getStatus() + "] " + new TreeSet<>(service.getTags())));
+            }
+        } catch (IllegalArgumentException e) {
+            MenuUtil.displayError(e.getMessage());
+        }
+        
+        MenuUtil.pauseForUser();
+    }
+    
+    /**
+     * Free-text search over service descriptions and requirements
+     * 
+     * RANKED RETRIEVAL:
+     * - BM25 relevance, best match first
+     * - Stemmed, case-insensitive word matching
+     * - Top results only (bounded heap)
+     */
+    private static void fullTextServiceSearch() {
+        MenuUtil.displayHeader("Full-text Service Search");
+        
+        String query = MenuUtil.getStringInput("Describe what you are looking for: ", false);
+        List<Service> results = communityService.searchServicesByText(query, SEARCH_RESULT_LIMIT);
+        
+        MenuUtil.displayInfo("Best matches for: " + query);
+        if (results.isEmpty()) {
+            System.out.println("No services mention these words.");
+        } else {
+            for (int i = 0; i < results.size(); i++) {
+                Service service = results.get(i);
+                System.out.println((i + 1) + ". " + service.getServiceId() + " - " + service.getDescription()
+                        + " [" + service.getStatus() + "]");
+            }
+        }
+        
+        MenuUtil.pauseForUser();
+    }
+    
     /**
      * Java 8+ features demonstration
      * 
@@ -1760,6 +2076,21 @@ public class CommunityAppApplication {
         // save state, release resources, etc.
         System.out.println("Performing cleanup operations...");
         
+        // Stop the deadline checks before the storage they write to
+        if (communityService != null) {
+            communityService.stopDeadlineMonitoring();
+        }
+        
+        // Flush and close durable storage, if any
+        if (persistentResidents != null) {
+            persistentResidents.close();
+            persistentResidents = null;
+        }
+        if (persistentServices != null) {
+            persistentServices.close();
+            persistentServices = null;
+        }
+        
         // Reset static variables
         residentService = null;
         communityService = null;
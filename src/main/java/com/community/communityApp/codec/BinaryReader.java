@@ -0,0 +1,161 @@
+package com.community.communityApp.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary input, the mirror image of BinaryWriter.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - java.nio ByteBuffer relative reads
+ * - Bit manipulation (varint and zigzag decoding)
+ * - Generic enum decoding through Class.getEnumConstants()
+ *
+ * STREAMING:
+ * - Reads advance the wrapped buffer's position, so many values can be
+ *   decoded back to back; the dynamic dictionary spans all of them
+ *
+ * ERRORS:
+ * - Truncated input surfaces as java.nio.BufferUnderflowException
+ * - Impossible values (bad ordinal, dictionary index, overlong varint)
+ *   throw IllegalArgumentException
+ *
+ * NOT THREAD-SAFE: use one reader per thread or stream.
+ */
+public class BinaryReader {
+
+    private final ByteBuffer buffer;
+    private final List<String> dictionary = new ArrayList<>();
+
+    public BinaryReader(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Source buffer cannot be null");
+        }
+        this.buffer = buffer;
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    public int readByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if ((value & ~0xFFFFFFFFL) != 0) {
+            throw new IllegalArgumentException("Varint out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Read a count or length and sanity-check it against the input size
+     */
+    public int readLength() {
+        int length = readVarInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Length " + length + " exceeds remaining input");
+        }
+        return length;
+    }
+
+    public long readZigZag() {
+        return unzigzag(readVarLong());
+    }
+
+    public Integer readNullableInt() {
+        long code = readVarLong();
+        return code == 0 ? null : Math.toIntExact(unzigzag(code - 1));
+    }
+
+    public double readDouble() {
+        return buffer.getDouble();
+    }
+
+    public Double readNullableDouble() {
+        return readBoolean() ? readDouble() : null;
+    }
+
+    public LocalDate readDate() {
+        long code = readVarLong();
+        return code == 0 ? null : LocalDate.ofEpochDay(unzigzag(code - 1));
+    }
+
+    public LocalDateTime readDateTime() {
+        long code = readVarLong();
+        if (code == 0) {
+            return null;
+        }
+        long seconds = unzigzag(code - 1);
+        return LocalDateTime.ofEpochSecond(seconds, readVarInt(), ZoneOffset.UTC);
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        int code = readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        E[] constants = type.getEnumConstants();
+        if (code > constants.length) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " ordinal " + (code - 1));
+        }
+        return constants[code - 1];
+    }
+
+    public String readString() {
+        long code = readVarLong();
+        if (code == 0) {
+            return null;
+        }
+        if ((code & 1) == 1) {
+            long index = code >>> 1;
+            if (index < StringDictionary.size()) {
+                return StringDictionary.get((int) index);
+            }
+            long dynamic = index - StringDictionary.size();
+            if (dynamic >= dictionary.size()) {
+                throw new IllegalArgumentException("Unknown dictionary index " + index);
+            }
+            return dictionary.get((int) dynamic);
+        }
+
+        long length = (code >>> 1) - 1;
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " exceeds remaining input");
+        }
+        byte[] bytes = new byte[(int) length];
+        buffer.get(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        if (length <= BinaryWriter.MAX_DICTIONARY_BYTES) {
+            dictionary.add(value);
+        }
+        return value;
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,207 @@
+package com.community.communityApp.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary output for the model codecs.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - java.nio ByteBuffer (heap, growable or caller-supplied)
+ * - Bit manipulation (varint and zigzag encoding)
+ * - Constructor overloading for the two buffer modes
+ *
+ * PRIMITIVES:
+ * - Unsigned varint (LEB128): 7 bits per byte, small values take 1 byte
+ * - Signed values are zigzag-mapped first so -1 is as short as 1
+ * - Nullable numbers and dates use 0 for null and value + 1 otherwise
+ * - LocalDate as epoch day, LocalDateTime as epoch second (UTC) plus nanos
+ *
+ * STRINGS (see StringDictionary):
+ * - 0 = null
+ * - (index << 1) | 1 = dictionary reference
+ * - (length + 1) << 1 = UTF-8 literal, then entered into the dictionary
+ *   if it is at most MAX_DICTIONARY_BYTES long
+ *
+ * STREAMING:
+ * - One writer may encode many values back to back; the dynamic
+ *   dictionary spans all of them and reset() starts a new stream
+ * - Writers over a caller's buffer throw BufferOverflowException when
+ *   it is full, leaving that record partially written (callers rewind
+ *   and reset() before retrying); the default writer grows its buffer
+ *
+ * NOT THREAD-SAFE: use one writer per thread or stream.
+ */
+public class BinaryWriter {
+
+    /**
+     * Longer strings are rarely repeated (descriptions, free text)
+     */
+    static final int MAX_DICTIONARY_BYTES = 64;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private ByteBuffer buffer;
+    private final boolean growable;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    /**
+     * Writer with its own growable buffer
+     */
+    public BinaryWriter() {
+        this.buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+        this.growable = true;
+    }
+
+    /**
+     * Writer appending to the caller's buffer at its current position
+     *
+     * @param target The destination buffer
+     */
+    public BinaryWriter(ByteBuffer target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target buffer cannot be null");
+        }
+        this.buffer = target;
+        this.growable = false;
+    }
+
+    /**
+     * Start a new stream: forget dynamic dictionary entries and, for
+     * the growable buffer, discard written bytes
+     */
+    public void reset() {
+        dictionary.clear();
+        if (growable) {
+            buffer.clear();
+        }
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer.put((byte) value);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(varLongSize(value));
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public void writeZigZag(long value) {
+        writeVarLong(zigzag(value));
+    }
+
+    public void writeNullableInt(Integer value) {
+        writeVarLong(value == null ? 0 : zigzag(value) + 1);
+    }
+
+    public void writeDouble(double value) {
+        ensureCapacity(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    public void writeNullableDouble(Double value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeDouble(value);
+        }
+    }
+
+    public void writeDate(LocalDate value) {
+        writeVarLong(value == null ? 0 : zigzag(value.toEpochDay()) + 1);
+    }
+
+    public void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(zigzag(value.toEpochSecond(ZoneOffset.UTC)) + 1);
+        writeVarInt(value.getNano());
+    }
+
+    public <E extends Enum<E>> void writeEnum(E value) {
+        writeVarInt(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        int wellKnown = StringDictionary.indexOf(value);
+        if (wellKnown >= 0) {
+            writeVarLong(((long) wellKnown << 1) | 1);
+            return;
+        }
+        Integer dynamic = dictionary.get(value);
+        if (dynamic != null) {
+            writeVarLong(((long) dynamic << 1) | 1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(((long) bytes.length + 1) << 1);
+        ensureCapacity(bytes.length);
+        buffer.put(bytes);
+        if (bytes.length <= MAX_DICTIONARY_BYTES) {
+            dictionary.put(value, StringDictionary.size() + dictionary.size());
+        }
+    }
+
+    /**
+     * Bytes written so far (growable writer) as a new array
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        buffer.duplicate().flip().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Number of bytes written into the buffer so far
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    static int varLongSize(long value) {
+        int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (!growable) {
+            throw new BufferOverflowException();
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+}
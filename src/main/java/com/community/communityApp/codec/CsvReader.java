@@ -0,0 +1,248 @@
+package com.community.communityApp.codec;
+
+import com.community.communityApp.exception.PersistenceException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader over a FileChannel.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - java.nio FileChannel with a reusable direct ByteBuffer
+ * - A small state machine (quoted / unquoted field)
+ * - AutoCloseable for try-with-resources
+ *
+ * STREAMING:
+ * - The file is read BUFFER_BYTES at a time; memory use does not
+ *   depend on the file size, only on the longest field
+ * - Parsing works on bytes: the delimiters are ASCII, and UTF-8 never
+ *   uses ASCII byte values inside a multi-byte character, so fields
+ *   are decoded only once they are complete
+ *
+ * FORMAT:
+ * - Comma separated; a field may be quoted with '"', and "" inside a
+ *   quoted field is one quote; quoted fields may span lines
+ * - LF and CRLF line endings; blank lines are skipped
+ * - A leading UTF-8 byte order mark is ignored
+ *
+ * NOT THREAD-SAFE: one reader per file and thread.
+ */
+public final class CsvReader implements AutoCloseable {
+
+    static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private boolean endOfInput;
+    private long bytesRead;
+
+    /**
+     * Line the next record starts on, and line the last record started on
+     */
+    private long nextLine = 1;
+    private long recordLine;
+
+    private CsvReader(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    /**
+     * Open a CSV file for reading.
+     *
+     * @throws PersistenceException if the file cannot be opened
+     */
+    public static CsvReader open(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        try {
+            CsvReader reader = new CsvReader(file, FileChannel.open(file, StandardOpenOption.READ));
+            reader.skipByteOrderMark();
+            return reader;
+        } catch (IOException e) {
+            throw PersistenceException.readFailed(file, e);
+        }
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return The record's fields (never empty), or null at end of file
+     * @throws PersistenceException on an I/O error or an unterminated quote
+     */
+    public List<String> readRecord() {
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            recordLine = nextLine;
+            fields.clear();
+            if (!readFields(fields)) {
+                return null;
+            }
+            // A blank line parses as one empty field
+            if (fields.size() > 1 || !fields.get(0).isEmpty()) {
+                return fields;
+            }
+        }
+    }
+
+    /**
+     * Line number (1-based) on which the last record returned started
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Parse one physical record into fields.
+     *
+     * @return false if the input ended before any byte of a record
+     */
+    private boolean readFields(List<String> fields) {
+        fieldLength = 0;
+        boolean quoted = false;
+        boolean fieldWasQuoted = false;
+        int b = nextByte();
+        if (b < 0) {
+            return false;
+        }
+        while (true) {
+            if (b < 0) {
+                if (quoted) {
+                    throw PersistenceException.corrupt(file,
+                            "unterminated quoted field in the record starting on line " + recordLine);
+                }
+                fields.add(takeField());
+                return true;
+            }
+            if (quoted) {
+                if (b == '"') {
+                    if (peekByte() == '"') {
+                        nextByte();
+                        append(b);
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (b == '\n') {
+                        nextLine++;
+                    }
+                    append(b);
+                }
+            } else if (b == ',') {
+                fields.add(takeField());
+                fieldWasQuoted = false;
+            } else if (b == '\n' || b == '\r') {
+                if (b == '\r' && peekByte() == '\n') {
+                    nextByte();
+                }
+                nextLine++;
+                fields.add(takeField());
+                return true;
+            } else if (b == '"' && fieldLength == 0 && !fieldWasQuoted) {
+                quoted = true;
+                fieldWasQuoted = true;
+            } else {
+                append(b);
+            }
+            b = nextByte();
+        }
+    }
+
+    private String takeField() {
+        String value = new String(field, 0, fieldLength, StandardCharsets.UTF_8);
+        fieldLength = 0;
+        return value;
+    }
+
+    private void append(int b) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = (byte) b;
+    }
+
+    private int nextByte() {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private int peekByte() {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    /**
+     * Refill the (empty) buffer from the channel
+     *
+     * @return false at end of file
+     */
+    private boolean fill() {
+        if (endOfInput) {
+            return false;
+        }
+        try {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0) {
+                endOfInput = true;
+                return false;
+            }
+            bytesRead += read;
+            return true;
+        } catch (IOException e) {
+            throw PersistenceException.readFailed(file, e);
+        }
+    }
+
+    private void skipByteOrderMark() {
+        if (!fill()) {
+            return;
+        }
+        if (buffer.remaining() >= BYTE_ORDER_MARK.length
+                && buffer.get(0) == BYTE_ORDER_MARK[0]
+                && buffer.get(1) == BYTE_ORDER_MARK[1]
+                && buffer.get(2) == BYTE_ORDER_MARK[2]) {
+            buffer.position(BYTE_ORDER_MARK.length);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw PersistenceException.readFailed(file, e);
+        }
+    }
+}
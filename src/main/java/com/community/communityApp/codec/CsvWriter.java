@@ -0,0 +1,171 @@
+package com.community.communityApp.codec;
+
+import com.community.communityApp.exception.PersistenceException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV writer over a FileChannel.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - java.nio FileChannel with a reusable direct ByteBuffer
+ * - ASCII fast path, UTF-8 encoding only for non-ASCII fields
+ * - AutoCloseable for try-with-resources
+ *
+ * STREAMING:
+ * - Records are encoded into a BUFFER_BYTES buffer that is written
+ *   out whenever it fills, so memory use does not grow with the file
+ *
+ * FORMAT (what CsvReader reads back):
+ * - Comma separated, LF line endings
+ * - Fields containing a comma, quote, CR or LF, or with leading or
+ *   trailing spaces, are quoted; quotes inside are doubled
+ * - null fields are written as empty fields
+ *
+ * NOT THREAD-SAFE: one writer per file and thread.
+ */
+public final class CsvWriter implements AutoCloseable {
+
+    static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long bytesWritten;
+
+    private CsvWriter(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Create (or truncate) a CSV file for writing.
+     *
+     * @throws PersistenceException if the file cannot be opened
+     */
+    public static CsvWriter create(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        try {
+            return new CsvWriter(file, FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw PersistenceException.writeFailed(file, e);
+        }
+    }
+
+    public void writeRecord(String... fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeField(fields[i]);
+        }
+        put((byte) '\n');
+    }
+
+    public void writeRecord(List<String> fields) {
+        writeRecord(fields.toArray(new String[0]));
+    }
+
+    /**
+     * Bytes handed to the channel so far (excluding the buffered tail)
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void writeField(String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ';
+        boolean ascii = true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                quote = true;
+            } else if (c >= 0x80) {
+                ascii = false;
+            }
+        }
+        if (quote) {
+            put((byte) '"');
+        }
+        if (ascii) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    put((byte) '"');
+                }
+                put((byte) c);
+            }
+        } else {
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                if (b == '"') {
+                    put((byte) '"');
+                }
+                put(b);
+            }
+        }
+        if (quote) {
+            put((byte) '"');
+        }
+    }
+
+    private void put(byte b) {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put(b);
+    }
+
+    /**
+     * Write the buffered bytes to the channel
+     */
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw PersistenceException.writeFailed(file, e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Hand buffered records to the OS (forced to the device only by close())
+     */
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * Flush, force the file to the device and close it
+     */
+    @Override
+    public void close() {
+        try {
+            drain();
+            channel.force(true);
+        } catch (IOException e) {
+            throw PersistenceException.writeFailed(file, e);
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already failing or flushed; nothing more to do
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.community.communityApp.codec;
+
+import com.community.communityApp.persistence.RecordCodec;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Base class of the hand-written, versioned model codecs.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Abstract class implementing a generic interface
+ * - Template Method: version header here, body in subclasses
+ * - Functional interfaces (Supplier, Consumer) for collection decoding
+ * - instanceof dispatch over a closed set of value types
+ *
+ * RECORD LAYOUT:
+ * - varint format version (currently 2)
+ * - byte   type tag chosen by the subclass (e.g. Resident vs Administrator)
+ * - body   written by the subclass
+ *
+ * TWO USAGE MODES:
+ * - RecordCodec (encode/decode): every record is self-contained with its
+ *   own dynamic dictionary, as the write-ahead log requires
+ * - Streaming (encodeTo/decodeFrom): many records share one writer or
+ *   reader over a ByteBuffer, so repeated strings are written once
+ *
+ * COMPATIBILITY:
+ * - Decoders accept every version up to FORMAT_VERSION and reject newer
+ *   data instead of misreading it
+ *
+ * @param <T> The model type
+ */
+public abstract class ModelCodec<T> implements RecordCodec<T> {
+
+    /**
+     * Current wire format version
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    /**
+     * METADATA VALUE TAGS (Map<String, Object> values)
+     */
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_INTEGER = 2;
+    private static final int VALUE_LONG = 3;
+    private static final int VALUE_DOUBLE = 4;
+    private static final int VALUE_BOOLEAN = 5;
+    private static final int VALUE_DATE = 6;
+    private static final int VALUE_DATE_TIME = 7;
+
+    /**
+     * Reusable per-thread writer for the record mode
+     */
+    private final ThreadLocal<BinaryWriter> recordWriters = ThreadLocal.withInitial(BinaryWriter::new);
+
+    /**
+     * Encode one self-contained record.
+     */
+    @Override
+    public byte[] encode(T value) {
+        BinaryWriter writer = recordWriters.get();
+        writer.reset();
+        encodeTo(value, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decode one self-contained record.
+     */
+    @Override
+    public T decode(ByteBuffer buffer) {
+        return decodeFrom(new BinaryReader(buffer));
+    }
+
+    /**
+     * Append a record to a stream.
+     *
+     * @param value The value to encode (never null)
+     * @param writer The stream's writer
+     */
+    public void encodeTo(T value, BinaryWriter writer) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot encode null");
+        }
+        writer.writeVarInt(FORMAT_VERSION);
+        writer.writeByte(typeTag(value));
+        writeBody(value, writer);
+    }
+
+    /**
+     * Read the next record of a stream.
+     *
+     * @param reader The stream's reader
+     * @return The decoded value
+     * @throws IllegalArgumentException for unknown versions or type tags
+     */
+    public T decodeFrom(BinaryReader reader) {
+        int version = reader.readVarInt();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported format version " + version);
+        }
+        return readBody(version, reader.readByte(), reader);
+    }
+
+    /**
+     * Type tag stored before the body
+     */
+    protected abstract int typeTag(T value);
+
+    protected abstract void writeBody(T value, BinaryWriter writer);
+
+    protected abstract T readBody(int version, int typeTag, BinaryReader reader);
+
+    // SHARED HELPERS for the collection-heavy model classes
+
+    protected static void writeStrings(Collection<String> values, BinaryWriter writer) {
+        writer.writeVarInt(values.size());
+        for (String value : values) {
+            writer.writeString(value);
+        }
+    }
+
+    /**
+     * Read a string collection, feeding each element to an adder
+     * (e.g. resident::addEmergencyContact keeps model validation)
+     */
+    protected static void readStrings(BinaryReader reader, Consumer<String> adder) {
+        int count = reader.readLength();
+        for (int i = 0; i < count; i++) {
+            adder.accept(reader.readString());
+        }
+    }
+
+    protected static void writeStringMap(Map<String, String> values, BinaryWriter writer) {
+        writer.writeVarInt(values.size());
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeString(entry.getValue());
+        }
+    }
+
+    protected static <M extends Map<String, String>> M readStringMap(BinaryReader reader, Supplier<M> factory) {
+        int count = reader.readLength();
+        M values = factory.get();
+        for (int i = 0; i < count; i++) {
+            values.put(reader.readString(), reader.readString());
+        }
+        return values;
+    }
+
+    /**
+     * Metadata maps hold arbitrary objects; the supported value types are
+     * those the application stores (text, numbers, flags, dates).
+     *
+     * @throws IllegalArgumentException for any other value type
+     */
+    protected static void writeObjectMap(Map<String, Object> values, BinaryWriter writer) {
+        writer.writeVarInt(values.size());
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            writer.writeString(entry.getKey());
+            writeObject(entry.getKey(), entry.getValue(), writer);
+        }
+    }
+
+    protected static void readObjectMap(BinaryReader reader, Map<String, Object> target) {
+        int count = reader.readLength();
+        for (int i = 0; i < count; i++) {
+            String key = reader.readString();
+            target.put(key, readObject(reader));
+        }
+    }
+
+    private static void writeObject(String key, Object value, BinaryWriter writer) {
+        if (value == null) {
+            writer.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            writer.writeByte(VALUE_STRING);
+            writer.writeString((String) value);
+        } else if (value instanceof Integer) {
+            writer.writeByte(VALUE_INTEGER);
+            writer.writeZigZag((Integer) value);
+        } else if (value instanceof Long) {
+            writer.writeByte(VALUE_LONG);
+            writer.writeZigZag((Long) value);
+        } else if (value instanceof Double) {
+            writer.writeByte(VALUE_DOUBLE);
+            writer.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            writer.writeByte(VALUE_BOOLEAN);
+            writer.writeBoolean((Boolean) value);
+        } else if (value instanceof LocalDate) {
+            writer.writeByte(VALUE_DATE);
+            writer.writeDate((LocalDate) value);
+        } else if (value instanceof LocalDateTime) {
+            writer.writeByte(VALUE_DATE_TIME);
+            writer.writeDateTime((LocalDateTime) value);
+        } else {
+            throw new IllegalArgumentException(String.format(
+                    "Metadata '%s' has unsupported type %s", key, value.getClass().getName()));
+        }
+    }
+
+    private static Object readObject(BinaryReader reader) {
+        int tag = reader.readByte();
+        return switch (tag) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> reader.readString();
+            case VALUE_INTEGER -> Math.toIntExact(reader.readZigZag());
+            case VALUE_LONG -> reader.readZigZag();
+            case VALUE_DOUBLE -> reader.readDouble();
+            case VALUE_BOOLEAN -> reader.readBoolean();
+            case VALUE_DATE -> reader.readDate();
+            case VALUE_DATE_TIME -> reader.readDateTime();
+            default -> throw new IllegalArgumentException("Unknown metadata value tag " + tag);
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.community.communityApp.codec;
+
+import com.community.communityApp.model.Administrator;
+import com.community.communityApp.model.Resident;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary codec for Resident and its Administrator subclass.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Polymorphic encoding: one codec for a class hierarchy
+ * - Type tags instead of class names on the wire
+ * - Reuse of the public model API (constructors, setters) on decode,
+ *   so model validation and normalization still apply
+ *
+ * BODY LAYOUT (unchanged since version 1):
+ * - name, email, birthDate, apartmentNumber, unitCount, status, phone
+ * - serviceRequests (list), emergencyContacts (set), preferences (map)
+ * - Administrator only: role, appointmentDate, permissions,
+ *   actions (timestamp, action, description), metadata
+ *
+ * DERIVED STATE:
+ * - age is not stored; Person recomputes it from birthDate
+ */
+public class ResidentCodec extends ModelCodec<Resident> {
+
+    static final int TYPE_RESIDENT = 1;
+    static final int TYPE_ADMINISTRATOR = 2;
+
+    @Override
+    protected int typeTag(Resident value) {
+        return value instanceof Administrator ? TYPE_ADMINISTRATOR : TYPE_RESIDENT;
+    }
+
+    @Override
+    protected void writeBody(Resident resident, BinaryWriter writer) {
+        writer.writeString(resident.getName());
+        writer.writeString(resident.getEmail());
+        writer.writeDate(resident.getBirthDate());
+        writer.writeString(resident.getApartmentNumber());
+        writer.writeNullableInt(resident.getUnitCount());
+        writer.writeEnum(resident.getStatus());
+        writer.writeString(resident.getPhoneNumber().orElse(null));
+        writeStrings(resident.getServiceRequests(), writer);
+        writeStrings(resident.getEmergencyContacts(), writer);
+        writeStringMap(resident.getAllPreferences(), writer);
+
+        if (resident instanceof Administrator) {
+            Administrator admin = (Administrator) resident;
+            writer.writeEnum(admin.getAdminRole());
+            writer.writeDateTime(admin.getAppointmentDate());
+            writeStrings(admin.getPermissions(), writer);
+            List<Administrator.AdminAction> actions = admin.getAdminActions();
+            writer.writeVarInt(actions.size());
+            for (Administrator.AdminAction action : actions) {
+                writer.writeDateTime(action.getTimestamp());
+                writer.writeString(action.getAction());
+                writer.writeString(action.getDescription());
+            }
+            writeObjectMap(admin.getAllMetadata(), writer);
+        }
+    }
+
+    @Override
+    protected Resident readBody(int version, int typeTag, BinaryReader reader) {
+        if (typeTag != TYPE_RESIDENT && typeTag != TYPE_ADMINISTRATOR) {
+            throw new IllegalArgumentException("Unknown resident type tag " + typeTag);
+        }
+        String name = reader.readString();
+        String email = reader.readString();
+        LocalDate birthDate = reader.readDate();
+        String apartmentNumber = reader.readString();
+        Integer unitCount = reader.readNullableInt();
+        Resident.ResidentStatus status = reader.readEnum(Resident.ResidentStatus.class);
+        String phone = reader.readString();
+        List<String> serviceRequests = new ArrayList<>();
+        readStrings(reader, serviceRequests::add);
+        List<String> emergencyContacts = new ArrayList<>();
+        readStrings(reader, emergencyContacts::add);
+        Map<String, String> preferences = readStringMap(reader, LinkedHashMap::new);
+
+        // Subclass fields come last on the wire; the role is needed to construct
+        Resident resident;
+        if (typeTag == TYPE_ADMINISTRATOR) {
+            Administrator.AdminRole role = reader.readEnum(Administrator.AdminRole.class);
+            Administrator admin = new Administrator(name, email, birthDate, apartmentNumber, unitCount, role);
+            LocalDateTime appointmentDate = reader.readDateTime();
+            List<String> permissions = new ArrayList<>();
+            readStrings(reader, permissions::add);
+            int actionCount = reader.readLength();
+            List<Administrator.AdminAction> actions = new ArrayList<>(actionCount);
+            for (int i = 0; i < actionCount; i++) {
+                actions.add(new Administrator.AdminAction(
+                        reader.readDateTime(), reader.readString(), reader.readString()));
+            }
+            admin.restoreHistory(appointmentDate, permissions, actions);
+            Map<String, Object> metadata = new HashMap<>();
+            readObjectMap(reader, metadata);
+            metadata.forEach(admin::setMetadata);
+            resident = admin;
+        } else {
+            resident = new Resident(name, email, birthDate, apartmentNumber, unitCount);
+        }
+
+        resident.setStatus(status);
+        resident.setPhoneNumber(phone);
+        serviceRequests.forEach(resident::addServiceRequest);
+        emergencyContacts.forEach(resident::addEmergencyContact);
+        preferences.forEach(resident::setPreference);
+        return resident;
+    }
+}
@@ -0,0 +1,83 @@
+package com.community.communityApp.codec;
+
+import com.community.communityApp.model.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary codec for Service.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Builder Pattern on decode (Service.builder())
+ * - Enum ordinals for type and status
+ * - Nullable wrapper types (Double) and Optional getters
+ *
+ * BODY LAYOUT (version 2):
+ * - serviceId, serviceType, description, providerName, estimatedCost,
+ *   requestedBy
+ * - status, requestedAt, scheduledAt, completedAt, startedAt (the
+ *   lifecycle fields come from one Service.Lifecycle snapshot)
+ * - requirements (list), tags (set), metadata (map)
+ *
+ * VERSION 1 lacks startedAt; such records decode without one.
+ *
+ * DICTIONARY:
+ * - Provider names and requester apartments repeat across services, so
+ *   streams of services (snapshots, transport) send each only once
+ */
+public class ServiceCodec extends ModelCodec<Service> {
+
+    static final int TYPE_SERVICE = 1;
+
+    @Override
+    protected int typeTag(Service value) {
+        return TYPE_SERVICE;
+    }
+
+    @Override
+    protected void writeBody(Service service, BinaryWriter writer) {
+        writer.writeString(service.getServiceId());
+        writer.writeEnum(service.getServiceType());
+        writer.writeString(service.getDescription());
+        writer.writeString(service.getProviderName());
+        writer.writeNullableDouble(service.getEstimatedCost());
+        writer.writeString(service.getRequestedBy());
+        Service.Lifecycle lifecycle = service.getLifecycle();
+        writer.writeEnum(lifecycle.getStatus());
+        writer.writeDateTime(service.getRequestedAt());
+        writer.writeDateTime(lifecycle.getScheduledAt().orElse(null));
+        writer.writeDateTime(lifecycle.getCompletedAt().orElse(null));
+        writer.writeDateTime(lifecycle.getStartedAt().orElse(null));
+        writeStrings(service.getRequirements(), writer);
+        writeStrings(service.getTags(), writer);
+        writeObjectMap(service.getAllMetadata(), writer);
+    }
+
+    @Override
+    protected Service readBody(int version, int typeTag, BinaryReader reader) {
+        if (typeTag != TYPE_SERVICE) {
+            throw new IllegalArgumentException("Unknown service type tag " + typeTag);
+        }
+        Service.ServiceBuilder builder = Service.builder()
+                .serviceId(reader.readString())
+                .serviceType(reader.readEnum(Service.ServiceType.class))
+                .description(reader.readString())
+                .providerName(reader.readString())
+                .estimatedCost(reader.readNullableDouble())
+                .requestedBy(reader.readString())
+                .status(reader.readEnum(Service.ServiceStatus.class))
+                .requestedAt(reader.readDateTime())
+                .scheduledAt(reader.readDateTime())
+                .completedAt(reader.readDateTime());
+        if (version >= 2) {
+            builder.startedAt(reader.readDateTime());
+        }
+        readStrings(reader, builder::addRequirement);
+        readStrings(reader, builder::addTag);
+        Map<String, Object> metadata = new HashMap<>();
+        readObjectMap(reader, metadata);
+        metadata.forEach(builder::metadata);
+        return builder.build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.community.communityApp.codec;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Well-known strings shared by every encoder and decoder of a format version.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Utility class with private constructor
+ * - Immutable static collections
+ * - Static initialization of a reverse lookup map
+ *
+ * STRING DICTIONARY:
+ * - Strings found here are written as a one-byte reference instead of
+ *   their UTF-8 bytes (default preference keys, "true"/"false", tags,
+ *   permission names, administrative action codes)
+ * - Every other short string is added to a per-stream dynamic dictionary
+ *   as it is written, so repeated provider names or tags in one stream
+ *   are also sent only once (see BinaryWriter)
+ *
+ * VERSIONING:
+ * - The list is part of wire format version 1: entries may only ever be
+ *   appended, never reordered or removed
+ */
+public final class StringDictionary {
+
+    private static final List<String> WELL_KNOWN = Collections.unmodifiableList(Arrays.asList(
+            // Resident default preferences
+            "email_notifications", "sms_notifications", "newsletter_subscription", "maintenance_alerts",
+            "true", "false",
+            // Default service tags (lower-case service type names)
+            "cleaning", "maintenance", "security", "gardening", "pest_control", "pool_maintenance",
+            "waste_management",
+            // Administrator permissions
+            "VIEW_REPORTS", "SEND_NOTIFICATIONS", "MANAGE_RESERVATIONS", "MANAGE_COMMUNICATIONS",
+            "ACCESS_RESIDENT_INFO", "MANAGE_FINANCES", "APPROVE_EXPENSES", "MANAGE_STAFF",
+            "SYSTEM_CONFIGURATION", "FULL_ACCESS", "MANAGE_ADMINISTRATORS",
+            // Administrator action codes
+            "APPOINTMENT", "PERMISSION_GRANTED", "ROLE_CHANGE"));
+
+    private static final Map<String, Integer> INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < WELL_KNOWN.size(); i++) {
+            INDEX.put(WELL_KNOWN.get(i), i);
+        }
+    }
+
+    private StringDictionary() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Number of well-known entries; dynamic entries are numbered after them
+     */
+    static int size() {
+        return WELL_KNOWN.size();
+    }
+
+    /**
+     * Index of a well-known string, or -1
+     */
+    static int indexOf(String value) {
+        Integer index = INDEX.get(value);
+        return index != null ? index : -1;
+    }
+
+    static String get(int index) {
+        return WELL_KNOWN.get(index);
+    }
+}
@@ -0,0 +1,59 @@
+package com.community.communityApp.exception;
+
+/**
+ * Exception thrown when a save would violate a unique repository index.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Exception inheritance and specialization
+ * - Immutable exception state (final fields)
+ * - Exception translation between layers
+ *
+ * EXCEPTION DESIGN:
+ * - Extends CommunityAppException for consistency
+ * - Raised by the repository layer, not by business rules
+ * - Carries the index name and the conflicting key
+ * - Service classes translate it into business exceptions
+ *   (e.g. DuplicateResidentException.forApartment)
+ *
+ * WHEN TO THROW:
+ * - A unique index key is already owned by another entity
+ * - Registering a unique index over data that already has duplicates
+ */
+public class DuplicateKeyException extends CommunityAppException {
+
+    /**
+     * SERIALIZATION support
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * CONFLICT information
+     *
+     * - indexName: the unique index that rejected the save
+     * - key: the (normalized) key that is already taken
+     */
+    private final String indexName;
+    private final String key;
+
+    /**
+     * Constructor with conflict details
+     *
+     * DETAILED CONSTRUCTOR:
+     * - Generates a descriptive error message
+     * - Stores the key as text so the exception stays serializable
+     */
+    public DuplicateKeyException(String indexName, Object key) {
+        super(String.format("Unique index '%s' already contains key '%s'", indexName, key),
+              "DUPLICATE_KEY");
+        this.indexName = indexName;
+        this.key = String.valueOf(key);
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
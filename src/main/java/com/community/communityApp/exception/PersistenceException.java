@@ -0,0 +1,77 @@
+package com.community.communityApp.exception;
+
+import java.nio.file.Path;
+
+/**
+ * Exception thrown when durable storage cannot be read or written.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Exception translation (checked IOException → unchecked)
+ * - Exception chaining with the original cause
+ * - Static factory methods for common failure scenarios
+ *
+ * EXCEPTION DESIGN:
+ * - Extends CommunityAppException for consistency
+ * - Raised by the persistence layer (write-ahead log, snapshots)
+ * - Keeps Repository method signatures free of checked exceptions
+ * - Carries the file that failed for diagnostics
+ *
+ * WHEN TO THROW:
+ * - Appending to or forcing the log fails
+ * - The log or a snapshot cannot be opened or read
+ * - A snapshot or a non-final log segment fails its checksum
+ * - Writing to a log that has already been closed
+ */
+public class PersistenceException extends CommunityAppException {
+
+    /**
+     * SERIALIZATION support
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * FILE CONTEXT stored as text so the exception stays serializable
+     */
+    private final String file;
+
+    public PersistenceException(String message, Path file, Throwable cause) {
+        super(message + ": " + file, "PERSISTENCE_ERROR", cause);
+        this.file = String.valueOf(file);
+    }
+
+    public PersistenceException(String message, Path file) {
+        this(message, file, null);
+    }
+
+    /**
+     * Factory for I/O failures while writing.
+     */
+    public static PersistenceException writeFailed(Path file, Throwable cause) {
+        return new PersistenceException("Failed to write durable storage", file, cause);
+    }
+
+    /**
+     * Factory for I/O failures while reading or recovering.
+     */
+    public static PersistenceException readFailed(Path file, Throwable cause) {
+        return new PersistenceException("Failed to read durable storage", file, cause);
+    }
+
+    /**
+     * Factory for damaged files that cannot be recovered automatically.
+     */
+    public static PersistenceException corrupt(Path file, String detail) {
+        return new PersistenceException("Corrupt durable storage (" + detail + ")", file);
+    }
+
+    /**
+     * Factory for use after close().
+     */
+    public static PersistenceException closed(Path file) {
+        return new PersistenceException("Durable storage is closed", file);
+    }
+
+    public String getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,267 @@
+package com.community.communityApp.index;
+
+import com.community.communityApp.repository.RepositoryIndex;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Prefix autocomplete over several text fields of an entity.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Generic class implementing the RepositoryIndex observer contract
+ * - Fluent configuration (field() returns this)
+ * - Immutable value objects with equals/hashCode
+ * - Composition: the tree itself is a RadixTrie
+ *
+ * KEYS:
+ * - Every configured field is indexed under its lowercased value
+ * - Word fields are also indexed from each later word, so "garc"
+ *   completes "Ana Garcia"
+ * - Each key ends with SEPARATOR, the field rank and the id, so a text
+ *   shared by thousands of residents (a common surname) becomes
+ *   thousands of short leaves instead of one huge value array that
+ *   every insert would have to copy
+ *
+ * RANKING (top-K):
+ * - Completions come in key order: a key before the longer keys that
+ *   extend it (closest completion first), siblings alphabetically
+ * - For the same key, fields rank in the order they were configured
+ * - Each id is returned once, at its best-ranked completion
+ * - The traversal stops as soon as K distinct ids are found
+ *
+ * CONFIGURATION:
+ * - Fields must be configured before the index is registered on a
+ *   repository
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ */
+public class AutocompleteIndex<T, ID> implements RepositoryIndex<T, ID> {
+
+    /**
+     * Sorts before every printable char, so an exact match comes
+     * before longer completions
+     */
+    static final char SEPARATOR = '\u0000';
+
+    private final String name;
+    private final List<Field<T>> fields = new ArrayList<>();
+    private final RadixTrie<Completion<ID>> trie = new RadixTrie<>(Comparator.comparingInt(c -> c.rank));
+
+    /**
+     * id → (key, completion) pairs currently in the trie
+     */
+    private final Map<ID, Set<Posting<ID>>> postingsById = new ConcurrentHashMap<>();
+
+    public AutocompleteIndex(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        this.name = name.trim();
+    }
+
+    /**
+     * Add a field to complete on; earlier fields rank higher.
+     *
+     * @param fieldName Label reported with each completion (e.g. "name")
+     * @param extractor Extracts the field value (null values are skipped)
+     * @param splitWords Whether to also complete on every later word
+     * @return This index, for chaining
+     */
+    public AutocompleteIndex<T, ID> field(String fieldName, Function<? super T, String> extractor, boolean splitWords) {
+        if (fieldName == null || extractor == null) {
+            throw new IllegalArgumentException("Field name and extractor cannot be null");
+        }
+        if (fields.size() >= 10) {
+            throw new IllegalStateException("At most 10 fields are supported");
+        }
+        fields.add(new Field<>(fieldName, extractor, splitWords, fields.size()));
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void onSave(ID id, T entity) {
+        Set<Posting<ID>> current = postingsOf(id, entity);
+        Set<Posting<ID>> previous = postingsById.get(id);
+        if (current.equals(previous)) {
+            return;
+        }
+        // Add first, then remove stale entries: readers never lose an unchanged key
+        for (Posting<ID> posting : current) {
+            if (previous == null || !previous.contains(posting)) {
+                trie.put(posting.key, posting.completion);
+            }
+        }
+        if (previous != null) {
+            for (Posting<ID> posting : previous) {
+                if (!current.contains(posting)) {
+                    trie.remove(posting.key, posting.completion);
+                }
+            }
+        }
+        postingsById.put(id, current);
+    }
+
+    @Override
+    public void onDelete(ID id, T entity) {
+        Set<Posting<ID>> previous = postingsById.remove(id);
+        if (previous != null) {
+            for (Posting<ID> posting : previous) {
+                trie.remove(posting.key, posting.completion);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        trie.clear();
+        postingsById.clear();
+    }
+
+    /**
+     * Top-K completions for a prefix.
+     *
+     * @param prefix What the user typed so far (case-insensitive)
+     * @param limit Maximum number of completions (K)
+     * @return Up to limit completions, best first, one per id
+     */
+    public List<Completion<ID>> complete(String prefix, int limit) {
+        if (prefix == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Completion<ID>> results = new ArrayList<>(Math.min(limit, 16));
+        Set<ID> seen = new HashSet<>();
+        trie.visitPrefix(key, completion -> {
+            if (seen.add(completion.id)) {
+                results.add(completion);
+            }
+            return results.size() < limit;
+        });
+        return results;
+    }
+
+    /**
+     * Number of (key, completion) entries in the tree
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    static String normalize(String text) {
+        return text.trim().toLowerCase();
+    }
+
+    private Set<Posting<ID>> postingsOf(ID id, T entity) {
+        Set<Posting<ID>> postings = new HashSet<>();
+        for (Field<T> field : fields) {
+            String value = field.extractor.apply(entity);
+            if (value == null || value.trim().isEmpty()) {
+                continue;
+            }
+            Completion<ID> completion = new Completion<>(id, field.name, value.trim(), field.rank);
+            String text = normalize(value);
+            String suffix = SEPARATOR + String.valueOf((char) ('0' + field.rank)) + id;
+            postings.add(new Posting<>(text + suffix, completion));
+            if (field.splitWords) {
+                for (int i = 1; i < text.length(); i++) {
+                    if (Character.isWhitespace(text.charAt(i - 1)) && !Character.isWhitespace(text.charAt(i))) {
+                        postings.add(new Posting<>(text.substring(i) + suffix, completion));
+                    }
+                }
+            }
+        }
+        return postings;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AutocompleteIndex{name='%s', fields=%d, entries=%d}", name, fields.size(), size());
+    }
+
+    /**
+     * One suggestion: which entity, through which field, and the text to show
+     */
+    public static final class Completion<ID> {
+        private final ID id;
+        private final String field;
+        private final String text;
+        private final int rank;
+
+        Completion(ID id, String field, String text, int rank) {
+            this.id = id;
+            this.field = field;
+            this.text = text;
+            this.rank = rank;
+        }
+
+        public ID getId() { return id; }
+        public String getField() { return field; }
+        public String getText() { return text; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Completion)) return false;
+            Completion<?> other = (Completion<?>) obj;
+            return id.equals(other.id) && field.equals(other.field) && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, field, text);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s)", text, field);
+        }
+    }
+
+    private static final class Field<T> {
+        final String name;
+        final Function<? super T, String> extractor;
+        final boolean splitWords;
+        final int rank;
+
+        Field(String name, Function<? super T, String> extractor, boolean splitWords, int rank) {
+            this.name = name;
+            this.extractor = extractor;
+            this.splitWords = splitWords;
+            this.rank = rank;
+        }
+    }
+
+    private static final class Posting<ID> {
+        final String key;
+        final Completion<ID> completion;
+
+        Posting(String key, Completion<ID> completion) {
+            this.key = key;
+            this.completion = completion;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Posting)) return false;
+            Posting<?> other = (Posting<?>) obj;
+            return key.equals(other.key) && completion.equals(other.completion);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + completion.hashCode();
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package com.community.communityApp.index;
+
+import com.community.communityApp.repository.RepositoryIndex;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Ranked full-text index: an inverted index scored with Okapi BM25.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Generic class implementing the RepositoryIndex observer contract
+ * - Primitive arrays for posting lists (no boxing on the query path)
+ * - ReentrantReadWriteLock: concurrent queries, exclusive writes
+ * - ThreadLocal scratch space reused across queries
+ * - A bounded binary min-heap on parallel primitive arrays
+ *
+ * SCORING (BM25):
+ * - score(d, q) = Σ over query terms t of
+ *   idf(t) · tf · (k1 + 1) / (tf + k1 · (1 − b + b · |d| / avgdl))
+ * - idf(t) = ln(1 + (N − df + 0.5) / (df + 0.5)), always positive
+ * - k1 caps how much repeating a term helps, b how much long texts
+ *   are penalized; the defaults are the usual 1.2 and 0.75
+ * - Query terms are ORed: a text matching more (and rarer) terms
+ *   ranks higher, but one match is enough to be found
+ *
+ * QUERY EVALUATION (term at a time):
+ * - Each query term's posting list is walked once, adding its share
+ *   to a dense per-text score array; only the texts touched are
+ *   remembered, so resetting costs the same as scoring
+ * - The top K come out of a min-heap of size K: O(touched · log K),
+ *   and nothing is sorted beyond the K results
+ *
+ * COST:
+ * - A query costs the posting lists of its terms, not the number of
+ *   texts; common words cost more, which the idf also discounts
+ * - Writes touch the postings of the terms of one text; removing a
+ *   text scans each of its terms' posting lists once
+ *
+ * MUTABLE ENTITIES:
+ * - The term frequencies are remembered per id, so a changed text
+ *   updates exactly the postings that differ, and an unchanged one
+ *   (e.g. a status change) costs one comparison
+ *
+ * THREAD SAFETY:
+ * - Postings and statistics are guarded by a read/write lock; queries
+ *   share the read lock and never block each other
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ */
+public class Bm25Index<T, ID> implements RepositoryIndex<T, ID> {
+
+    public static final float DEFAULT_K1 = 1.2f;
+    public static final float DEFAULT_B = 0.75f;
+
+    private final String name;
+    private final Function<? super T, String> textExtractor;
+    private final float k1;
+    private final float b;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postingsByTermId = new ArrayList<>();
+    private final Map<ID, Document> documentsById = new HashMap<>();
+    private final List<ID> idsByOrdinal = new ArrayList<>();
+    private RoaringBitmap ordinals = new RoaringBitmap();
+    private int[] lengthsByOrdinal = new int[16];
+    private long totalLength;
+
+    /**
+     * Per-thread query scratch space (grows with the index, never shrinks)
+     */
+    private final ThreadLocal<Accumulator> accumulators = ThreadLocal.withInitial(Accumulator::new);
+
+    public Bm25Index(String name, Function<? super T, String> textExtractor) {
+        this(name, textExtractor, DEFAULT_K1, DEFAULT_B);
+    }
+
+    /**
+     * @param k1 Term frequency saturation (≥ 0)
+     * @param b Length normalization, from 0 (none) to 1 (full)
+     */
+    public Bm25Index(String name, Function<? super T, String> textExtractor, float k1, float b) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        if (textExtractor == null) {
+            throw new IllegalArgumentException("Text extractor cannot be null");
+        }
+        if (!(k1 >= 0) || !(b >= 0 && b <= 1)) {
+            throw new IllegalArgumentException("BM25 parameters out of range: k1=" + k1 + ", b=" + b);
+        }
+        this.name = name.trim();
+        this.textExtractor = textExtractor;
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void onSave(ID id, T entity) {
+        // Analysis needs no lock
+        List<String> terms = TextAnalyzer.terms(textExtractor.apply(entity));
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Document document = toDocument(frequencies, terms.size());
+            Document previous = documentsById.get(id);
+            if (previous != null && previous.sameTerms(document)) {
+                return;
+            }
+            int ordinal = previous != null ? previous.ordinal : allocateOrdinal(id);
+            document.ordinal = ordinal;
+            updatePostings(ordinal, previous, document);
+            totalLength += document.length - (previous != null ? previous.length : 0);
+            lengthsByOrdinal[ordinal] = document.length;
+            documentsById.put(id, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(ID id, T entity) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documentsById.remove(id);
+            if (previous == null) {
+                return;
+            }
+            updatePostings(previous.ordinal, previous, null);
+            totalLength -= previous.length;
+            lengthsByOrdinal[previous.ordinal] = 0;
+            ordinals.remove(previous.ordinal);
+            idsByOrdinal.set(previous.ordinal, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            postingsByTermId.clear();
+            documentsById.clear();
+            idsByOrdinal.clear();
+            ordinals = new RoaringBitmap();
+            lengthsByOrdinal = new int[16];
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The best-scoring texts for a free-text query.
+     *
+     * @param query Words to look for (analyzed like the indexed texts)
+     * @param limit Maximum number of hits
+     * @return Hits by descending score (ties in a stable order);
+     *         empty if no query word is indexed
+     */
+    public List<Hit<ID>> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Result limit must be positive");
+        }
+        Set<String> queryTerms = new LinkedHashSet<>(TextAnalyzer.terms(query));
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Accumulator accumulator = accumulators.get();
+        lock.readLock().lock();
+        try {
+            int documents = ordinals.cardinality();
+            if (documents == 0) {
+                return new ArrayList<>();
+            }
+            accumulator.ensureCapacity(idsByOrdinal.size());
+            float averageLength = (float) totalLength / documents;
+            // k1 · (1 − b + b · |d| / avgdl) = lengthBase + lengthFactor · |d|
+            float lengthBase = k1 * (1 - b);
+            float lengthFactor = averageLength > 0 ? k1 * b / averageLength : 0;
+            for (String term : queryTerms) {
+                Integer termId = termIds.get(term);
+                if (termId != null) {
+                    accumulator.add(postingsByTermId.get(termId), documents, k1, lengthBase, lengthFactor,
+                            lengthsByOrdinal);
+                }
+            }
+            return accumulator.topHits(limit, idsByOrdinal);
+        } finally {
+            lock.readLock().unlock();
+            accumulator.reset();
+        }
+    }
+
+    /**
+     * Number of indexed texts containing a term (after analysis)
+     */
+    public int documentFrequency(String word) {
+        List<String> terms = TextAnalyzer.terms(word);
+        if (terms.size() != 1) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            Integer termId = termIds.get(terms.get(0));
+            return termId == null ? 0 : postingsByTermId.get(termId).size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed texts
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Document toDocument(Map<String, Integer> frequencies, int length) {
+        int[] ids = new int[frequencies.size()];
+        int count = 0;
+        for (String term : frequencies.keySet()) {
+            ids[count++] = internTerm(term);
+        }
+        Arrays.sort(ids);
+        int[] tfs = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            tfs[i] = frequencies.get(postingsByTermId.get(ids[i]).term);
+        }
+        return new Document(ids, tfs, length);
+    }
+
+    private int internTerm(String term) {
+        Integer termId = termIds.get(term);
+        if (termId == null) {
+            termId = postingsByTermId.size();
+            termIds.put(term, termId);
+            postingsByTermId.add(new Postings(term));
+        }
+        return termId;
+    }
+
+    private int allocateOrdinal(ID id) {
+        int ordinal = ordinals.nextClearBit(0);
+        if (ordinal < 0) {
+            throw new IllegalStateException("Full-text index " + name + " is full");
+        }
+        ordinals.add(ordinal);
+        if (ordinal == idsByOrdinal.size()) {
+            idsByOrdinal.add(id);
+        } else {
+            idsByOrdinal.set(ordinal, id);
+        }
+        if (ordinal >= lengthsByOrdinal.length) {
+            lengthsByOrdinal = Arrays.copyOf(lengthsByOrdinal, Math.max(ordinal + 1, lengthsByOrdinal.length * 2));
+        }
+        return ordinal;
+    }
+
+    /**
+     * Apply the difference between two term lists (both sorted by term id)
+     */
+    private void updatePostings(int ordinal, Document before, Document after) {
+        int[] oldIds = before != null ? before.termIds : new int[0];
+        int[] newIds = after != null ? after.termIds : new int[0];
+        int i = 0;
+        int j = 0;
+        while (i < oldIds.length || j < newIds.length) {
+            if (j == newIds.length || (i < oldIds.length && oldIds[i] < newIds[j])) {
+                postingsByTermId.get(oldIds[i++]).remove(ordinal);
+            } else if (i == oldIds.length || oldIds[i] > newIds[j]) {
+                postingsByTermId.get(newIds[j]).add(ordinal, after.frequencies[j]);
+                j++;
+            } else {
+                if (before.frequencies[i] != after.frequencies[j]) {
+                    postingsByTermId.get(newIds[j]).update(ordinal, after.frequencies[j]);
+                }
+                i++;
+                j++;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.readLock().lock();
+        try {
+            return String.format("Bm25Index{name='%s', terms=%d, documents=%d}",
+                    name, termIds.size(), ordinals.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IMMUTABLE search result: an id and its BM25 score
+     */
+    public static final class Hit<ID> {
+        private final ID id;
+        private final float score;
+
+        private Hit(ID id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public ID getId() { return id; }
+        public float getScore() { return score; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.3f)", id, score);
+        }
+    }
+
+    /**
+     * One term's posting list: parallel arrays of ordinals and term
+     * frequencies, in no particular order (scoring does not need one)
+     */
+    private static final class Postings {
+        private final String term;
+        private int[] ordinals = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        private void update(int ordinal, int frequency) {
+            frequencies[indexOf(ordinal)] = frequency;
+        }
+
+        /**
+         * Swap-remove: the last posting takes the removed one's place
+         */
+        private void remove(int ordinal) {
+            int index = indexOf(ordinal);
+            size--;
+            ordinals[index] = ordinals[size];
+            frequencies[index] = frequencies[size];
+        }
+
+        private int indexOf(int ordinal) {
+            // Most writes touch recently added texts: search from the end
+            for (int index = size - 1; index >= 0; index--) {
+                if (ordinals[index] == ordinal) {
+                    return index;
+                }
+            }
+            throw new IllegalStateException("Posting not found for term '" + term + "'");
+        }
+    }
+
+    /**
+     * Term frequencies of one indexed text, sorted by term id
+     */
+    private static final class Document {
+        private final int[] termIds;
+        private final int[] frequencies;
+        private final int length;
+        private int ordinal;
+
+        private Document(int[] termIds, int[] frequencies, int length) {
+            this.termIds = termIds;
+            this.frequencies = frequencies;
+            this.length = length;
+        }
+
+        private boolean sameTerms(Document other) {
+            return length == other.length
+                    && Arrays.equals(termIds, other.termIds)
+                    && Arrays.equals(frequencies, other.frequencies);
+        }
+    }
+
+    /**
+     * QUERY SCRATCH SPACE: dense scores plus the list of ordinals touched
+     */
+    private static final class Accumulator {
+        private float[] scores = new float[0];
+        private int[] touched = new int[16];
+        private int touchedCount;
+
+        private void ensureCapacity(int ordinals) {
+            if (scores.length < ordinals) {
+                scores = new float[Math.max(ordinals, scores.length + (scores.length >> 1))];
+            }
+        }
+
+        private void add(Postings postings, int documents, float k1, float lengthBase, float lengthFactor,
+                         int[] lengths) {
+            int df = postings.size;
+            float idf = (float) Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            float weight = idf * (k1 + 1);
+            int[] ordinals = postings.ordinals;
+            int[] frequencies = postings.frequencies;
+            for (int i = 0; i < df; i++) {
+                int ordinal = ordinals[i];
+                float tf = frequencies[i];
+                if (scores[ordinal] == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = ordinal;
+                }
+                scores[ordinal] += weight * tf / (tf + lengthBase + lengthFactor * lengths[ordinal]);
+            }
+        }
+
+        /**
+         * BOUNDED MIN-HEAP: the root is the weakest of the best K so far,
+         * so each further candidate costs one comparison unless it wins
+         */
+        private <ID> List<Hit<ID>> topHits(int limit, List<ID> idsByOrdinal) {
+            int capacity = Math.min(limit, touchedCount);
+            int[] heapOrdinals = new int[capacity];
+            float[] heapScores = new float[capacity];
+            int heapSize = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int ordinal = touched[i];
+                float score = scores[ordinal];
+                if (heapSize < capacity) {
+                    heapOrdinals[heapSize] = ordinal;
+                    heapScores[heapSize] = score;
+                    siftUp(heapOrdinals, heapScores, heapSize++);
+                } else if (weaker(heapScores[0], heapOrdinals[0], score, ordinal)) {
+                    heapOrdinals[0] = ordinal;
+                    heapScores[0] = score;
+                    siftDown(heapOrdinals, heapScores, heapSize);
+                }
+            }
+
+            // Pop weakest first into the back of the result
+            Hit<ID>[] hits = newHitArray(heapSize);
+            while (heapSize > 0) {
+                hits[heapSize - 1] = new Hit<>(idsByOrdinal.get(heapOrdinals[0]), heapScores[0]);
+                heapSize--;
+                heapOrdinals[0] = heapOrdinals[heapSize];
+                heapScores[0] = heapScores[heapSize];
+                siftDown(heapOrdinals, heapScores, heapSize);
+            }
+            return new ArrayList<>(Arrays.asList(hits));
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <ID> Hit<ID>[] newHitArray(int size) {
+            return (Hit<ID>[]) new Hit<?>[size];
+        }
+
+        /**
+         * Heap order: lower score is weaker; on equal scores the later
+         * ordinal is weaker, so ties rank the same on every run
+         */
+        private static boolean weaker(float score, int ordinal, float otherScore, int otherOrdinal) {
+            return score < otherScore || (score == otherScore && ordinal > otherOrdinal);
+        }
+
+        private static void siftUp(int[] ordinals, float[] scores, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!weaker(scores[index], ordinals[index], scores[parent], ordinals[parent])) {
+                    return;
+                }
+                swap(ordinals, scores, index, parent);
+                index = parent;
+            }
+        }
+
+        private static void siftDown(int[] ordinals, float[] scores, int size) {
+            int index = 0;
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int child = left + 1 < size && weaker(scores[left + 1], ordinals[left + 1], scores[left], ordinals[left])
+                        ? left + 1 : left;
+                if (!weaker(scores[child], ordinals[child], scores[index], ordinals[index])) {
+                    return;
+                }
+                swap(ordinals, scores, index, child);
+                index = child;
+            }
+        }
+
+        private static void swap(int[] ordinals, float[] scores, int i, int j) {
+            int ordinal = ordinals[i];
+            ordinals[i] = ordinals[j];
+            ordinals[j] = ordinal;
+            float score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.community.communityApp.index;
+
+import com.community.communityApp.model.ApartmentNumber;
+import com.community.communityApp.repository.RepositoryIndex;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Occupancy map: one compressed bitmap per building, one bit per unit.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Generic class implementing the RepositoryIndex observer contract
+ * - Bit packing: floor and unit combined into one int position
+ * - Intrinsic locking (synchronized) around non-thread-safe structures
+ * - Immutable snapshots handed out to readers
+ *
+ * UNIT ADDRESSING:
+ * - Apartment numbers follow the floor/unit convention: the number
+ *   divided by UNITS_PER_FLOOR is the floor, the remainder the unit
+ *   ("B-1205" → building B, floor 12, unit 5)
+ * - position = floor << 16 | unit, so every floor is exactly one
+ *   RoaringBitmap container: floor counts and "first free unit" touch
+ *   a single container
+ * - Apartments without a number, or above MAX_FLOOR, are not tracked
+ *   (uniqueness and isApartmentAvailable still cover them)
+ *
+ * SHARED UNITS:
+ * - Suffixes are ignored ("12-A" and "12-B" are both unit 12), and so
+ *   are separators ("A101" and "A-101")
+ * - The bit stays set until the last apartment on that unit is vacated;
+ *   extra occupants are counted on the side
+ *
+ * THREAD SAFETY:
+ * - Writes for different ids can run concurrently, so every access to
+ *   the bitmaps is synchronized on the index; each is a few bit
+ *   operations long
+ * - snapshot() returns read-only bitmaps that need no lock
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ */
+public class OccupancyIndex<T, ID> implements RepositoryIndex<T, ID> {
+
+    public static final int UNITS_PER_FLOOR = 100;
+
+    /**
+     * Highest trackable floor (positions must stay non-negative ints)
+     */
+    public static final int MAX_FLOOR = Integer.MAX_VALUE >>> 16;
+
+    private final String name;
+    private final Function<? super T, ApartmentNumber> apartmentExtractor;
+
+    // Guarded by this
+    private final Map<String, RoaringBitmap> bitmapsByBuilding = new TreeMap<>();
+    private final Map<ID, Unit> unitsById = new HashMap<>();
+    private final Map<Unit, Integer> extraOccupants = new HashMap<>();
+
+    public OccupancyIndex(String name, Function<? super T, ApartmentNumber> apartmentExtractor) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        if (apartmentExtractor == null) {
+            throw new IllegalArgumentException("Apartment extractor cannot be null");
+        }
+        this.name = name.trim();
+        this.apartmentExtractor = apartmentExtractor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void onSave(ID id, T entity) {
+        Unit unit = unitOf(apartmentExtractor.apply(entity));
+        synchronized (this) {
+            Unit previous = unit != null ? unitsById.put(id, unit) : unitsById.remove(id);
+            if (Objects.equals(unit, previous)) {
+                return;
+            }
+            if (unit != null) {
+                occupy(unit);
+            }
+            if (previous != null) {
+                vacate(previous);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onDelete(ID id, T entity) {
+        Unit previous = unitsById.remove(id);
+        if (previous != null) {
+            vacate(previous);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        bitmapsByBuilding.clear();
+        unitsById.clear();
+        extraOccupants.clear();
+    }
+
+    /**
+     * Whether a unit has at least one occupant
+     */
+    public synchronized boolean isOccupied(String building, int floor, int unit) {
+        if (!isAddressable(floor, unit)) {
+            return false;
+        }
+        RoaringBitmap bitmap = bitmapsByBuilding.get(normalizeBuilding(building));
+        return bitmap != null && bitmap.contains(position(floor, unit));
+    }
+
+    /**
+     * Occupied units in a building
+     */
+    public synchronized int occupiedUnits(String building) {
+        RoaringBitmap bitmap = bitmapsByBuilding.get(normalizeBuilding(building));
+        return bitmap == null ? 0 : bitmap.cardinality();
+    }
+
+    /**
+     * Occupied units on one floor of a building
+     */
+    public synchronized int occupiedUnits(String building, int floor) {
+        if (floor < 0 || floor > MAX_FLOOR) {
+            return 0;
+        }
+        RoaringBitmap bitmap = bitmapsByBuilding.get(normalizeBuilding(building));
+        return bitmap == null ? 0 : bitmap.cardinality(position(floor, 0), position(floor, UNITS_PER_FLOOR));
+    }
+
+    /**
+     * Occupied units across all buildings
+     */
+    public synchronized int occupiedUnits() {
+        int total = 0;
+        for (RoaringBitmap bitmap : bitmapsByBuilding.values()) {
+            total += bitmap.cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * Lowest vacant unit in [firstUnit, lastUnit] on a floor.
+     *
+     * BIT OPERATION:
+     * - One nextClearBit() on the floor's container (a word scan with
+     *   numberOfTrailingZeros once the floor is dense)
+     *
+     * @return The unit, or empty if every unit in the range is taken
+     */
+    public synchronized OptionalInt firstFreeUnit(String building, int floor, int firstUnit, int lastUnit) {
+        if (floor < 0 || floor > MAX_FLOOR || firstUnit > lastUnit) {
+            return OptionalInt.empty();
+        }
+        int from = Math.max(firstUnit, 0);
+        int to = Math.min(lastUnit, UNITS_PER_FLOOR - 1);
+        if (from > to) {
+            return OptionalInt.empty();
+        }
+        RoaringBitmap bitmap = bitmapsByBuilding.get(normalizeBuilding(building));
+        if (bitmap == null) {
+            return OptionalInt.of(from);
+        }
+        int free = bitmap.nextClearBit(position(floor, from));
+        if (free < 0 || floorOf(free) != floor || unitOf(free) > to) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(unitOf(free));
+    }
+
+    /**
+     * Buildings with at least one occupied unit, in name order
+     * ("" is the building of plain numbers like "101")
+     */
+    public synchronized Set<String> buildings() {
+        return new TreeSet<>(bitmapsByBuilding.keySet());
+    }
+
+    /**
+     * Read-only copies of every building's bitmap, consistent with each
+     * other; O(containers), no bits are copied (see RoaringBitmap.snapshot)
+     */
+    public synchronized Map<String, RoaringBitmap> snapshot() {
+        Map<String, RoaringBitmap> snapshot = new TreeMap<>();
+        for (Map.Entry<String, RoaringBitmap> entry : bitmapsByBuilding.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Bit position of a unit inside its building's bitmap
+     */
+    public static int position(int floor, int unit) {
+        return (floor << 16) | unit;
+    }
+
+    public static int floorOf(int position) {
+        return position >>> 16;
+    }
+
+    public static int unitOf(int position) {
+        return position & 0xFFFF;
+    }
+
+    private static boolean isAddressable(int floor, int unit) {
+        return floor >= 0 && floor <= MAX_FLOOR && unit >= 0 && unit < UNITS_PER_FLOOR;
+    }
+
+    private static String normalizeBuilding(String building) {
+        return building == null ? "" : building.trim().toUpperCase();
+    }
+
+    /**
+     * The unit an apartment occupies, or null if it is not trackable
+     */
+    private static Unit unitOf(ApartmentNumber apartment) {
+        if (apartment == null || !apartment.hasNumber()) {
+            return null;
+        }
+        int floor = apartment.getNumber() / UNITS_PER_FLOOR;
+        if (floor > MAX_FLOOR) {
+            return null;
+        }
+        return new Unit(apartment.getBuilding(), position(floor, apartment.getNumber() % UNITS_PER_FLOOR));
+    }
+
+    private void occupy(Unit unit) {
+        RoaringBitmap bitmap = bitmapsByBuilding.computeIfAbsent(unit.building, b -> new RoaringBitmap());
+        if (!bitmap.add(unit.position)) {
+            extraOccupants.merge(unit, 1, Integer::sum);
+        }
+    }
+
+    private void vacate(Unit unit) {
+        Integer extra = extraOccupants.get(unit);
+        if (extra != null) {
+            if (extra == 1) {
+                extraOccupants.remove(unit);
+            } else {
+                extraOccupants.put(unit, extra - 1);
+            }
+            return;
+        }
+        RoaringBitmap bitmap = bitmapsByBuilding.get(unit.building);
+        if (bitmap != null) {
+            bitmap.remove(unit.position);
+            if (bitmap.isEmpty()) {
+                bitmapsByBuilding.remove(unit.building);
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("OccupancyIndex{name='%s', buildings=%d, units=%d}",
+                name, bitmapsByBuilding.size(), occupiedUnits());
+    }
+
+    /**
+     * Building plus bit position
+     */
+    private static final class Unit {
+        final String building;
+        final int position;
+
+        Unit(String building, int position) {
+            this.building = building;
+            this.position = position;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Unit)) return false;
+            Unit other = (Unit) obj;
+            return position == other.position && building.equals(other.building);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * building.hashCode() + position;
+        }
+    }
+}
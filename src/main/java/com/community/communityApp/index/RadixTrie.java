@@ -0,0 +1,311 @@
+package com.community.communityApp.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Persistent (copy-on-write) radix tree mapping string keys to values.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Immutable nested node class with structural sharing
+ * - volatile reference publication for lock-free readers
+ * - Recursion over a tree, binary search over sorted char arrays
+ * - Predicate as an early-terminating visitor
+ *
+ * DATA STRUCTURE:
+ * - Each edge carries a label of one or more chars (path compression),
+ *   so a chain of single-child nodes costs one node
+ * - Children are kept in parallel sorted arrays (first char, node):
+ *   no per-child map entries or boxed Characters
+ * - A key may hold several values, ordered by the value comparator;
+ *   they live in a small array that is copied on change, so callers
+ *   with many values per key should make their keys unique
+ *
+ * CONCURRENCY:
+ * - Nodes are never modified after construction
+ * - Writers (synchronized) copy only the path from the root to the
+ *   changed node and then publish the new root with a volatile write
+ * - Readers take the current root and traverse without locks; they see
+ *   every write that completed before they started, and no partial one
+ *
+ * VISIT ORDER:
+ * - Depth first in key order: a key's values come before any longer
+ *   key that extends it, and siblings come in char order
+ *
+ * @param <V> The value type
+ */
+public class RadixTrie<V> {
+
+    private final Comparator<? super V> valueOrder;
+    private volatile Node<V> root = new Node<>("", new char[0], newNodeArray(0), new Object[0]);
+    private volatile int size;
+
+    /**
+     * @param valueOrder Order of the values stored under one key
+     */
+    public RadixTrie(Comparator<? super V> valueOrder) {
+        if (valueOrder == null) {
+            throw new IllegalArgumentException("Value order cannot be null");
+        }
+        this.valueOrder = valueOrder;
+    }
+
+    /**
+     * Add a value under a key (no-op if it is already there).
+     */
+    public synchronized void put(String key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+        Node<V> updated = insert(root, key, 0, value);
+        if (updated != root) {
+            root = updated;
+            size++;
+        }
+    }
+
+    /**
+     * Remove a value from a key (no-op if it is not there).
+     */
+    public synchronized void remove(String key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        Node<V> updated = delete(root, key, 0, value);
+        if (updated != root) {
+            root = updated != null ? updated : new Node<>("", new char[0], newNodeArray(0), new Object[0]);
+            size--;
+        }
+    }
+
+    public synchronized void clear() {
+        root = new Node<>("", new char[0], newNodeArray(0), new Object[0]);
+        size = 0;
+    }
+
+    /**
+     * Number of (key, value) pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visit the values of every key starting with the prefix, in visit order.
+     *
+     * ALLOCATION:
+     * - Locating the prefix compares regions in place (no substrings)
+     * - Nothing is allocated per visited node
+     *
+     * @param prefix The key prefix ("" visits everything)
+     * @param visitor Receives each value; returns false to stop early
+     */
+    public void visitPrefix(String prefix, Predicate<? super V> visitor) {
+        Node<V> node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            int slot = Arrays.binarySearch(node.firsts, prefix.charAt(position));
+            if (slot < 0) {
+                return;
+            }
+            Node<V> child = node.children[slot];
+            int remaining = prefix.length() - position;
+            int compared = Math.min(remaining, child.label.length());
+            if (!child.label.regionMatches(0, prefix, position, compared)) {
+                return;
+            }
+            node = child;
+            position += compared;
+        }
+        visit(node, visitor);
+    }
+
+    private boolean visit(Node<V> node, Predicate<? super V> visitor) {
+        for (Object value : node.values) {
+            @SuppressWarnings("unchecked")
+            V typed = (V) value;
+            if (!visitor.test(typed)) {
+                return false;
+            }
+        }
+        for (Node<V> child : node.children) {
+            if (!visit(child, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // PATH-COPYING UPDATES: return the same node when nothing changed
+
+    private Node<V> insert(Node<V> node, String key, int position, V value) {
+        if (position == key.length()) {
+            return node.withValue(value, valueOrder);
+        }
+        char first = key.charAt(position);
+        int slot = Arrays.binarySearch(node.firsts, first);
+        if (slot < 0) {
+            Node<V> leaf = new Node<>(key.substring(position), new char[0], newNodeArray(0), new Object[]{value});
+            return node.withChildAt(-slot - 1, leaf);
+        }
+
+        Node<V> child = node.children[slot];
+        int common = commonPrefix(child.label, key, position);
+        if (common == child.label.length()) {
+            Node<V> updated = insert(child, key, position + common, value);
+            return updated == child ? node : node.replaceChild(slot, updated);
+        }
+
+        // Split the edge: new middle node holding the shared part of the label
+        Node<V> tail = child.withLabel(child.label.substring(common));
+        Node<V> middle = new Node<>(child.label.substring(0, common),
+                new char[]{tail.label.charAt(0)}, singleNode(tail), new Object[0]);
+        return node.replaceChild(slot, insert(middle, key, position + common, value));
+    }
+
+    /**
+     * @return The updated node, or null if it became empty
+     */
+    private Node<V> delete(Node<V> node, String key, int position, V value) {
+        Node<V> updated;
+        if (position == key.length()) {
+            updated = node.withoutValue(value);
+        } else {
+            int slot = Arrays.binarySearch(node.firsts, key.charAt(position));
+            if (slot < 0) {
+                return node;
+            }
+            Node<V> child = node.children[slot];
+            if (!key.startsWith(child.label, position)) {
+                return node;
+            }
+            Node<V> updatedChild = delete(child, key, position + child.label.length(), value);
+            if (updatedChild == child) {
+                return node;
+            }
+            updated = updatedChild == null ? node.withoutChild(slot) : node.replaceChild(slot, updatedChild);
+        }
+        if (updated == node || node == root) {
+            return updated;
+        }
+        return compact(updated);
+    }
+
+    /**
+     * Keep the tree path-compressed after a removal
+     */
+    private Node<V> compact(Node<V> node) {
+        if (node.values.length > 0) {
+            return node;
+        }
+        if (node.children.length == 0) {
+            return null;
+        }
+        if (node.children.length == 1) {
+            Node<V> only = node.children[0];
+            return only.withLabel(node.label + only.label);
+        }
+        return node;
+    }
+
+    private static int commonPrefix(String label, String key, int position) {
+        int limit = Math.min(label.length(), key.length() - position);
+        int i = 0;
+        while (i < limit && label.charAt(i) == key.charAt(position + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V>[] newNodeArray(int length) {
+        return (Node<V>[]) new Node<?>[length];
+    }
+
+    private static <V> Node<V>[] singleNode(Node<V> node) {
+        Node<V>[] nodes = newNodeArray(1);
+        nodes[0] = node;
+        return nodes;
+    }
+
+    /**
+     * Immutable tree node; the label is the edge leading into it
+     */
+    private static final class Node<V> {
+        final String label;
+        final char[] firsts;
+        final Node<V>[] children;
+        final Object[] values;
+
+        Node(String label, char[] firsts, Node<V>[] children, Object[] values) {
+            this.label = label;
+            this.firsts = firsts;
+            this.children = children;
+            this.values = values;
+        }
+
+        Node<V> withLabel(String newLabel) {
+            return new Node<>(newLabel, firsts, children, values);
+        }
+
+        Node<V> withChildAt(int slot, Node<V> child) {
+            char[] newFirsts = new char[firsts.length + 1];
+            Node<V>[] newChildren = newNodeArray(children.length + 1);
+            System.arraycopy(firsts, 0, newFirsts, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            newFirsts[slot] = child.label.charAt(0);
+            newChildren[slot] = child;
+            System.arraycopy(firsts, slot, newFirsts, slot + 1, firsts.length - slot);
+            System.arraycopy(children, slot, newChildren, slot + 1, children.length - slot);
+            return new Node<>(label, newFirsts, newChildren, values);
+        }
+
+        Node<V> replaceChild(int slot, Node<V> child) {
+            Node<V>[] newChildren = children.clone();
+            newChildren[slot] = child;
+            return new Node<>(label, firsts, newChildren, values);
+        }
+
+        Node<V> withoutChild(int slot) {
+            char[] newFirsts = new char[firsts.length - 1];
+            Node<V>[] newChildren = newNodeArray(children.length - 1);
+            System.arraycopy(firsts, 0, newFirsts, 0, slot);
+            System.arraycopy(children, 0, newChildren, 0, slot);
+            System.arraycopy(firsts, slot + 1, newFirsts, slot, firsts.length - slot - 1);
+            System.arraycopy(children, slot + 1, newChildren, slot, children.length - slot - 1);
+            return new Node<>(label, newFirsts, newChildren, values);
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<V> withValue(V value, Comparator<? super V> order) {
+            int insertAt = values.length;
+            for (int i = 0; i < values.length; i++) {
+                V existing = (V) values[i];
+                if (existing.equals(value)) {
+                    return this;
+                }
+                if (insertAt == values.length && order.compare(value, existing) < 0) {
+                    insertAt = i;
+                }
+            }
+            Object[] newValues = new Object[values.length + 1];
+            System.arraycopy(values, 0, newValues, 0, insertAt);
+            newValues[insertAt] = value;
+            System.arraycopy(values, insertAt, newValues, insertAt + 1, values.length - insertAt);
+            return new Node<>(label, firsts, children, newValues);
+        }
+
+        Node<V> withoutValue(V value) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].equals(value)) {
+                    Object[] newValues = new Object[values.length - 1];
+                    System.arraycopy(values, 0, newValues, 0, i);
+                    System.arraycopy(values, i + 1, newValues, i, values.length - i - 1);
+                    return new Node<>(label, firsts, children, newValues);
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,826 @@
+package com.community.communityApp.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed bitmap of non-negative ints, organized like a Roaring bitmap.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Abstract nested class with two implementations (polymorphism)
+ * - Bit manipulation: masks, Long.bitCount, Long.numberOfTrailingZeros
+ * - Unsigned 16-bit values stored as char
+ * - Copy-on-write sharing between a bitmap and its snapshots
+ *
+ * LAYOUT:
+ * - A value is split into its high 16 bits (container key) and its low
+ *   16 bits (position inside the container)
+ * - Container keys are kept in a sorted char array
+ * - Sparse containers (up to ARRAY_LIMIT values) are sorted char arrays,
+ *   2 bytes per value
+ * - Dense containers are 1024 longs (8 KB), one bit per value
+ * - Containers switch representation as they grow and shrink, so each
+ *   uses whichever form is smaller
+ *
+ * SET ALGEBRA:
+ * - and(), or() and andNot() walk both key arrays once and combine
+ *   matching containers pairwise: array/array by merging, bitmap/bitmap
+ *   word by word, mixed pairs by probing the bitmap side
+ * - An intersection is never larger than its smaller operand, so
+ *   callers chaining several can start from the smallest one
+ *
+ * SNAPSHOTS:
+ * - snapshot() shares the current containers with a read-only copy in
+ *   O(number of containers), without copying any bits
+ * - The next write to a shared container copies that container first
+ *
+ * THREAD SAFETY:
+ * - Not thread-safe; callers synchronize (see OccupancyIndex)
+ * - Snapshots are never modified, so they can be read from any thread
+ */
+public class RoaringBitmap {
+
+    /**
+     * Largest array container; beyond it a bitmap container is smaller
+     */
+    static final int ARRAY_LIMIT = 4096;
+
+    static final int CONTAINER_SIZE = 1 << 16;
+
+    private char[] keys;
+    private Container[] containers;
+    private int containerCount;
+    private int cardinality;
+    private final boolean frozen;
+
+    /**
+     * Containers stamped with another epoch are shared with a snapshot
+     */
+    private int epoch;
+
+    public RoaringBitmap() {
+        this(new char[4], new Container[4], 0, 0, false);
+    }
+
+    private RoaringBitmap(char[] keys, Container[] containers, int containerCount, int cardinality, boolean frozen) {
+        this.keys = keys;
+        this.containers = containers;
+        this.containerCount = containerCount;
+        this.cardinality = cardinality;
+        this.frozen = frozen;
+    }
+
+    /**
+     * Set a value.
+     *
+     * @return true if the value was not already set
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public boolean add(int value) {
+        checkWritable();
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative: " + value);
+        }
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int slot = Arrays.binarySearch(keys, 0, containerCount, high);
+        if (slot < 0) {
+            insertContainer(-slot - 1, high, new ArrayContainer(epoch, low));
+            cardinality++;
+            return true;
+        }
+        Container container = writable(slot);
+        int before = container.cardinality();
+        containers[slot] = container.add(low);
+        if (containers[slot].cardinality() == before) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Clear a value.
+     *
+     * @return true if the value was set
+     */
+    public boolean remove(int value) {
+        checkWritable();
+        if (value < 0) {
+            return false;
+        }
+        int slot = Arrays.binarySearch(keys, 0, containerCount, (char) (value >>> 16));
+        if (slot < 0 || !containers[slot].contains((char) value)) {
+            return false;
+        }
+        Container updated = writable(slot).remove((char) value);
+        cardinality--;
+        if (updated.cardinality() == 0) {
+            removeContainer(slot);
+        } else {
+            containers[slot] = updated;
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int slot = Arrays.binarySearch(keys, 0, containerCount, (char) (value >>> 16));
+        return slot >= 0 && containers[slot].contains((char) value);
+    }
+
+    /**
+     * Number of values set (O(1))
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Number of values set in [from, toExclusive).
+     *
+     * COST:
+     * - Containers entirely inside the range contribute their stored
+     *   cardinality; only the two edge containers count bits
+     */
+    public int cardinality(int from, int toExclusive) {
+        if (from < 0) {
+            from = 0;
+        }
+        if (toExclusive <= from) {
+            return 0;
+        }
+        int count = 0;
+        int slot = ceilingSlot(from >>> 16);
+        for (; slot < containerCount; slot++) {
+            long base = (long) keys[slot] << 16;
+            if (base >= toExclusive) {
+                break;
+            }
+            Container container = containers[slot];
+            int lowFrom = (int) Math.max(0, from - base);
+            int lowTo = (int) Math.min(CONTAINER_SIZE, toExclusive - base);
+            count += container.countBelow(lowTo) - container.countBelow(lowFrom);
+        }
+        return count;
+    }
+
+    /**
+     * Smallest value set at or after from, or -1 if there is none
+     */
+    public int nextSetBit(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        int slot = ceilingSlot(from >>> 16);
+        for (; slot < containerCount; slot++) {
+            int base = keys[slot] << 16;
+            int low = keys[slot] == (from >>> 16) ? from & 0xFFFF : 0;
+            int found = containers[slot].nextPresent(low);
+            if (found >= 0) {
+                return base | found;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Smallest value not set at or after from (from itself if it is clear)
+     *
+     * @return The value, or -1 if every value up to Integer.MAX_VALUE is set
+     */
+    public int nextClearBit(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        int high = from >>> 16;
+        int low = from & 0xFFFF;
+        int slot = Arrays.binarySearch(keys, 0, containerCount, (char) high);
+        while (slot >= 0) {
+            int found = containers[slot].nextAbsent(low);
+            if (found < CONTAINER_SIZE) {
+                return (high << 16) | found;
+            }
+            // Container full: the first value of the next container key
+            high++;
+            low = 0;
+            if (high > (Integer.MAX_VALUE >>> 16)) {
+                return -1;
+            }
+            slot = slot + 1 < containerCount && keys[slot + 1] == high ? slot + 1 : -1;
+        }
+        return (high << 16) | low;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Visit every value in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        for (int slot = 0; slot < containerCount; slot++) {
+            containers[slot].forEach(keys[slot] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] next = {0};
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Values set in both bitmaps.
+     *
+     * @return A new, writable bitmap (the operands are not modified)
+     */
+    public static RoaringBitmap and(RoaringBitmap left, RoaringBitmap right) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.containerCount && j < right.containerCount) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                result.append(left.keys[i], left.containers[i].and(right.containers[j], result.epoch));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values set in either bitmap.
+     *
+     * @return A new, writable bitmap (the operands are not modified)
+     */
+    public static RoaringBitmap or(RoaringBitmap left, RoaringBitmap right) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.containerCount || j < right.containerCount) {
+            if (j == right.containerCount || (i < left.containerCount && left.keys[i] < right.keys[j])) {
+                result.append(left.keys[i], left.containers[i].copy(result.epoch));
+                i++;
+            } else if (i == left.containerCount || left.keys[i] > right.keys[j]) {
+                result.append(right.keys[j], right.containers[j].copy(result.epoch));
+                j++;
+            } else {
+                result.append(left.keys[i], left.containers[i].or(right.containers[j], result.epoch));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values set in left but not in right.
+     *
+     * @return A new, writable bitmap (the operands are not modified)
+     */
+    public static RoaringBitmap andNot(RoaringBitmap left, RoaringBitmap right) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < left.containerCount; i++) {
+            while (j < right.containerCount && right.keys[j] < left.keys[i]) {
+                j++;
+            }
+            if (j < right.containerCount && right.keys[j] == left.keys[i]) {
+                result.append(left.keys[i], left.containers[i].andNot(right.containers[j], result.epoch));
+            } else {
+                result.append(left.keys[i], left.containers[i].copy(result.epoch));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read-only view of the current contents, sharing containers with
+     * this bitmap until either side would change them
+     */
+    public RoaringBitmap snapshot() {
+        if (frozen) {
+            return this;
+        }
+        epoch++;
+        return new RoaringBitmap(Arrays.copyOf(keys, containerCount), Arrays.copyOf(containers, containerCount),
+                containerCount, cardinality, true);
+    }
+
+    public boolean isReadOnly() {
+        return frozen;
+    }
+
+    /**
+     * Approximate heap footprint of the containers, in bytes
+     */
+    public long sizeInBytes() {
+        long bytes = containerCount * 2L;
+        for (int slot = 0; slot < containerCount; slot++) {
+            bytes += containers[slot].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private void checkWritable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Bitmap snapshot is read-only");
+        }
+    }
+
+    private Container writable(int slot) {
+        Container container = containers[slot];
+        if (container.epoch != epoch) {
+            container = container.copy(epoch);
+            containers[slot] = container;
+        }
+        return container;
+    }
+
+    /**
+     * First slot whose key is at least high
+     */
+    private int ceilingSlot(int high) {
+        if (high > 0xFFFF) {
+            return containerCount;
+        }
+        int slot = Arrays.binarySearch(keys, 0, containerCount, (char) high);
+        return slot >= 0 ? slot : -slot - 1;
+    }
+
+    private void insertContainer(int slot, char key, Container container) {
+        if (containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, containerCount * 2);
+            containers = Arrays.copyOf(containers, containerCount * 2);
+        }
+        System.arraycopy(keys, slot, keys, slot + 1, containerCount - slot);
+        System.arraycopy(containers, slot, containers, slot + 1, containerCount - slot);
+        keys[slot] = key;
+        containers[slot] = container;
+        containerCount++;
+    }
+
+    /**
+     * Add a container after all existing keys (set algebra results);
+     * null stands for an empty result and is skipped
+     */
+    private void append(char key, Container container) {
+        if (container == null) {
+            return;
+        }
+        insertContainer(containerCount, key, container);
+        cardinality += container.cardinality();
+    }
+
+    private void removeContainer(int slot) {
+        System.arraycopy(keys, slot + 1, keys, slot, containerCount - slot - 1);
+        System.arraycopy(containers, slot + 1, containers, slot, containerCount - slot - 1);
+        containerCount--;
+        containers[containerCount] = null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RoaringBitmap{cardinality=%d, containers=%d}", cardinality, containerCount);
+    }
+
+    /**
+     * The low 16 bits of the values sharing one container key
+     */
+    private abstract static class Container {
+        final int epoch;
+
+        Container(int epoch) {
+            this.epoch = epoch;
+        }
+
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        /**
+         * @return This container, or a replacement in the other representation
+         */
+        abstract Container add(char low);
+
+        /**
+         * @return This container, or a replacement in the other representation
+         */
+        abstract Container remove(char low);
+
+        /**
+         * @return The next value at or after low, or -1
+         */
+        abstract int nextPresent(int low);
+
+        /**
+         * @return The next absent value at or after low, or CONTAINER_SIZE
+         */
+        abstract int nextAbsent(int low);
+
+        /**
+         * Number of values below low (low may be CONTAINER_SIZE)
+         */
+        abstract int countBelow(int low);
+
+        abstract void forEach(int base, IntConsumer action);
+
+        abstract Container copy(int newEpoch);
+
+        abstract long sizeInBytes();
+
+        /**
+         * @return The intersection as a new container, or null if empty
+         */
+        abstract Container and(Container other, int newEpoch);
+
+        /**
+         * @return The union as a new container
+         */
+        abstract Container or(Container other, int newEpoch);
+
+        /**
+         * @return The values not in other as a new container, or null if empty
+         */
+        abstract Container andNot(Container other, int newEpoch);
+    }
+
+    /**
+     * Sparse container: sorted unsigned 16-bit values
+     */
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int size;
+
+        ArrayContainer(int epoch, char first) {
+            super(epoch);
+            this.values = new char[]{first, 0, 0, 0};
+            this.size = 1;
+        }
+
+        private ArrayContainer(int epoch, char[] values, int size) {
+            super(epoch);
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_LIMIT) {
+                return toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, size * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = low;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            int index = Arrays.binarySearch(values, 0, size, low);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        int nextPresent(int low) {
+            int index = indexOf(low);
+            return index < size ? values[index] : -1;
+        }
+
+        @Override
+        int nextAbsent(int low) {
+            int index = indexOf(low);
+            int expected = low;
+            while (index < size && values[index] == expected) {
+                index++;
+                expected++;
+            }
+            return expected;
+        }
+
+        @Override
+        int countBelow(int low) {
+            return low >= CONTAINER_SIZE ? size : indexOf(low);
+        }
+
+        /**
+         * Index of the first value at or after low
+         */
+        private int indexOf(int low) {
+            int index = Arrays.binarySearch(values, 0, size, (char) low);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        Container copy(int newEpoch) {
+            return new ArrayContainer(newEpoch, Arrays.copyOf(values, values.length), size);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return values.length * 2L;
+        }
+
+        @Override
+        Container and(Container other, int newEpoch) {
+            char[] common = new char[size];
+            int count = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < size && j < array.size) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        common[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (other.contains(values[i])) {
+                        common[count++] = values[i];
+                    }
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(newEpoch, common, count);
+        }
+
+        @Override
+        Container or(Container other, int newEpoch) {
+            if (!(other instanceof ArrayContainer)) {
+                return other.or(this, newEpoch);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] merged = new char[size + array.size];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < array.size) {
+                if (j == array.size || (i < size && values[i] < array.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == size || values[i] > array.values[j]) {
+                    merged[count++] = array.values[j++];
+                } else {
+                    merged[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer(newEpoch, merged, count);
+            return count > ARRAY_LIMIT ? union.toBitmap() : union;
+        }
+
+        @Override
+        Container andNot(Container other, int newEpoch) {
+            char[] remaining = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.contains(values[i])) {
+                    remaining[count++] = values[i];
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(newEpoch, remaining, count);
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(epoch);
+            for (int i = 0; i < size; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Dense container: one bit per possible value
+     */
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(int epoch) {
+            this(epoch, new long[CONTAINER_SIZE / Long.SIZE], 0);
+        }
+
+        private BitmapContainer(int epoch, long[] words, int cardinality) {
+            super(epoch);
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        void set(char low) {
+            long mask = 1L << low;
+            int word = low >>> 6;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                cardinality++;
+            }
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            set(low);
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            long mask = 1L << low;
+            int word = low >>> 6;
+            if ((words[word] & mask) != 0) {
+                words[word] &= ~mask;
+                cardinality--;
+            }
+            return cardinality > ARRAY_LIMIT ? this : toArrayContainer();
+        }
+
+        @Override
+        int nextPresent(int low) {
+            int word = low >>> 6;
+            long bits = words[word] & (-1L << low);
+            while (true) {
+                if (bits != 0) {
+                    return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                }
+                if (++word == words.length) {
+                    return -1;
+                }
+                bits = words[word];
+            }
+        }
+
+        @Override
+        int nextAbsent(int low) {
+            int word = low >>> 6;
+            long bits = ~words[word] & (-1L << low);
+            while (true) {
+                if (bits != 0) {
+                    return word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                }
+                if (++word == words.length) {
+                    return CONTAINER_SIZE;
+                }
+                bits = ~words[word];
+            }
+        }
+
+        @Override
+        int countBelow(int low) {
+            if (low >= CONTAINER_SIZE) {
+                return cardinality;
+            }
+            int count = 0;
+            int word = low >>> 6;
+            for (int i = 0; i < word; i++) {
+                count += Long.bitCount(words[i]);
+            }
+            return count + Long.bitCount(words[word] & ((1L << low) - 1));
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    action.accept(base | (word * Long.SIZE + Long.numberOfTrailingZeros(bits)));
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy(int newEpoch) {
+            return new BitmapContainer(newEpoch, words.clone(), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return words.length * 8L;
+        }
+
+        @Override
+        Container and(Container other, int newEpoch) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this, newEpoch);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] common = new long[words.length];
+            for (int word = 0; word < words.length; word++) {
+                common[word] = words[word] & otherWords[word];
+            }
+            return fromWords(newEpoch, common);
+        }
+
+        @Override
+        Container or(Container other, int newEpoch) {
+            BitmapContainer union = new BitmapContainer(newEpoch, words.clone(), cardinality);
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.size; i++) {
+                    union.set(array.values[i]);
+                }
+                return union;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int word = 0; word < words.length; word++) {
+                union.words[word] |= otherWords[word];
+                count += Long.bitCount(union.words[word]);
+            }
+            union.cardinality = count;
+            return union;
+        }
+
+        @Override
+        Container andNot(Container other, int newEpoch) {
+            long[] remaining = words.clone();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.size; i++) {
+                    remaining[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int word = 0; word < words.length; word++) {
+                    remaining[word] &= ~otherWords[word];
+                }
+            }
+            return fromWords(newEpoch, remaining);
+        }
+
+        /**
+         * Container for computed words, in whichever form is smaller
+         */
+        private static Container fromWords(int epoch, long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            if (count == 0) {
+                return null;
+            }
+            BitmapContainer bitmap = new BitmapContainer(epoch, words, count);
+            return count > ARRAY_LIMIT ? bitmap : bitmap.toArrayContainer();
+        }
+
+        private ArrayContainer toArrayContainer() {
+            char[] values = new char[cardinality];
+            int[] next = {0};
+            forEach(0, value -> values[next[0]++] = (char) value);
+            return new ArrayContainer(epoch, values, cardinality);
+        }
+    }
+}
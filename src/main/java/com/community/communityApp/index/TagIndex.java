@@ -0,0 +1,341 @@
+package com.community.communityApp.index;
+
+import com.community.communityApp.repository.RepositoryIndex;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Inverted tag index: one compressed bitmap of entity ordinals per tag,
+ * queried with AND/OR/NOT set algebra.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Generic class implementing the RepositoryIndex observer contract
+ * - Dictionary encoding: tag → dense tag id → bitmap
+ * - Recursive evaluation of a TagQuery expression tree
+ * - Intrinsic locking (synchronized) around non-thread-safe structures
+ *
+ * ORDINALS:
+ * - Every indexed entity gets a small int ordinal, its bit position in
+ *   every bitmap; the lowest free ordinal is reused after a delete, so
+ *   the bitmaps stay dense
+ * - Entities without tags still get one, so NOT queries can find them
+ *
+ * QUERY EVALUATION:
+ * - Nested ANDs are flattened into positive operands and NOT operands
+ * - Positive operands are intersected smallest first (estimated from
+ *   the bitmap cardinalities), so every intermediate result is at most
+ *   as large as the smallest set; an empty intermediate stops early
+ * - NOT operands are then subtracted with andNot(); only a query with
+ *   no positive operand at all starts from the set of every entity
+ * - A tag nobody carries has an empty bitmap and empties the AND
+ *   before any bitmap is touched
+ *
+ * COST:
+ * - Set operations are linear in the containers involved, not in the
+ *   number of entities: a sparse tag costs its own size
+ * - Writes touch only the tags that changed, O(log containers) each
+ *
+ * THREAD SAFETY:
+ * - Writes for different ids can run concurrently, so the bitmaps and
+ *   maps are guarded by this; queries evaluate and resolve ordinals
+ *   under the same lock, so an ordinal never refers to a reused slot
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ */
+public class TagIndex<T, ID> implements RepositoryIndex<T, ID> {
+
+    private final String name;
+    private final Function<? super T, ? extends Collection<String>> tagsExtractor;
+
+    // Guarded by this
+    private final Map<String, Integer> tagIds = new HashMap<>();
+    private final List<String> tagsById = new ArrayList<>();
+    private final List<RoaringBitmap> bitmapsByTagId = new ArrayList<>();
+    private final Map<ID, Entry> entriesById = new HashMap<>();
+    private final List<ID> idsByOrdinal = new ArrayList<>();
+    private RoaringBitmap ordinals = new RoaringBitmap();
+
+    /**
+     * @param tagsExtractor The tags of an entity (normalized like Service.addTag())
+     */
+    public TagIndex(String name, Function<? super T, ? extends Collection<String>> tagsExtractor) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        if (tagsExtractor == null) {
+            throw new IllegalArgumentException("Tags extractor cannot be null");
+        }
+        this.name = name.trim();
+        this.tagsExtractor = tagsExtractor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void onSave(ID id, T entity) {
+        Set<String> tags = new HashSet<>();
+        Collection<String> extracted = tagsExtractor.apply(entity);
+        if (extracted != null) {
+            for (String tag : extracted) {
+                if (tag != null && !tag.trim().isEmpty()) {
+                    tags.add(TagQuery.normalize(tag));
+                }
+            }
+        }
+        synchronized (this) {
+            int[] tagIdsNow = new int[tags.size()];
+            int count = 0;
+            for (String tag : tags) {
+                tagIdsNow[count++] = internTag(tag);
+            }
+            Arrays.sort(tagIdsNow);
+
+            Entry previous = entriesById.get(id);
+            if (previous != null && Arrays.equals(previous.tagIds, tagIdsNow)) {
+                return;
+            }
+            int ordinal = previous != null ? previous.ordinal : allocateOrdinal(id);
+            int[] before = previous != null ? previous.tagIds : new int[0];
+            // Both arrays are sorted: one merge pass finds the added and removed tags
+            int i = 0;
+            int j = 0;
+            while (i < before.length || j < tagIdsNow.length) {
+                if (j == tagIdsNow.length || (i < before.length && before[i] < tagIdsNow[j])) {
+                    bitmapsByTagId.get(before[i++]).remove(ordinal);
+                } else if (i == before.length || before[i] > tagIdsNow[j]) {
+                    bitmapsByTagId.get(tagIdsNow[j++]).add(ordinal);
+                } else {
+                    i++;
+                    j++;
+                }
+            }
+            entriesById.put(id, new Entry(ordinal, tagIdsNow));
+        }
+    }
+
+    @Override
+    public synchronized void onDelete(ID id, T entity) {
+        Entry previous = entriesById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (int tagId : previous.tagIds) {
+            bitmapsByTagId.get(tagId).remove(previous.ordinal);
+        }
+        ordinals.remove(previous.ordinal);
+        idsByOrdinal.set(previous.ordinal, null);
+    }
+
+    @Override
+    public synchronized void clear() {
+        tagIds.clear();
+        tagsById.clear();
+        bitmapsByTagId.clear();
+        entriesById.clear();
+        idsByOrdinal.clear();
+        ordinals = new RoaringBitmap();
+    }
+
+    /**
+     * Ids of the entities matching a query, in ordinal order.
+     */
+    public synchronized List<ID> find(TagQuery query) {
+        RoaringBitmap matches = evaluate(requireQuery(query));
+        List<ID> ids = new ArrayList<>(matches.cardinality());
+        matches.forEach(ordinal -> ids.add(idsByOrdinal.get(ordinal)));
+        return ids;
+    }
+
+    /**
+     * @see TagQuery#parse(String)
+     */
+    public List<ID> find(String query) {
+        return find(TagQuery.parse(query));
+    }
+
+    /**
+     * Number of entities matching a query (no ids are materialized)
+     */
+    public synchronized int count(TagQuery query) {
+        return evaluate(requireQuery(query)).cardinality();
+    }
+
+    /**
+     * Number of entities carrying a tag
+     */
+    public synchronized int count(String tag) {
+        if (tag == null || tag.trim().isEmpty()) {
+            return 0;
+        }
+        return bitmap(TagQuery.normalize(tag)).cardinality();
+    }
+
+    /**
+     * Tags carried by at least one entity, with their counts, in tag order
+     */
+    public synchronized Map<String, Integer> tagCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (int tagId = 0; tagId < tagsById.size(); tagId++) {
+            int count = bitmapsByTagId.get(tagId).cardinality();
+            if (count > 0) {
+                counts.put(tagsById.get(tagId), count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Number of indexed entities
+     */
+    public synchronized int size() {
+        return ordinals.cardinality();
+    }
+
+    private int internTag(String tag) {
+        Integer tagId = tagIds.get(tag);
+        if (tagId == null) {
+            tagId = tagsById.size();
+            tagIds.put(tag, tagId);
+            tagsById.add(tag);
+            bitmapsByTagId.add(new RoaringBitmap());
+        }
+        return tagId;
+    }
+
+    private int allocateOrdinal(ID id) {
+        int ordinal = ordinals.nextClearBit(0);
+        if (ordinal < 0) {
+            throw new IllegalStateException("Tag index " + name + " is full");
+        }
+        ordinals.add(ordinal);
+        if (ordinal == idsByOrdinal.size()) {
+            idsByOrdinal.add(id);
+        } else {
+            idsByOrdinal.set(ordinal, id);
+        }
+        return ordinal;
+    }
+
+    private static TagQuery requireQuery(TagQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Tag query cannot be null");
+        }
+        return query;
+    }
+
+    /**
+     * The index's bitmap for a tag (read-only by convention), or an empty one
+     */
+    private RoaringBitmap bitmap(String tag) {
+        Integer tagId = tagIds.get(tag);
+        return tagId == null ? new RoaringBitmap() : bitmapsByTagId.get(tagId);
+    }
+
+    /**
+     * Ordinals matching a query; may return one of the index's own
+     * bitmaps, so callers only read the result
+     */
+    private RoaringBitmap evaluate(TagQuery query) {
+        if (query instanceof TagQuery.Term) {
+            return bitmap(((TagQuery.Term) query).tag);
+        }
+        if (query instanceof TagQuery.Not) {
+            return RoaringBitmap.andNot(ordinals, evaluate(((TagQuery.Not) query).operand));
+        }
+        if (query instanceof TagQuery.Or) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (TagQuery operand : ((TagQuery.Or) query).operands) {
+                union = RoaringBitmap.or(union, evaluate(operand));
+            }
+            return union;
+        }
+        return evaluateAnd((TagQuery.And) query);
+    }
+
+    /**
+     * INTERSECTION ORDER: smallest estimated operand first, then NOTs
+     */
+    private RoaringBitmap evaluateAnd(TagQuery.And query) {
+        List<TagQuery> positives = new ArrayList<>();
+        List<TagQuery> negatives = new ArrayList<>();
+        flatten(query, positives, negatives);
+
+        Map<TagQuery, Integer> estimates = new IdentityHashMap<>();
+        for (TagQuery operand : positives) {
+            int estimate = estimate(operand);
+            if (estimate == 0) {
+                return new RoaringBitmap();
+            }
+            estimates.put(operand, estimate);
+        }
+        positives.sort(Comparator.comparingInt(estimates::get));
+
+        RoaringBitmap result = positives.isEmpty() ? ordinals : evaluate(positives.get(0));
+        for (int i = 1; i < positives.size() && !result.isEmpty(); i++) {
+            result = RoaringBitmap.and(result, evaluate(positives.get(i)));
+        }
+        for (int i = 0; i < negatives.size() && !result.isEmpty(); i++) {
+            result = RoaringBitmap.andNot(result, evaluate(negatives.get(i)));
+        }
+        return result;
+    }
+
+    private static void flatten(TagQuery query, List<TagQuery> positives, List<TagQuery> negatives) {
+        if (query instanceof TagQuery.And) {
+            for (TagQuery operand : ((TagQuery.And) query).operands) {
+                flatten(operand, positives, negatives);
+            }
+        } else if (query instanceof TagQuery.Not) {
+            negatives.add(((TagQuery.Not) query).operand);
+        } else {
+            positives.add(query);
+        }
+    }
+
+    /**
+     * Upper bound on the matches of a query, from cardinalities alone
+     */
+    private int estimate(TagQuery query) {
+        if (query instanceof TagQuery.Term) {
+            return bitmap(((TagQuery.Term) query).tag).cardinality();
+        }
+        if (query instanceof TagQuery.Not) {
+            return ordinals.cardinality();
+        }
+        if (query instanceof TagQuery.Or) {
+            long sum = 0;
+            for (TagQuery operand : ((TagQuery.Or) query).operands) {
+                sum += estimate(operand);
+            }
+            return (int) Math.min(sum, ordinals.cardinality());
+        }
+        int smallest = ordinals.cardinality();
+        for (TagQuery operand : ((TagQuery.And) query).operands) {
+            smallest = Math.min(smallest, estimate(operand));
+        }
+        return smallest;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("TagIndex{name='%s', tags=%d, entities=%d}", name, tagsById.size(), ordinals.cardinality());
+    }
+
+    /**
+     * IMMUTABLE state of one indexed entity: its ordinal and sorted tag ids
+     */
+    private static final class Entry {
+        private final int ordinal;
+        private final int[] tagIds;
+
+        private Entry(int ordinal, int[] tagIds) {
+            this.ordinal = ordinal;
+            this.tagIds = tagIds;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.community.communityApp.index;
+
+import java.util.*;
+
+/**
+ * Boolean query over tags: terms combined with AND, OR and NOT.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Composite Pattern: an immutable expression tree
+ * - Static factory methods instead of public constructors
+ * - Recursive-descent parsing
+ * - Varargs
+ *
+ * SYNTAX (parse()):
+ * - Terms are runs of characters other than whitespace and parentheses,
+ *   matched case-insensitively ("Urgent" finds tag "urgent")
+ * - AND binds tighter than OR; NOT applies to the term or group after
+ *   it; parentheses group
+ * - Keywords are case-insensitive: "urgent and plumbing and not
+ *   status:cancelled"
+ *
+ * EVALUATION:
+ * - See TagIndex: the tree only describes the query, the index decides
+ *   the order in which the sets are combined
+ */
+public abstract class TagQuery {
+
+    private TagQuery() {
+    }
+
+    /**
+     * Entities carrying a tag
+     */
+    public static TagQuery term(String tag) {
+        if (tag == null || tag.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tag cannot be null or empty");
+        }
+        return new Term(normalize(tag));
+    }
+
+    /**
+     * Entities matching every operand
+     */
+    public static TagQuery and(TagQuery... operands) {
+        return new And(operandList(operands));
+    }
+
+    /**
+     * Entities matching at least one operand
+     */
+    public static TagQuery or(TagQuery... operands) {
+        return new Or(operandList(operands));
+    }
+
+    /**
+     * Entities not matching the operand
+     */
+    public static TagQuery not(TagQuery operand) {
+        if (operand == null) {
+            throw new IllegalArgumentException("Query operand cannot be null");
+        }
+        return new Not(operand);
+    }
+
+    /**
+     * Parse a query such as "urgent AND (plumbing OR electrical) AND NOT status:cancelled".
+     *
+     * @throws IllegalArgumentException if the text is empty or malformed
+     */
+    public static TagQuery parse(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("Tag query cannot be null or empty");
+        }
+        return new Parser(text).parseQuery();
+    }
+
+    /**
+     * Tag normalization shared with Service.addTag()
+     */
+    static String normalize(String tag) {
+        return tag.trim().toLowerCase();
+    }
+
+    private static List<TagQuery> operandList(TagQuery[] operands) {
+        if (operands == null || operands.length == 0) {
+            throw new IllegalArgumentException("At least one query operand is required");
+        }
+        for (TagQuery operand : operands) {
+            if (operand == null) {
+                throw new IllegalArgumentException("Query operand cannot be null");
+            }
+        }
+        return List.of(operands);
+    }
+
+    /**
+     * A single tag
+     */
+    static final class Term extends TagQuery {
+        final String tag;
+
+        private Term(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public String toString() {
+            return tag;
+        }
+    }
+
+    static final class And extends TagQuery {
+        final List<TagQuery> operands;
+
+        private And(List<TagQuery> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public String toString() {
+            return join(operands, " AND ");
+        }
+    }
+
+    static final class Or extends TagQuery {
+        final List<TagQuery> operands;
+
+        private Or(List<TagQuery> operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        public String toString() {
+            return join(operands, " OR ");
+        }
+    }
+
+    static final class Not extends TagQuery {
+        final TagQuery operand;
+
+        private Not(TagQuery operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + (operand instanceof Term || operand instanceof Not ? operand : "(" + operand + ")");
+        }
+    }
+
+    private static String join(List<TagQuery> operands, String operator) {
+        StringJoiner joiner = new StringJoiner(operator);
+        for (TagQuery operand : operands) {
+            joiner.add(operand instanceof And || operand instanceof Or ? "(" + operand + ")" : operand.toString());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * RECURSIVE DESCENT over the grammar
+     * query := and (OR and)* ; and := unary (AND unary)* ;
+     * unary := NOT unary | "(" query ")" | term
+     */
+    private static final class Parser {
+        private final String text;
+        private final List<String> tokens = new ArrayList<>();
+        private int next;
+
+        private Parser(String text) {
+            this.text = text;
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    int start = i;
+                    while (i < text.length() && !Character.isWhitespace(text.charAt(i))
+                            && text.charAt(i) != '(' && text.charAt(i) != ')') {
+                        i++;
+                    }
+                    tokens.add(text.substring(start, i));
+                }
+            }
+        }
+
+        private TagQuery parseQuery() {
+            TagQuery query = parseOr();
+            if (next < tokens.size()) {
+                throw error("Unexpected '" + tokens.get(next) + "'");
+            }
+            return query;
+        }
+
+        private TagQuery parseOr() {
+            List<TagQuery> operands = new ArrayList<>();
+            operands.add(parseAnd());
+            while (accept("OR")) {
+                operands.add(parseAnd());
+            }
+            return operands.size() == 1 ? operands.get(0) : new Or(List.copyOf(operands));
+        }
+
+        private TagQuery parseAnd() {
+            List<TagQuery> operands = new ArrayList<>();
+            operands.add(parseUnary());
+            while (accept("AND")) {
+                operands.add(parseUnary());
+            }
+            return operands.size() == 1 ? operands.get(0) : new And(List.copyOf(operands));
+        }
+
+        private TagQuery parseUnary() {
+            if (next == tokens.size()) {
+                throw error("Query ends where a tag was expected");
+            }
+            if (accept("NOT")) {
+                return new Not(parseUnary());
+            }
+            if (accept("(")) {
+                TagQuery group = parseOr();
+                if (!accept(")")) {
+                    throw error("Missing ')'");
+                }
+                return group;
+            }
+            String token = tokens.get(next);
+            if (token.equals(")") || isKeyword(token)) {
+                throw error("Expected a tag but found '" + token + "'");
+            }
+            next++;
+            return new Term(normalize(token));
+        }
+
+        private boolean accept(String token) {
+            if (next < tokens.size() && tokens.get(next).equalsIgnoreCase(token)) {
+                next++;
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean isKeyword(String token) {
+            return token.equalsIgnoreCase("AND") || token.equalsIgnoreCase("OR") || token.equalsIgnoreCase("NOT");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " in tag query: " + text);
+        }
+    }
+}
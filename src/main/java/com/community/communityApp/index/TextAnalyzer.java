@@ -0,0 +1,113 @@
+package com.community.communityApp.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns free text into index terms for full-text search.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Utility class (final, private constructor, static methods)
+ * - Character classification (Character.isLetterOrDigit)
+ * - Immutable Set.of() constants
+ *
+ * PIPELINE:
+ * - Split on every character that is not a letter or digit
+ * - Lowercase
+ * - Drop stop words and single characters
+ * - Light stemming: plural and -ing/-ed suffixes only, so "leaking
+ *   pipes" and "pipe leaked" meet on "leak" and "pipe", "boxes" and
+ *   "box" on "box"
+ *
+ * LIGHT STEMMING:
+ * - Deliberately conservative: a missed conflation costs some recall,
+ *   a wrong one ("bus" → "bu") costs precision on every query
+ * - Suffixes are only removed while a stem of MIN_STEM_LENGTH remains
+ */
+public final class TextAnalyzer {
+
+    static final int MIN_STEM_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with");
+
+    private TextAnalyzer() {
+        // Utility class
+    }
+
+    /**
+     * Index terms of a text, in order of appearance (repeats kept, so
+     * callers can count term frequencies)
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i - start > 1) {
+                String token = text.substring(start, i).toLowerCase();
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Strip one plural and one -ing/-ed suffix from a lowercase word
+     */
+    static String stem(String word) {
+        String stem = word;
+        boolean pluralEs = stem.endsWith("sses") || stem.endsWith("xes") || stem.endsWith("ches")
+                || stem.endsWith("shes") || stem.endsWith("zzes");
+        if (pluralEs && endsWithStem(stem, "es")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("ies") && endsWithStem(stem, "es")) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (endsWithStem(stem, "s") && !stem.endsWith("ss") && !stem.endsWith("us")
+                && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        if (endsWithStem(stem, "ing")) {
+            stem = undouble(stem.substring(0, stem.length() - 3));
+        } else if (endsWithStem(stem, "ed") && !stem.endsWith("eed")) {
+            stem = undouble(stem.substring(0, stem.length() - 2));
+        }
+        return stem;
+    }
+
+    private static boolean endsWithStem(String word, String suffix) {
+        return word.endsWith(suffix) && word.length() - suffix.length() >= MIN_STEM_LENGTH;
+    }
+
+    /**
+     * "clogg" → "clog" after removing -ed/-ing ("ll", "ss" and "zz" stay)
+     */
+    private static String undouble(String stem) {
+        int length = stem.length();
+        if (length > MIN_STEM_LENGTH && stem.charAt(length - 1) == stem.charAt(length - 2)) {
+            char last = stem.charAt(length - 1);
+            if (last != 'l' && last != 's' && last != 'z' && !isVowel(last)) {
+                return stem.substring(0, length - 1);
+            }
+        }
+        return stem;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,235 @@
+package com.community.communityApp.index;
+
+import com.community.communityApp.repository.RepositoryIndex;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Trigram (3-gram) inverted index for case-insensitive substring search.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Generic class implementing the RepositoryIndex observer contract
+ * - Bit packing: three chars stored in one long key
+ * - Concurrent collections (ConcurrentHashMap key sets as posting lists)
+ * - Function<T, String> for pluggable text extraction
+ *
+ * HOW A SEARCH WORKS:
+ * - Text and query are normalized with toLowerCase(), exactly as
+ *   text.toLowerCase().contains(query.toLowerCase()) would
+ * - If the text contains the query, it contains every trigram of
+ *   the query, so intersecting the query's posting lists yields a
+ *   superset of the matches
+ * - Each candidate is then verified with contains() on its stored
+ *   normalized text, so results are exact (no false positives)
+ * - Queries shorter than 3 chars have no trigram; they scan the stored
+ *   normalized texts instead (still no per-query lowercasing)
+ *
+ * COST:
+ * - Posting lists are intersected smallest first, so a selective
+ *   query touches only a few ids regardless of the data set size
+ * - Memory: one id entry per distinct trigram per text
+ *
+ * MUTABLE ENTITIES:
+ * - The normalized text is remembered per id, so a rename removes
+ *   exactly the trigrams that were indexed before
+ *
+ * THREAD SAFETY:
+ * - Writes for one id are serialized by the repository
+ * - On a change, new postings are added before stale ones are removed,
+ *   so concurrent searches never miss an unchanged trigram
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ */
+public class TrigramIndex<T, ID> implements RepositoryIndex<T, ID> {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final String name;
+    private final Function<? super T, String> textExtractor;
+
+    /**
+     * id → normalized text currently indexed
+     */
+    private final Map<ID, String> textById = new ConcurrentHashMap<>();
+
+    /**
+     * packed trigram → ids whose text contains it
+     */
+    private final Map<Long, Set<ID>> postings = new ConcurrentHashMap<>();
+
+    public TrigramIndex(String name, Function<? super T, String> textExtractor) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        if (textExtractor == null) {
+            throw new IllegalArgumentException("Text extractor cannot be null");
+        }
+        this.name = name.trim();
+        this.textExtractor = textExtractor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void onSave(ID id, T entity) {
+        String raw = textExtractor.apply(entity);
+        String text = raw != null ? normalize(raw) : null;
+        String previous = textById.get(id);
+        if (Objects.equals(text, previous)) {
+            return;
+        }
+
+        Set<Long> grams = text != null ? gramsOf(text) : Collections.emptySet();
+        for (Long gram : grams) {
+            postings.compute(gram, (g, ids) -> {
+                Set<ID> list = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                list.add(id);
+                return list;
+            });
+        }
+        if (text != null) {
+            textById.put(id, text);
+        } else {
+            textById.remove(id);
+        }
+        if (previous != null) {
+            for (Long gram : gramsOf(previous)) {
+                if (!grams.contains(gram)) {
+                    removePosting(gram, id);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onDelete(ID id, T entity) {
+        String previous = textById.remove(id);
+        if (previous != null) {
+            for (Long gram : gramsOf(previous)) {
+                removePosting(gram, id);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+        textById.clear();
+    }
+
+    /**
+     * Ids whose normalized text contains the normalized fragment.
+     *
+     * @param fragment The text to look for (case-insensitive)
+     * @return Distinct matching ids, in no particular order (never null;
+     *         empty for a null or empty fragment)
+     */
+    public List<ID> search(String fragment) {
+        if (fragment == null || fragment.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = normalize(fragment);
+        if (query.length() < GRAM_LENGTH) {
+            return scan(query);
+        }
+
+        List<Set<ID>> lists = new ArrayList<>();
+        for (Long gram : gramsOf(query)) {
+            Set<ID> ids = postings.get(gram);
+            if (ids == null) {
+                return new ArrayList<>();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        // Ids of a posting set are distinct, so no de-duplication is needed
+        Set<ID> smallest = lists.get(0);
+        List<ID> matches = new ArrayList<>(smallest.size());
+        candidates:
+        for (ID id : smallest) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue candidates;
+                }
+            }
+            String text = textById.get(id);
+            if (text != null && text.contains(query)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Number of indexed texts
+     */
+    public int size() {
+        return textById.size();
+    }
+
+    /**
+     * Number of distinct trigrams (posting lists)
+     */
+    public int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Normalization shared by indexing and queries; it must stay the
+     * same as the substring semantics being replaced
+     */
+    static String normalize(String text) {
+        return text.toLowerCase();
+    }
+
+    /**
+     * Short fragments: linear pass over the stored normalized texts
+     */
+    private List<ID> scan(String query) {
+        List<ID> matches = new ArrayList<>();
+        for (Map.Entry<ID, String> entry : textById.entrySet()) {
+            if (entry.getValue().contains(query)) {
+                matches.add(entry.getKey());
+            }
+        }
+        return matches;
+    }
+
+    private void removePosting(Long gram, ID id) {
+        postings.computeIfPresent(gram, (g, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Distinct trigrams of a normalized text
+     */
+    static Set<Long> gramsOf(String text) {
+        int count = text.length() - GRAM_LENGTH + 1;
+        if (count <= 0) {
+            return Collections.emptySet();
+        }
+        Set<Long> grams = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            grams.add(pack(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+        }
+        return grams;
+    }
+
+    static long pack(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrigramIndex{name='%s', texts=%d, grams=%d}", name, size(), gramCount());
+    }
+}
@@ -103,7 +103,16 @@ public class Administrator extends Resident {
         private final String description;
         
         public AdminAction(String action, String description) {
-            this.timestamp = LocalDateTime.now();
+            this(LocalDateTime.now(), action, description);
+        }
+        
+        /**
+         * Constructor with an explicit timestamp
+         * 
+         * - Used when restoring recorded actions from storage
+         */
+        public AdminAction(LocalDateTime timestamp, String action, String description) {
+            this.timestamp = timestamp;
             this.action = action;
             this.description = description;
         }
@@ -378,6 +387,30 @@ public class Administrator extends Resident {
         return appointmentDate;
     }
     
+    public Map<String, Object> getAllMetadata() {
+        return new HashMap<>(adminMetadata); // Defensive copy
+    }
+    
+    /**
+     * Restore administrative history from storage
+     * 
+     * PERSISTENCE HOOK:
+     * - The constructor stamps "now" and records an APPOINTMENT action;
+     *   a decoded administrator must get its original values back
+     * - Replaces state wholesale and records no new action
+     */
+    public void restoreHistory(LocalDateTime appointmentDate, Collection<String> permissions,
+                               List<AdminAction> actions) {
+        if (appointmentDate == null || permissions == null || actions == null) {
+            throw new IllegalArgumentException("Appointment date, permissions and actions are required");
+        }
+        this.appointmentDate = appointmentDate;
+        this.permissions.clear();
+        this.permissions.addAll(permissions);
+        this.adminActions.clear();
+        this.adminActions.addAll(actions);
+    }
+    
     /**
      * OBJECT CLASS METHODS override
      * 
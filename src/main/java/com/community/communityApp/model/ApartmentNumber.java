@@ -0,0 +1,134 @@
+package com.community.communityApp.model;
+
+import java.util.Objects;
+
+/**
+ * Parsed apartment number with a natural (numeric-aware) ordering.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Immutable value object (final fields, no setters)
+ * - Comparable implementation with a multi-part ordering
+ * - Static factory method instead of a public constructor
+ * - Character classification (Character.isDigit / isLetter)
+ *
+ * FORMAT (see ValidationUtil.isValidApartmentNumber):
+ * - [building][separator][number][separator][suffix], every part optional
+ * - "101"   → building "",  number 101
+ * - "B-205" → building "B", number 205
+ * - "A101"  → building "A", number 101
+ * - "12-A"  → building "",  number 12, suffix "A"
+ * - No digits at all ("PH") → building "PH", no number
+ *
+ * NATURAL ORDER:
+ * - building, then number numerically ("201" before "1001"), then
+ *   suffix, then the normalized text (so "A-101" and "A101" differ)
+ * - Consistent with equals: equal only for the same normalized text
+ */
+public final class ApartmentNumber implements Comparable<ApartmentNumber> {
+
+    /**
+     * Number used when the apartment has no digits
+     */
+    public static final int NO_NUMBER = -1;
+
+    private final String text;
+    private final String building;
+    private final int number;
+    private final String suffix;
+
+    private ApartmentNumber(String text, String building, int number, String suffix) {
+        this.text = text;
+        this.building = building;
+        this.number = number;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Parse an apartment number (normalized like Resident: trimmed, upper case)
+     *
+     * @param apartmentNumber The apartment number text
+     * @return The parsed apartment number
+     * @throws IllegalArgumentException if the text is null or empty
+     */
+    public static ApartmentNumber parse(String apartmentNumber) {
+        if (apartmentNumber == null || apartmentNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Apartment number cannot be null or empty");
+        }
+        String text = apartmentNumber.trim().toUpperCase();
+
+        int digitsStart = 0;
+        while (digitsStart < text.length() && !Character.isDigit(text.charAt(digitsStart))) {
+            digitsStart++;
+        }
+        if (digitsStart == text.length()) {
+            return new ApartmentNumber(text, text, NO_NUMBER, "");
+        }
+        int digitsEnd = digitsStart;
+        while (digitsEnd < text.length() && Character.isDigit(text.charAt(digitsEnd))) {
+            digitsEnd++;
+        }
+
+        String building = stripSeparators(text.substring(0, digitsStart));
+        String suffix = stripSeparators(text.substring(digitsEnd));
+        // At most 10 chars by validation, but guard against int overflow anyway
+        String digits = text.substring(digitsStart, Math.min(digitsEnd, digitsStart + 9));
+        return new ApartmentNumber(text, building, Integer.parseInt(digits), suffix);
+    }
+
+    private static String stripSeparators(String part) {
+        int start = 0;
+        int end = part.length();
+        while (start < end && !Character.isLetterOrDigit(part.charAt(start))) {
+            start++;
+        }
+        while (end > start && !Character.isLetterOrDigit(part.charAt(end - 1))) {
+            end--;
+        }
+        return part.substring(start, end);
+    }
+
+    /**
+     * Smallest possible apartment number of a building at or above a number,
+     * useful as the inclusive lower bound of a range scan
+     */
+    public static ApartmentNumber lowerBound(String building, int number) {
+        return new ApartmentNumber("", building == null ? "" : building.trim().toUpperCase(), number, "");
+    }
+
+    public String getText() { return text; }
+    public String getBuilding() { return building; }
+    public int getNumber() { return number; }
+    public String getSuffix() { return suffix; }
+
+    public boolean hasNumber() {
+        return number != NO_NUMBER;
+    }
+
+    @Override
+    public int compareTo(ApartmentNumber other) {
+        int result = building.compareTo(other.building);
+        if (result != 0) return result;
+        result = Integer.compare(number, other.number);
+        if (result != 0) return result;
+        result = suffix.compareTo(other.suffix);
+        if (result != 0) return result;
+        return text.compareTo(other.text);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ApartmentNumber)) return false;
+        return text.equals(((ApartmentNumber) obj).text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
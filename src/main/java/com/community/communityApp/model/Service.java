@@ -3,6 +3,7 @@ package com.community.communityApp.model;
 import com.community.communityApp.repository.Identifiable;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service class representing various services available in the community.
@@ -107,6 +108,122 @@ public class Service implements Identifiable<String> {
         }
         
         public String getDescription() { return description; }
+        
+        /**
+         * STATE MACHINE edges:
+         * REQUESTED → SCHEDULED | CANCELLED
+         * SCHEDULED → IN_PROGRESS | CANCELLED
+         * IN_PROGRESS → COMPLETED | FAILED
+         */
+        public boolean canTransitionTo(ServiceStatus newStatus) {
+            return switch (this) {
+                case REQUESTED -> newStatus == SCHEDULED || newStatus == CANCELLED;
+                case SCHEDULED -> newStatus == IN_PROGRESS || newStatus == CANCELLED;
+                case IN_PROGRESS -> newStatus == COMPLETED || newStatus == FAILED;
+                case COMPLETED, CANCELLED, FAILED -> false; // Terminal states
+            };
+        }
+        
+        public boolean isTerminal() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+    
+    /**
+     * IMMUTABLE LIFECYCLE SNAPSHOT: status plus the times it was reached
+     * 
+     * - Replaced as a whole on every transition, so a reader never sees
+     *   a status together with another state's timestamps
+     * - scheduledAt: the booked slot (kept after the service starts)
+     * - startedAt: when IN_PROGRESS was entered
+     * - completedAt: when COMPLETED or FAILED was entered
+     */
+    public static final class Lifecycle {
+        private final ServiceStatus status;
+        private final LocalDateTime scheduledAt;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime completedAt;
+        
+        Lifecycle(ServiceStatus status, LocalDateTime scheduledAt,
+                  LocalDateTime startedAt, LocalDateTime completedAt) {
+            this.status = status;
+            this.scheduledAt = scheduledAt;
+            this.startedAt = startedAt;
+            this.completedAt = completedAt;
+        }
+        
+        /**
+         * The snapshot after moving to target at the given time
+         */
+        Lifecycle moveTo(ServiceStatus target, LocalDateTime time) {
+            return switch (target) {
+                case SCHEDULED -> new Lifecycle(target, time, startedAt, completedAt);
+                case IN_PROGRESS -> new Lifecycle(target, scheduledAt, time, completedAt);
+                case COMPLETED, FAILED -> new Lifecycle(target, scheduledAt, startedAt, time);
+                case REQUESTED, CANCELLED -> new Lifecycle(target, scheduledAt, startedAt, completedAt);
+            };
+        }
+        
+        public ServiceStatus getStatus() { return status; }
+        public Optional<LocalDateTime> getScheduledAt() { return Optional.ofNullable(scheduledAt); }
+        public Optional<LocalDateTime> getStartedAt() { return Optional.ofNullable(startedAt); }
+        public Optional<LocalDateTime> getCompletedAt() { return Optional.ofNullable(completedAt); }
+        
+        @Override
+        public String toString() {
+            return String.format("Lifecycle{status=%s, scheduledAt=%s, startedAt=%s, completedAt=%s}",
+                               status, scheduledAt, startedAt, completedAt);
+        }
+    }
+    
+    /**
+     * IMMUTABLE OUTCOME of a transition attempt
+     * 
+     * CONTENTION REPORTING:
+     * - applied: this caller won; previous → current is its own move
+     * - rejected: current is the state that made the move illegal,
+     *   e.g. the CANCELLED another thread installed first
+     */
+    public static final class Transition {
+        private final ServiceStatus requested;
+        private final Lifecycle previous;
+        private final Lifecycle current;
+        private final boolean applied;
+        
+        private Transition(ServiceStatus requested, Lifecycle previous, Lifecycle current, boolean applied) {
+            this.requested = requested;
+            this.previous = previous;
+            this.current = current;
+            this.applied = applied;
+        }
+        
+        static Transition applied(ServiceStatus requested, Lifecycle previous, Lifecycle current) {
+            return new Transition(requested, previous, current, true);
+        }
+        
+        static Transition rejected(ServiceStatus requested, Lifecycle current) {
+            return new Transition(requested, current, current, false);
+        }
+        
+        public boolean isApplied() { return applied; }
+        public ServiceStatus getRequested() { return requested; }
+        
+        /**
+         * State before the move (same as getCurrent() when rejected)
+         */
+        public Lifecycle getPrevious() { return previous; }
+        
+        /**
+         * State after the move, or the state that won when rejected
+         */
+        public Lifecycle getCurrent() { return current; }
+        
+        @Override
+        public String toString() {
+            return applied
+                    ? String.format("Transition{%s → %s}", previous.status, current.status)
+                    : String.format("Transition{%s rejected in %s}", requested, current.status);
+        }
     }
     
     /**
@@ -118,16 +235,15 @@ public class Service implements Identifiable<String> {
      * - LocalDateTime for modern date/time handling
      * - Double for pricing (wrapper class for null safety)
      * - Collections for related data
+     * - AtomicReference for the lifecycle, changed only by CAS
      */
     private final String serviceId;
     private final ServiceType serviceType;
     private final String description;
     private final String providerName;
     private final Double estimatedCost;
-    private ServiceStatus status;
+    private final AtomicReference<Lifecycle> lifecycle;
     private LocalDateTime requestedAt;
-    private LocalDateTime scheduledAt;
-    private LocalDateTime completedAt;
     private final String requestedBy; // Apartment number
     
     /**
@@ -178,7 +294,7 @@ public class Service implements Identifiable<String> {
         this.requestedBy = requestedBy.trim();
         
         // Initialize with default values
-        this.status = ServiceStatus.REQUESTED;
+        this.lifecycle = new AtomicReference<>(new Lifecycle(ServiceStatus.REQUESTED, null, null, null));
         this.requestedAt = LocalDateTime.now();
         
         // Initialize collections
@@ -208,6 +324,20 @@ public class Service implements Identifiable<String> {
         private String requestedBy;
         private List<String> requirements = new ArrayList<>();
         private Set<String> tags = new HashSet<>();
+        private Map<String, Object> metadata = new HashMap<>();
+        
+        /**
+         * LIFECYCLE STATE for restoring stored services
+         * 
+         * - null means "use the constructor default" (REQUESTED, now)
+         * - Set together, they bypass canTransitionTo(): the state was
+         *   validated when it was first reached
+         */
+        private ServiceStatus status;
+        private LocalDateTime requestedAt;
+        private LocalDateTime scheduledAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime completedAt;
         
         public ServiceBuilder serviceId(String serviceId) {
             this.serviceId = serviceId;
@@ -249,11 +379,47 @@ public class Service implements Identifiable<String> {
             return this;
         }
         
+        public ServiceBuilder metadata(String key, Object value) {
+            this.metadata.put(key, value);
+            return this;
+        }
+        
+        public ServiceBuilder status(ServiceStatus status) {
+            this.status = status;
+            return this;
+        }
+        
+        public ServiceBuilder requestedAt(LocalDateTime requestedAt) {
+            this.requestedAt = requestedAt;
+            return this;
+        }
+        
+        public ServiceBuilder scheduledAt(LocalDateTime scheduledAt) {
+            this.scheduledAt = scheduledAt;
+            return this;
+        }
+        
+        public ServiceBuilder startedAt(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+            return this;
+        }
+        
+        public ServiceBuilder completedAt(LocalDateTime completedAt) {
+            this.completedAt = completedAt;
+            return this;
+        }
+        
         public Service build() {
             Service service = new Service(serviceId, serviceType, description, 
                                         providerName, estimatedCost, requestedBy);
             service.requirements.addAll(this.requirements);
             service.tags.addAll(this.tags);
+            service.metadata.putAll(this.metadata);
+            service.lifecycle.set(new Lifecycle(status != null ? status : ServiceStatus.REQUESTED,
+                                                scheduledAt, startedAt, completedAt));
+            if (requestedAt != null) {
+                service.requestedAt = requestedAt;
+            }
             return service;
         }
     }
@@ -324,6 +490,10 @@ public class Service implements Identifiable<String> {
         return Optional.ofNullable(metadata.get(key));
     }
     
+    public Map<String, Object> getAllMetadata() {
+        return new HashMap<>(metadata); // Defensive copy
+    }
+    
     /**
      * GENERICS with type safety
      * 
@@ -345,19 +515,87 @@ public class Service implements Identifiable<String> {
      * 
      * STATE TRANSITIONS:
      * - Validates state transitions
-     * - Demonstrates complex conditional logic
-     * - Shows practical use of switch statements
+     * - Answers for the current state only; transitionTo() checks and
+     *   moves in one atomic step
      */
     public boolean canTransitionTo(ServiceStatus newStatus) {
-        return switch (status) {
-            case REQUESTED -> newStatus == ServiceStatus.SCHEDULED || 
-                             newStatus == ServiceStatus.CANCELLED;
-            case SCHEDULED -> newStatus == ServiceStatus.IN_PROGRESS || 
-                             newStatus == ServiceStatus.CANCELLED;
-            case IN_PROGRESS -> newStatus == ServiceStatus.COMPLETED || 
-                               newStatus == ServiceStatus.FAILED;
-            case COMPLETED, CANCELLED, FAILED -> false; // Terminal states
-        };
+        return getStatus().canTransitionTo(newStatus);
+    }
+    
+    /**
+     * LOCK-FREE STATE TRANSITION
+     * 
+     * COMPARE-AND-SET LOOP:
+     * - Read the lifecycle, check the edge, CAS the next snapshot in
+     * - A failed CAS means another thread moved the service first; the
+     *   edge is checked again against that newer state
+     * - Of several threads racing from one state exactly one wins; the
+     *   others get a rejected Transition naming the state that won
+     * 
+     * @param target The status to move to
+     * @param time The time recorded with it: the slot for SCHEDULED, the
+     *             start for IN_PROGRESS, the end for COMPLETED and FAILED
+     *             (may be null for CANCELLED, where it is not used)
+     * @return The outcome (never null)
+     */
+    public Transition transitionTo(ServiceStatus target, LocalDateTime time) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target status cannot be null");
+        }
+        if (time == null && target != ServiceStatus.CANCELLED) {
+            throw new IllegalArgumentException("Transition time cannot be null");
+        }
+        while (true) {
+            Lifecycle current = lifecycle.get();
+            if (!current.status.canTransitionTo(target)) {
+                return Transition.rejected(target, current);
+            }
+            Lifecycle next = current.moveTo(target, time);
+            if (lifecycle.compareAndSet(current, next)) {
+                return Transition.applied(target, current, next);
+            }
+        }
+    }
+    
+    /**
+     * Single CAS from a snapshot the caller has seen, without retrying
+     * (e.g. fail a run only if it is still the run that was observed).
+     * 
+     * @param expected A snapshot returned by getLifecycle()
+     * @return The outcome; rejected if the service has moved on since
+     */
+    public Transition transitionFrom(Lifecycle expected, ServiceStatus target, LocalDateTime time) {
+        if (expected == null || target == null) {
+            throw new IllegalArgumentException("Expected lifecycle and target status cannot be null");
+        }
+        if (expected.status.canTransitionTo(target)) {
+            Lifecycle next = expected.moveTo(target, time);
+            if (lifecycle.compareAndSet(expected, next)) {
+                return Transition.applied(target, expected, next);
+            }
+        }
+        return Transition.rejected(target, lifecycle.get());
+    }
+    
+    /**
+     * Take back a transition this caller applied, if the service has not
+     * moved on since (e.g. a batch whose save failed).
+     * 
+     * UNDO, NOT A STATE MACHINE EDGE:
+     * - CAS from the transition's current snapshot back to its previous
+     *   one, so the recorded times are restored too
+     * - Bypasses canTransitionTo(): SCHEDULED → REQUESTED is no edge,
+     *   the move is simply treated as never having happened
+     * 
+     * @param transition An applied Transition returned for this service
+     * @return true if the previous state was restored
+     */
+    public boolean undo(Transition transition) {
+        if (transition == null) {
+            throw new IllegalArgumentException("Transition cannot be null");
+        }
+        return transition.isApplied()
+                && lifecycle.compareAndSet(transition.getCurrent(), transition.getPrevious());
     }
     
     /**
@@ -372,21 +610,30 @@ public class Service implements Identifiable<String> {
         if (scheduledTime == null) {
             throw new IllegalArgumentException("Scheduled time cannot be null");
         }
-        if (!canTransitionTo(ServiceStatus.SCHEDULED)) {
-            throw new IllegalStateException("Cannot schedule service in current state: " + status);
-        }
-        
-        this.scheduledAt = scheduledTime;
-        this.status = ServiceStatus.SCHEDULED;
+        requireApplied(transitionTo(ServiceStatus.SCHEDULED, scheduledTime), "schedule");
+    }
+    
+    public void startService() {
+        requireApplied(transitionTo(ServiceStatus.IN_PROGRESS, LocalDateTime.now()), "start");
     }
     
     public void completeService() {
-        if (!canTransitionTo(ServiceStatus.COMPLETED)) {
-            throw new IllegalStateException("Cannot complete service in current state: " + status);
+        requireApplied(transitionTo(ServiceStatus.COMPLETED, LocalDateTime.now()), "complete");
+    }
+    
+    public void failService() {
+        requireApplied(transitionTo(ServiceStatus.FAILED, LocalDateTime.now()), "fail");
+    }
+    
+    public void cancelService() {
+        requireApplied(transitionTo(ServiceStatus.CANCELLED, null), "cancel");
+    }
+    
+    private static void requireApplied(Transition transition, String action) {
+        if (!transition.isApplied()) {
+            throw new IllegalStateException("Cannot " + action + " service in current state: "
+                                          + transition.getCurrent().getStatus());
         }
-        
-        this.completedAt = LocalDateTime.now();
-        this.status = ServiceStatus.COMPLETED;
     }
     
     /**
@@ -396,23 +643,45 @@ public class Service implements Identifiable<String> {
      * - Filtering collections
      * - Method chaining
      * - Collecting results
+     * 
+     * CASE-INSENSITIVE MATCHING:
+     * - regionMatches(ignoreCase) compares in place, so no lowercased
+     *   copy of the keyword or of any requirement is created per call
      */
     public List<String> getRequirementsContaining(String keyword) {
+        if (keyword == null) {
+            return new ArrayList<>();
+        }
         return requirements.stream()
-                .filter(req -> req.toLowerCase().contains(keyword.toLowerCase()))
+                .filter(req -> containsIgnoreCase(req, keyword))
                 .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
     }
     
+    private static boolean containsIgnoreCase(String text, String keyword) {
+        for (int start = 0; start <= text.length() - keyword.length(); start++) {
+            if (text.regionMatches(true, start, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     // Standard getters (immutable object pattern)
     public String getServiceId() { return serviceId; }
     public ServiceType getServiceType() { return serviceType; }
     public String getDescription() { return description; }
     public String getProviderName() { return providerName; }
     public Double getEstimatedCost() { return estimatedCost; }
-    public ServiceStatus getStatus() { return status; }
+    public ServiceStatus getStatus() { return lifecycle.get().getStatus(); }
     public LocalDateTime getRequestedAt() { return requestedAt; }
-    public Optional<LocalDateTime> getScheduledAt() { return Optional.ofNullable(scheduledAt); }
-    public Optional<LocalDateTime> getCompletedAt() { return Optional.ofNullable(completedAt); }
+    public Optional<LocalDateTime> getScheduledAt() { return lifecycle.get().getScheduledAt(); }
+    public Optional<LocalDateTime> getStartedAt() { return lifecycle.get().getStartedAt(); }
+    public Optional<LocalDateTime> getCompletedAt() { return lifecycle.get().getCompletedAt(); }
+    
+    /**
+     * Status and timestamps as one consistent snapshot
+     */
+    public Lifecycle getLifecycle() { return lifecycle.get(); }
     public String getRequestedBy() { return requestedBy; }
     
     /**
@@ -459,6 +728,6 @@ public class Service implements Identifiable<String> {
     @Override
     public String toString() {
         return String.format("Service{id='%s', type=%s, status=%s, provider='%s', cost=%s}", 
-                           serviceId, serviceType, status, providerName, estimatedCost);
+                           serviceId, serviceType, getStatus(), providerName, estimatedCost);
     }
 }
\ No newline at end of file
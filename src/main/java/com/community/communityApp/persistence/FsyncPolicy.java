@@ -0,0 +1,73 @@
+package com.community.communityApp.persistence;
+
+import java.time.Duration;
+
+/**
+ * When the write-ahead log forces appended records to the storage device.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Immutable value object with private constructor
+ * - Static factory methods and constants
+ * - java.time Duration for configuration
+ *
+ * POLICIES:
+ * - EVERY_COMMIT: a write returns only after its record is fsynced.
+ *   Concurrent commits share one fsync (group commit).
+ * - batched(n, interval): a write returns once its record is handed to
+ *   the OS; an fsync runs after n unsynced records or every interval,
+ *   whichever comes first. A crash may lose the last batch.
+ * - OS_DEFAULT: never fsync explicitly (tests, benchmarks, scratch data)
+ */
+public final class FsyncPolicy {
+
+    public static final FsyncPolicy EVERY_COMMIT = new FsyncPolicy(true, 1, Duration.ZERO);
+    public static final FsyncPolicy OS_DEFAULT = new FsyncPolicy(false, Integer.MAX_VALUE, Duration.ZERO);
+
+    private final boolean syncOnCommit;
+    private final int maxUnsyncedRecords;
+    private final Duration syncInterval;
+
+    private FsyncPolicy(boolean syncOnCommit, int maxUnsyncedRecords, Duration syncInterval) {
+        this.syncOnCommit = syncOnCommit;
+        this.maxUnsyncedRecords = maxUnsyncedRecords;
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * Fsync after a number of records or a time interval.
+     *
+     * @param maxUnsyncedRecords Records allowed to await an fsync
+     * @param syncInterval Longest time a record may await an fsync
+     * @return The batching policy
+     */
+    public static FsyncPolicy batched(int maxUnsyncedRecords, Duration syncInterval) {
+        if (maxUnsyncedRecords < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (syncInterval == null || syncInterval.isNegative() || syncInterval.isZero()) {
+            throw new IllegalArgumentException("Sync interval must be positive");
+        }
+        return new FsyncPolicy(false, maxUnsyncedRecords, syncInterval);
+    }
+
+    public boolean isSyncOnCommit() { return syncOnCommit; }
+    public int getMaxUnsyncedRecords() { return maxUnsyncedRecords; }
+    public Duration getSyncInterval() { return syncInterval; }
+
+    /**
+     * Whether a background thread must fsync periodically
+     */
+    public boolean hasSyncInterval() {
+        return !syncInterval.isZero();
+    }
+
+    @Override
+    public String toString() {
+        if (syncOnCommit) {
+            return "FsyncPolicy{EVERY_COMMIT}";
+        }
+        return hasSyncInterval()
+                ? String.format("FsyncPolicy{batched, records=%d, interval=%s}", maxUnsyncedRecords, syncInterval)
+                : "FsyncPolicy{OS_DEFAULT}";
+    }
+}
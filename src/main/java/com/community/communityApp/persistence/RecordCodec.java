@@ -0,0 +1,80 @@
+package com.community.communityApp.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts values to and from the binary payload of a log record.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Generic functional-style interface
+ * - Static factory methods on an interface
+ * - java.nio ByteBuffer for binary decoding
+ *
+ * CONTRACT:
+ * - encode() returns a fresh array the caller may keep
+ * - decode() reads exactly one value from the buffer's position up to
+ *   its limit; the log hands each record a buffer sliced to its payload
+ * - decode(encode(v)) must be equal in content to v
+ *
+ * @param <T> The value type
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Serialize a value.
+     *
+     * @param value The value to write (never null)
+     * @return The encoded bytes
+     */
+    byte[] encode(T value);
+
+    /**
+     * Deserialize a value.
+     *
+     * @param buffer Buffer positioned at the start of the payload
+     * @return The decoded value
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Codec for values that are already encoded (e.g. logged payloads
+     * written into a snapshot). encode() passes the array through
+     * instead of copying it, so the values must never be modified;
+     * decode() copies the bytes out.
+     */
+    static RecordCodec<byte[]> bytes() {
+        return new RecordCodec<>() {
+            @Override
+            public byte[] encode(byte[] value) {
+                return value;
+            }
+
+            @Override
+            public byte[] decode(ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return bytes;
+            }
+        };
+    }
+
+    /**
+     * Codec for String identifiers stored as raw UTF-8.
+     */
+    static RecordCodec<String> utf8() {
+        return new RecordCodec<>() {
+            @Override
+            public byte[] encode(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer) {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
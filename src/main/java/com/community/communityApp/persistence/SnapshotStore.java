@@ -0,0 +1,234 @@
+package com.community.communityApp.persistence;
+
+import com.community.communityApp.exception.PersistenceException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary images of a repository, one file per covered LSN.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Memory-mapped files (FileChannel.map / MappedByteBuffer)
+ * - Decorated output streams (Data → Buffered → Checked → Channel)
+ * - Atomic file replacement (write to temp file, then ATOMIC_MOVE)
+ * - Generic methods with a RecordCodec strategy
+ *
+ * FILE FORMAT (big-endian), named e.g. 00000000000000004096.snapshot:
+ * - int  magic, int format version
+ * - long LSN the image covers (every log record up to it)
+ * - long entity count
+ * - per entity: int length, encoded bytes
+ * - int  CRC32C over everything before it
+ *
+ * DURABILITY:
+ * - An image is forced and renamed into place only when complete, so
+ *   a crash leaves either the old image or the new one, never half
+ * - A checksum mismatch therefore means real damage and is reported
+ *
+ * LOADING:
+ * - The newest image is memory-mapped, verified, then handed out as
+ *   zero-copy read-only slices, one per entity
+ * - A single image is limited to 2 GB (one mapping)
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x43534E50;   // "CSNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final String SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Snapshot directory cannot be null");
+        }
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw PersistenceException.writeFailed(directory, e);
+        }
+    }
+
+    /**
+     * Write an image of the given entities.
+     *
+     * @param lsn The log position the image covers
+     * @param entities The entities to store (a stable collection)
+     * @param codec Binary format of the entities
+     * @return The snapshot file
+     * @throws PersistenceException if writing fails (no file is left behind)
+     */
+    public <T> Path write(long lsn, Collection<? extends T> entities, RecordCodec<T> codec) {
+        Path target = snapshotPath(lsn);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // The streams are not closed separately: the channel is
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), WRITE_BUFFER_BYTES));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(lsn);
+            out.writeLong(entities.size());
+            for (T entity : entities) {
+                byte[] bytes = codec.encode(entity);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw PersistenceException.writeFailed(temp, e);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw PersistenceException.writeFailed(target, e);
+        }
+        return target;
+    }
+
+    /**
+     * Load the newest image.
+     *
+     * @param sink Receives each encoded entity as a read-only slice
+     * @return The LSN the image covers, or 0 if there is no image
+     * @throws PersistenceException if the newest image is damaged
+     */
+    public long loadLatest(Consumer<ByteBuffer> sink) {
+        Optional<Path> latest = latestSnapshot();
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        Path file = latest.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw PersistenceException.corrupt(file, "unexpected size " + size);
+            }
+            MappedByteBuffer image = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int bodyBytes = (int) size - Integer.BYTES;
+            CRC32C crc = new CRC32C();
+            crc.update(image.duplicate().limit(bodyBytes));
+            if ((int) crc.getValue() != image.getInt(bodyBytes)) {
+                throw PersistenceException.corrupt(file, "checksum mismatch");
+            }
+            if (image.getInt() != MAGIC || image.getInt() != FORMAT_VERSION) {
+                throw PersistenceException.corrupt(file, "unknown format");
+            }
+
+            long lsn = image.getLong();
+            long count = image.getLong();
+            for (long i = 0; i < count; i++) {
+                int length = image.getInt();
+                if (length < 0 || length > bodyBytes - image.position()) {
+                    throw PersistenceException.corrupt(file, "bad entity length at offset " + (image.position() - 4));
+                }
+                sink.accept(image.slice(image.position(), length).asReadOnlyBuffer());
+                image.position(image.position() + length);
+            }
+            return lsn;
+        } catch (IOException e) {
+            throw PersistenceException.readFailed(file, e);
+        }
+    }
+
+    /**
+     * Remove images older than the given LSN and abandoned temp files.
+     *
+     * @param lsn LSN of the newest durable image
+     */
+    public void deleteOlderThan(long lsn) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(file);
+                } else if (name.endsWith(SUFFIX) && parseLsn(name) < lsn) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw PersistenceException.writeFailed(directory, e);
+        }
+    }
+
+    /**
+     * The newest complete image on disk, if any
+     */
+    public Optional<Path> latestSnapshot() {
+        TreeMap<Long, Path> found = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                long lsn = parseLsn(file.getFileName().toString());
+                if (lsn >= 0) {
+                    found.put(lsn, file);
+                }
+            }
+        } catch (IOException e) {
+            throw PersistenceException.readFailed(directory, e);
+        }
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.lastEntry().getValue());
+    }
+
+    private Path snapshotPath(long lsn) {
+        return directory.resolve(String.format("%020d%s", lsn, SUFFIX));
+    }
+
+    private static long parseLsn(String name) {
+        String digits = name.substring(0, name.length() - SUFFIX.length());
+        return digits.matches("\\d{20}") ? Long.parseLong(digits) : -1;
+    }
+
+    /**
+     * Make the rename itself durable (best effort; not every platform
+     * allows opening a directory)
+     */
+    private void forceDirectory() {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // the rename is still atomic, only its durability is delayed
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // left for the next deleteOlderThan()
+        }
+    }
+}
@@ -0,0 +1,679 @@
+package com.community.communityApp.persistence;
+
+import com.community.communityApp.exception.PersistenceException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary log of repository mutations, split into segments.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - java.nio FileChannel and ByteBuffer I/O
+ * - Checksums (CRC32C) for torn-write detection
+ * - Monitor plus ReentrantLock for two independent critical sections
+ * - Volatile fields for lock-free progress checks
+ * - ConcurrentSkipListMap as an ordered segment catalog
+ * - ScheduledExecutorService for periodic background work
+ * - AutoCloseable for try-with-resources
+ *
+ * RECORD FORMAT (big-endian):
+ * - int    payload length
+ * - long   LSN (log sequence number, 1, 2, 3, ... without gaps)
+ * - byte   record type (defined by the caller)
+ * - byte[] payload
+ * - int    CRC32C over LSN, type and payload
+ *
+ * SEGMENTS:
+ * - The log directory holds files named after their first LSN,
+ *   e.g. 00000000000000004097.wal
+ * - Only the newest segment is written; it is rolled once it exceeds
+ *   the segment size (or on request, before a snapshot)
+ * - truncateBefore(lsn) deletes whole segments a snapshot has made
+ *   redundant, so disk usage and replay time follow the live data
+ *
+ * WRITE PATH:
+ * - append() assigns the next LSN and copies the frame into a staging
+ *   buffer (a memory copy under the monitor, no I/O)
+ * - commit(lsn) makes the record durable according to the FsyncPolicy
+ *
+ * GROUP COMMIT:
+ * - The first committer to take the flush lock becomes the leader: it
+ *   swaps out the whole staging buffer, writes it and fsyncs once
+ * - Committers queued behind it find their LSN already covered and
+ *   return without any I/O of their own
+ * - Appends continue into the second buffer while the leader writes
+ *
+ * RECOVERY:
+ * - open() replays every intact record after a given LSN in order
+ * - A short or corrupt tail of the newest segment (crash mid-write) is
+ *   truncated away; damage anywhere else is reported, never skipped
+ *
+ * FAILURE:
+ * - After an I/O error the log is fenced: later appends and commits
+ *   throw, because the staged records of the failed batch are gone
+ */
+public class WriteAheadLog implements AutoCloseable {
+
+    /**
+     * Frame layout sizes
+     */
+    static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Byte.BYTES;
+    static final int TRAILER_BYTES = Integer.BYTES;
+
+    /**
+     * Upper bound for a single payload; larger lengths mean corruption
+     */
+    static final int MAX_PAYLOAD_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Default size after which the active segment is rolled
+     */
+    public static final long DEFAULT_SEGMENT_BYTES = 16L * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int INITIAL_STAGING_BYTES = 64 * 1024;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final FsyncPolicy policy;
+    private final long segmentBytes;
+
+    /**
+     * SEGMENT CATALOG: first LSN → file, oldest first
+     */
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * Serializes writers of the channel (one group-commit leader at a time)
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * ACTIVE SEGMENT (guarded by flushLock)
+     */
+    private FileChannel channel;
+    private Path activeSegment;
+    private long activeBytes;
+
+    /**
+     * DOUBLE BUFFERING (both guarded by this):
+     * - staging receives appended frames
+     * - spare is the empty buffer swapped in when a leader flushes
+     */
+    private ByteBuffer staging;
+    private ByteBuffer spare;
+    private long lastLsn;
+    private boolean closed;
+
+    /**
+     * PROGRESS MARKERS (written only by the flush leader)
+     * - writtenLsn: handed to the operating system
+     * - durableLsn: forced to the storage device
+     */
+    private volatile long writtenLsn;
+    private volatile long durableLsn;
+    private volatile PersistenceException failure;
+
+    private final ScheduledExecutorService syncer;
+
+    private WriteAheadLog(Path directory, FsyncPolicy policy, long segmentBytes, long lastLsn) {
+        this.directory = directory;
+        this.policy = policy;
+        this.segmentBytes = segmentBytes;
+        this.staging = ByteBuffer.allocate(INITIAL_STAGING_BYTES);
+        this.spare = ByteBuffer.allocate(INITIAL_STAGING_BYTES);
+        this.lastLsn = lastLsn;
+        this.writtenLsn = lastLsn;
+        this.durableLsn = lastLsn;
+        this.syncer = policy.hasSyncInterval() ? startSyncer(policy) : null;
+    }
+
+    /**
+     * Open (or create) a log directory and replay it from the start.
+     *
+     * @see #open(Path, FsyncPolicy, long, long, Consumer)
+     */
+    public static WriteAheadLog open(Path directory, FsyncPolicy policy, Consumer<Record> replay) {
+        return open(directory, policy, DEFAULT_SEGMENT_BYTES, 0, replay);
+    }
+
+    /**
+     * Open (or create) a log directory and replay the records after an LSN.
+     *
+     * @param directory The log directory
+     * @param policy When commits are forced to disk
+     * @param segmentBytes Size after which the active segment is rolled
+     * @param afterLsn Records up to this LSN are already reflected (e.g.
+     *        by a snapshot) and are skipped
+     * @param replay Receives every later intact record in LSN order
+     * @return The open log, positioned after the last intact record
+     * @throws PersistenceException if a segment cannot be read, or
+     *         records between afterLsn and the tail are missing
+     */
+    public static WriteAheadLog open(Path directory, FsyncPolicy policy, long segmentBytes, long afterLsn,
+                                     Consumer<Record> replay) {
+        if (directory == null || policy == null || replay == null) {
+            throw new IllegalArgumentException("Directory, policy and replay callback are required");
+        }
+        if (segmentBytes <= 0 || afterLsn < 0) {
+            throw new IllegalArgumentException("Segment size must be positive and LSN non-negative");
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw PersistenceException.readFailed(directory, e);
+        }
+
+        WriteAheadLog log = null;
+        try {
+            ConcurrentSkipListMap<Long, Path> found = listSegments(directory);
+            long[] progress = { afterLsn, 0 };   // { last applied LSN, last LSN in the newest segment }
+            for (Iterator<Map.Entry<Long, Path>> it = found.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Long, Path> segment = it.next();
+                recoverSegment(segment.getValue(), segment.getKey(), !it.hasNext(), progress, afterLsn, replay);
+            }
+
+            log = new WriteAheadLog(directory, policy, segmentBytes, progress[0]);
+            log.segments.putAll(found);
+            log.openActiveSegment(progress[1]);
+            return log;
+        } catch (IOException e) {
+            if (log != null) {
+                log.close();
+            }
+            throw PersistenceException.readFailed(directory, e);
+        }
+    }
+
+    private static ConcurrentSkipListMap<Long, Path> listSegments(Path directory) throws IOException {
+        ConcurrentSkipListMap<Long, Path> found = new ConcurrentSkipListMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String digits = name.substring(0, name.length() - SEGMENT_SUFFIX.length());
+                if (digits.matches("\\d{20}")) {
+                    found.put(Long.parseLong(digits), file);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static Path segmentPath(Path directory, long firstLsn) {
+        return directory.resolve(String.format("%020d%s", firstLsn, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Scan one segment.
+     *
+     * TORN TAIL DETECTION:
+     * - End of file inside a frame, an impossible length, a checksum
+     *   mismatch or an out-of-sequence LSN all end the scan
+     * - Everything before that point was written completely
+     * - Only the newest segment may end early; it is truncated there
+     *
+     * @param progress { last applied LSN, last LSN in this segment }, updated
+     */
+    private static void recoverSegment(Path file, long firstLsn, boolean newest, long[] progress,
+                                       long afterLsn, Consumer<Record> replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The stream is not closed separately: the channel is
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel), READ_BUFFER_BYTES));
+            byte[] header = new byte[HEADER_BYTES];
+            CRC32C crc = new CRC32C();
+            long validEnd = 0;
+            long expectedLsn = firstLsn;
+
+            while (true) {
+                try {
+                    in.readFully(header);
+                    ByteBuffer fields = ByteBuffer.wrap(header);
+                    int length = fields.getInt();
+                    long lsn = fields.getLong();
+                    byte type = fields.get();
+                    if (length < 0 || length > MAX_PAYLOAD_BYTES || lsn != expectedLsn) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    int storedCrc = in.readInt();
+
+                    crc.reset();
+                    crc.update(header, Integer.BYTES, Long.BYTES + Byte.BYTES);
+                    crc.update(payload);
+                    if ((int) crc.getValue() != storedCrc) {
+                        break;
+                    }
+
+                    if (lsn > afterLsn) {
+                        if (lsn != progress[0] + 1) {
+                            throw PersistenceException.corrupt(file,
+                                    "expected LSN " + (progress[0] + 1) + " but found " + lsn);
+                        }
+                        replay.accept(new Record(lsn, type, ByteBuffer.wrap(payload).asReadOnlyBuffer()));
+                        progress[0] = lsn;
+                    }
+                    validEnd += HEADER_BYTES + length + TRAILER_BYTES;
+                    expectedLsn = lsn + 1;
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+
+            progress[1] = expectedLsn - 1;
+            if (validEnd < channel.size()) {
+                if (!newest) {
+                    throw PersistenceException.corrupt(file, "damaged record at offset " + validEnd);
+                }
+                channel.truncate(validEnd);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Continue the newest segment, or start a new one if it cannot
+     * continue without an LSN gap (e.g. a snapshot got ahead of it).
+     *
+     * @param newestSegmentLastLsn Last LSN found in the newest segment
+     */
+    private void openActiveSegment(long newestSegmentLastLsn) throws IOException {
+        long nextLsn = lastLsn + 1;
+        Map.Entry<Long, Path> newest = segments.lastEntry();
+        boolean empty = newest != null && newestSegmentLastLsn < newest.getKey();
+        if (newest != null && (newestSegmentLastLsn + 1 == nextLsn || empty && newest.getKey() == nextLsn)) {
+            activeSegment = newest.getValue();
+            channel = FileChannel.open(activeSegment, StandardOpenOption.WRITE);
+            activeBytes = channel.size();
+            channel.position(activeBytes);
+            return;
+        }
+        if (newest != null && empty) {
+            segments.remove(newest.getKey());
+            Files.deleteIfExists(newest.getValue());
+        }
+        startSegment(nextLsn);
+    }
+
+    /**
+     * Create the segment whose first record will carry firstLsn.
+     * Caller holds flushLock (or is still constructing the log).
+     */
+    private void startSegment(long firstLsn) throws IOException {
+        Path file = segmentPath(directory, firstLsn);
+        FileChannel created = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        segments.put(firstLsn, file);
+        channel = created;
+        activeSegment = file;
+        activeBytes = 0;
+    }
+
+    /**
+     * Stage a record.
+     *
+     * @param type Caller-defined record type
+     * @param payload The encoded record body
+     * @return The record's LSN, to be passed to commit()
+     * @throws PersistenceException if the log is closed or fenced
+     */
+    public long append(byte type, byte[] payload) {
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Record payload too large: " + payload.length + " bytes");
+        }
+        synchronized (this) {
+            ensureWritable();
+            int frameBytes = HEADER_BYTES + payload.length + TRAILER_BYTES;
+            if (staging.remaining() < frameBytes) {
+                staging = grow(staging, frameBytes);
+            }
+
+            long lsn = ++lastLsn;
+            int start = staging.position();
+            staging.putInt(payload.length).putLong(lsn).put(type).put(payload);
+
+            ByteBuffer covered = staging.duplicate();
+            covered.limit(staging.position()).position(start + Integer.BYTES);
+            CRC32C crc = new CRC32C();
+            crc.update(covered);
+            staging.putInt((int) crc.getValue());
+            return lsn;
+        }
+    }
+
+    /**
+     * Make a staged record as durable as the policy requires.
+     *
+     * - EVERY_COMMIT: returns after an fsync covering the record
+     * - otherwise: returns after the record reached the operating system,
+     *   forcing a sync once enough records are waiting for one
+     *
+     * @param lsn The LSN returned by append()
+     * @throws PersistenceException if writing or forcing fails
+     */
+    public void commit(long lsn) {
+        if (policy.isSyncOnCommit()) {
+            flush(lsn, true);
+            return;
+        }
+        flush(lsn, false);
+        if (lsn - durableLsn >= policy.getMaxUnsyncedRecords()) {
+            flush(lsn, true);
+        }
+    }
+
+    /**
+     * Force every appended record to the storage device.
+     */
+    public void sync() {
+        flush(getLastLsn(), true);
+    }
+
+    /**
+     * Force everything appended so far and start a new segment.
+     *
+     * - Called before a snapshot so the segments it covers become
+     *   deletable as a whole
+     * - No-op roll if the active segment is still empty
+     *
+     * @return The last LSN contained in the closed segment
+     */
+    public long rollSegment() {
+        synchronized (this) {
+            ensureWritable();
+        }
+        flushLock.lock();
+        try {
+            long upTo = writeStaged(true);
+            if (activeBytes > 0) {
+                roll(upTo + 1);
+            }
+            return upTo;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Delete segments whose records are all at or below an LSN.
+     *
+     * - A segment is redundant when the next one starts at or before
+     *   lsn + 1; the active segment is always kept
+     * - Readers of the catalog never see a half-deleted segment: the
+     *   entry is removed before the file
+     *
+     * @param lsn LSN covered by a durable snapshot
+     * @return Number of segments deleted
+     */
+    public int truncateBefore(long lsn) {
+        int deleted = 0;
+        Map.Entry<Long, Path> segment = segments.firstEntry();
+        while (segment != null) {
+            Map.Entry<Long, Path> next = segments.higherEntry(segment.getKey());
+            if (next == null || next.getKey() > lsn + 1) {
+                break;
+            }
+            segments.remove(segment.getKey());
+            try {
+                Files.deleteIfExists(segment.getValue());
+            } catch (IOException e) {
+                throw PersistenceException.writeFailed(segment.getValue(), e);
+            }
+            deleted++;
+            segment = next;
+        }
+        return deleted;
+    }
+
+    /**
+     * LEADER/FOLLOWER flush
+     *
+     * - Fast path: nothing to do if another leader already covered lsn
+     * - The leader takes everything staged so far, not just up to lsn,
+     *   so its single write/fsync also satisfies the queued followers
+     */
+    private void flush(long lsn, boolean force) {
+        if ((force ? durableLsn : writtenLsn) >= lsn) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            if ((force ? durableLsn : writtenLsn) >= lsn) {
+                return;
+            }
+            long upTo = writeStaged(force);
+            if (activeBytes >= segmentBytes) {
+                roll(upTo + 1);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write (and optionally force) the whole staging buffer.
+     * Caller holds flushLock.
+     *
+     * @return The last LSN written
+     */
+    private long writeStaged(boolean force) {
+        PersistenceException failed = failure;
+        if (failed != null) {
+            throw failed;
+        }
+
+        ByteBuffer batch;
+        long upTo;
+        synchronized (this) {
+            batch = staging;
+            staging = spare;
+            spare = null;
+            upTo = lastLsn;
+        }
+
+        try {
+            batch.flip();
+            activeBytes += batch.remaining();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            if (force && durableLsn < upTo) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = PersistenceException.writeFailed(activeSegment, e);
+            throw failure;
+        } finally {
+            batch.clear();
+            synchronized (this) {
+                spare = batch;
+            }
+        }
+
+        writtenLsn = upTo;
+        if (force) {
+            durableLsn = upTo;
+        }
+        return upTo;
+    }
+
+    /**
+     * Seal the active segment (forced, so it never has a torn tail)
+     * and continue in a new one. Caller holds flushLock.
+     */
+    private void roll(long nextLsn) {
+        try {
+            if (durableLsn < writtenLsn) {
+                channel.force(false);
+                durableLsn = writtenLsn;
+            }
+            channel.close();
+            startSegment(nextLsn);
+        } catch (IOException e) {
+            failure = PersistenceException.writeFailed(activeSegment, e);
+            throw failure;
+        }
+    }
+
+    private void ensureWritable() {
+        if (closed) {
+            throw PersistenceException.closed(directory);
+        }
+        PersistenceException failed = failure;
+        if (failed != null) {
+            throw failed;
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + needed);
+        ByteBuffer larger = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+
+    /**
+     * Background fsync for batched policies
+     *
+     * DAEMON THREAD:
+     * - Never keeps the JVM alive on its own
+     * - Failures are recorded and surface on the next append or commit
+     */
+    private ScheduledExecutorService startSyncer(FsyncPolicy policy) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-sync-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = policy.getSyncInterval().toNanos();
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                sync();
+            } catch (PersistenceException e) {
+                // already recorded in failure
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        return executor;
+    }
+
+    /**
+     * LSN of the most recently appended record (0 if none)
+     */
+    public synchronized long getLastLsn() {
+        return lastLsn;
+    }
+
+    /**
+     * LSN up to which every record is on the storage device
+     */
+    public long getDurableLsn() {
+        return durableLsn;
+    }
+
+    /**
+     * Number of segment files currently on disk
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public FsyncPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Flush and force everything staged, then release the active segment.
+     *
+     * - Appends racing with close() fail with PersistenceException
+     * - Calling close() twice is harmless
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        flushLock.lock();
+        try {
+            if (failure == null) {
+                writeStaged(true);
+            }
+        } finally {
+            closeQuietly(channel);
+            flushLock.unlock();
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // nothing useful left to do with a failing channel
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WriteAheadLog{directory=%s, segments=%d, lastLsn=%d, durableLsn=%d, %s}",
+                directory, segments.size(), getLastLsn(), durableLsn, policy);
+    }
+
+    /**
+     * IMMUTABLE view of one replayed record.
+     *
+     * - payload is a read-only buffer positioned at the record body
+     */
+    public static final class Record {
+        private final long lsn;
+        private final byte type;
+        private final ByteBuffer payload;
+
+        Record(long lsn, byte type, ByteBuffer payload) {
+            this.lsn = lsn;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        public long getLsn() { return lsn; }
+        public byte getType() { return type; }
+        public ByteBuffer getPayload() { return payload; }
+
+        @Override
+        public String toString() {
+            return String.format("Record{lsn=%d, type=%d, bytes=%d}", lsn, type, payload.remaining());
+        }
+    }
+}
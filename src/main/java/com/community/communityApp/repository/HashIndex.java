@@ -0,0 +1,345 @@
+package com.community.communityApp.repository;
+
+import com.community.communityApp.exception.DuplicateKeyException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Hash-based secondary index mapping an extracted key to entity ids.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Abstract class with static factory methods
+ * - Private nested subclasses (unique / non-unique variants)
+ * - Generics with three type parameters and wildcards
+ * - Function<T, K> for pluggable key extraction
+ * - ConcurrentHashMap atomic operations (putIfAbsent, compute)
+ *
+ * DESIGN PATTERNS:
+ * - Factory Method: unique() and nonUnique() hide the subclasses
+ * - Template Method: shared key bookkeeping, variant-specific storage
+ *
+ * USAGE EXAMPLES:
+ * - HashIndex.unique("apartment", r -> r.getApartmentNumber())
+ * - HashIndex.nonUnique("status", Service::getStatus)
+ *
+ * NULL KEYS:
+ * - Entities whose extractor returns null are simply not indexed
+ *
+ * COUNTERS:
+ * - count(key) and countsByKey() are O(1) per key
+ * - Non-unique indexes keep a LongAdder per key, adjusted whenever an
+ *   entity enters or leaves the key (save, delete, state change)
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ * @param <K> The key type
+ */
+public abstract class HashIndex<T, ID, K> implements RepositoryIndex<T, ID> {
+
+    private final String name;
+    private final Function<? super T, ? extends K> keyExtractor;
+
+    /**
+     * REVERSE MAP id → key currently indexed
+     *
+     * - Needed because entities are mutated in place
+     * - Lets onSave() find and remove the stale key
+     */
+    protected final Map<ID, K> keysById;
+
+    protected HashIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null");
+        }
+        this.name = name.trim();
+        this.keyExtractor = keyExtractor;
+        this.keysById = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create an index where every key belongs to at most one entity.
+     *
+     * @param name The index name
+     * @param keyExtractor Extracts the (normalized) key from an entity
+     * @return A new unique hash index
+     */
+    public static <T, ID, K> HashIndex<T, ID, K> unique(String name,
+                                                       Function<? super T, ? extends K> keyExtractor) {
+        return new UniqueHashIndex<>(name, keyExtractor);
+    }
+
+    /**
+     * Create an index where many entities can share a key.
+     *
+     * @param name The index name
+     * @param keyExtractor Extracts the (normalized) key from an entity
+     * @return A new non-unique hash index
+     */
+    public static <T, ID, K> HashIndex<T, ID, K> nonUnique(String name,
+                                                          Function<? super T, ? extends K> keyExtractor) {
+        return new NonUniqueHashIndex<>(name, keyExtractor);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Extract the key for an entity (may be null).
+     */
+    protected K keyOf(T entity) {
+        return keyExtractor.apply(entity);
+    }
+
+    /**
+     * Ids currently stored under a key.
+     *
+     * @param key The key to look up
+     * @return Ids for the key (never null, may be empty)
+     */
+    public abstract Collection<ID> lookup(Object key);
+
+    /**
+     * Whether at least one entity is stored under the key.
+     */
+    public boolean containsKey(Object key) {
+        return key != null && !lookup(key).isEmpty();
+    }
+
+    /**
+     * Number of distinct keys currently indexed.
+     */
+    public abstract int keyCount();
+
+    /**
+     * Number of entities currently stored under a key.
+     *
+     * @param key The key to count
+     * @return The entity count (0 if absent)
+     */
+    public abstract long count(Object key);
+
+    /**
+     * Snapshot of the non-zero per-key counts.
+     *
+     * @return Mutable map key → entity count
+     */
+    public abstract Map<K, Long> countsByKey();
+
+    /**
+     * Whether this index enforces key uniqueness.
+     */
+    public abstract boolean isUnique();
+
+    @Override
+    public String toString() {
+        return String.format("HashIndex{name='%s', unique=%s, keys=%d}", name, isUnique(), keyCount());
+    }
+
+    /**
+     * Unique variant: key → single id.
+     *
+     * RESERVATION:
+     * - reserve() claims the key with putIfAbsent()
+     * - A concurrent save for another id sees the claim and fails
+     * - release() frees the claim only if it still belongs to the id
+     */
+    private static final class UniqueHashIndex<T, ID, K> extends HashIndex<T, ID, K> {
+
+        private final Map<K, ID> idsByKey = new ConcurrentHashMap<>();
+
+        UniqueHashIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+            super(name, keyExtractor);
+        }
+
+        @Override
+        public void reserve(ID id, T entity) {
+            K key = keyOf(entity);
+            if (key == null || key.equals(keysById.get(id))) {
+                return;
+            }
+            ID owner = idsByKey.putIfAbsent(key, id);
+            if (owner != null && !owner.equals(id)) {
+                throw new DuplicateKeyException(getName(), key);
+            }
+        }
+
+        @Override
+        public void release(ID id, T entity) {
+            K key = keyOf(entity);
+            if (key != null && !key.equals(keysById.get(id))) {
+                idsByKey.remove(key, id);
+            }
+        }
+
+        @Override
+        public void onSave(ID id, T entity) {
+            K key = keyOf(entity);
+            K previousKey = key != null ? keysById.put(id, key) : keysById.remove(id);
+            if (key != null) {
+                idsByKey.put(key, id);
+            }
+            if (previousKey != null && !previousKey.equals(key)) {
+                idsByKey.remove(previousKey, id);
+            }
+        }
+
+        @Override
+        public void onDelete(ID id, T entity) {
+            K previousKey = keysById.remove(id);
+            if (previousKey != null) {
+                idsByKey.remove(previousKey, id);
+            }
+        }
+
+        @Override
+        public void clear() {
+            idsByKey.clear();
+            keysById.clear();
+        }
+
+        @Override
+        public Collection<ID> lookup(Object key) {
+            ID id = key != null ? idsByKey.get(key) : null;
+            return id != null ? Collections.singletonList(id) : Collections.emptyList();
+        }
+
+        @Override
+        public int keyCount() {
+            return idsByKey.size();
+        }
+
+        @Override
+        public long count(Object key) {
+            return key != null && idsByKey.containsKey(key) ? 1 : 0;
+        }
+
+        /**
+         * Every key maps to exactly one entity; O(keys), rarely useful
+         */
+        @Override
+        public Map<K, Long> countsByKey() {
+            Map<K, Long> counts = new HashMap<>();
+            for (K key : idsByKey.keySet()) {
+                counts.put(key, 1L);
+            }
+            return counts;
+        }
+
+        @Override
+        public boolean isUnique() {
+            return true;
+        }
+    }
+
+    /**
+     * Non-unique variant: key → concurrent set of ids.
+     *
+     * ATOMIC BUCKETS:
+     * - compute()/computeIfPresent() add and remove ids per key atomically
+     * - Empty buckets are dropped so the key space does not leak
+     */
+    private static final class NonUniqueHashIndex<T, ID, K> extends HashIndex<T, ID, K> {
+
+        private final Map<K, Set<ID>> idsByKey = new ConcurrentHashMap<>();
+
+        /**
+         * LongAdder per key: contention-free increments from many writers
+         */
+        private final Map<K, LongAdder> countsByKey = new ConcurrentHashMap<>();
+
+        NonUniqueHashIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+            super(name, keyExtractor);
+        }
+
+        @Override
+        public void onSave(ID id, T entity) {
+            K key = keyOf(entity);
+            K previousKey = key != null ? keysById.put(id, key) : keysById.remove(id);
+            if (Objects.equals(key, previousKey)) {
+                return;
+            }
+            if (key != null) {
+                idsByKey.compute(key, (k, ids) -> {
+                    Set<ID> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    bucket.add(id);
+                    return bucket;
+                });
+                countsByKey.computeIfAbsent(key, k -> new LongAdder()).increment();
+            }
+            if (previousKey != null) {
+                removeFromBucket(previousKey, id);
+            }
+        }
+
+        @Override
+        public void onDelete(ID id, T entity) {
+            K previousKey = keysById.remove(id);
+            if (previousKey != null) {
+                removeFromBucket(previousKey, id);
+            }
+        }
+
+        private void removeFromBucket(K key, ID id) {
+            idsByKey.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+            LongAdder counter = countsByKey.get(key);
+            if (counter != null) {
+                counter.decrement();
+            }
+        }
+
+        @Override
+        public void clear() {
+            idsByKey.clear();
+            keysById.clear();
+            countsByKey.clear();
+        }
+
+        @Override
+        public Collection<ID> lookup(Object key) {
+            Set<ID> ids = key != null ? idsByKey.get(key) : null;
+            return ids != null ? Collections.unmodifiableSet(ids) : Collections.emptySet();
+        }
+
+        @Override
+        public int keyCount() {
+            return idsByKey.size();
+        }
+
+        @Override
+        public long count(Object key) {
+            LongAdder counter = key != null ? countsByKey.get(key) : null;
+            return counter != null ? counter.sum() : 0;
+        }
+
+        /**
+         * O(distinct keys): a handful of entries for enum keys
+         */
+        @Override
+        public Map<K, Long> countsByKey() {
+            Map<K, Long> counts = new HashMap<>();
+            countsByKey.forEach((key, counter) -> {
+                long count = counter.sum();
+                if (count > 0) {
+                    counts.put(key, count);
+                }
+            });
+            return counts;
+        }
+
+        @Override
+        public boolean isUnique() {
+            return false;
+        }
+    }
+}
@@ -1,8 +1,16 @@
 package com.community.communityApp.repository;
 
+import com.community.communityApp.exception.DuplicateKeyException;
+
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * In-memory implementation of the Repository interface.
@@ -35,10 +43,21 @@ import java.util.concurrent.atomic.AtomicLong;
  * - Synchronized methods where needed
  * - Defensive copying to prevent concurrent modification
  * 
+ * SECONDARY INDEXES:
+ * - Implements IndexedRepository with pluggable RepositoryIndex instances
+ * - Writes run inside ConcurrentHashMap.compute() for the entity's id,
+ *   so the primary map and every index change together per id
+ * - Unique index violations abort the write before anything changes
+ * 
  * @param <T> The entity type that must be Identifiable
  * @param <ID> The identifier type
  */
-public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repository<T, ID> {
+public class InMemoryRepository<T extends Identifiable<ID>, ID> implements IndexedRepository<T, ID> {
+    
+    /**
+     * Optimistic readConsistent() attempts before the reader gate closes
+     */
+    static final int MAX_OPTIMISTIC_READS = 128;
     
     /**
      * COLLECTIONS FRAMEWORK - Map for data storage
@@ -56,6 +75,14 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
      */
     private final Map<ID, T> data;
     
+    /**
+     * READ-ONLY LIVE VIEW of the stored values
+     * 
+     * - Wraps data.values() once; never copies
+     * - Iterators of ConcurrentHashMap are weakly consistent
+     */
+    private final Collection<T> values;
+    
     /**
      * ATOMIC OPERATIONS for thread safety
      * 
@@ -67,6 +94,39 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
      */
     private final AtomicLong modificationCount;
     
+    /**
+     * WRITE BRACKETING counters for consistent reads
+     * 
+     * - writesStarted is bumped before a write touches the map or indexes
+     * - writesFinished is bumped afterwards (also when the write fails)
+     * - Equal values around a read prove no write overlapped it
+     * - LongAdder keeps the extra bookkeeping contention-free
+     */
+    private final LongAdder writesStarted;
+    private final LongAdder writesFinished;
+    
+    /**
+     * READER GATE against reader starvation
+     * 
+     * - Closed only by a reader whose optimistic attempts all failed;
+     *   the closing reader holds the monitor until it has its result
+     * - New writes wait at the gate, writes already in flight finish,
+     *   so the reader succeeds once those have drained
+     * - While open, a write pays one volatile read
+     */
+    private final Object readerGate = new Object();
+    private volatile boolean readerGateClosed;
+    
+    /**
+     * REGISTERED SECONDARY INDEXES
+     * 
+     * COPY-ON-WRITE list:
+     * - Replaced (never mutated) when an index is added
+     * - Writers iterate a stable snapshot without locking
+     * - Registration order is the reserve/release order
+     */
+    private volatile List<RepositoryIndex<T, ID>> indexes;
+    
     /**
      * Constructor initializing thread-safe collections
      * 
@@ -77,7 +137,11 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
      */
     public InMemoryRepository() {
         this.data = new ConcurrentHashMap<>();
+        this.values = Collections.unmodifiableCollection(data.values());
         this.modificationCount = new AtomicLong(0);
+        this.writesStarted = new LongAdder();
+        this.writesFinished = new LongAdder();
+        this.indexes = Collections.emptyList();
     }
     
     /**
@@ -90,7 +154,8 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
      * - Returns the saved entity
      * 
      * THREAD SAFETY:
-     * - ConcurrentHashMap.put() is thread-safe
+     * - ConcurrentHashMap.compute() locks only this id's bin
+     * - Indexes are updated inside the same compute() call
      * - AtomicLong.incrementAndGet() is atomic
      * - No additional synchronization needed
      */
@@ -104,15 +169,95 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
             throw new IllegalArgumentException("Entity must have a non-null identifier");
         }
         
-        // Store entity by its identifier
-        data.put(entity.getId(), entity);
-        
-        // Track modifications for concurrent access monitoring
-        modificationCount.incrementAndGet();
+        beginWrite();
+        try {
+            // Store entity by its identifier (and maintain indexes atomically)
+            data.compute(entity.getId(), (id, previous) -> {
+                applyIndexes(id, entity);
+                return entity;
+            });
+            
+            // Track modifications for concurrent access monitoring
+            modificationCount.incrementAndGet();
+        } finally {
+            writesFinished.increment();
+        }
         
         return entity;
     }
     
+    /**
+     * Save several entities as one batch (fails on the first conflict)
+     * 
+     * @see #saveAll(Collection, BiConsumer)
+     */
+    @Override
+    public List<T> saveAll(Collection<? extends T> entities) {
+        return saveAll(entities, (entity, conflict) -> {
+            throw conflict;
+        });
+    }
+    
+    /**
+     * Save a batch, skipping entities rejected by a unique index
+     * 
+     * BATCH WRITE:
+     * - Input is validated up front, so a null entity never leaves a
+     *   half-written batch behind
+     * - One write bracket and one modification count bump for the
+     *   whole batch instead of one per entity
+     * - Each entity is still applied inside compute() for its id, so
+     *   per-id atomicity with the indexes is unchanged
+     */
+    @Override
+    public List<T> saveAll(Collection<? extends T> entities,
+                           BiConsumer<? super T, ? super DuplicateKeyException> onRejected) {
+        if (entities == null || onRejected == null) {
+            throw new IllegalArgumentException("Entities and rejection handler cannot be null");
+        }
+        List<T> saved = new ArrayList<>(entities.size());
+        saveBatch(entities, onRejected, saved);
+        return saved;
+    }
+    
+    /**
+     * PACKAGE-PRIVATE batch write shared with PersistentRepository
+     * 
+     * OUTPUT PARAMETER:
+     * - Saved entities are appended to the caller's list as they are
+     *   written, so the caller still knows what was written if the
+     *   rejection handler throws halfway through
+     */
+    void saveBatch(Collection<? extends T> entities,
+                   BiConsumer<? super T, ? super DuplicateKeyException> onRejected, List<T> saved) {
+        for (T entity : entities) {
+            if (entity == null || entity.getId() == null) {
+                throw new IllegalArgumentException("Entities must be non-null and have a non-null identifier");
+            }
+        }
+        
+        int savedBefore = saved.size();
+        beginWrite();
+        try {
+            for (T entity : entities) {
+                try {
+                    data.compute(entity.getId(), (id, previous) -> {
+                        applyIndexes(id, entity);
+                        return entity;
+                    });
+                    saved.add(entity);
+                } catch (DuplicateKeyException e) {
+                    onRejected.accept(entity, e);
+                }
+            }
+        } finally {
+            if (saved.size() > savedBefore) {
+                modificationCount.incrementAndGet();
+            }
+            writesFinished.increment();
+        }
+    }
+    
     /**
      * Find an entity by its identifier
      * 
@@ -167,12 +312,48 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
      * - stream() creates a Stream<T>
      * - collect() gathers stream elements into List
      * - Method chaining for readable code
+     * 
+     * ALLOCATION:
+     * - Copies every entity reference; read-only callers should use
+     *   stream(), forEach() or values() instead
      */
     @Override
     public List<T> findAll() {
         return new ArrayList<>(data.values());
     }
     
+    /**
+     * Stream directly over the map's values
+     * 
+     * ZERO-COPY READ:
+     * - No intermediate list; filters and limits run on the live map
+     * - Weakly consistent: concurrent writes never throw
+     *   ConcurrentModificationException
+     */
+    @Override
+    public Stream<T> stream() {
+        return data.values().stream();
+    }
+    
+    /**
+     * Apply an action to every stored entity, without a copy
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        data.values().forEach(action);
+    }
+    
+    /**
+     * Unmodifiable live view of the map's values (shared, not copied)
+     */
+    @Override
+    public Collection<T> values() {
+        return values;
+    }
+    
     /**
      * Count the total number of entities
      * 
@@ -210,12 +391,24 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
             return false;
         }
         
-        boolean removed = data.remove(id) != null;
-        if (removed) {
-            modificationCount.incrementAndGet();
+        boolean[] removed = new boolean[1];
+        beginWrite();
+        try {
+            data.computeIfPresent(id, (key, previous) -> {
+                for (RepositoryIndex<T, ID> index : indexes) {
+                    index.onDelete(key, previous);
+                }
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                modificationCount.incrementAndGet();
+            }
+        } finally {
+            writesFinished.increment();
         }
         
-        return removed;
+        return removed[0];
     }
     
     /**
@@ -255,8 +448,16 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
      */
     @Override
     public void deleteAll() {
-        data.clear();
-        modificationCount.incrementAndGet();
+        beginWrite();
+        try {
+            data.clear();
+            for (RepositoryIndex<T, ID> index : indexes) {
+                index.clear();
+            }
+            modificationCount.incrementAndGet();
+        } finally {
+            writesFinished.increment();
+        }
     }
     
     /**
@@ -278,14 +479,21 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
             return Optional.empty();
         }
         
-        // Check if entity exists before updating
-        if (!existsById(entity.getId())) {
-            return Optional.empty();
+        // Only replace an existing entity (check and write under one bin lock)
+        beginWrite();
+        try {
+            T updated = data.computeIfPresent(entity.getId(), (id, previous) -> {
+                applyIndexes(id, entity);
+                return entity;
+            });
+            if (updated == null) {
+                return Optional.empty();
+            }
+            modificationCount.incrementAndGet();
+        } finally {
+            writesFinished.increment();
         }
         
-        data.put(entity.getId(), entity);
-        modificationCount.incrementAndGet();
-        
         return Optional.of(entity);
     }
     
@@ -303,6 +511,190 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
         return save(entity); // save() already handles both cases
     }
     
+    /**
+     * PRIVATE HELPER METHOD applying a save to every index
+     * 
+     * TWO-PHASE UPDATE:
+     * - Phase 1: reserve() on every index (unique checks happen here)
+     * - On failure: release() the indexes already reserved, rethrow
+     * - Phase 2: onSave() on every index
+     * 
+     * Always called inside compute() for the id, so the caller's
+     * primary write only happens if this method returns normally.
+     */
+    private void applyIndexes(ID id, T entity) {
+        List<RepositoryIndex<T, ID>> current = indexes;
+        int reserved = 0;
+        try {
+            for (RepositoryIndex<T, ID> index : current) {
+                index.reserve(id, entity);
+                reserved++;
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < reserved; i++) {
+                current.get(i).release(id, entity);
+            }
+            throw e;
+        }
+        for (RepositoryIndex<T, ID> index : current) {
+            index.onSave(id, entity);
+        }
+    }
+    
+    /**
+     * Register a secondary index
+     * 
+     * REGISTRATION STEPS:
+     * - Publish the index first so concurrent writes start maintaining it
+     * - Backfill existing entities one id at a time under the bin lock
+     * - Unregister again if the backfill hits a unique conflict
+     * 
+     * SYNCHRONIZED:
+     * - Registration is rare; a monitor keeps the copy-on-write simple
+     */
+    @Override
+    public synchronized boolean addIndex(RepositoryIndex<T, ID> index) {
+        if (index == null) {
+            throw new IllegalArgumentException("Index cannot be null");
+        }
+        if (getIndex(index.getName()).isPresent()) {
+            return false;
+        }
+        
+        List<RepositoryIndex<T, ID>> previous = indexes;
+        List<RepositoryIndex<T, ID>> updated = new ArrayList<>(previous);
+        updated.add(index);
+        indexes = Collections.unmodifiableList(updated);
+        
+        try {
+            for (ID id : data.keySet()) {
+                data.computeIfPresent(id, (key, entity) -> {
+                    index.reserve(key, entity);
+                    index.onSave(key, entity);
+                    return entity;
+                });
+            }
+        } catch (RuntimeException e) {
+            indexes = previous;
+            index.clear();
+            throw e;
+        }
+        return true;
+    }
+    
+    /**
+     * Find a registered index by name
+     * 
+     * LINEAR SEARCH is fine here:
+     * - Only a handful of indexes per repository
+     * - Avoids a second structure that must be kept in sync
+     */
+    @Override
+    public Optional<RepositoryIndex<T, ID>> getIndex(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        for (RepositoryIndex<T, ID> index : indexes) {
+            if (index.getName().equals(name)) {
+                return Optional.of(index);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Find entities through a hash index
+     * 
+     * INDEX LOOKUP:
+     * - Resolves only the ids stored under the key
+     * - Each id is a primary-key lookup in the map
+     * - Entities deleted concurrently are skipped
+     */
+    @Override
+    public List<T> findByIndex(String indexName, Object key) {
+        RepositoryIndex<T, ID> index = getIndex(indexName)
+                .orElseThrow(() -> new IllegalArgumentException("No index named: " + indexName));
+        if (!(index instanceof HashIndex)) {
+            throw new IllegalArgumentException("Index is not a hash index: " + indexName);
+        }
+        
+        Collection<ID> ids = ((HashIndex<T, ID, ?>) index).lookup(key);
+        List<T> result = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            T entity = data.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Consistent read against concurrent writers
+     * 
+     * SEQUENCE VALIDATION (optimistic, lock-free):
+     * - Read writesFinished, then the modification count, run the reader,
+     *   then read writesStarted
+     * - Counters are monotonic, so started == finished means no write was
+     *   in flight or began while the reader ran
+     * - Otherwise spin briefly and retry; writers are not blocked
+     * 
+     * BOUNDED RETRIES:
+     * - After MAX_OPTIMISTIC_READS failed attempts (e.g. during a long
+     *   saveAll() batch, or under overlapping writers) the reader closes
+     *   the reader gate and waits for the writes in flight to finish
+     * - New writes then wait for this one read; a steady stream of
+     *   writers can no longer starve the reader
+     */
+    @Override
+    public <R> R readConsistent(LongFunction<R> reader) {
+        for (int attempt = 0; attempt < MAX_OPTIMISTIC_READS; attempt++) {
+            long finished = writesFinished.sum();
+            long modifications = modificationCount.get();
+            R result = reader.apply(modifications);
+            if (writesStarted.sum() == finished) {
+                return result;
+            }
+            if (attempt < MAX_OPTIMISTIC_READS / 2) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        
+        synchronized (readerGate) {
+            readerGateClosed = true;
+            try {
+                while (true) {
+                    long finished = writesFinished.sum();
+                    // Only writes that passed the gate before it closed remain
+                    if (writesStarted.sum() == finished) {
+                        R result = reader.apply(modificationCount.get());
+                        if (writesStarted.sum() == finished) {
+                            return result;
+                        }
+                    }
+                    Thread.yield();
+                }
+            } finally {
+                readerGateClosed = false;
+            }
+        }
+    }
+    
+    /**
+     * Announce a write: wait behind a reader that closed the reader gate,
+     * then bump writesStarted
+     */
+    private void beginWrite() {
+        if (readerGateClosed) {
+            synchronized (readerGate) {
+                // The closing reader releases the monitor once it is done
+            }
+        }
+        writesStarted.increment();
+    }
+    
     /**
      * JAVA 8+ STREAM API demonstration
      * 
@@ -330,25 +722,62 @@ public class InMemoryRepository<T extends Identifiable<ID>, ID> implements Repos
     }
     
     /**
-     * JAVA 8+ STREAM API with method references
+     * Find entities by multiple identifiers (multi-get)
+     * 
+     * DIRECT LOOKUPS:
+     * - One map probe per requested id: O(m) for m ids, independent
+     *   of the repository size
+     * - Never calls contains() on the caller's collection, which is
+     *   O(m) per call for a List
      * 
-     * Find entities by multiple identifiers
+     * RESULT ORDER:
+     * - Same order as the ids' iteration order
+     * - Unknown and null ids are skipped; an id requested twice
+     *   appears twice
      * 
-     * STREAM OPERATIONS:
-     * - Stream from collection
-     * - Filter by containment check
-     * - Collect to new ArrayList
-     * - Method reference for constructor
+     * @param ids The identifiers to look up
+     * @return The entities found, in request order (never null)
      */
     public List<T> findByIds(Collection<ID> ids) {
+        return findByIds(ids, false);
+    }
+    
+    /**
+     * Multi-get with an optional parallel mode
+     * 
+     * PARALLEL MODE:
+     * - Splits the ids across the common ForkJoinPool
+     * - The ordered stream keeps the request order in the result
+     * - Only pays off for batches of tens of thousands of ids; for
+     *   small batches the fork/join overhead exceeds the lookups
+     * 
+     * @param ids The identifiers to look up
+     * @param parallel Whether to probe the map from several threads
+     * @return The entities found, in request order (never null)
+     */
+    public List<T> findByIds(Collection<ID> ids, boolean parallel) {
         if (ids == null || ids.isEmpty()) {
             return new ArrayList<>();
         }
         
-        return data.entrySet().stream()
-                .filter(entry -> ids.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        if (parallel) {
+            return ids.parallelStream()
+                    .filter(Objects::nonNull)
+                    .map(data::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        
+        List<T> result = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            if (id != null) {
+                T entity = data.get(id);
+                if (entity != null) {
+                    result.add(entity);
+                }
+            }
+        }
+        return result;
     }
     
     /**
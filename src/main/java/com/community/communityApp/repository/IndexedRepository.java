@@ -0,0 +1,127 @@
+package com.community.communityApp.repository;
+
+import com.community.communityApp.exception.DuplicateKeyException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Repository that maintains pluggable secondary indexes.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Interface inheritance (extends Repository)
+ * - Generics shared between parent and child interfaces
+ * - Default methods built on abstract ones
+ *
+ * DESIGN PATTERNS:
+ * - Repository Pattern: still the only entry point for data access
+ * - Observer Pattern: registered indexes are notified of every write
+ *
+ * INDEX SEMANTICS:
+ * - save/update/delete maintain every registered index atomically
+ *   with the primary write for the same id
+ * - Unique index conflicts abort the save with DuplicateKeyException
+ * - Lookups return only the matching entities (no full copy)
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ */
+public interface IndexedRepository<T, ID> extends Repository<T, ID> {
+
+    /**
+     * Register an index and populate it from the current data.
+     *
+     * IDEMPOTENT REGISTRATION:
+     * - Returns false (and ignores the argument) if an index with the
+     *   same name is already registered
+     * - Several services may share one repository safely
+     *
+     * @param index The index to register
+     * @return true if the index was registered
+     * @throws com.community.communityApp.exception.DuplicateKeyException if
+     *         a unique index conflicts with existing data
+     */
+    boolean addIndex(RepositoryIndex<T, ID> index);
+
+    /**
+     * Register an index unless one with the same name already exists.
+     *
+     * SHARED REPOSITORIES:
+     * - Returns the instance that is actually maintained
+     * - A second service on the same repository reuses the first index
+     *
+     * @param index The index to register
+     * @return The registered index with that name
+     */
+    @SuppressWarnings("unchecked")
+    default <I extends RepositoryIndex<T, ID>> I ensureIndex(I index) {
+        addIndex(index);
+        return (I) getIndex(index.getName()).orElse(index);
+    }
+
+    /**
+     * Save a batch, skipping the entities a unique index rejects.
+     *
+     * BATCH SEMANTICS:
+     * - Every entity is written and indexed atomically per id, as by save()
+     * - A unique conflict rejects only that entity; the batch goes on
+     * - The modification count moves once for the whole batch, and
+     *   readConsistent() readers see the state before or after it
+     *
+     * @param entities The entities to save (none may be null)
+     * @param onRejected Receives each rejected entity and its conflict
+     * @return The saved entities, in iteration order
+     * @throws IllegalArgumentException if an entity or its id is null
+     *         (checked before anything is written)
+     */
+    List<T> saveAll(Collection<? extends T> entities,
+                    BiConsumer<? super T, ? super DuplicateKeyException> onRejected);
+
+    /**
+     * Look up a registered index by name.
+     *
+     * @param name The index name
+     * @return Optional containing the index if registered
+     */
+    Optional<RepositoryIndex<T, ID>> getIndex(String name);
+
+    /**
+     * Find entities stored under a key of a hash index.
+     *
+     * @param indexName The name of a registered HashIndex
+     * @param key The (already normalized) key
+     * @return Matching entities (never null, may be empty)
+     * @throws IllegalArgumentException if no hash index has that name
+     */
+    List<T> findByIndex(String indexName, Object key);
+
+    /**
+     * Find the single entity stored under a key (unique indexes).
+     *
+     * @param indexName The name of a registered HashIndex
+     * @param key The (already normalized) key
+     * @return Optional containing the first matching entity
+     */
+    default Optional<T> findOneByIndex(String indexName, Object key) {
+        List<T> matches = findByIndex(indexName, key);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    /**
+     * Run a read that must not observe a half-applied write.
+     *
+     * OPTIMISTIC READ:
+     * - The reader gets the modification count it is consistent with
+     * - If a write overlapped the read, the reader is simply run again
+     * - Retries are bounded: a reader that keeps losing to writers briefly
+     *   holds new writes back until it has a write-free window
+     * - Intended for short, O(1) readers such as counter snapshots
+     *
+     * @param reader Function of the modification count producing the result
+     * @return The reader's result from a write-free window
+     */
+    <R> R readConsistent(LongFunction<R> reader);
+}
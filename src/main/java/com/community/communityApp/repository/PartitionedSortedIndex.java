@@ -0,0 +1,243 @@
+package com.community.communityApp.repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Non-unique secondary index: entities grouped by a partition key, each
+ * group kept sorted by a sort key.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - ConcurrentSkipListSet per partition (sorted, lock-free reads)
+ * - Comparator composition (sort key, then id as tie-breaker)
+ * - Static factory methods for the two directions
+ * - Bounded generics on the sort key and the id
+ *
+ * DIFFERENCE TO SortedIndex:
+ * - SortedIndex orders all entities by a unique key
+ * - Here many entities share a partition (e.g. one requester's
+ *   services) and may share a sort key; the id breaks ties, so every
+ *   entity has a stable position
+ *
+ * COST:
+ * - Insert, delete, seek: O(log n) within the partition
+ * - A page of size p: O(log n + p), wherever it starts; the first
+ *   page is O(p)
+ *
+ * PAGING:
+ * - Keyset cursors: a page continues after the (sort key, id) of the
+ *   last entity shown, so entities added meanwhile never shift a page
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type (tie-breaker, so comparable)
+ * @param <P> The partition key type
+ * @param <K> The sort key type
+ */
+public class PartitionedSortedIndex<T, ID extends Comparable<? super ID>, P, K extends Comparable<? super K>>
+        implements RepositoryIndex<T, ID> {
+
+    private final String name;
+    private final Function<? super T, ? extends P> partitionExtractor;
+    private final Function<? super T, ? extends K> sortKeyExtractor;
+    private final Comparator<Entry<P, K, ID>> order;
+    private final Map<P, ConcurrentSkipListSet<Entry<P, K, ID>>> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * REVERSE MAP id → entry currently indexed (entities are mutated in place)
+     */
+    private final Map<ID, Entry<P, K, ID>> entriesById = new ConcurrentHashMap<>();
+
+    private PartitionedSortedIndex(String name,
+                                   Function<? super T, ? extends P> partitionExtractor,
+                                   Function<? super T, ? extends K> sortKeyExtractor,
+                                   boolean descending) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        if (partitionExtractor == null || sortKeyExtractor == null) {
+            throw new IllegalArgumentException("Key extractors cannot be null");
+        }
+        this.name = name.trim();
+        this.partitionExtractor = partitionExtractor;
+        this.sortKeyExtractor = sortKeyExtractor;
+        Comparator<Entry<P, K, ID>> ascending = Comparator.<Entry<P, K, ID>, K>comparing(entry -> entry.sortKey)
+                .thenComparing(entry -> entry.id);
+        this.order = descending ? ascending.reversed() : ascending;
+    }
+
+    /**
+     * Each partition listed from the smallest sort key up.
+     */
+    public static <T, ID extends Comparable<? super ID>, P, K extends Comparable<? super K>>
+    PartitionedSortedIndex<T, ID, P, K> ascending(String name,
+                                                  Function<? super T, ? extends P> partitionExtractor,
+                                                  Function<? super T, ? extends K> sortKeyExtractor) {
+        return new PartitionedSortedIndex<>(name, partitionExtractor, sortKeyExtractor, false);
+    }
+
+    /**
+     * Each partition listed from the largest sort key down (e.g. newest first).
+     */
+    public static <T, ID extends Comparable<? super ID>, P, K extends Comparable<? super K>>
+    PartitionedSortedIndex<T, ID, P, K> descending(String name,
+                                                   Function<? super T, ? extends P> partitionExtractor,
+                                                   Function<? super T, ? extends K> sortKeyExtractor) {
+        return new PartitionedSortedIndex<>(name, partitionExtractor, sortKeyExtractor, true);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void onSave(ID id, T entity) {
+        P partition = partitionExtractor.apply(entity);
+        K sortKey = sortKeyExtractor.apply(entity);
+        Entry<P, K, ID> entry = partition != null && sortKey != null ? new Entry<>(partition, sortKey, id) : null;
+        Entry<P, K, ID> previous = entry != null ? entriesById.put(id, entry) : entriesById.remove(id);
+        if (Objects.equals(entry, previous)) {
+            return;
+        }
+        if (entry != null) {
+            partitions.compute(partition, (key, entries) -> {
+                ConcurrentSkipListSet<Entry<P, K, ID>> sorted = entries != null ? entries : new ConcurrentSkipListSet<>(order);
+                sorted.add(entry);
+                return sorted;
+            });
+        }
+        if (previous != null) {
+            removeFromPartition(previous);
+        }
+    }
+
+    @Override
+    public void onDelete(ID id, T entity) {
+        Entry<P, K, ID> previous = entriesById.remove(id);
+        if (previous != null) {
+            removeFromPartition(previous);
+        }
+    }
+
+    @Override
+    public void clear() {
+        partitions.clear();
+        entriesById.clear();
+    }
+
+    /**
+     * All ids of a partition in index order (a copy, O(partition size))
+     */
+    public List<ID> ids(P partition) {
+        ConcurrentSkipListSet<Entry<P, K, ID>> entries = partition != null ? partitions.get(partition) : null;
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        List<ID> ids = new ArrayList<>();
+        for (Entry<P, K, ID> entry : entries) {
+            ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Keyset paging within a partition, continuing after an indexed entity.
+     *
+     * @param partition The partition to list
+     * @param after Id of the last entity of the previous page, or null for the first page
+     * @param limit Page size
+     * @return Up to limit ids in index order
+     * @throws IllegalArgumentException if after is not indexed in this partition
+     */
+    public List<ID> page(P partition, ID after, int limit) {
+        if (after == null) {
+            return page(partition, null, null, limit);
+        }
+        Entry<P, K, ID> cursor = entriesById.get(after);
+        if (cursor == null || !cursor.partition.equals(partition)) {
+            throw new IllegalArgumentException("Cursor is not in this partition: " + after);
+        }
+        return page(partition, cursor.sortKey, cursor.id, limit);
+    }
+
+    /**
+     * Keyset paging within a partition, continuing after a (sort key, id)
+     * position; works even if that entity has been removed since.
+     *
+     * @param afterKey Sort key of the last entity shown, or null for the first page
+     * @param afterId Its id (ignored when afterKey is null)
+     */
+    public List<ID> page(P partition, K afterKey, ID afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (afterKey != null && afterId == null) {
+            throw new IllegalArgumentException("Cursor id cannot be null");
+        }
+        ConcurrentSkipListSet<Entry<P, K, ID>> entries = partition != null ? partitions.get(partition) : null;
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        NavigableSet<Entry<P, K, ID>> tail = afterKey == null
+                ? entries
+                : entries.tailSet(new Entry<>(partition, afterKey, afterId), false);
+        List<ID> page = new ArrayList<>(Math.min(limit, 64));
+        for (Entry<P, K, ID> entry : tail) {
+            page.add(entry.id);
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Number of partitions that hold at least one entity
+     */
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    private void removeFromPartition(Entry<P, K, ID> entry) {
+        partitions.computeIfPresent(entry.partition, (key, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PartitionedSortedIndex{name='%s', partitions=%d, entries=%d}",
+                name, partitions.size(), entriesById.size());
+    }
+
+    /**
+     * IMMUTABLE position of one entity: partition, sort key, id
+     */
+    private static final class Entry<P, K, ID> {
+        private final P partition;
+        private final K sortKey;
+        private final ID id;
+
+        private Entry(P partition, K sortKey, ID id) {
+            this.partition = partition;
+            this.sortKey = sortKey;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Entry)) return false;
+            Entry<?, ?, ?> other = (Entry<?, ?, ?>) obj;
+            return partition.equals(other.partition) && sortKey.equals(other.sortKey) && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(partition, sortKey, id);
+        }
+    }
+}
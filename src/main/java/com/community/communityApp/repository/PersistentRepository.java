@@ -0,0 +1,449 @@
+package com.community.communityApp.repository;
+
+import com.community.communityApp.exception.DuplicateKeyException;
+import com.community.communityApp.exception.PersistenceException;
+import com.community.communityApp.persistence.FsyncPolicy;
+import com.community.communityApp.persistence.RecordCodec;
+import com.community.communityApp.persistence.SnapshotStore;
+import com.community.communityApp.persistence.WriteAheadLog;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Durable repository: in-memory reads, every write appended to a log.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Inheritance: extends InMemoryRepository and overrides only writes
+ * - super calls to reuse the in-memory write path (and its indexes)
+ * - Constructor-time recovery through a method reference callback
+ * - AutoCloseable for orderly shutdown
+ *
+ * DESIGN PATTERNS:
+ * - Decorator-like subclass: same Repository contract, added durability
+ * - Strategy Pattern: RecordCodec decides the binary entity format
+ *
+ * WRITE PATH:
+ * - Under the append lock: encode the entity, apply it to the map and
+ *   indexes, then stage the log record, so log order always equals
+ *   apply order
+ * - Encoding under the lock makes each record the entity's state at
+ *   its place in the log: of two racing saves of one mutable entity,
+ *   the later record is never the older state, whatever callers do
+ * - Encoding first means a codec failure changes neither memory nor log
+ * - Outside the lock: commit() waits for durability; concurrent writers
+ *   share fsyncs through the log's group commit
+ * - A write rejected in memory (e.g. DuplicateKeyException) is never logged
+ *
+ * READ PATH:
+ * - Unchanged: served from the heap map and indexes, no I/O
+ * - Readers may see a write shortly before its commit() returns
+ *
+ * RECOVERY:
+ * - The constructor loads the newest snapshot (memory-mapped), then
+ *   replays only the log records written after it
+ * - Indexes registered afterwards are backfilled as usual
+ *
+ * SNAPSHOTS (fuzzy, non-blocking):
+ * - snapshot() reads the last LSN under the append lock, the only
+ *   moment it synchronizes with writers
+ * - The image is built from the payload last logged for each id, kept
+ *   next to the map, never by re-encoding the live entities: a change
+ *   made to a stored entity in place but never saved cannot leak into
+ *   the image, so a restart restores exactly the logged state however
+ *   snapshots and writes interleave
+ * - The payloads are copied while writes continue, so the image may
+ *   already contain some writes after that LSN
+ * - That is harmless: every record is a blind write of one id (SAVE,
+ *   DELETE) or of all ids (CLEAR), so replaying the records after the
+ *   LSN on top of the image always ends in the logged state
+ * - Once the image is durable, the log segments it covers are deleted
+ * - Cost: one encoded copy of every entity stays in memory (the
+ *   codec's compact form, a fraction of the object graph)
+ *
+ * DISK LAYOUT (one directory):
+ * - 00000000000000000001.wal ...      log segments, named by first LSN
+ * - 00000000000000004096.snapshot     newest image, named by its LSN
+ *
+ * @param <T> The entity type that must be Identifiable
+ * @param <ID> The identifier type
+ */
+public class PersistentRepository<T extends Identifiable<ID>, ID> extends InMemoryRepository<T, ID>
+        implements AutoCloseable {
+
+    /**
+     * LOG RECORD TYPES
+     *
+     * - SAVE carries the full entity (save and successful update)
+     * - DELETE carries the id
+     * - CLEAR has no payload
+     */
+    static final byte SAVE = 1;
+    static final byte DELETE = 2;
+    static final byte CLEAR = 3;
+
+    private static final byte[] NO_PAYLOAD = new byte[0];
+
+    private final RecordCodec<T> entityCodec;
+    private final RecordCodec<ID> idCodec;
+    private final Object appendLock = new Object();
+
+    /**
+     * LOGGED STATE: id → payload of its last SAVE record (written under
+     * the append lock, read without it by snapshot())
+     */
+    private final Map<ID, byte[]> loggedPayloads = new ConcurrentHashMap<>();
+    private final SnapshotStore snapshots;
+    private final WriteAheadLog log;
+    private boolean closed;
+
+    /**
+     * SNAPSHOT STATE (guarded by this)
+     */
+    private long snapshotLsn;
+    private ScheduledExecutorService snapshotter;
+    private volatile RuntimeException lastSnapshotFailure;
+
+    /**
+     * Open the repository stored in a directory and rebuild its data.
+     *
+     * @param directory Holds the log segments and snapshots (created if missing)
+     * @param entityCodec Binary format of the entities
+     * @param idCodec Binary format of the identifiers
+     * @param policy When commits are forced to disk
+     * @throws com.community.communityApp.exception.PersistenceException if
+     *         the stored data cannot be read
+     */
+    public PersistentRepository(Path directory, RecordCodec<T> entityCodec, RecordCodec<ID> idCodec,
+                                FsyncPolicy policy) {
+        this(directory, entityCodec, idCodec, policy, WriteAheadLog.DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Same as above with an explicit log segment size.
+     *
+     * @param segmentBytes Size after which a log segment is rolled
+     */
+    public PersistentRepository(Path directory, RecordCodec<T> entityCodec, RecordCodec<ID> idCodec,
+                                FsyncPolicy policy, long segmentBytes) {
+        super();
+        if (entityCodec == null || idCodec == null) {
+            throw new IllegalArgumentException("Entity and id codecs are required");
+        }
+        this.entityCodec = entityCodec;
+        this.idCodec = idCodec;
+        this.snapshots = new SnapshotStore(directory);
+        this.snapshotLsn = snapshots.loadLatest(image -> recover(RecordCodec.bytes().decode(image)));
+        this.log = WriteAheadLog.open(directory, policy, segmentBytes, snapshotLsn, this::replay);
+        // Leftovers of a crash between writing an image and truncating the log
+        log.truncateBefore(snapshotLsn);
+    }
+
+    /**
+     * Apply one recovered record through the in-memory write path only
+     */
+    private void replay(WriteAheadLog.Record record) {
+        switch (record.getType()) {
+            case SAVE:
+                recover(RecordCodec.bytes().decode(record.getPayload()));
+                break;
+            case DELETE:
+                ID id = idCodec.decode(record.getPayload());
+                super.deleteById(id);
+                loggedPayloads.remove(id);
+                break;
+            case CLEAR:
+                super.deleteAll();
+                loggedPayloads.clear();
+                break;
+            default:
+                throw new IllegalStateException("Unknown log record type " + record.getType()
+                        + " at LSN " + record.getLsn());
+        }
+    }
+
+    /**
+     * Restore one saved entity from its payload
+     */
+    private void recover(byte[] payload) {
+        T entity = super.save(entityCodec.decode(ByteBuffer.wrap(payload)));
+        loggedPayloads.put(entity.getId(), payload);
+    }
+
+    @Override
+    public T save(T entity) {
+        requireIdentified(entity);
+        long lsn;
+        synchronized (appendLock) {
+            ensureOpen();
+            byte[] payload = entityCodec.encode(entity);
+            super.save(entity);
+            lsn = log.append(SAVE, payload);
+            loggedPayloads.put(entity.getId(), payload);
+        }
+        log.commit(lsn);
+        return entity;
+    }
+
+    /**
+     * Batch save with one durability wait for the whole batch.
+     *
+     * GROUP COMMIT:
+     * - Under the append lock the batch is encoded, applied in memory,
+     *   and one SAVE record is staged per saved entity (rejected ones
+     *   are not logged)
+     * - A single commit() covers every record, so an EVERY_COMMIT
+     *   log forces the disk once per batch, not once per entity
+     * - onRejected runs under the append lock; keep it short
+     */
+    @Override
+    public List<T> saveAll(Collection<? extends T> entities,
+                           BiConsumer<? super T, ? super DuplicateKeyException> onRejected) {
+        if (entities == null || onRejected == null) {
+            throw new IllegalArgumentException("Entities and rejection handler cannot be null");
+        }
+        for (T entity : entities) {
+            requireIdentified(entity);
+        }
+
+        List<T> saved = new ArrayList<>(entities.size());
+        long lsn = 0;
+        try {
+            synchronized (appendLock) {
+                ensureOpen();
+                Map<T, byte[]> payloads = new IdentityHashMap<>(entities.size() * 2);
+                for (T entity : entities) {
+                    payloads.put(entity, entityCodec.encode(entity));
+                }
+                try {
+                    saveBatch(entities, onRejected, saved);
+                } finally {
+                    // Log whatever reached memory, even if the handler threw
+                    for (T entity : saved) {
+                        byte[] payload = payloads.get(entity);
+                        lsn = log.append(SAVE, payload);
+                        loggedPayloads.put(entity.getId(), payload);
+                    }
+                }
+            }
+        } finally {
+            if (!saved.isEmpty()) {
+                log.commit(lsn);
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<T> update(T entity) {
+        if (entity == null || entity.getId() == null) {
+            return Optional.empty();
+        }
+        long lsn;
+        synchronized (appendLock) {
+            ensureOpen();
+            byte[] payload = entityCodec.encode(entity);
+            Optional<T> updated = super.update(entity);
+            if (updated.isEmpty()) {
+                return updated;
+            }
+            lsn = log.append(SAVE, payload);
+            loggedPayloads.put(entity.getId(), payload);
+        }
+        log.commit(lsn);
+        return Optional.of(entity);
+    }
+
+    @Override
+    public boolean deleteById(ID id) {
+        if (id == null) {
+            return false;
+        }
+        byte[] payload = idCodec.encode(id);
+        long lsn;
+        synchronized (appendLock) {
+            ensureOpen();
+            if (!super.deleteById(id)) {
+                return false;
+            }
+            lsn = log.append(DELETE, payload);
+            loggedPayloads.remove(id);
+        }
+        log.commit(lsn);
+        return true;
+    }
+
+    @Override
+    public void deleteAll() {
+        long lsn;
+        synchronized (appendLock) {
+            ensureOpen();
+            super.deleteAll();
+            lsn = log.append(CLEAR, NO_PAYLOAD);
+            loggedPayloads.clear();
+        }
+        log.commit(lsn);
+    }
+
+    /**
+     * Same validation as InMemoryRepository.save(), done before encoding
+     */
+    private void requireIdentified(T entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity cannot be null");
+        }
+        if (entity.getId() == null) {
+            throw new IllegalArgumentException("Entity must have a non-null identifier");
+        }
+    }
+
+    /**
+     * Refuse writes after close(); caller holds the append lock, so the
+     * in-memory state never runs ahead of a closed log
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw PersistenceException.closed(log.getDirectory());
+        }
+    }
+
+    /**
+     * Write a snapshot and drop the log segments it makes redundant.
+     *
+     * STEPS:
+     * - Capture the last LSN (brief append lock; writers then continue)
+     * - Roll the log so every record up to that LSN sits in sealed,
+     *   forced segments
+     * - Write the image from a copy of the logged payloads
+     * - Delete covered segments and older images
+     *
+     * @return The LSN covered by the newest snapshot
+     * @throws com.community.communityApp.exception.PersistenceException if
+     *         the image cannot be written (the log is left untouched)
+     */
+    public synchronized long snapshot() {
+        long lsn;
+        synchronized (appendLock) {
+            ensureOpen();
+            lsn = log.getLastLsn();
+        }
+        if (lsn == snapshotLsn) {
+            return lsn;
+        }
+    
+        log.rollSegment();
+        snapshots.write(lsn, new ArrayList<>(loggedPayloads.values()), RecordCodec.bytes());
+        snapshotLsn = lsn;
+        log.truncateBefore(lsn);
+        snapshots.deleteOlderThan(lsn);
+        return lsn;
+    }
+
+    /**
+     * Snapshot in the background whenever enough new records accumulated.
+     *
+     * BACKGROUND WORK:
+     * - One daemon thread per repository, stopped by close()
+     * - A failed attempt is kept in getLastSnapshotFailure() and retried
+     *   on the next tick; the log still holds everything meanwhile
+     *
+     * @param interval How often to check
+     * @param minNewRecords Records since the last snapshot that justify a new one
+     */
+    public synchronized void startSnapshots(Duration interval, long minNewRecords) {
+        if (interval == null || interval.isNegative() || interval.isZero() || minNewRecords < 1) {
+            throw new IllegalArgumentException("Interval and record threshold must be positive");
+        }
+        if (snapshotter != null) {
+            throw new IllegalStateException("Background snapshots already started");
+        }
+        snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-" + log.getDirectory().getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = interval.toNanos();
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                if (log.getLastLsn() - getSnapshotLsn() >= minNewRecords) {
+                    snapshot();
+                }
+                lastSnapshotFailure = null;
+            } catch (RuntimeException e) {
+                lastSnapshotFailure = e;
+            }
+        }, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * LSN covered by the newest snapshot (0 if none)
+     */
+    public synchronized long getSnapshotLsn() {
+        return snapshotLsn;
+    }
+
+    /**
+     * Failure of the most recent background snapshot attempt, if any
+     */
+    public Optional<RuntimeException> getLastSnapshotFailure() {
+        return Optional.ofNullable(lastSnapshotFailure);
+    }
+
+    /**
+     * Number of log segments a cold start would read
+     */
+    public int getLogSegmentCount() {
+        return log.getSegmentCount();
+    }
+
+    /**
+     * Force all logged writes to disk (e.g. before a planned shutdown
+     * under a batched fsync policy).
+     */
+    public void sync() {
+        log.sync();
+    }
+
+    /**
+     * LSN of the last logged write
+     */
+    public long getLastLsn() {
+        return log.getLastLsn();
+    }
+
+    /**
+     * Flush and close the log; later writes throw PersistenceException.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService background;
+        synchronized (this) {
+            background = snapshotter;
+            snapshotter = null;
+        }
+        if (background != null) {
+            background.shutdown();
+            try {
+                background.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (appendLock) {
+            closed = true;
+        }
+        log.close();
+    }
+}
@@ -1,7 +1,12 @@
 package com.community.communityApp.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Generic Repository interface defining common data access operations.
@@ -51,6 +56,29 @@ public interface Repository<T, ID> {
      */
     T save(T entity);
     
+    /**
+     * Save several entities.
+     * 
+     * DEFAULT IMPLEMENTATION:
+     * - One save() per entity, in iteration order
+     * - Stops at the first failure; entities before it stay saved
+     * - Implementations may write the batch more efficiently
+     * 
+     * @param entities The entities to save (none may be null)
+     * @return The saved entities, in iteration order
+     * @throws IllegalArgumentException if the collection is null
+     */
+    default List<T> saveAll(Collection<? extends T> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("Entities cannot be null");
+        }
+        List<T> saved = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+    
     /**
      * Find an entity by its unique identifier.
      * 
@@ -88,9 +116,61 @@ public interface Repository<T, ID> {
      * - Supports indexing and iteration
      * 
      * @return List of all entities (never null, may be empty)
+     * @see #stream() for read-only traversal without the copy
      */
     List<T> findAll();
     
+    /**
+     * Stream over all entities without copying them first.
+     * 
+     * DEFAULT METHOD (Java 8+):
+     * - Falls back to findAll() so every implementation supports it
+     * - Implementations backed by a concurrent map override it to
+     *   traverse their storage directly
+     * 
+     * WEAK CONSISTENCY:
+     * - Each entity is seen at most once
+     * - Writes made during the traversal may or may not be seen
+     * 
+     * @return Sequential stream of all entities
+     */
+    default Stream<T> stream() {
+        return findAll().stream();
+    }
+    
+    /**
+     * Apply an action to every entity without copying them first.
+     * 
+     * Same consistency guarantees as stream().
+     * 
+     * @param action The action to apply (cannot be null)
+     * @throws IllegalArgumentException if action is null
+     */
+    default void forEach(Consumer<? super T> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        stream().forEach(action);
+    }
+    
+    /**
+     * Read-only live view of all entities.
+     * 
+     * LIVE VIEW:
+     * - Reflects later writes without being re-requested
+     * - Iteration is weakly consistent and never throws
+     *   ConcurrentModificationException
+     * - size() may be stale by the time iteration ends; callers that
+     *   need a stable count take a findAll() copy instead
+     * 
+     * The default returns an unmodifiable snapshot, the weakest valid view.
+     * 
+     * @return Unmodifiable collection of all entities
+     */
+    default Collection<T> values() {
+        return Collections.unmodifiableList(findAll());
+    }
+    
     /**
      * Count the total number of entities.
      * 
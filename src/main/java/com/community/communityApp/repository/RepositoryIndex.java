@@ -0,0 +1,83 @@
+package com.community.communityApp.repository;
+
+/**
+ * Contract for secondary indexes maintained by an IndexedRepository.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Interface with generic type parameters
+ * - Default methods for optional hooks
+ * - Callback (observer) style contract
+ *
+ * DESIGN PATTERNS:
+ * - Observer Pattern: the repository notifies indexes of every write
+ * - Two-Phase Commit (light): reserve → onSave, or reserve → release
+ * - Strategy Pattern: each index decides how to organize its keys
+ *
+ * CALLING PROTOCOL:
+ * - All hooks for one id run while the repository holds that id's lock
+ * - reserve() is called on every index before any onSave()
+ * - If any reserve() throws, release() is called on the indexes that
+ *   already reserved, and the save is aborted
+ * - onSave() is called for inserts and replacements alike
+ *
+ * MUTABLE ENTITIES:
+ * - Entities are often mutated in place before being saved again
+ * - Indexes must remember the keys they stored per id instead of
+ *   re-reading them from the (already changed) entity
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ */
+public interface RepositoryIndex<T, ID> {
+
+    /**
+     * Unique name used to register and look up the index.
+     *
+     * @return The index name
+     */
+    String getName();
+
+    /**
+     * Reserve the keys the entity is about to take.
+     *
+     * CONSTRAINT CHECK:
+     * - Unique indexes claim their key here and throw on conflict
+     * - Non-unique indexes have nothing to reserve
+     *
+     * @param id The entity identifier
+     * @param entity The entity being saved
+     * @throws com.community.communityApp.exception.DuplicateKeyException on conflict
+     */
+    default void reserve(ID id, T entity) {
+    }
+
+    /**
+     * Undo a successful reserve() because another index rejected the save.
+     *
+     * @param id The entity identifier
+     * @param entity The entity whose save was aborted
+     */
+    default void release(ID id, T entity) {
+    }
+
+    /**
+     * Apply an insert or replacement.
+     *
+     * @param id The entity identifier
+     * @param entity The entity as it is now stored
+     */
+    void onSave(ID id, T entity);
+
+    /**
+     * Remove everything the index holds for the id.
+     *
+     * @param id The entity identifier
+     * @param entity The entity that was removed
+     */
+    void onDelete(ID id, T entity);
+
+    /**
+     * Drop all entries (repository deleteAll).
+     */
+    void clear();
+}
@@ -0,0 +1,188 @@
+package com.community.communityApp.repository;
+
+import com.community.communityApp.exception.DuplicateKeyException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Unique secondary index kept in key order.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - ConcurrentSkipListMap (sorted, lock-free, concurrent)
+ * - NavigableMap views: subMap, tailMap, headMap
+ * - Bounded generics (K extends Comparable<? super K>)
+ *
+ * DIFFERENCE TO HashIndex:
+ * - Same unique-key reservation protocol as HashIndex.unique()
+ * - Keys are sorted, so ordered listings, range scans and paging
+ *   need no per-call sort
+ *
+ * COST:
+ * - Insert, delete, seek: O(log n)
+ * - A range or page of size p: O(log n + p)
+ *
+ * VIEWS:
+ * - Returned collections are live, weakly consistent views of the
+ *   skip list: never copied, never throw ConcurrentModificationException
+ *
+ * @param <T> The entity type
+ * @param <ID> The identifier type
+ * @param <K> The (comparable) key type
+ */
+public class SortedIndex<T, ID, K extends Comparable<? super K>> implements RepositoryIndex<T, ID> {
+
+    private final String name;
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final ConcurrentSkipListMap<K, ID> idsByKey = new ConcurrentSkipListMap<>();
+
+    /**
+     * REVERSE MAP id → key (entities are mutated in place)
+     */
+    private final Map<ID, K> keysById = new ConcurrentHashMap<>();
+
+    public SortedIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be null or empty");
+        }
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null");
+        }
+        this.name = name.trim();
+        this.keyExtractor = keyExtractor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void reserve(ID id, T entity) {
+        K key = keyExtractor.apply(entity);
+        if (key == null || key.equals(keysById.get(id))) {
+            return;
+        }
+        ID owner = idsByKey.putIfAbsent(key, id);
+        if (owner != null && !owner.equals(id)) {
+            throw new DuplicateKeyException(getName(), key);
+        }
+    }
+
+    @Override
+    public void release(ID id, T entity) {
+        K key = keyExtractor.apply(entity);
+        if (key != null && !key.equals(keysById.get(id))) {
+            idsByKey.remove(key, id);
+        }
+    }
+
+    @Override
+    public void onSave(ID id, T entity) {
+        K key = keyExtractor.apply(entity);
+        K previousKey = key != null ? keysById.put(id, key) : keysById.remove(id);
+        if (key != null) {
+            idsByKey.put(key, id);
+        }
+        if (previousKey != null && !previousKey.equals(key)) {
+            idsByKey.remove(previousKey, id);
+        }
+    }
+
+    @Override
+    public void onDelete(ID id, T entity) {
+        K previousKey = keysById.remove(id);
+        if (previousKey != null) {
+            idsByKey.remove(previousKey, id);
+        }
+    }
+
+    @Override
+    public void clear() {
+        idsByKey.clear();
+        keysById.clear();
+    }
+
+    /**
+     * Id stored under a key
+     */
+    public Optional<ID> lookup(K key) {
+        return key == null ? Optional.empty() : Optional.ofNullable(idsByKey.get(key));
+    }
+
+    /**
+     * All ids in key order (live view)
+     */
+    public Collection<ID> ids() {
+        return Collections.unmodifiableCollection(idsByKey.values());
+    }
+
+    /**
+     * All keys in key order (live view)
+     */
+    public NavigableSet<K> keys() {
+        return Collections.unmodifiableNavigableSet(idsByKey.navigableKeySet());
+    }
+
+    /**
+     * Ids whose keys lie in [from, to] (live view).
+     *
+     * @param from Lower bound, or null for unbounded
+     * @param fromInclusive Whether the lower bound itself matches
+     * @param to Upper bound, or null for unbounded
+     * @param toInclusive Whether the upper bound itself matches
+     * @return Ids in key order
+     */
+    public Collection<ID> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        ConcurrentNavigableMap<K, ID> view = idsByKey;
+        if (from != null) {
+            view = view.tailMap(from, fromInclusive);
+        }
+        if (to != null) {
+            view = view.headMap(to, toInclusive);
+        }
+        return Collections.unmodifiableCollection(view.values());
+    }
+
+    /**
+     * Keyset paging: the next ids after a key, in key order.
+     *
+     * KEYSET vs OFFSET:
+     * - Seeking to the last key seen is O(log n); skipping an offset
+     *   would be O(offset)
+     *
+     * @param after Last key of the previous page, or null for the first page
+     * @param limit Page size
+     * @return Up to limit ids
+     */
+    public List<ID> page(K after, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Collection<ID> tail = after == null ? idsByKey.values() : idsByKey.tailMap(after, false).values();
+        List<ID> page = new ArrayList<>(Math.min(limit, 64));
+        for (ID id : tail) {
+            page.add(id);
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Number of keys currently indexed
+     * (O(1): ConcurrentSkipListMap.size() would walk the whole list)
+     */
+    public int keyCount() {
+        return keysById.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SortedIndex{name='%s', keys=%d}", name, keyCount());
+    }
+}
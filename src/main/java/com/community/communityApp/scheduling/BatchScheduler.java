@@ -0,0 +1,298 @@
+package com.community.communityApp.scheduling;
+
+import com.community.communityApp.model.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Plans a conflict-free slot for every REQUESTED service of a backlog.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Greedy algorithm over a sorted map of disjoint intervals (TreeMap)
+ * - Comparator chains for priority ordering
+ * - Parallel streams over independent partitions (one per provider)
+ * - Immutable result objects
+ *
+ * ALGORITHM (greedy interval packing, per provider):
+ * - Start from the provider's current bookings, merged into disjoint
+ *   busy intervals
+ * - Take the requests highest priority first, oldest request first
+ *   within a priority, and give each the earliest start in the window
+ *   that fits its booking length and weekend rule
+ * - Each probe is a floor/ceiling lookup, O(log n); a conflict moves the
+ *   candidate to the end of the busy interval in the way
+ * - The chosen slot becomes busy (merged with its neighbours) before the
+ *   next request is placed, so the plan never overlaps itself
+ *
+ * PRIORITY:
+ * - metadata "priority" (an Integer, higher first), else
+ * - tag "urgent" counts as priority 1, everything else as 0
+ *
+ * PARALLELISM:
+ * - Providers share nothing, so their plans are computed independently,
+ *   on the common fork-join pool when parallel is on
+ *
+ * The plan only reads the schedule index; booking it is the caller's job
+ * (see CommunityService.autoScheduleRequested()).
+ */
+public class BatchScheduler {
+
+    public static final String PRIORITY_KEY = "priority";
+    public static final String URGENT_TAG = "urgent";
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Highest priority first, then oldest request, then id (deterministic)
+     */
+    private static final Comparator<Request> PRIORITY_ORDER = Comparator
+            .comparingInt((Request request) -> request.priority).reversed()
+            .thenComparing(request -> request.service.getRequestedAt())
+            .thenComparing(request -> request.service.getServiceId());
+
+    private final ProviderScheduleIndex schedule;
+    private final boolean parallel;
+
+    public BatchScheduler(ProviderScheduleIndex schedule) {
+        this(schedule, true);
+    }
+
+    /**
+     * @param schedule The bookings every plan must avoid
+     * @param parallel Plan providers concurrently
+     */
+    public BatchScheduler(ProviderScheduleIndex schedule, boolean parallel) {
+        if (schedule == null) {
+            throw new IllegalArgumentException("Schedule index cannot be null");
+        }
+        this.schedule = schedule;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Plan slots for a set of requests.
+     *
+     * @param requests Services to place (only REQUESTED ones are planned)
+     * @param from Earliest start (inclusive)
+     * @param until Latest start (inclusive)
+     * @return Assignments in priority order, plus the requests that did not fit
+     */
+    public SchedulePlan plan(Collection<Service> requests, LocalDateTime from, LocalDateTime until) {
+        if (requests == null || from == null || until == null) {
+            throw new IllegalArgumentException("Requests and window cannot be null");
+        }
+        if (until.isBefore(from)) {
+            throw new IllegalArgumentException("Window end cannot be before its start");
+        }
+        Map<String, List<Request>> byProvider = requests.stream()
+                .filter(service -> service.getStatus() == Service.ServiceStatus.REQUESTED)
+                .map(Request::new)
+                .collect(Collectors.groupingBy(request -> ProviderScheduleIndex.providerKey(
+                        request.service.getProviderName())));
+
+        long windowStart = ceilMinutes(from);
+        long windowEnd = floorMinutes(until);
+        Stream<List<Request>> partitions = parallel
+                ? byProvider.values().parallelStream()
+                : byProvider.values().stream();
+        List<SchedulePlan> plans = partitions
+                .map(providerRequests -> planProvider(providerRequests, windowStart, windowEnd))
+                .collect(Collectors.toList());
+        return SchedulePlan.merge(plans);
+    }
+
+    /**
+     * Greedy packing of one provider's requests
+     */
+    private SchedulePlan planProvider(List<Request> requests, long windowStart, long windowEnd) {
+        requests.sort(PRIORITY_ORDER);
+        BusyIntervals busy = new BusyIntervals();
+        for (ProviderScheduleIndex.Booking booking : schedule.getBookings(requests.get(0).service.getProviderName())) {
+            busy.add(floorMinutes(booking.getStart()), ceilMinutes(booking.getEnd()));
+        }
+
+        List<Assignment> assignments = new ArrayList<>(requests.size());
+        List<Request> unassigned = new ArrayList<>();
+        for (Request request : requests) {
+            Service.ServiceType type = request.service.getServiceType();
+            long length = ProviderScheduleIndex.bookingDuration(type).toMinutes();
+            long start = busy.firstFit(windowStart, windowEnd, length, type.isAvailableOnWeekends());
+            if (start < 0) {
+                unassigned.add(request);
+            } else {
+                busy.add(start, start + length);
+                assignments.add(new Assignment(request, fromMinutes(start)));
+            }
+        }
+        return new SchedulePlan(assignments, unassigned);
+    }
+
+    public static int priorityOf(Service service) {
+        Optional<Integer> priority = service.getTypedMetadata(PRIORITY_KEY, Integer.class);
+        if (priority.isPresent()) {
+            return priority.get();
+        }
+        return service.getTags().contains(URGENT_TAG) ? 1 : 0;
+    }
+
+    /**
+     * LocalDateTime as whole minutes since 1970-01-01T00:00, rounded down
+     * (zone-free, like LocalDateTime)
+     */
+    static long floorMinutes(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static long ceilMinutes(LocalDateTime time) {
+        long minutes = floorMinutes(time);
+        return time.equals(fromMinutes(minutes)) ? minutes : minutes + 1;
+    }
+
+    static LocalDateTime fromMinutes(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * A provider's busy time as disjoint [start, end) intervals, in minutes.
+     */
+    static final class BusyIntervals {
+
+        private final TreeMap<Long, Long> endByStart = new TreeMap<>();
+
+        /**
+         * Mark [start, end) busy, merging with overlapping or adjacent intervals
+         */
+        void add(long start, long end) {
+            Map.Entry<Long, Long> before = endByStart.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+            }
+            Map.Entry<Long, Long> after = endByStart.ceilingEntry(start);
+            while (after != null && after.getKey() <= end) {
+                end = Math.max(end, after.getValue());
+                endByStart.remove(after.getKey());
+                after = endByStart.ceilingEntry(start);
+            }
+            endByStart.put(start, end);
+        }
+
+        /**
+         * Earliest start in [from, until] with [start, start + length) free.
+         *
+         * @param weekends Whether the start may fall on a Saturday or Sunday
+         * @return The start in minutes, or -1 if nothing fits
+         */
+        long firstFit(long from, long until, long length, boolean weekends) {
+            long candidate = from;
+            while (true) {
+                if (!weekends) {
+                    candidate = nextWeekdayStart(candidate);
+                }
+                if (candidate > until) {
+                    return -1;
+                }
+                Map.Entry<Long, Long> before = endByStart.floorEntry(candidate);
+                if (before != null && before.getValue() > candidate) {
+                    candidate = before.getValue();
+                    continue;
+                }
+                Map.Entry<Long, Long> after = endByStart.higherEntry(candidate);
+                if (after != null && after.getKey() < candidate + length) {
+                    candidate = after.getValue();
+                    continue;
+                }
+                return candidate;
+            }
+        }
+
+        /**
+         * The minute itself on weekdays, else the following Monday 00:00
+         */
+        private static long nextWeekdayStart(long minutes) {
+            long epochDay = Math.floorDiv(minutes, MINUTES_PER_DAY);
+            int dayOfWeek = Math.floorMod(epochDay + 3, 7); // 0 = Monday (1970-01-01 was a Thursday)
+            return dayOfWeek < 5 ? minutes : (epochDay + 7 - dayOfWeek) * MINUTES_PER_DAY;
+        }
+    }
+
+    /**
+     * A request with its priority read once (metadata and tag lookups
+     * copy, so they stay out of the comparator)
+     */
+    private static final class Request {
+        private final Service service;
+        private final int priority;
+
+        private Request(Service service) {
+            this.service = service;
+            this.priority = priorityOf(service);
+        }
+    }
+
+    /**
+     * IMMUTABLE slot chosen for one service
+     */
+    public static final class Assignment {
+        private final Request request;
+        private final LocalDateTime start;
+
+        private Assignment(Request request, LocalDateTime start) {
+            this.request = request;
+            this.start = start;
+        }
+
+        public Service getService() { return request.service; }
+        public LocalDateTime getStart() { return start; }
+
+        @Override
+        public String toString() {
+            return request.service.getServiceId() + " @ " + start;
+        }
+    }
+
+    /**
+     * IMMUTABLE plan: the assignments and the requests left out
+     */
+    public static final class SchedulePlan {
+        private final List<Assignment> assignments;
+        private final List<Request> unassigned;
+
+        private SchedulePlan(List<Assignment> assignments, List<Request> unassigned) {
+            this.assignments = Collections.unmodifiableList(assignments);
+            this.unassigned = unassigned;
+        }
+
+        private static SchedulePlan merge(List<SchedulePlan> plans) {
+            List<Assignment> assignments = new ArrayList<>();
+            List<Request> unassigned = new ArrayList<>();
+            for (SchedulePlan plan : plans) {
+                assignments.addAll(plan.assignments);
+                unassigned.addAll(plan.unassigned);
+            }
+            assignments.sort(Comparator.comparing(assignment -> assignment.request, PRIORITY_ORDER));
+            unassigned.sort(PRIORITY_ORDER);
+            return new SchedulePlan(assignments, unassigned);
+        }
+
+        public List<Assignment> getAssignments() { return assignments; }
+
+        /**
+         * Requests with no free slot of their length inside the window
+         */
+        public List<Service> getUnassigned() {
+            return unassigned.stream()
+                    .map(request -> request.service)
+                    .collect(Collectors.toUnmodifiableList());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SchedulePlan{assigned=%d, unassigned=%d}", assignments.size(), unassigned.size());
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.community.communityApp.scheduling;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: a timer queue with O(1) insert and cancel.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Intrusive circular doubly-linked lists with sentinel nodes
+ * - Bit arithmetic for slot selection (64 slots = 6 bits per level)
+ * - Generics for the timer payload
+ * - Consumer callbacks for expiry
+ *
+ * DATA STRUCTURE:
+ * - LEVELS wheels of SLOTS buckets; a bucket of level L spans
+ *   64^L ticks
+ * - A timer goes to the lowest level whose span covers its distance
+ *   from the current tick, in the slot picked by the deadline's bits
+ *   for that level
+ * - Each tick expires one level-0 bucket; when a level wraps, the
+ *   next level's current bucket is cascaded (re-inserted one level
+ *   down), so a timer moves at most LEVELS - 1 times in its life
+ *
+ * COMPLEXITY:
+ * - schedule() and cancel(): O(1), a list link/unlink
+ * - advanceTo(): O(ticks elapsed + timers expired or cascaded)
+ * - Memory: one node per pending timer, plus LEVELS * SLOTS sentinels
+ *
+ * RESOLUTION:
+ * - Deadlines round up to the next tick, so a timer never fires early
+ *   and fires at most one tick late (plus however late advanceTo() runs)
+ * - Six levels of 64 slots span 2^36 ticks; later deadlines are clamped
+ *   to that horizon and simply wait another round
+ *
+ * THREAD SAFETY:
+ * - None: the wheel belongs to one thread, or to a caller that guards
+ *   every call with one lock (see ServiceDeadlineMonitor)
+ *
+ * @param <T> The payload handed back when a timer expires
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_DISTANCE = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final Timer<T>[][] buckets;
+    /**
+     * Timers due at or before the current tick: scheduled late, or
+     * cascaded on their own tick
+     */
+    private final Timer<T> overdue = Timer.sentinel();
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis Length of one tick (the wheel's resolution)
+     * @param startMillis Current time; ticks count from here
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+        this.buckets = (Timer<T>[][]) new Timer<?>[LEVELS][SLOTS];
+        for (Timer<T>[] level : buckets) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = Timer.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Add a timer.
+     *
+     * @param deadlineMillis When the timer is due
+     * @param payload What advanceTo() hands back when it expires
+     * @return The timer, for cancel()
+     */
+    public Timer<T> schedule(long deadlineMillis, T payload) {
+        // Ceiling division: the deadline tick is never before the deadline
+        Timer<T> timer = new Timer<>(-Math.floorDiv(-deadlineMillis, tickMillis), deadlineMillis, payload);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Remove a pending timer.
+     *
+     * @return true if it was pending, false if it already expired or was cancelled
+     */
+    public boolean cancel(Timer<T> timer) {
+        if (timer == null || !timer.isPending()) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Move time forward, expiring every timer due by now.
+     *
+     * @param nowMillis The current time (earlier than the last call: no-op)
+     * @param expired Receives each expired payload, earlier ticks first
+     *                (it must not schedule or cancel timers on this wheel)
+     * @return Number of timers expired
+     */
+    public int advanceTo(long nowMillis, Consumer<? super T> expired) {
+        int fired = expire(overdue, expired);
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                // Nothing to cascade or expire on the way
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+            fired += expire(overdue, expired); // cascaded timers due this very tick
+            fired += expire(buckets[0][(int) (currentTick & SLOT_MASK)], expired);
+        }
+        return fired;
+    }
+
+    /**
+     * Drop every pending timer.
+     */
+    public void clear() {
+        for (Timer<T>[] level : buckets) {
+            for (Timer<T> bucket : level) {
+                bucket.clearBucket();
+            }
+        }
+        overdue.clearBucket();
+        size = 0;
+    }
+
+    /**
+     * Number of pending timers
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Link a timer into the bucket for its distance from the current tick
+     */
+    private void place(Timer<T> timer) {
+        long distance = timer.deadlineTick - currentTick;
+        if (distance <= 0) {
+            overdue.append(timer);
+            return;
+        }
+        long tick = distance > MAX_DISTANCE ? currentTick + MAX_DISTANCE : timer.deadlineTick;
+        int level = 0;
+        while (level < LEVELS - 1 && (Math.min(distance, MAX_DISTANCE) >>> (SLOT_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        buckets[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)].append(timer);
+    }
+
+    /**
+     * Re-insert the buckets of the levels that wrapped at the current tick,
+     * highest first, so their timers move down towards level 0
+     */
+    private void cascade() {
+        int wrapped = 0;
+        while (wrapped < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (wrapped + 1))) - 1)) == 0) {
+            wrapped++;
+        }
+        for (int level = wrapped; level >= 1; level--) {
+            Timer<T> bucket = buckets[level][(int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+            Timer<T> timer = bucket.next;
+            while (timer != bucket) {
+                Timer<T> next = timer.next;
+                timer.unlink();
+                place(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private int expire(Timer<T> bucket, Consumer<? super T> expired) {
+        int fired = 0;
+        Timer<T> timer = bucket.next;
+        while (timer != bucket) {
+            Timer<T> next = timer.next;
+            timer.unlink();
+            size--;
+            fired++;
+            expired.accept(timer.payload);
+            timer = next;
+        }
+        return fired;
+    }
+
+    /**
+     * A pending timer, linked into exactly one bucket.
+     * Bucket heads are sentinel timers without a payload.
+     */
+    public static final class Timer<T> {
+        private final long deadlineTick;
+        private final long deadlineMillis;
+        private final T payload;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(long deadlineTick, long deadlineMillis, T payload) {
+            this.deadlineTick = deadlineTick;
+            this.deadlineMillis = deadlineMillis;
+            this.payload = payload;
+        }
+
+        private static <T> Timer<T> sentinel() {
+            Timer<T> sentinel = new Timer<>(0, 0, null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        public T getPayload() { return payload; }
+        public long getDeadlineMillis() { return deadlineMillis; }
+
+        /**
+         * Still waiting in the wheel (not expired, not cancelled)
+         */
+        public boolean isPending() {
+            return next != null;
+        }
+
+        private void append(Timer<T> timer) {
+            timer.prev = prev;
+            timer.next = this;
+            prev.next = timer;
+            prev = timer;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+
+        private void clearBucket() {
+            Timer<T> timer = next;
+            while (timer != this) {
+                Timer<T> following = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                timer = following;
+            }
+            prev = this;
+            next = this;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package com.community.communityApp.scheduling;
+
+import com.community.communityApp.exception.DuplicateKeyException;
+import com.community.communityApp.model.Service;
+import com.community.communityApp.repository.RepositoryIndex;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-provider index of booked time slots for SCHEDULED services.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Sorted concurrent collections (ConcurrentSkipListSet)
+ * - Comparable implementation with a composite ordering
+ * - Nested static classes for value objects
+ * - Synchronized methods guarding check-then-act sequences
+ * - java.time Duration arithmetic
+ *
+ * DESIGN PATTERNS:
+ * - Observer Pattern: registered as a RepositoryIndex, so every save
+ *   adds or removes the service's booking
+ * - Value Object: Booking is immutable
+ *
+ * DATA STRUCTURE:
+ * - provider → bookings sorted by start time
+ * - A conflict check only visits bookings that start inside
+ *   [proposedStart - longest booking, proposedEnd), i.e. O(log n + k)
+ *   where k is the handful of bookings near the proposed slot
+ * - Completed and cancelled services leave the index, so history
+ *   does not slow scheduling down
+ *
+ * BOOKING LENGTH:
+ * - A booking reserves the service type's maxDurationHours, the
+ *   longest the provider can be busy with it
+ *
+ * FREE SLOT SEARCH:
+ * - findNextAvailableSlot() probes a candidate start, and on a conflict
+ *   jumps to the end of the blocking booking
+ * - Every probe is one conflict check, O(log n + k); the number of
+ *   probes grows with the bookings skipped, not with the calendar size
+ *
+ * RESERVATIONS:
+ * - tryBook() reserves a slot for a REQUESTED service before its
+ *   caller moves it to SCHEDULED; a save of the still REQUESTED
+ *   service keeps the reservation, any other non-SCHEDULED state
+ *   releases it
+ * - A service holds at most one booking: a second tryBook() for it is
+ *   refused until the first caller has scheduled it or let it go
+ *
+ * THREAD SAFETY:
+ * - Reads are lock-free (skip list iteration)
+ * - Mutations of one provider's schedule are serialized on it
+ * - tryBook() and reserve() make the conflict check and the insert one
+ *   atomic step
+ * - No path adds a booking that overlaps another service's booking; a
+ *   save that would is rejected with a DuplicateKeyException
+ */
+public class ProviderScheduleIndex implements RepositoryIndex<Service, String> {
+
+    /**
+     * Index name used for registration on the service repository
+     */
+    public static final String NAME = "service.providerSchedule";
+
+    /**
+     * Longest booking any service type can produce.
+     * Bounds how far back a conflict search has to look.
+     */
+    private static final Duration LONGEST_BOOKING = Arrays.stream(Service.ServiceType.values())
+            .map(ProviderScheduleIndex::bookingDuration)
+            .max(Comparator.naturalOrder())
+            .orElse(Duration.ZERO);
+
+    private final Map<String, ProviderSchedule> schedulesByProvider = new ConcurrentHashMap<>();
+    private final Map<String, Booking> bookingsByService = new ConcurrentHashMap<>();
+    private final Map<String, Booking> claimsByService = new ConcurrentHashMap<>();
+
+    /**
+     * How long a service of the given type occupies its provider.
+     *
+     * @param serviceType The service type
+     * @return The type's maximum duration
+     */
+    public static Duration bookingDuration(Service.ServiceType serviceType) {
+        return Duration.ofMinutes(Math.round(serviceType.getMaxDurationHours() * 60));
+    }
+
+    /**
+     * Normalize provider names so "Fix-It-Fast" and "fix-it-fast" share a schedule
+     */
+    static String providerKey(String providerName) {
+        return providerName.trim().toLowerCase();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Atomically check for conflicts and book the slot.
+     *
+     * CHECK-THEN-ACT:
+     * - Both steps run while holding the provider's schedule lock
+     * - Refused if the service already holds a booking: another caller
+     *   is scheduling it, or it is scheduled already. Replacing that
+     *   booking would free a slot the other caller is about to commit.
+     *
+     * @param service The service being scheduled
+     * @param start Proposed start time
+     * @return true if booked, false if the provider is busy or the
+     *         service already holds a booking
+     */
+    public boolean tryBook(Service service, LocalDateTime start) {
+        Booking booking = new Booking(service.getServiceId(), service.getProviderName(), start,
+                start.plus(bookingDuration(service.getServiceType())));
+        ProviderSchedule schedule = scheduleFor(booking.getProviderName());
+        synchronized (schedule) {
+            if (bookingsByService.containsKey(booking.getServiceId())
+                    || schedule.findConflict(booking.getStart(), booking.getEnd(), null).isPresent()) {
+                return false;
+            }
+            replaceBooking(booking);
+            return true;
+        }
+    }
+
+    /**
+     * Remove the booking held by a service, if any.
+     *
+     * @param serviceId The service whose slot is released
+     */
+    public void cancelBooking(String serviceId) {
+        Booking booking = bookingsByService.get(serviceId);
+        if (booking == null) {
+            return;
+        }
+        ProviderSchedule schedule = scheduleFor(booking.getProviderName());
+        synchronized (schedule) {
+            if (bookingsByService.remove(serviceId, booking)) {
+                schedule.remove(booking);
+            }
+        }
+    }
+
+    /**
+     * Find a booking that overlaps the proposed window.
+     *
+     * @param providerName The provider
+     * @param start Window start (inclusive)
+     * @param end Window end (exclusive)
+     * @return Optional containing the first overlapping booking
+     */
+    public Optional<Booking> findConflict(String providerName, LocalDateTime start, LocalDateTime end) {
+        ProviderSchedule schedule = schedulesByProvider.get(providerKey(providerName));
+        return schedule != null ? schedule.findConflict(start, end, null) : Optional.empty();
+    }
+
+    /**
+     * Earliest start at or after a time when the provider is free for a
+     * whole service of the given type.
+     *
+     * PROBING:
+     * - Candidate = after (rounded up to the minute); weekend candidates
+     *   move to Monday 00:00 for types not available on weekends
+     * - A conflict moves the candidate to the end of that booking
+     * - The answer is only a suggestion: book it with tryBook(), which
+     *   re-checks atomically, since another caller may take it first
+     *
+     * @param providerName The provider
+     * @param serviceType Determines the slot length and weekend rule
+     * @param after Earliest acceptable start
+     * @param until Latest acceptable start (bounds the search)
+     * @return The slot start, or empty if none starts before until
+     */
+    public Optional<LocalDateTime> findNextAvailableSlot(String providerName, Service.ServiceType serviceType,
+                                                         LocalDateTime after, LocalDateTime until) {
+        Duration length = bookingDuration(serviceType);
+        ProviderSchedule schedule = schedulesByProvider.get(providerKey(providerName));
+        LocalDateTime candidate = ceilingMinute(after);
+        while (true) {
+            candidate = nextAllowedStart(candidate, serviceType);
+            if (candidate.isAfter(until)) {
+                return Optional.empty();
+            }
+            LocalDateTime end = candidate.plus(length);
+            Optional<Booking> conflict = schedule != null
+                    ? schedule.findConflict(candidate, end, null)
+                    : Optional.empty();
+            if (conflict.isEmpty()) {
+                return Optional.of(candidate);
+            }
+            candidate = conflict.get().getEnd();
+        }
+    }
+
+    /**
+     * Whether a service type may start at the given time (weekend rule)
+     */
+    public static boolean isAllowedStart(Service.ServiceType serviceType, LocalDateTime start) {
+        return serviceType.isAvailableOnWeekends() || !isWeekend(start);
+    }
+
+    private static LocalDateTime nextAllowedStart(LocalDateTime candidate, Service.ServiceType serviceType) {
+        if (isAllowedStart(serviceType, candidate)) {
+            return candidate;
+        }
+        return candidate.toLocalDate().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+
+    private static boolean isWeekend(LocalDateTime time) {
+        DayOfWeek day = time.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    private static LocalDateTime ceilingMinute(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.equals(time) ? minute : minute.plusMinutes(1);
+    }
+
+    /**
+     * Snapshot of a provider's bookings ordered by start time.
+     *
+     * @param providerName The provider
+     * @return Bookings (never null, may be empty)
+     */
+    public List<Booking> getBookings(String providerName) {
+        ProviderSchedule schedule = schedulesByProvider.get(providerKey(providerName));
+        return schedule != null ? new ArrayList<>(schedule.bookings) : new ArrayList<>();
+    }
+
+    /**
+     * Claim the slot a SCHEDULED service is about to be saved with.
+     *
+     * VETO:
+     * - The slot is added to the provider's schedule under its lock, so
+     *   a concurrent save or tryBook() for an overlapping slot sees it
+     * - An overlap with another service's booking throws and the
+     *   repository aborts the save (e.g. on backfill of overlapping data)
+     * - Nothing to claim for other states, or if the service already
+     *   holds exactly this booking (e.g. reserved by tryBook())
+     * - The claim is remembered per id: the service may change again
+     *   before onSave() or release() runs
+     *
+     * @throws DuplicateKeyException naming the booking that holds the slot
+     */
+    @Override
+    public void reserve(String id, Service service) {
+        Booking booking = scheduledBooking(id, service);
+        if (booking == null || booking.equals(bookingsByService.get(id))) {
+            return;
+        }
+        ProviderSchedule schedule = scheduleFor(booking.getProviderName());
+        synchronized (schedule) {
+            Optional<Booking> conflict = schedule.findConflict(booking.getStart(), booking.getEnd(), id);
+            if (conflict.isPresent()) {
+                throw new DuplicateKeyException(NAME, conflict.get());
+            }
+            schedule.bookings.add(booking);
+            claimsByService.put(id, booking);
+        }
+    }
+
+    /**
+     * Drop a claim made by reserve() for a save another index rejected
+     */
+    @Override
+    public void release(String id, Service service) {
+        dropClaim(id, claimsByService.remove(id));
+    }
+
+    /**
+     * Keep the index in line with the stored service state.
+     *
+     * STATE-DRIVEN:
+     * - SCHEDULED with a time → the slot claimed by reserve() becomes
+     *   the service's booking, replacing any earlier one
+     * - REQUESTED → keep a reservation taken by tryBook(); its caller
+     *   either schedules the service or releases the slot
+     * - Any other state → release the slot
+     */
+    @Override
+    public void onSave(String id, Service service) {
+        Booking claim = claimsByService.remove(id);
+        applyState(id, service);
+        dropClaim(id, claim);
+    }
+
+    private void applyState(String id, Service service) {
+        if (service.getLifecycle().getStatus() == Service.ServiceStatus.REQUESTED) {
+            return;
+        }
+        Booking booking = scheduledBooking(id, service);
+        if (booking == null) {
+            cancelBooking(id);
+            return;
+        }
+        if (booking.equals(bookingsByService.get(id))) {
+            return;
+        }
+        synchronized (scheduleFor(booking.getProviderName())) {
+            replaceBooking(booking);
+        }
+    }
+
+    /**
+     * Remove a claimed slot unless it became the service's booking
+     */
+    private void dropClaim(String id, Booking claim) {
+        if (claim == null) {
+            return;
+        }
+        ProviderSchedule schedule = scheduleFor(claim.getProviderName());
+        synchronized (schedule) {
+            if (!claim.equals(bookingsByService.get(id))) {
+                schedule.remove(claim);
+            }
+        }
+    }
+
+    @Override
+    public void onDelete(String id, Service service) {
+        cancelBooking(id);
+    }
+
+    @Override
+    public void clear() {
+        schedulesByProvider.clear();
+        bookingsByService.clear();
+        claimsByService.clear();
+    }
+
+    /**
+     * Number of services currently holding a slot
+     */
+    public int size() {
+        return bookingsByService.size();
+    }
+
+    /**
+     * The booking a SCHEDULED service occupies, or null in any other state
+     */
+    private static Booking scheduledBooking(String id, Service service) {
+        Service.Lifecycle lifecycle = service.getLifecycle();
+        Optional<LocalDateTime> scheduledAt = lifecycle.getScheduledAt();
+        if (lifecycle.getStatus() != Service.ServiceStatus.SCHEDULED || scheduledAt.isEmpty()) {
+            return null;
+        }
+        LocalDateTime start = scheduledAt.get();
+        return new Booking(id, service.getProviderName(), start,
+                start.plus(bookingDuration(service.getServiceType())));
+    }
+
+    private ProviderSchedule scheduleFor(String providerName) {
+        return schedulesByProvider.computeIfAbsent(providerKey(providerName), key -> new ProviderSchedule());
+    }
+
+    /**
+     * Swap a service's booking; caller holds the new booking's schedule lock.
+     * Provider names are final on Service, so the previous booking lives in
+     * the same schedule and no second lock is needed.
+     */
+    private void replaceBooking(Booking booking) {
+        Booking previous = bookingsByService.put(booking.getServiceId(), booking);
+        if (previous != null && !previous.equals(booking)) {
+            scheduleFor(previous.getProviderName()).remove(previous);
+        }
+        scheduleFor(booking.getProviderName()).bookings.add(booking);
+    }
+
+    /**
+     * One provider's bookings, ordered by (start, serviceId).
+     */
+    static final class ProviderSchedule {
+
+        final ConcurrentSkipListSet<Booking> bookings = new ConcurrentSkipListSet<>();
+
+        /**
+         * RANGE SCAN:
+         * - Any booking overlapping [start, end) must start before end
+         * - and cannot start earlier than start - LONGEST_BOOKING
+         */
+        Optional<Booking> findConflict(LocalDateTime start, LocalDateTime end, String ignoredServiceId) {
+            NavigableSet<Booking> candidates = bookings.subSet(
+                    Booking.probe(start.minus(LONGEST_BOOKING)), true,
+                    Booking.probe(end), false);
+            for (Booking booking : candidates) {
+                if (booking.overlaps(start, end) && !booking.getServiceId().equals(ignoredServiceId)) {
+                    return Optional.of(booking);
+                }
+            }
+            return Optional.empty();
+        }
+
+        void remove(Booking booking) {
+            bookings.remove(booking);
+        }
+    }
+
+    /**
+     * IMMUTABLE booking of a provider time slot [start, end).
+     *
+     * COMPARABLE:
+     * - Ordered by start time, then service id
+     * - The service id tie-breaker lets two bookings share a start time
+     */
+    public static final class Booking implements Comparable<Booking> {
+        private final String serviceId;
+        private final String providerName;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        public Booking(String serviceId, String providerName, LocalDateTime start, LocalDateTime end) {
+            this.serviceId = serviceId;
+            this.providerName = providerName;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Search key sorting before every real booking with the same start
+         */
+        static Booking probe(LocalDateTime start) {
+            return new Booking("", "", start, start);
+        }
+
+        public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return otherStart.isBefore(end) && otherEnd.isAfter(start);
+        }
+
+        public String getServiceId() { return serviceId; }
+        public String getProviderName() { return providerName; }
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getEnd() { return end; }
+
+        @Override
+        public int compareTo(Booking other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : serviceId.compareTo(other.serviceId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+
+            Booking booking = (Booking) obj;
+            return serviceId.equals(booking.serviceId) && providerKey(providerName).equals(providerKey(booking.providerName))
+                    && start.equals(booking.start) && end.equals(booking.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(serviceId, start, end);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Booking{service='%s', provider='%s', %s → %s}",
+                    serviceId, providerName, start, end);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.community.communityApp.scheduling;
+
+import com.community.communityApp.model.Service;
+import com.community.communityApp.repository.RepositoryIndex;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches SCHEDULED and IN_PROGRESS services for missed deadlines.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Timer management with a hierarchical timing wheel
+ * - java.time Clock for testable time
+ * - Listener callbacks (CopyOnWriteArrayList)
+ * - A single daemon thread driving periodic work
+ *
+ * DESIGN PATTERNS:
+ * - Observer Pattern: registered as a RepositoryIndex, so every save
+ *   arms, keeps or disarms the service's deadline
+ * - Observer Pattern again for the listeners notified on expiry
+ *
+ * DEADLINES:
+ * - START: a SCHEDULED service is overdue once scheduledAt (plus the
+ *   start grace) passes without it starting
+ * - RUN: an IN_PROGRESS service overruns once startedAt plus its type's
+ *   maxDurationHours passes without it finishing
+ * - Any other state has no deadline; leaving SCHEDULED or IN_PROGRESS
+ *   cancels the pending one
+ *
+ * COST:
+ * - Arming and cancelling are O(1) wheel operations, so the repository's
+ *   write path pays a constant, not a scan of all services
+ * - Expiry costs one tick of wheel work per tickMillis, plus the timers
+ *   that actually fire; nothing is polled
+ *
+ * THREAD SAFETY:
+ * - The wheel and the id → timer map are guarded by one lock, held
+ *   only for O(1) steps and for the wheel advance
+ * - Listeners run on the advancing thread after the lock is released,
+ *   so they may save services (which re-enters onSave()) freely
+ */
+public class ServiceDeadlineMonitor implements RepositoryIndex<Service, String>, AutoCloseable {
+
+    /**
+     * Index name used for registration on the service repository
+     */
+    public static final String NAME = "service.deadlines";
+
+    public static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+
+    /**
+     * Which deadline a service missed
+     */
+    public enum DeadlineKind {
+        START,
+        RUN
+    }
+
+    /**
+     * Receives missed deadlines. Each is reported once, and only if the
+     * service is still in the state the deadline was armed for.
+     */
+    public interface DeadlineListener {
+
+        /**
+         * A SCHEDULED service did not start on time
+         */
+        default void onStartOverdue(Deadline deadline) {
+        }
+
+        /**
+         * An IN_PROGRESS service ran past its maximum duration
+         */
+        default void onRunOverdue(Deadline deadline) {
+        }
+    }
+
+    private final Clock clock;
+    private final Duration startGrace;
+    private final HierarchicalTimingWheel<Deadline> wheel;
+    private final Map<String, HierarchicalTimingWheel.Timer<Deadline>> timersById = new HashMap<>();
+    private final Map<String, Deadline> overdueStarts = new ConcurrentHashMap<>();
+    private final List<DeadlineListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService ticker;
+
+    public ServiceDeadlineMonitor() {
+        this(Clock.systemDefaultZone(), DEFAULT_TICK, Duration.ZERO);
+    }
+
+    /**
+     * @param clock Time source; its zone interprets the services' LocalDateTimes
+     * @param tick Wheel resolution (deadlines fire at most one tick late)
+     * @param startGrace How long after scheduledAt a service may still start
+     */
+    public ServiceDeadlineMonitor(Clock clock, Duration tick, Duration startGrace) {
+        if (clock == null || tick == null || startGrace == null) {
+            throw new IllegalArgumentException("Clock, tick and start grace cannot be null");
+        }
+        if (tick.toMillis() <= 0 || startGrace.isNegative()) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms and grace cannot be negative");
+        }
+        this.clock = clock;
+        this.startGrace = startGrace;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), clock.millis());
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    public void addListener(DeadlineListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(DeadlineListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Arm, keep or cancel the service's deadline for its current state.
+     *
+     * IDEMPOTENT:
+     * - A save of an unchanged lifecycle keeps the pending timer
+     * - A new lifecycle replaces it (cancel + insert, both O(1))
+     */
+    @Override
+    public void onSave(String id, Service service) {
+        Service.Lifecycle lifecycle = service.getLifecycle();
+        Deadline overdue = overdueStarts.get(id);
+        if (overdue != null && overdue.lifecycle != lifecycle) {
+            overdueStarts.remove(id, overdue);
+        }
+        Optional<Deadline> deadline = deadlineFor(service, lifecycle);
+        synchronized (wheel) {
+            HierarchicalTimingWheel.Timer<Deadline> pending = timersById.get(id);
+            if (pending != null && deadline.isPresent() && pending.getPayload().lifecycle == lifecycle) {
+                return;
+            }
+            if (pending != null) {
+                wheel.cancel(pending);
+                timersById.remove(id);
+            }
+            deadline.ifPresent(armed -> timersById.put(id, wheel.schedule(toMillis(armed.time), armed)));
+        }
+    }
+
+    @Override
+    public void onDelete(String id, Service service) {
+        overdueStarts.remove(id);
+        synchronized (wheel) {
+            HierarchicalTimingWheel.Timer<Deadline> pending = timersById.remove(id);
+            if (pending != null) {
+                wheel.cancel(pending);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        overdueStarts.clear();
+        synchronized (wheel) {
+            wheel.clear();
+            timersById.clear();
+        }
+    }
+
+    /**
+     * Fire every deadline that has passed by now.
+     *
+     * Called by the background ticker (see start()), or directly by a
+     * caller that drives time itself.
+     *
+     * @return Number of deadlines reported to the listeners
+     */
+    public int advance() {
+        List<Deadline> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advanceTo(clock.millis(), deadline -> {
+                timersById.remove(deadline.serviceId);
+                due.add(deadline);
+            });
+        }
+
+        int reported = 0;
+        for (Deadline deadline : due) {
+            if (deadline.service.getLifecycle() != deadline.lifecycle) {
+                continue; // Moved on between expiry and now; its save re-armed it
+            }
+            if (deadline.kind == DeadlineKind.START) {
+                overdueStarts.put(deadline.serviceId, deadline);
+            }
+            for (DeadlineListener listener : listeners) {
+                try {
+                    if (deadline.kind == DeadlineKind.START) {
+                        listener.onStartOverdue(deadline);
+                    } else {
+                        listener.onRunOverdue(deadline);
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("Deadline listener failed for " + deadline.serviceId + ": " + e.getMessage());
+                }
+            }
+            reported++;
+        }
+        return reported;
+    }
+
+    /**
+     * Advance the wheel on a daemon thread once per tick.
+     *
+     * BACKGROUND WORK:
+     * - One thread per monitor, stopped by close()
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            throw new IllegalStateException("Deadline monitor already started");
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "service-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = wheel.getTickMillis();
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                advance();
+            } catch (RuntimeException e) {
+                System.err.println("Deadline check failed: " + e.getMessage());
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized boolean isRunning() {
+        return ticker != null;
+    }
+
+    /**
+     * Stop the background thread; pending deadlines stay armed.
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService background;
+        synchronized (this) {
+            background = ticker;
+            ticker = null;
+        }
+        if (background != null) {
+            background.shutdown();
+            try {
+                background.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * SCHEDULED services whose start deadline passed and that are still waiting
+     */
+    public List<String> getOverdueServiceIds() {
+        List<String> ids = new ArrayList<>();
+        overdueStarts.forEach((id, deadline) -> {
+            if (deadline.service.getLifecycle() == deadline.lifecycle) {
+                ids.add(id);
+            }
+        });
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Number of armed deadlines
+     */
+    public int size() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private Optional<Deadline> deadlineFor(Service service, Service.Lifecycle lifecycle) {
+        switch (lifecycle.getStatus()) {
+            case SCHEDULED:
+                return lifecycle.getScheduledAt()
+                        .map(start -> new Deadline(DeadlineKind.START, service, lifecycle, start.plus(startGrace)));
+            case IN_PROGRESS:
+                return lifecycle.getStartedAt().or(lifecycle::getScheduledAt)
+                        .map(start -> new Deadline(DeadlineKind.RUN, service, lifecycle,
+                                start.plus(ProviderScheduleIndex.bookingDuration(service.getServiceType()))));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * IMMUTABLE deadline armed for one lifecycle snapshot of a service
+     */
+    public static final class Deadline {
+        private final DeadlineKind kind;
+        private final String serviceId;
+        private final Service service;
+        private final Service.Lifecycle lifecycle;
+        private final LocalDateTime time;
+
+        private Deadline(DeadlineKind kind, Service service, Service.Lifecycle lifecycle, LocalDateTime time) {
+            this.kind = kind;
+            this.serviceId = service.getServiceId();
+            this.service = service;
+            this.lifecycle = lifecycle;
+            this.time = time;
+        }
+
+        public DeadlineKind getKind() { return kind; }
+        public String getServiceId() { return serviceId; }
+        public Service getService() { return service; }
+
+        /**
+         * The lifecycle the deadline was armed for; pass it to
+         * Service.transitionFrom() to act only if nothing changed since
+         */
+        public Service.Lifecycle getLifecycle() { return lifecycle; }
+
+        /**
+         * When the deadline passed
+         */
+        public LocalDateTime getTime() { return time; }
+
+        @Override
+        public String toString() {
+            return kind + " deadline of " + serviceId + " at " + time;
+        }
+    }
+}
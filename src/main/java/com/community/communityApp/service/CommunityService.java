@@ -1,11 +1,23 @@
 package com.community.communityApp.service;
 
+import com.community.communityApp.analytics.ServiceColumnStore;
+import com.community.communityApp.exception.DuplicateKeyException;
 import com.community.communityApp.exception.ServiceException;
+import com.community.communityApp.index.Bm25Index;
+import com.community.communityApp.index.TagIndex;
+import com.community.communityApp.index.TagQuery;
 import com.community.communityApp.model.Service;
-import com.community.communityApp.repository.Repository;
+import com.community.communityApp.repository.HashIndex;
+import com.community.communityApp.repository.IndexedRepository;
 import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.repository.PartitionedSortedIndex;
+import com.community.communityApp.scheduling.BatchScheduler;
+import com.community.communityApp.scheduling.ProviderScheduleIndex;
+import com.community.communityApp.scheduling.ServiceDeadlineMonitor;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -42,16 +54,101 @@ import java.util.stream.Collectors;
  */
 public class CommunityService {
     
+    /**
+     * INDEX NAMES registered on the service repository
+     */
+    private static final String STATUS_INDEX = "service.status";
+    private static final String TYPE_INDEX = "service.type";
+    private static final String PROVIDER_INDEX = "service.provider";
+    private static final String REQUESTER_HISTORY_INDEX = "service.requesterHistory";
+    private static final String TAG_INDEX = "service.tags";
+    private static final String FULL_TEXT_INDEX = "service.fullText";
+    
+    /**
+     * Prefix of the status pseudo-tag every service carries in the tag
+     * index ("status:cancelled"), so tag queries can filter by state
+     */
+    public static final String STATUS_TAG_PREFIX = "status:";
+    
+    /**
+     * SLOT SEARCH bounds: how far ahead to look, the minimum lead time
+     * for an automatically chosen slot, and how often to retry when
+     * another caller takes the slot first
+     */
+    static final Duration SLOT_SEARCH_HORIZON = Duration.ofDays(366);
+    static final Duration SLOT_LEAD_TIME = Duration.ofMinutes(1);
+    private static final int MAX_BOOKING_ATTEMPTS = 16;
+    
     /**
      * DEPENDENCY INJECTION simulation
      * 
      * REPOSITORY PATTERN:
-     * - Uses Repository interface for abstraction
+     * - Uses IndexedRepository interface for abstraction
      * - Enables different storage implementations
      * - Supports testing with mock repositories
      * - Promotes loose coupling
      */
-    private final Repository<Service, String> serviceRepository;
+    private final IndexedRepository<Service, String> serviceRepository;
+    
+    /**
+     * REGISTERED INDEXES (status/type double as O(1) statistics counters)
+     */
+    private final HashIndex<Service, String, Service.ServiceStatus> statusIndex;
+    private final HashIndex<Service, String, Service.ServiceType> typeIndex;
+    
+    /**
+     * REQUESTER HISTORY: each requester's services, newest first
+     * 
+     * - Keyed by case-normalized requester (apartment)
+     * - Already in display order, so a page costs O(log n + page size)
+     *   and the first page O(page size), however long the history
+     */
+    private final PartitionedSortedIndex<Service, String, String, LocalDateTime> requesterHistory;
+    
+    /**
+     * TAG INVERTED INDEX: tags (plus the status pseudo-tag) → bitmaps
+     * 
+     * - AND/OR/NOT queries run as bitmap set algebra, smallest set first
+     * - A query never visits services that carry none of its tags
+     */
+    private final TagIndex<Service, String> tagIndex;
+    
+    /**
+     * FULL-TEXT INDEX over description and requirements, ranked by BM25
+     * 
+     * - Updated on every save; unchanged text costs one comparison
+     * - A query walks only the posting lists of its words
+     */
+    private final Bm25Index<Service, String> fullTextIndex;
+    
+    /**
+     * COLUMNAR MIRROR for cost and volume reports
+     * 
+     * - Primitive column per field, maintained on every save
+     * - Reports scan arrays instead of Service objects
+     */
+    private final ServiceColumnStore analytics;
+    
+    /**
+     * INTERVAL INDEX of booked provider time slots
+     * 
+     * - Maintained by the repository as services enter/leave SCHEDULED
+     * - O(log n) conflict checks instead of scanning every service
+     */
+    private final ProviderScheduleIndex providerSchedule;
+    
+    /**
+     * DEADLINE TIMERS for scheduled and running services
+     * 
+     * - Armed and cancelled by the repository on every save, O(1)
+     * - An overrun IN_PROGRESS service is failed automatically
+     */
+    private final ServiceDeadlineMonitor deadlineMonitor;
+    
+    /**
+     * ID GENERATOR: lock-free, time-ordered, unique across threads
+     */
+    private final ServiceIdGenerator idGenerator;
     
     /**
      * CONSTRUCTOR INJECTION pattern
@@ -61,12 +158,91 @@ public class CommunityService {
      * - Promotes immutable service design
      * - Enables different repository implementations
      * - Supports testing and modularity
+     * 
+     * SECONDARY INDEXES:
+     * - status and type: enum keys
+     * - provider and requester: case-normalized names, matching the
+     *   equalsIgnoreCase() semantics of the query methods
+     * - requester history: additionally ordered newest first
+     * - tags: inverted bitmap index, status included as "status:<name>"
+     * - full text: description and requirements, BM25-ranked
+     * - columns: struct-of-arrays mirror for aggregate reports
      */
-    public CommunityService(Repository<Service, String> serviceRepository) {
+    public CommunityService(IndexedRepository<Service, String> serviceRepository) {
+        this(serviceRepository, new ServiceIdGenerator());
+    }
+    
+    /**
+     * Constructor with an explicit id generator (e.g. a distinct node id
+     * per process sharing one store)
+     * 
+     * RESTART SAFETY:
+     * - Every stored id is shown to the generator first, so new ids sort
+     *   after them even if the clock was set back between runs
+     */
+    public CommunityService(IndexedRepository<Service, String> serviceRepository,
+                            ServiceIdGenerator idGenerator) {
         if (serviceRepository == null) {
             throw new IllegalArgumentException("Service repository cannot be null");
         }
+        if (idGenerator == null) {
+            throw new IllegalArgumentException("Service id generator cannot be null");
+        }
         this.serviceRepository = serviceRepository;
+        this.idGenerator = idGenerator;
+        serviceRepository.forEach(service -> idGenerator.observe(service.getServiceId()));
+        
+        this.statusIndex = serviceRepository.ensureIndex(
+                HashIndex.<Service, String, Service.ServiceStatus>nonUnique(STATUS_INDEX, Service::getStatus));
+        this.typeIndex = serviceRepository.ensureIndex(
+                HashIndex.<Service, String, Service.ServiceType>nonUnique(TYPE_INDEX, Service::getServiceType));
+        serviceRepository.addIndex(HashIndex.nonUnique(PROVIDER_INDEX,
+                service -> normalizeName(service.getProviderName())));
+        this.requesterHistory = serviceRepository.ensureIndex(
+                PartitionedSortedIndex.<Service, String, String, LocalDateTime>descending(REQUESTER_HISTORY_INDEX,
+                        service -> normalizeName(service.getRequestedBy()), Service::getRequestedAt));
+        this.tagIndex = serviceRepository.ensureIndex(new TagIndex<Service, String>(TAG_INDEX, service -> {
+            Set<String> tags = service.getTags();
+            tags.add(statusTag(service.getStatus()));
+            return tags;
+        }));
+        this.fullTextIndex = serviceRepository.ensureIndex(
+                new Bm25Index<Service, String>(FULL_TEXT_INDEX, CommunityService::searchableText));
+        this.analytics = serviceRepository.ensureIndex(new ServiceColumnStore());
+        this.providerSchedule = serviceRepository.ensureIndex(new ProviderScheduleIndex());
+        this.deadlineMonitor = serviceRepository.ensureIndex(new ServiceDeadlineMonitor());
+        // Late starts are only tracked (getOverdueServices()); overruns fail
+        deadlineMonitor.addListener(new ServiceDeadlineMonitor.DeadlineListener() {
+            @Override
+            public void onRunOverdue(ServiceDeadlineMonitor.Deadline deadline) {
+                failOverrun(deadline);
+            }
+        });
+    }
+    
+    /**
+     * Normalize provider/requester names for case-insensitive index keys
+     */
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase();
+    }
+    
+    /**
+     * The text the full-text index sees: description, then each requirement
+     */
+    private static String searchableText(Service service) {
+        StringBuilder text = new StringBuilder(service.getDescription());
+        for (String requirement : service.getRequirements()) {
+            text.append('\n').append(requirement);
+        }
+        return text.toString();
+    }
+    
+    /**
+     * The pseudo-tag for a status in tag queries ("status:in_progress")
+     */
+    public static String statusTag(Service.ServiceStatus status) {
+        return STATUS_TAG_PREFIX + status.name().toLowerCase();
     }
     
     /**
@@ -151,16 +327,15 @@ public class CommunityService {
      * PRIVATE HELPER METHOD for generating unique service IDs
      * 
      * BUSINESS LOGIC:
-     * - Creates unique identifiers
-     * - Uses service type and timestamp
-     * - Ensures uniqueness across requests
+     * - Creates unique identifiers, even for concurrent requests in the
+     *   same millisecond (the former millis + random(1000) scheme could
+     *   collide, and save() then silently replaced the earlier service)
+     * - Ids sort by creation time
      * 
-     * ID FORMAT: {SERVICE_TYPE}_{TIMESTAMP}_{RANDOM}
+     * ID FORMAT: {SERVICE_TYPE}_{13 base-32 characters}, see ServiceIdGenerator
      */
     private String generateServiceId(Service.ServiceType serviceType) {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String random = String.valueOf((int) (Math.random() * 1000));
-        return String.format("%s_%s_%s", serviceType.name(), timestamp, random);
+        return idGenerator.nextId(serviceType);
     }
     
     /**
@@ -209,16 +384,28 @@ public class CommunityService {
         // BUSINESS LOGIC: Check scheduling constraints
         validateSchedulingConstraints(service, scheduledTime);
         
+        // BUSINESS LOGIC: Claim the provider slot (atomic conflict check);
+        // refused as well while another caller holds a slot for this service
+        if (!providerSchedule.tryBook(service, scheduledTime)) {
+            throw ServiceException.schedulingConflict(serviceId, "Provider has scheduling conflict");
+        }
+        
+        // STATE MACHINE: atomic REQUESTED → SCHEDULED
+        Service.Transition transition = service.transitionTo(Service.ServiceStatus.SCHEDULED, scheduledTime);
+        if (!transition.isApplied()) {
+            // Lost a race (e.g. cancelled meanwhile): drop this caller's
+            // reservation, then re-save the winning state
+            providerSchedule.cancelBooking(serviceId);
+            persist(service);
+            throw ServiceException.stateTransitionError(serviceId,
+                                                       transition.getCurrent().getStatus().toString(),
+                                                       Service.ServiceStatus.SCHEDULED.toString());
+        }
+        
         try {
-            // Update service state
-            service.scheduleService(scheduledTime);
-            
-            // Save updated service
-            Service updatedService = serviceRepository.save(service);
-            
+            Service updatedService = persist(service);
             System.out.println("Service scheduled successfully: " + serviceId);
             return updatedService;
-            
         } catch (Exception e) {
             throw new ServiceException("Failed to schedule service", "SCHEDULING_ERROR", 
                                      serviceId, "schedule", service.getStatus().toString(), e);
@@ -230,9 +417,9 @@ public class CommunityService {
      * 
      * BUSINESS LOGIC:
      * - Validates scheduling time
-     * - Checks provider availability
      * - Validates service type constraints
-     * - Checks for conflicts
+     * - Provider availability is checked afterwards by the
+     *   schedule index, atomically with the booking
      */
     private void validateSchedulingConstraints(Service service, LocalDateTime scheduledTime) {
         // Check if scheduled time is in the future
@@ -249,77 +436,251 @@ public class CommunityService {
             }
         }
         
-        // Check for provider conflicts (simplified logic)
-        boolean hasConflict = serviceRepository.findAll().stream()
-                .anyMatch(s -> s.getProviderName().equals(service.getProviderName()) &&
-                              s.getStatus() == Service.ServiceStatus.SCHEDULED &&
-                              s.getScheduledAt().isPresent() &&
-                              isTimeConflict(s.getScheduledAt().get(), scheduledTime));
+        // Provider conflicts are checked by ProviderScheduleIndex.tryBook()
+        // using each service type's real duration
+    }
+    
+    /**
+     * Find the earliest slot a provider can take a service of a type
+     * 
+     * INDEX-BACKED SEARCH:
+     * - Walks the provider's bookings in the schedule index, jumping
+     *   past each conflicting booking (O(log n) per probe)
+     * - Respects the type's booking length (maxDurationHours) and its
+     *   weekend availability, like scheduleService() does
+     * 
+     * @param providerName The provider
+     * @param serviceType The type of service to fit in
+     * @param after Earliest acceptable start (never earlier than now
+     *              plus SLOT_LEAD_TIME)
+     * @return The slot start, or empty if the provider is booked for
+     *         the whole SLOT_SEARCH_HORIZON
+     */
+    public Optional<LocalDateTime> findNextAvailableSlot(String providerName, Service.ServiceType serviceType,
+                                                         LocalDateTime after) {
+        if (providerName == null || providerName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Provider name cannot be null or empty");
+        }
+        if (serviceType == null) {
+            throw new IllegalArgumentException("Service type cannot be null");
+        }
+        LocalDateTime earliest = LocalDateTime.now().plus(SLOT_LEAD_TIME);
+        LocalDateTime from = after == null || after.isBefore(earliest) ? earliest : after;
+        return providerSchedule.findNextAvailableSlot(providerName, serviceType, from,
+                                                      from.plus(SLOT_SEARCH_HORIZON));
+    }
+    
+    /**
+     * Schedule a service in its provider's earliest free slot
+     * 
+     * OPTIMISTIC RETRY:
+     * - The found slot is booked through scheduleService(), which
+     *   re-checks it atomically
+     * - If another caller took it meanwhile, search again from there
+     *   (up to MAX_BOOKING_ATTEMPTS times)
+     * 
+     * @param serviceId The REQUESTED service to schedule
+     * @param after Earliest acceptable start (null for "as soon as possible")
+     * @return The scheduled service
+     * @throws ServiceException if no slot is free or the service cannot be scheduled
+     */
+    public Service scheduleAtNextAvailableSlot(String serviceId, LocalDateTime after) {
+        Service service = findOrThrow(serviceId, "schedule");
+        LocalDateTime from = after;
+        for (int attempt = 0; attempt < MAX_BOOKING_ATTEMPTS; attempt++) {
+            Optional<LocalDateTime> slot = findNextAvailableSlot(service.getProviderName(),
+                                                                 service.getServiceType(), from);
+            if (slot.isEmpty()) {
+                break;
+            }
+            try {
+                return scheduleService(serviceId, slot.get());
+            } catch (ServiceException e) {
+                if (!"SCHEDULING_CONFLICT".equals(e.getErrorCode())) {
+                    throw e;
+                }
+                from = slot.get().plusMinutes(1);
+            }
+        }
+        throw ServiceException.schedulingConflict(serviceId, "No free slot found for provider "
+                                                + service.getProviderName());
+    }
+    
+    /**
+     * Schedule every REQUESTED service as soon as possible
+     * 
+     * @return What was scheduled and what was left out
+     * @see #autoScheduleRequested(LocalDateTime, LocalDateTime)
+     */
+    public BatchScheduleResult autoScheduleRequested() {
+        return autoScheduleRequested(null, null);
+    }
+    
+    /**
+     * Schedule the whole REQUESTED backlog in one pass
+     * 
+     * PLAN (BatchScheduler):
+     * - Greedy earliest-fit per provider, highest priority and oldest
+     *   request first, planned in parallel across providers
+     * - Same rules as scheduleService(): booking length per type, no
+     *   weekend starts for weekday-only types
+     * 
+     * COMMIT:
+     * - Every planned slot is reserved in the schedule index first; if
+     *   any was taken since the plan was made, all reservations are
+     *   released and the backlog is planned again (up to
+     *   MAX_BOOKING_ATTEMPTS times), so the slots go in all or nothing
+     * - Each service then moves REQUESTED → SCHEDULED by CAS; one that
+     *   changed meanwhile (e.g. cancelled) drops out and its slot is freed
+     * - The scheduled services are written with a single saveAll(), one
+     *   group commit on a persistent repository; if it fails, the
+     *   transitions are undone and the slots released before the
+     *   exception is thrown
+     * 
+     * @param from Earliest start (null or past: now plus SLOT_LEAD_TIME)
+     * @param until Latest start (null: from plus SLOT_SEARCH_HORIZON)
+     * @return What was scheduled and what was left out
+     * @throws ServiceException if the slots could not be reserved or the
+     *         repository rejected the batch
+     */
+    public BatchScheduleResult autoScheduleRequested(LocalDateTime from, LocalDateTime until) {
+        LocalDateTime earliest = LocalDateTime.now().plus(SLOT_LEAD_TIME);
+        LocalDateTime windowStart = from == null || from.isBefore(earliest) ? earliest : from;
+        LocalDateTime windowEnd = until == null ? windowStart.plus(SLOT_SEARCH_HORIZON) : until;
+        if (windowEnd.isBefore(windowStart)) {
+            throw new IllegalArgumentException("Window end cannot be before its start");
+        }
         
-        if (hasConflict) {
-            throw ServiceException.schedulingConflict(service.getServiceId(), 
-                "Provider has scheduling conflict");
+        BatchScheduler scheduler = new BatchScheduler(providerSchedule);
+        for (int attempt = 1; attempt <= MAX_BOOKING_ATTEMPTS; attempt++) {
+            BatchScheduler.SchedulePlan plan = scheduler.plan(
+                    serviceRepository.findByIndex(STATUS_INDEX, Service.ServiceStatus.REQUESTED),
+                    windowStart, windowEnd);
+            if (reserveAll(plan.getAssignments())) {
+                BatchScheduleResult result = commitPlan(plan, attempt);
+                System.out.println("Batch scheduling done: " + result);
+                return result;
+            }
+        }
+        throw new ServiceException("Provider schedules kept changing during batch scheduling",
+                                 "SCHEDULING_CONFLICT", null, "autoSchedule", "REQUESTED");
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD: book every planned slot, or none
+     */
+    private boolean reserveAll(List<BatchScheduler.Assignment> assignments) {
+        List<Service> reserved = new ArrayList<>(assignments.size());
+        for (BatchScheduler.Assignment assignment : assignments) {
+            if (!providerSchedule.tryBook(assignment.getService(), assignment.getStart())) {
+                for (Service service : reserved) {
+                    releaseReservation(service);
+                }
+                return false;
+            }
+            reserved.add(assignment.getService());
         }
+        return true;
     }
     
     /**
-     * PRIVATE HELPER METHOD for checking time conflicts
+     * PRIVATE HELPER METHOD: move the reserved services to SCHEDULED and
+     * save them together
      * 
-     * BUSINESS LOGIC:
-     * - Checks if two time slots conflict
-     * - Assumes 2-hour service duration
-     * - Simplified conflict detection
-     */
-    private boolean isTimeConflict(LocalDateTime existing, LocalDateTime proposed) {
-        // Simple conflict check: 2-hour window
-        LocalDateTime existingEnd = existing.plusHours(2);
-        LocalDateTime proposedEnd = proposed.plusHours(2);
+     * ALL OR NOTHING:
+     * - The batch goes through saveAll(entities, onRejected), one write
+     *   bracket for the whole batch
+     * - If any save is rejected or fails, every transition made here is
+     *   undone, every reservation of the plan is released, and the
+     *   services are saved again so indexes and log match their state
+     */
+    private BatchScheduleResult commitPlan(BatchScheduler.SchedulePlan plan, int attempts) {
+        List<Service> scheduled = new ArrayList<>(plan.getAssignments().size());
+        List<Service.Transition> transitions = new ArrayList<>(plan.getAssignments().size());
+        List<Service> changed = new ArrayList<>();
+        for (BatchScheduler.Assignment assignment : plan.getAssignments()) {
+            Service service = assignment.getService();
+            Service.Transition transition = service.transitionTo(Service.ServiceStatus.SCHEDULED,
+                                                                  assignment.getStart());
+            if (transition.isApplied()) {
+                scheduled.add(service);
+                transitions.add(transition);
+            } else {
+                releaseReservation(service);
+                changed.add(service);
+            }
+        }
         
-        return (proposed.isBefore(existingEnd) && proposedEnd.isAfter(existing));
+        List<DuplicateKeyException> rejections = new ArrayList<>();
+        try {
+            serviceRepository.saveAll(scheduled, (service, conflict) -> rejections.add(conflict));
+        } catch (RuntimeException e) {
+            rollBackPlan(scheduled, transitions, e);
+            throw e;
+        }
+        if (!rejections.isEmpty()) {
+            ServiceException failure = new ServiceException("Batch scheduling rejected by the repository",
+                                                            "SCHEDULING_CONFLICT", null, "autoSchedule",
+                                                            "REQUESTED", rejections.get(0));
+            rollBackPlan(scheduled, transitions, failure);
+            throw failure;
+        }
+        return new BatchScheduleResult(scheduled, plan.getUnassigned(), changed, attempts);
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD: undo a commitPlan() whose save failed
+     * 
+     * - A service whose undo loses to a concurrent move keeps that
+     *   move, and the re-save stores it
+     * - A failing re-save is attached to the original failure
+     */
+    private void rollBackPlan(List<Service> scheduled, List<Service.Transition> transitions,
+                              RuntimeException failure) {
+        for (int i = 0; i < scheduled.size(); i++) {
+            Service service = scheduled.get(i);
+            service.undo(transitions.get(i));
+            providerSchedule.cancelBooking(service.getServiceId());
+        }
+        try {
+            serviceRepository.saveAll(scheduled, (service, conflict) -> failure.addSuppressed(conflict));
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD: drop a reservation of a service that is not
+     * (or no longer) being scheduled by this batch
+     */
+    private void releaseReservation(Service service) {
+        providerSchedule.cancelBooking(service.getServiceId());
+        if (service.getStatus() != Service.ServiceStatus.REQUESTED) {
+            // Someone else moved it meanwhile: re-sync the index with its real state
+            persist(service);
+        }
     }
     
     /**
      * Start a service (transition to IN_PROGRESS)
      * 
      * STATE MACHINE:
-     * - SCHEDULED → IN_PROGRESS transition
-     * - Validates state transitions
-     * - Updates service state
+     * - SCHEDULED → IN_PROGRESS transition, applied atomically
+     * - Records the start time and persists the service
      * 
      * @param serviceId The service ID to start
      * @return The updated service
      * @throws ServiceException if service cannot be started
      */
     public Service startService(String serviceId) {
-        Optional<Service> optionalService = serviceRepository.findById(serviceId);
-        if (optionalService.isEmpty()) {
-            throw new ServiceException("Service not found", "SERVICE_NOT_FOUND", 
-                                     serviceId, "start", "UNKNOWN");
-        }
-        
-        Service service = optionalService.get();
-        
-        // BUSINESS LOGIC: Validate state transition
-        if (!service.canTransitionTo(Service.ServiceStatus.IN_PROGRESS)) {
-            throw ServiceException.stateTransitionError(serviceId, 
-                                                       service.getStatus().toString(), 
-                                                       Service.ServiceStatus.IN_PROGRESS.toString());
-        }
-        
-        // Update service state (would need to add method to Service class)
-        // For now, create new service with updated state
-        // In real implementation, would have setState method
-        
-        System.out.println("Service started: " + serviceId);
-        return service;
+        return applyTransition(serviceId, "start", "started", Service.ServiceStatus.IN_PROGRESS, LocalDateTime.now());
     }
     
     /**
      * Complete a service
      * 
      * STATE MACHINE:
-     * - IN_PROGRESS → COMPLETED transition
-     * - Validates state transitions
+     * - IN_PROGRESS → COMPLETED transition, applied atomically
      * - Updates completion time
      * 
      * @param serviceId The service ID to complete
@@ -327,70 +688,182 @@ public class CommunityService {
      * @throws ServiceException if service cannot be completed
      */
     public Service completeService(String serviceId) {
-        Optional<Service> optionalService = serviceRepository.findById(serviceId);
-        if (optionalService.isEmpty()) {
-            throw new ServiceException("Service not found", "SERVICE_NOT_FOUND", 
-                                     serviceId, "complete", "UNKNOWN");
-        }
-        
-        Service service = optionalService.get();
-        
-        // BUSINESS LOGIC: Validate state transition
-        if (!service.canTransitionTo(Service.ServiceStatus.COMPLETED)) {
-            throw ServiceException.stateTransitionError(serviceId, 
-                                                       service.getStatus().toString(), 
-                                                       Service.ServiceStatus.COMPLETED.toString());
-        }
-        
-        try {
-            // Update service state
-            service.completeService();
-            
-            // Save updated service
-            Service updatedService = serviceRepository.save(service);
-            
-            System.out.println("Service completed successfully: " + serviceId);
-            return updatedService;
-            
-        } catch (Exception e) {
-            throw new ServiceException("Failed to complete service", "COMPLETION_ERROR", 
-                                     serviceId, "complete", service.getStatus().toString(), e);
-        }
+        return applyTransition(serviceId, "complete", "completed", Service.ServiceStatus.COMPLETED, LocalDateTime.now());
+    }
+    
+    /**
+     * Mark a running service as failed
+     * 
+     * STATE MACHINE:
+     * - IN_PROGRESS → FAILED transition, applied atomically
+     * - Records the end time
+     * 
+     * @param serviceId The service ID to fail
+     * @return The updated service
+     * @throws ServiceException if service is not in progress
+     */
+    public Service failService(String serviceId) {
+        return applyTransition(serviceId, "fail", "failed", Service.ServiceStatus.FAILED, LocalDateTime.now());
     }
     
     /**
      * Cancel a service
      * 
      * STATE MACHINE:
-     * - Any state → CANCELLED transition (except terminal states)
-     * - Validates state transitions
-     * - Updates service state
+     * - REQUESTED/SCHEDULED → CANCELLED transition, applied atomically
+     * - A scheduled service releases its provider slot on save
      * 
      * @param serviceId The service ID to cancel
      * @return The updated service
      * @throws ServiceException if service cannot be cancelled
      */
     public Service cancelService(String serviceId) {
-        Optional<Service> optionalService = serviceRepository.findById(serviceId);
-        if (optionalService.isEmpty()) {
-            throw new ServiceException("Service not found", "SERVICE_NOT_FOUND", 
-                                     serviceId, "cancel", "UNKNOWN");
+        return applyTransition(serviceId, "cancel", "cancelled", Service.ServiceStatus.CANCELLED, null);
+    }
+    
+    /**
+     * Fail a service that ran past its type's maximum duration
+     * 
+     * SNAPSHOT CAS:
+     * - Applies only if the service is still in the very run the
+     *   deadline was armed for (Service.transitionFrom); a completion
+     *   racing the deadline wins or loses cleanly
+     * - The end time recorded is the deadline, not the detection time
+     */
+    private void failOverrun(ServiceDeadlineMonitor.Deadline deadline) {
+        Service service = deadline.getService();
+        if (!serviceRepository.existsById(deadline.getServiceId())) {
+            return;
         }
+        Service.Transition transition = service.transitionFrom(deadline.getLifecycle(),
+                                                               Service.ServiceStatus.FAILED, deadline.getTime());
+        if (transition.isApplied()) {
+            persist(service);
+            System.out.println("Service failed after overrunning its maximum duration: " + deadline.getServiceId());
+        }
+    }
+    
+    /**
+     * Start checking deadlines on a background thread (once per second)
+     */
+    public void startDeadlineMonitoring() {
+        if (!deadlineMonitor.isRunning()) {
+            deadlineMonitor.start();
+        }
+    }
+    
+    /**
+     * Stop the background deadline checks; deadlines stay armed
+     */
+    public void stopDeadlineMonitoring() {
+        deadlineMonitor.close();
+    }
+    
+    /**
+     * Fire every deadline that has passed, on the calling thread
+     * 
+     * @return Number of missed deadlines reported
+     */
+    public int checkDeadlines() {
+        return deadlineMonitor.advance();
+    }
+    
+    /**
+     * SCHEDULED services past their start time that have not started
+     */
+    public List<Service> getOverdueServices() {
+        return deadlineMonitor.getOverdueServiceIds().stream()
+                .map(serviceRepository::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * The deadline monitor, e.g. to add listeners of missed deadlines
+     */
+    public ServiceDeadlineMonitor getDeadlineMonitor() {
+        return deadlineMonitor;
+    }
+    
+    /**
+     * Attempt a transition without throwing when another caller wins
+     * 
+     * CONTENTION REPORTING:
+     * - Exactly one of several concurrent callers moving a service out
+     *   of the same state gets an applied Transition
+     * - The others get a rejected one naming the state that won
+     * - Only the winner persists; losers leave the service untouched
+     * 
+     * @param serviceId The service ID
+     * @param target The status to move to
+     * @return The outcome
+     * @throws ServiceException if the service does not exist
+     */
+    public Service.Transition tryTransition(String serviceId, Service.ServiceStatus target) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target status cannot be null");
+        }
+        if (target == Service.ServiceStatus.SCHEDULED) {
+            throw new IllegalArgumentException("Use scheduleService() to book a slot");
+        }
+        Service service = findOrThrow(serviceId, target.name().toLowerCase());
+        Service.Transition transition = service.transitionTo(target, LocalDateTime.now());
+        if (transition.isApplied()) {
+            persist(service);
+        }
+        return transition;
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD shared by the lifecycle operations
+     * 
+     * LOCK-FREE CHECK-AND-ACT:
+     * - The edge check and the move are one CAS on the service's
+     *   lifecycle (Service.transitionTo), not a check followed later
+     *   by a separate write
+     * - Only the winning caller saves
+     */
+    private Service applyTransition(String serviceId, String operation, String outcome,
+                                    Service.ServiceStatus target, LocalDateTime time) {
+        Service service = findOrThrow(serviceId, operation);
         
-        Service service = optionalService.get();
-        
-        // BUSINESS LOGIC: Validate state transition
-        if (!service.canTransitionTo(Service.ServiceStatus.CANCELLED)) {
+        Service.Transition transition = service.transitionTo(target, time);
+        if (!transition.isApplied()) {
             throw ServiceException.stateTransitionError(serviceId, 
-                                                       service.getStatus().toString(), 
-                                                       Service.ServiceStatus.CANCELLED.toString());
+                                                       transition.getCurrent().getStatus().toString(), 
+                                                       target.toString());
         }
         
-        // Update service state (would need setState method in Service class)
-        // For now, simulate cancellation
-        
-        System.out.println("Service cancelled: " + serviceId);
-        return service;
+        try {
+            Service updatedService = persist(service);
+            System.out.println("Service " + outcome + " successfully: " + serviceId);
+            return updatedService;
+        } catch (Exception e) {
+            throw new ServiceException("Failed to " + operation + " service", "TRANSITION_ERROR", 
+                                     serviceId, operation, service.getStatus().toString(), e);
+        }
+    }
+    
+    private Service findOrThrow(String serviceId, String operation) {
+        Optional<Service> optionalService = serviceId == null ? Optional.empty() : serviceRepository.findById(serviceId);
+        if (optionalService.isEmpty()) {
+            throw new ServiceException("Service not found", "SERVICE_NOT_FOUND", 
+                                     serviceId, operation, "UNKNOWN");
+        }
+        return optionalService.get();
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD saving a service after a transition
+     * 
+     * ORDERING:
+     * - The repository reads (and logs) the service's state at the
+     *   point the save is ordered among the writes of that id
+     * - Whichever save runs last therefore stores the latest transition,
+     *   even when two transitions of one service race
+     */
+    private Service persist(Service service) {
+        return serviceRepository.save(service);
     }
     
     /**
@@ -415,9 +888,9 @@ public class CommunityService {
     /**
      * Get services by type
      * 
-     * JAVA 8+ STREAM API:
-     * - Filtering by service type
-     * - Enum comparison
+     * SECONDARY INDEX:
+     * - Type index returns only services of this type
+     * - Stream API sorts the matches
      * - Collecting results
      * 
      * @param serviceType The service type to filter by
@@ -428,8 +901,7 @@ public class CommunityService {
             return new ArrayList<>();
         }
         
-        return serviceRepository.findAll().stream()
-                .filter(service -> service.getServiceType() == serviceType)
+        return serviceRepository.findByIndex(TYPE_INDEX, serviceType).stream()
                 .sorted(Comparator.comparing(Service::getRequestedAt))
                 .collect(Collectors.toList());
     }
@@ -437,9 +909,9 @@ public class CommunityService {
     /**
      * Get services by status
      * 
-     * JAVA 8+ STREAM API:
-     * - Filtering by service status
-     * - Enum comparison
+     * SECONDARY INDEX:
+     * - Status index returns only services in this state
+     * - Stream API sorts the matches
      * - Collecting results
      * 
      * @param status The service status to filter by
@@ -450,8 +922,7 @@ public class CommunityService {
             return new ArrayList<>();
         }
         
-        return serviceRepository.findAll().stream()
-                .filter(service -> service.getStatus() == status)
+        return serviceRepository.findByIndex(STATUS_INDEX, status).stream()
                 .sorted(Comparator.comparing(Service::getRequestedAt))
                 .collect(Collectors.toList());
     }
@@ -459,31 +930,70 @@ public class CommunityService {
     /**
      * Get services requested by a specific resident
      * 
-     * JAVA 8+ STREAM API:
-     * - Filtering by requester
-     * - String comparison
-     * - Collecting results
+     * SECONDARY INDEX:
+     * - Case-normalized requester history (equalsIgnoreCase semantics)
+     * - Kept newest first, so no per-call sort
      * 
      * @param requestedBy The resident who requested services
-     * @return List of services requested by the resident
+     * @return List of services requested by the resident, newest first
      */
     public List<Service> getServicesByRequester(String requestedBy) {
         if (requestedBy == null || requestedBy.trim().isEmpty()) {
             return new ArrayList<>();
         }
         
-        return serviceRepository.findAll().stream()
-                .filter(service -> requestedBy.trim().equalsIgnoreCase(service.getRequestedBy()))
-                .sorted(Comparator.comparing(Service::getRequestedAt).reversed())
-                .collect(Collectors.toList());
+        return resolve(requesterHistory.ids(normalizeName(requestedBy)));
+    }
+    
+    /**
+     * One page of a resident's requests, newest first ("my requests")
+     * 
+     * KEYSET PAGINATION:
+     * - Pass the requestedAt and id of the last service of the previous
+     *   page (null for the first)
+     * - The cursor is a position, not a lookup: it still works after
+     *   that service has been deleted
+     * - O(log n + pageSize) for every page, O(pageSize) for the first,
+     *   however long the requester's history
+     * - Services requested meanwhile do not shift later pages
+     * 
+     * @param requestedBy The resident who requested services
+     * @param afterRequestedAt Request time of the last service already
+     *                         shown, or null for the first page
+     * @param afterServiceId Its id (ignored when afterRequestedAt is null)
+     * @param pageSize Maximum services per page
+     * @return The next page (empty after the last one)
+     * @throws IllegalArgumentException if afterRequestedAt is given
+     *         without afterServiceId
+     */
+    public List<Service> getServicesByRequesterPage(String requestedBy, LocalDateTime afterRequestedAt,
+                                                    String afterServiceId, int pageSize) {
+        if (requestedBy == null || requestedBy.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        String afterId = afterServiceId == null || afterServiceId.trim().isEmpty() ? null : afterServiceId.trim();
+        return resolve(requesterHistory.page(normalizeName(requestedBy), afterRequestedAt, afterId, pageSize));
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD resolving index ids to services, in order
+     * (ids deleted since the index was read are skipped)
+     */
+    private List<Service> resolve(Collection<String> ids) {
+        List<Service> services = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            serviceRepository.findById(id).ifPresent(services::add);
+        }
+        return services;
     }
     
     /**
      * Get services by provider
      * 
-     * JAVA 8+ STREAM API:
-     * - Filtering by provider name
-     * - String comparison
+     * SECONDARY INDEX:
+     * - Case-normalized provider index (equalsIgnoreCase semantics)
+     * - Sorting touches only this provider's services
      * - Collecting results
      * 
      * @param providerName The provider name to filter by
@@ -494,8 +1004,7 @@ public class CommunityService {
             return new ArrayList<>();
         }
         
-        return serviceRepository.findAll().stream()
-                .filter(service -> providerName.trim().equalsIgnoreCase(service.getProviderName()))
+        return serviceRepository.findByIndex(PROVIDER_INDEX, normalizeName(providerName)).stream()
                 .sorted(Comparator.comparing(Service::getRequestedAt))
                 .collect(Collectors.toList());
     }
@@ -516,36 +1025,148 @@ public class CommunityService {
             return serviceRepository.findAll();
         }
         
-        return serviceRepository.findAll().stream()
+        return serviceRepository.stream()
                 .filter(predicate)
                 .sorted(Comparator.comparing(Service::getRequestedAt))
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Find services by a boolean tag query
+     * 
+     * INVERTED INDEX:
+     * - e.g. "urgent AND maintenance AND NOT status:cancelled"
+     * - Status is queryable as the pseudo-tag "status:<name>" (see statusTag())
+     * - Evaluated on tag bitmaps: intersections run smallest set first,
+     *   negations are subtracted last, and only the matches are loaded
+     * 
+     * @param query Tags combined with AND, OR, NOT and parentheses
+     * @return Matching services, oldest request first
+     * @throws IllegalArgumentException if the query is malformed
+     */
+    public List<Service> findServicesByTags(String query) {
+        return findServicesByTags(TagQuery.parse(query));
+    }
+    
+    /**
+     * Find services by a tag query built with the TagQuery factories
+     * 
+     * @param query The tag query
+     * @return Matching services, oldest request first
+     */
+    public List<Service> findServicesByTags(TagQuery query) {
+        List<Service> services = resolve(tagIndex.find(query));
+        services.sort(Comparator.comparing(Service::getRequestedAt));
+        return services;
+    }
+    
+    /**
+     * Full-text search over descriptions and requirements, best match first
+     * 
+     * RANKED RETRIEVAL:
+     * - Words are matched after light stemming ("leaking pipes" finds
+     *   "pipe leak"), case-insensitively, ignoring stop words
+     * - BM25 ranks services matching more and rarer words higher
+     * - Only the top limit are kept (bounded heap), so the cost does
+     *   not grow with the number of matches beyond one pass over them
+     * 
+     * @param query Free text
+     * @param limit Maximum number of results
+     * @return Up to limit services, most relevant first
+     */
+    public List<Service> searchServicesByText(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Bm25Index.Hit<String>> hits = fullTextIndex.search(query, limit);
+        List<String> ids = new ArrayList<>(hits.size());
+        for (Bm25Index.Hit<String> hit : hits) {
+            ids.add(hit.getId());
+        }
+        return resolve(ids);
+    }
+    
+    /**
+     * Count services matching a tag query without loading them
+     * 
+     * @param query Tags combined with AND, OR, NOT and parentheses
+     * @return Number of matching services
+     */
+    public int countServicesByTags(String query) {
+        return tagIndex.count(TagQuery.parse(query));
+    }
+    
+    /**
+     * Tags in use (status pseudo-tags included), with their service counts
+     * 
+     * @return Tag → number of services carrying it, in tag order
+     */
+    public Map<String, Integer> getTagCounts() {
+        return tagIndex.tagCounts();
+    }
+    
     /**
      * Get service statistics
      * 
-     * BUSINESS LOGIC:
-     * - Calculates various statistics
-     * - Groups data by different criteria
-     * - Provides summary information
+     * INCREMENTAL COUNTERS:
+     * - Per-status and per-type LongAdders kept by the indexes
+     * - Updated on every save, delete and state transition
+     * - O(number of enum constants), independent of service history
+     * 
+     * CONSISTENCY:
+     * - readConsistent() retries if a write overlapped the snapshot
      * 
      * @return ServiceStatistics object
      */
     public ServiceStatistics getStatistics() {
-        List<Service> allServices = serviceRepository.findAll();
-        
-        Map<Service.ServiceStatus, Long> statusCounts = allServices.stream()
-                .collect(Collectors.groupingBy(Service::getStatus, Collectors.counting()));
-        
-        Map<Service.ServiceType, Long> typeCounts = allServices.stream()
-                .collect(Collectors.groupingBy(Service::getServiceType, Collectors.counting()));
-        
-        return new ServiceStatistics(
-            allServices.size(),
-            statusCounts,
-            typeCounts
-        );
+        return serviceRepository.readConsistent(modificationCount -> new ServiceStatistics(
+            (int) serviceRepository.count(),
+            statusIndex.countsByKey(),
+            typeIndex.countsByKey(),
+            modificationCount
+        ));
+    }
+    
+    /**
+     * Service count and estimated cost per type
+     * 
+     * COLUMNAR AGGREGATION:
+     * - One pass over the type, cost and request time columns
+     * - No Service object is touched
+     * 
+     * @param from First request time included, or null for no bound
+     * @param until First request time excluded, or null for no bound
+     * @return Type → count, cost sum and average, types without services omitted
+     */
+    public Map<Service.ServiceType, ServiceColumnStore.Aggregate> getCostByType(LocalDateTime from,
+                                                                                LocalDateTime until) {
+        return analytics.groupBy(ServiceColumnStore.Dimension.TYPE, from, until);
+    }
+    
+    /**
+     * Monthly cost-by-type report
+     * 
+     * COLUMNAR AGGREGATION:
+     * - GROUP BY (request month, type) in one pass over the columns
+     * - Months come precomputed per row, so no date arithmetic per service
+     * 
+     * @param from First request time included, or null for no bound
+     * @param until First request time excluded, or null for no bound
+     * @return Month (ascending) → type → count, cost sum and average
+     */
+    public Map<YearMonth, Map<Service.ServiceType, ServiceColumnStore.Aggregate>> getMonthlyCostByType(
+            LocalDateTime from, LocalDateTime until) {
+        return analytics.groupBy(ServiceColumnStore.Dimension.MONTH, ServiceColumnStore.Dimension.TYPE,
+                from, until);
+    }
+    
+    /**
+     * Columnar service mirror for ad-hoc reports (other dimensions,
+     * totals)
+     */
+    public ServiceColumnStore getAnalytics() {
+        return analytics;
     }
     
     /**
@@ -560,16 +1181,31 @@ public class CommunityService {
         private final int totalServices;
         private final Map<Service.ServiceStatus, Long> statusCounts;
         private final Map<Service.ServiceType, Long> typeCounts;
+        private final long modificationCount;
         
         public ServiceStatistics(int totalServices, 
                                Map<Service.ServiceStatus, Long> statusCounts,
                                Map<Service.ServiceType, Long> typeCounts) {
+            this(totalServices, statusCounts, typeCounts, -1);
+        }
+        
+        public ServiceStatistics(int totalServices, 
+                               Map<Service.ServiceStatus, Long> statusCounts,
+                               Map<Service.ServiceType, Long> typeCounts,
+                               long modificationCount) {
             this.totalServices = totalServices;
             this.statusCounts = new HashMap<>(statusCounts);
             this.typeCounts = new HashMap<>(typeCounts);
+            this.modificationCount = modificationCount;
         }
         
         public int getTotalServices() { return totalServices; }
+        
+        /**
+         * Repository modification count these numbers are consistent with
+         * (-1 if unknown)
+         */
+        public long getModificationCount() { return modificationCount; }
         public Map<Service.ServiceStatus, Long> getStatusCounts() { 
             return new HashMap<>(statusCounts); 
         }
@@ -583,4 +1219,38 @@ public class CommunityService {
                                totalServices, statusCounts, typeCounts);
         }
     }
+    
+    /**
+     * Outcome of autoScheduleRequested()
+     * 
+     * - scheduled: services now SCHEDULED, in priority order
+     * - unassigned: services with no free slot in the window
+     * - changed: services moved on by another caller during the commit
+     * - attempts: plans made before all slots could be reserved
+     */
+    public static class BatchScheduleResult {
+        private final List<Service> scheduled;
+        private final List<Service> unassigned;
+        private final List<Service> changed;
+        private final int attempts;
+        
+        public BatchScheduleResult(List<Service> scheduled, List<Service> unassigned,
+                                   List<Service> changed, int attempts) {
+            this.scheduled = Collections.unmodifiableList(new ArrayList<>(scheduled));
+            this.unassigned = Collections.unmodifiableList(new ArrayList<>(unassigned));
+            this.changed = Collections.unmodifiableList(new ArrayList<>(changed));
+            this.attempts = attempts;
+        }
+        
+        public List<Service> getScheduled() { return scheduled; }
+        public List<Service> getUnassigned() { return unassigned; }
+        public List<Service> getChanged() { return changed; }
+        public int getAttempts() { return attempts; }
+        
+        @Override
+        public String toString() {
+            return String.format("BatchScheduleResult{scheduled=%d, unassigned=%d, changed=%d, attempts=%d}",
+                               scheduled.size(), unassigned.size(), changed.size(), attempts);
+        }
+    }
 }
\ No newline at end of file
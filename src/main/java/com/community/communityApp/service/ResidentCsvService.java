@@ -0,0 +1,356 @@
+package com.community.communityApp.service;
+
+import com.community.communityApp.codec.CsvReader;
+import com.community.communityApp.codec.CsvWriter;
+import com.community.communityApp.model.Administrator;
+import com.community.communityApp.model.Resident;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Streaming CSV import and export of residents.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - try-with-resources over AutoCloseable readers and writers
+ * - Header-driven column mapping (Map<String, Integer>)
+ * - Enum parsing with valueOf and exception translation
+ * - Nested immutable report classes
+ *
+ * FILE FORMAT (header row required, column order free):
+ * - type: RESIDENT (default) or ADMINISTRATOR
+ * - name, email, apartmentNumber: required
+ * - birthDate (yyyy-MM-dd), unitCount, status, phoneNumber: optional,
+ *   written empty by exportCsv() when the resident has none
+ * - adminRole: required for administrators (AdminRole constant)
+ *
+ * IMPORT PIPELINE:
+ * - CsvReader streams the file through a FileChannel buffer
+ * - Rows are parsed into Resident / Administrator objects and sent to
+ *   ResidentService.registerAll() every chunkSize rows, so memory is
+ *   bounded by one chunk whatever the file size
+ * - Unparseable rows and rows the service rejects are counted; the
+ *   first MAX_REPORTED_ERRORS are kept with their line numbers
+ *
+ * EXPORT:
+ * - Pages through the residents in apartment order (keyset paging),
+ *   writing each page as it is read; no full copy of the residents
+ */
+public class ResidentCsvService {
+
+    public static final String[] COLUMNS = {
+        "type", "name", "email", "birthDate", "apartmentNumber",
+        "unitCount", "status", "phoneNumber", "adminRole"
+    };
+
+    public static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+    /**
+     * Bad rows kept in detail per import (all of them are counted)
+     */
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String TYPE_RESIDENT = "RESIDENT";
+    private static final String TYPE_ADMINISTRATOR = "ADMINISTRATOR";
+
+    private final ResidentService residentService;
+
+    public ResidentCsvService(ResidentService residentService) {
+        if (residentService == null) {
+            throw new IllegalArgumentException("Resident service cannot be null");
+        }
+        this.residentService = residentService;
+    }
+
+    /**
+     * Import residents with the default chunk size.
+     *
+     * @see #importCsv(Path, int)
+     */
+    public ImportReport importCsv(Path file) {
+        return importCsv(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Import residents from a CSV file.
+     *
+     * @param file The CSV file (header row first)
+     * @param chunkSize Rows registered per registerAll() batch
+     * @return Counts, throughput and the first bad rows
+     * @throws IllegalArgumentException if the header lacks a required column
+     * @throws com.community.communityApp.exception.PersistenceException on I/O errors
+     */
+    public ImportReport importCsv(Path file, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        long started = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+
+        try (CsvReader reader = CsvReader.open(file)) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty: " + file);
+            }
+            Map<String, Integer> columns = mapColumns(header);
+
+            List<Resident> chunk = new ArrayList<>(chunkSize);
+            long[] lines = new long[chunkSize];
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                progress.rowsRead++;
+                try {
+                    lines[chunk.size()] = reader.getRecordLine();
+                    chunk.add(toResident(record, columns));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    progress.reject(reader.getRecordLine(), e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    registerChunk(chunk, lines, progress);
+                }
+            }
+            registerChunk(chunk, lines, progress);
+            progress.bytesRead = reader.getBytesRead();
+        }
+
+        return new ImportReport(progress, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * Send one chunk to the bulk registration path and record its rejections
+     */
+    private void registerChunk(List<Resident> chunk, long[] lines, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        ResidentService.BulkRegistrationReport report = residentService.registerAll(chunk);
+        progress.registered += report.getRegisteredCount();
+        for (ResidentService.RegistrationResult result : report.getRejected()) {
+            progress.reject(lines[result.getRow()], result.getMessage());
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Export every resident to a CSV file, in apartment order.
+     *
+     * @param file The file to create (or overwrite)
+     * @return Number of residents written
+     * @throws com.community.communityApp.exception.PersistenceException on I/O errors
+     */
+    public long exportCsv(Path file) {
+        long written = 0;
+        try (CsvWriter writer = CsvWriter.create(file)) {
+            writer.writeRecord(COLUMNS);
+            String after = null;
+            List<Resident> page;
+            while (!(page = residentService.getResidentsPage(after, DEFAULT_CHUNK_SIZE)).isEmpty()) {
+                for (Resident resident : page) {
+                    writer.writeRecord(toRecord(resident));
+                    written++;
+                }
+                after = page.get(page.size() - 1).getApartmentNumber();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Header name (case-insensitive) → column position
+     */
+    private static Map<String, Integer> mapColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(), i);
+        }
+        for (String required : new String[]{"name", "email", "apartmentnumber"}) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Build a Resident or Administrator from one record.
+     *
+     * @throws IllegalArgumentException if a value is missing or malformed
+     * @throws DateTimeParseException if the birth date is not yyyy-MM-dd
+     */
+    static Resident toResident(List<String> record, Map<String, Integer> columns) {
+        String type = value(record, columns, "type");
+        String name = value(record, columns, "name");
+        String email = value(record, columns, "email");
+        String birth = value(record, columns, "birthdate");
+        LocalDate birthDate = birth == null ? null : LocalDate.parse(birth);
+        String apartment = value(record, columns, "apartmentnumber");
+        String unitCount = value(record, columns, "unitcount");
+        Integer units = unitCount == null ? null : parseUnitCount(unitCount);
+
+        Resident resident;
+        if (type == null || type.equalsIgnoreCase(TYPE_RESIDENT)) {
+            resident = new Resident(name, email, birthDate, apartment, units);
+        } else if (type.equalsIgnoreCase(TYPE_ADMINISTRATOR)) {
+            Administrator.AdminRole role = parseEnum(Administrator.AdminRole.class,
+                    required(record, columns, "adminrole"), "admin role");
+            resident = new Administrator(name, email, birthDate, apartment, units, role);
+        } else {
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
+
+        String status = value(record, columns, "status");
+        if (status != null) {
+            resident.setStatus(parseEnum(Resident.ResidentStatus.class, status, "status"));
+        }
+        resident.setPhoneNumber(value(record, columns, "phonenumber"));
+        return resident;
+    }
+
+    /**
+     * One CSV record in COLUMNS order
+     */
+    static String[] toRecord(Resident resident) {
+        boolean administrator = resident instanceof Administrator;
+        return new String[]{
+            administrator ? TYPE_ADMINISTRATOR : TYPE_RESIDENT,
+            resident.getName(),
+            resident.getEmail(),
+            resident.getBirthDate() == null ? null : resident.getBirthDate().toString(),
+            resident.getApartmentNumber(),
+            resident.getUnitCount() == null ? null : resident.getUnitCount().toString(),
+            resident.getStatus().name(),
+            resident.getPhoneNumber().orElse(null),
+            administrator ? ((Administrator) resident).getAdminRole().name() : null
+        };
+    }
+
+    /**
+     * Trimmed value of a column, or null if the column is absent or blank
+     */
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(List<String> record, Map<String, Integer> columns, String column) {
+        String value = value(record, columns, column);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + column);
+        }
+        return value;
+    }
+
+    private static Integer parseUnitCount(String value) {
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid unit count: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + label + ": " + value);
+        }
+    }
+
+    /**
+     * Mutable counters of a running import (not shared between threads)
+     */
+    private static final class ImportProgress {
+        long rowsRead;
+        long registered;
+        long rejected;
+        long bytesRead;
+        final List<RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+
+    /**
+     * NESTED CLASS: one bad row of an import
+     */
+    public static class RowError {
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        /**
+         * 1-based line of the file on which the row starts
+         */
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * NESTED CLASS: outcome of an import
+     *
+     * IMMUTABLE OBJECT:
+     * - Final fields, unmodifiable error list
+     * - Throughput is derived from the row count and elapsed time
+     */
+    public static class ImportReport {
+        private final long rowsRead;
+        private final long registered;
+        private final long rejected;
+        private final long bytesRead;
+        private final List<RowError> errors;
+        private final Duration elapsed;
+
+        private ImportReport(ImportProgress progress, Duration elapsed) {
+            this.rowsRead = progress.rowsRead;
+            this.registered = progress.registered;
+            this.rejected = progress.rejected;
+            this.bytesRead = progress.bytesRead;
+            List<RowError> sorted = new ArrayList<>(progress.errors);
+            sorted.sort(Comparator.comparingLong(RowError::getLine));
+            this.errors = Collections.unmodifiableList(sorted);
+            this.elapsed = elapsed;
+        }
+
+        public long getRowsRead() { return rowsRead; }
+        public long getRegistered() { return registered; }
+        public long getRejected() { return rejected; }
+        public long getBytesRead() { return bytesRead; }
+        public Duration getElapsed() { return elapsed; }
+
+        /**
+         * Up to MAX_REPORTED_ERRORS bad rows (the first ones found), by line
+         */
+        public List<RowError> getErrors() { return errors; }
+
+        public double getRowsPerSecond() {
+            long nanos = elapsed.toNanos();
+            return nanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ImportReport{rows=%d, registered=%d, rejected=%d, elapsed=%dms, rows/s=%.0f}",
+                    rowsRead, registered, rejected, elapsed.toMillis(), getRowsPerSecond());
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.community.communityApp.service;
 
+import com.community.communityApp.exception.DuplicateKeyException;
 import com.community.communityApp.exception.DuplicateResidentException;
 import com.community.communityApp.exception.ResidentNotFoundException;
+import com.community.communityApp.index.AutocompleteIndex;
+import com.community.communityApp.index.OccupancyIndex;
+import com.community.communityApp.index.RoaringBitmap;
+import com.community.communityApp.index.TrigramIndex;
+import com.community.communityApp.model.ApartmentNumber;
 import com.community.communityApp.model.Resident;
-import com.community.communityApp.repository.Repository;
+import com.community.communityApp.repository.HashIndex;
+import com.community.communityApp.repository.IndexedRepository;
 import com.community.communityApp.repository.InMemoryRepository;
+import com.community.communityApp.repository.SortedIndex;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -42,16 +50,56 @@ import java.util.stream.Collectors;
  */
 public class ResidentService {
     
+    /**
+     * INDEX NAMES registered on the resident repository
+     * 
+     * CONSTANTS:
+     * - static final for compile-time constants
+     * - Shared by registration and lookup code
+     */
+    private static final String APARTMENT_INDEX = "resident.apartment";
+    private static final String STATUS_INDEX = "resident.status";
+    private static final String NAME_INDEX = "resident.name.trigram";
+    private static final String AUTOCOMPLETE_INDEX = "resident.autocomplete";
+    private static final String APARTMENT_ORDER_INDEX = "resident.apartment.sorted";
+    private static final String OCCUPANCY_INDEX = "resident.occupancy";
+    
     /**
      * DEPENDENCY INJECTION simulation
      * 
      * REPOSITORY PATTERN:
-     * - Uses Repository interface for abstraction
+     * - Uses IndexedRepository interface for abstraction
      * - Enables different storage implementations
      * - Supports testing with mock repositories
      * - Promotes loose coupling
      */
-    private final Repository<Resident, String> residentRepository;
+    private final IndexedRepository<Resident, String> residentRepository;
+    
+    /**
+     * REGISTERED INDEXES (also the source of O(1) statistics counters)
+     */
+    private final HashIndex<Resident, String, String> apartmentIndex;
+    private final HashIndex<Resident, String, Resident.ResidentStatus> statusIndex;
+    
+    /**
+     * TRIGRAM INDEX over resident names for substring search
+     */
+    private final TrigramIndex<Resident, String> nameIndex;
+    
+    /**
+     * PREFIX TREE over name words, apartment number and email
+     */
+    private final AutocompleteIndex<Resident, String> autocompleteIndex;
+    
+    /**
+     * SKIP-LIST INDEX of apartments in natural order ("201" before "1001")
+     */
+    private final SortedIndex<Resident, String, ApartmentNumber> apartmentOrderIndex;
+    
+    /**
+     * OCCUPANCY BITMAPS per building (bit = floor and unit)
+     */
+    private final OccupancyIndex<Resident, String> occupancyIndex;
     
     /**
      * CONSTRUCTOR INJECTION pattern
@@ -61,12 +109,35 @@ public class ResidentService {
      * - Promotes immutable service design
      * - Enables different repository implementations
      * - Supports testing and modularity
+     * 
+     * SECONDARY INDEXES:
+     * - Unique, case-normalized apartment number index
+     * - Non-unique status index
+     * - Trigram index over names (searchByName)
+     * - Autocomplete prefix tree over name, apartment and email
+     * - Sorted apartment index (listings, ranges, paging)
+     * - Occupancy bitmaps per building, floor and unit
+     * - The repository keeps all of them in sync on every write
      */
-    public ResidentService(Repository<Resident, String> residentRepository) {
+    public ResidentService(IndexedRepository<Resident, String> residentRepository) {
         if (residentRepository == null) {
             throw new IllegalArgumentException("Resident repository cannot be null");
         }
         this.residentRepository = residentRepository;
+        
+        this.apartmentIndex = residentRepository.ensureIndex(HashIndex.unique(APARTMENT_INDEX,
+                resident -> normalizeApartment(resident.getApartmentNumber())));
+        this.statusIndex = residentRepository.ensureIndex(
+                HashIndex.<Resident, String, Resident.ResidentStatus>nonUnique(STATUS_INDEX, Resident::getStatus));
+        this.nameIndex = residentRepository.ensureIndex(new TrigramIndex<>(NAME_INDEX, Resident::getName));
+        this.autocompleteIndex = residentRepository.ensureIndex(new AutocompleteIndex<Resident, String>(AUTOCOMPLETE_INDEX)
+                .field("name", Resident::getName, true)
+                .field("apartment", Resident::getApartmentNumber, false)
+                .field("email", Resident::getEmail, false));
+        this.apartmentOrderIndex = residentRepository.ensureIndex(new SortedIndex<>(APARTMENT_ORDER_INDEX,
+                resident -> ApartmentNumber.parse(resident.getApartmentNumber())));
+        this.occupancyIndex = residentRepository.ensureIndex(new OccupancyIndex<>(OCCUPANCY_INDEX,
+                resident -> ApartmentNumber.parse(resident.getApartmentNumber())));
     }
     
     /**
@@ -111,7 +182,7 @@ public class ResidentService {
             validateNoDuplicateResident(resident);
             
             // REPOSITORY PATTERN: Save to repository
-            Resident savedResident = residentRepository.save(resident);
+            Resident savedResident = saveEnforcingUniqueApartment(resident);
             
             // LOGGING simulation (in real app, would use logging framework)
             System.out.println("Resident registered successfully: " + savedResident.getName());
@@ -125,6 +196,79 @@ public class ResidentService {
         }
     }
     
+    /**
+     * Register many residents at once (e.g. onboarding a building)
+     * 
+     * BULK PIPELINE:
+     * - Validate: the same rules as registerResident(), i.e. a row must
+     *   not be null; its fields were checked when the Resident was built
+     * - Deduplicate: one sequential pass with hash sets of emails and
+     *   apartments, against the batch and the store (first row wins)
+     * - Write: all accepted rows go to the repository in one saveAll()
+     *   batch, with a single modification count bump
+     * - Report: one result per input row; nothing is thrown for bad
+     *   rows and nothing is printed per row
+     * 
+     * CONCURRENCY:
+     * - A concurrent registration can still take an apartment between
+     *   the check and the write; the unique index rejects that row and
+     *   it is reported under the status of the rejecting index, as
+     *   registerResident() would report it
+     * 
+     * @param residents The residents to register, in input order
+     * @return Per-row outcome report
+     * @throws IllegalArgumentException if the collection is null
+     */
+    public BulkRegistrationReport registerAll(Collection<Resident> residents) {
+        if (residents == null) {
+            throw new IllegalArgumentException("Residents cannot be null");
+        }
+        List<Resident> rows = new ArrayList<>(residents);
+        RegistrationResult[] results = new RegistrationResult[rows.size()];
+        
+        // BATCHED DUPLICATE DETECTION with hash sets
+        Set<String> batchEmails = new HashSet<>(rows.size() * 2);
+        Set<String> batchApartments = new HashSet<>(rows.size() * 2);
+        Map<Resident, Integer> rowsByResident = new IdentityHashMap<>(rows.size() * 2);
+        List<Resident> accepted = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            Resident resident = rows.get(row);
+            if (resident == null) {
+                results[row] = RegistrationResult.rejected(row, null, RegistrationStatus.INVALID,
+                        "Resident cannot be null");
+                continue;
+            }
+            String apartment = normalizeApartment(resident.getApartmentNumber());
+            if (!batchEmails.add(resident.getId()) || residentRepository.existsById(resident.getId())) {
+                results[row] = RegistrationResult.rejected(row, resident, RegistrationStatus.DUPLICATE_EMAIL,
+                        "A resident with email '" + resident.getEmail() + "' already exists");
+            } else if (!batchApartments.add(apartment) || apartmentIndex.containsKey(apartment)) {
+                results[row] = RegistrationResult.rejected(row, resident, RegistrationStatus.DUPLICATE_APARTMENT,
+                        "A resident with apartment '" + resident.getApartmentNumber() + "' already exists");
+            } else {
+                rowsByResident.put(resident, row);
+                accepted.add(resident);
+            }
+        }
+        
+        // ONE BATCH WRITE; a unique index conflict rejects only its row
+        residentRepository.saveAll(accepted, (resident, conflict) -> {
+            int row = rowsByResident.get(resident);
+            results[row] = rejectedByIndex(row, resident, conflict);
+        });
+        for (Resident resident : accepted) {
+            int row = rowsByResident.get(resident);
+            if (results[row] == null) {
+                results[row] = RegistrationResult.registered(row, resident);
+            }
+        }
+        
+        BulkRegistrationReport report = new BulkRegistrationReport(Arrays.asList(results));
+        System.out.println("Bulk registration: " + report.getRegisteredCount() + " of "
+                + rows.size() + " residents registered");
+        return report;
+    }
+    
     /**
      * PRIVATE HELPER METHOD for duplicate validation
      * 
@@ -137,20 +281,69 @@ public class ResidentService {
      * - Different exceptions for different duplicates
      * - Meaningful error messages
      * - Business rule enforcement
+     * 
+     * APARTMENT UNIQUENESS:
+     * - Enforced atomically by the repository's unique index on save
+     * - No scan here; see saveEnforcingUniqueApartment()
      */
     private void validateNoDuplicateResident(Resident resident) {
         // Check email uniqueness
         if (residentRepository.existsById(resident.getId())) {
             throw DuplicateResidentException.forEmail(resident.getEmail());
         }
-        
-        // Check apartment number uniqueness
-        Optional<Resident> existingResident = findByApartmentNumber(resident.getApartmentNumber());
-        if (existingResident.isPresent()) {
-            throw DuplicateResidentException.forApartment(resident.getApartmentNumber());
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD saving through the unique apartment index
+     * 
+     * EXCEPTION TRANSLATION:
+     * - The repository raises DuplicateKeyException (data-access level)
+     * - Callers expect DuplicateResidentException (business level)
+     * - Check and write are one atomic step, so no race between them
+     */
+    private Resident saveEnforcingUniqueApartment(Resident resident) {
+        try {
+            return residentRepository.save(resident);
+        } catch (DuplicateKeyException e) {
+            if (isApartmentIndex(e.getIndexName())) {
+                throw DuplicateResidentException.forApartment(resident.getApartmentNumber());
+            }
+            throw e;
         }
     }
     
+    /**
+     * PRIVATE HELPER METHOD reporting a bulk row a unique index rejected
+     * 
+     * - The apartment indexes map to DUPLICATE_APARTMENT, like the
+     *   DuplicateResidentException registerResident() throws
+     * - Any other unique index is reported as DUPLICATE_KEY with the
+     *   repository's message (emails are the primary key, not an index,
+     *   so DUPLICATE_EMAIL comes from the pre-write check only)
+     */
+    private static RegistrationResult rejectedByIndex(int row, Resident resident, DuplicateKeyException conflict) {
+        if (isApartmentIndex(conflict.getIndexName())) {
+            return RegistrationResult.rejected(row, resident, RegistrationStatus.DUPLICATE_APARTMENT,
+                    "A resident with apartment '" + resident.getApartmentNumber() + "' already exists");
+        }
+        return RegistrationResult.rejected(row, resident, RegistrationStatus.DUPLICATE_KEY, conflict.getMessage());
+    }
+    
+    /**
+     * Both apartment indexes are unique (hash on the normalized text,
+     * sorted on the parsed ApartmentNumber), so either may reject a save
+     */
+    private static boolean isApartmentIndex(String indexName) {
+        return APARTMENT_INDEX.equals(indexName) || APARTMENT_ORDER_INDEX.equals(indexName);
+    }
+    
+    /**
+     * Normalize apartment numbers the same way Resident stores them
+     */
+    private static String normalizeApartment(String apartmentNumber) {
+        return apartmentNumber.trim().toUpperCase();
+    }
+    
     /**
      * Find resident by email (unique identifier)
      * 
@@ -178,16 +371,10 @@ public class ResidentService {
     /**
      * Find resident by apartment number
      * 
-     * JAVA 8+ STREAM API:
-     * - Uses stream operations for filtering
-     * - Lambda expressions for predicates
-     * - Method chaining for readability
-     * - Functional programming style
-     * 
-     * COLLECTIONS FRAMEWORK:
-     * - Works with List from repository
-     * - Efficient filtering operations
-     * - Type-safe operations
+     * SECONDARY INDEX lookup:
+     * - Unique, case-normalized apartment number index
+     * - O(1) hash lookup, then O(1) primary-key lookup
+     * - No copy or scan of the resident dataset
      * 
      * @param apartmentNumber The apartment number to search for
      * @return Optional containing resident if found
@@ -197,61 +384,136 @@ public class ResidentService {
             return Optional.empty();
         }
         
-        return residentRepository.findAll().stream()
-                .filter(resident -> apartmentNumber.trim().equalsIgnoreCase(resident.getApartmentNumber()))
-                .findFirst();
+        return residentRepository.findOneByIndex(APARTMENT_INDEX, normalizeApartment(apartmentNumber));
     }
     
     /**
      * Search residents by name (partial match)
      * 
-     * JAVA 8+ STREAM API demonstration:
-     * - Stream operations with filtering
-     * - Lambda expressions for string matching
-     * - Case-insensitive search
-     * - Collecting results to List
-     * 
-     * FUNCTIONAL PROGRAMMING:
-     * - Declarative style
-     * - Immutable operations
-     * - Method chaining
-     * - Expressive predicates
+     * TRIGRAM INDEX:
+     * - Candidates come from intersecting the pattern's trigram posting
+     *   lists, then each is verified with contains()
+     * - Same matches as lowercasing every name and calling contains(),
+     *   without touching non-matching residents
+     * - Only the matches are sorted
      * 
      * @param namePattern The name pattern to search for
-     * @return List of residents matching the pattern
+     * @return List of residents matching the pattern, sorted by name
      */
     public List<Resident> searchByName(String namePattern) {
         if (namePattern == null || namePattern.trim().isEmpty()) {
             return new ArrayList<>();
         }
         
-        String searchPattern = namePattern.trim().toLowerCase();
-        
-        return residentRepository.findAll().stream()
-                .filter(resident -> resident.getName().toLowerCase().contains(searchPattern))
-                .sorted(Comparator.comparing(Resident::getName))
-                .collect(Collectors.toList());
+        List<Resident> matches = resolve(nameIndex.search(namePattern.trim()));
+        matches.sort(Comparator.comparing(Resident::getName));
+        return matches;
+    }
+    
+    /**
+     * Autocomplete residents from what has been typed so far
+     * 
+     * PREFIX TREE:
+     * - Matches the start of any name word, the apartment number or
+     *   the email, case-insensitively
+     * - Names rank before apartments, apartments before emails; closer
+     *   completions first within a field
+     * - Cost depends on the prefix length and K, never on the number
+     *   of residents; no repository scan
+     * 
+     * @param prefix The text typed so far
+     * @param limit Maximum number of suggestions
+     * @return Up to limit suggestions, one per resident (id = email)
+     */
+    public List<AutocompleteIndex.Completion<String>> autocomplete(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return autocompleteIndex.complete(prefix, limit);
     }
     
     /**
      * Get all residents sorted by apartment number
      * 
-     * JAVA 8+ STREAM API:
-     * - Stream operations for sorting
-     * - Method reference for comparator
-     * - Collecting to List
-     * 
-     * COLLECTIONS FRAMEWORK:
-     * - Sorting with Comparator
-     * - Type-safe operations
-     * - Immutable result
+     * SORTED INDEX:
+     * - Walks the apartment skip list, which is already in order: O(n),
+     *   no per-call sort
+     * - Natural order: building, then apartment number numerically
+     *   ("201" before "1001"), then suffix
      * 
      * @return List of all residents sorted by apartment number
      */
     public List<Resident> getAllResidentsSortedByApartment() {
-        return residentRepository.findAll().stream()
-                .sorted(Comparator.comparing(Resident::getApartmentNumber))
-                .collect(Collectors.toList());
+        return resolve(apartmentOrderIndex.ids());
+    }
+    
+    /**
+     * Residents whose apartments lie in a range (natural order, inclusive)
+     * 
+     * RANGE SCAN:
+     * - e.g. "200".."299" lists floor 2, "B-100".."B-199" building B floor 1
+     * - O(log n + matches): seeks to the lower bound, stops at the upper
+     * 
+     * BARE BOUNDS:
+     * - A bound without a suffix stands for the whole unit number, so
+     *   "299" as the upper bound includes "299A" and "299-B", and "B205"
+     *   as the lower bound includes "B-205"
+     * - A bound with a suffix is exact: "299A" excludes "299B"
+     * 
+     * @param fromApartment Lowest apartment to include
+     * @param toApartment Highest apartment to include
+     * @return Residents in apartment order
+     * @throws IllegalArgumentException if either bound is empty
+     */
+    public List<Resident> findResidentsByApartmentRange(String fromApartment, String toApartment) {
+        ApartmentNumber from = ApartmentNumber.parse(fromApartment);
+        ApartmentNumber to = ApartmentNumber.parse(toApartment);
+        if (from.getSuffix().isEmpty()) {
+            from = ApartmentNumber.lowerBound(from.getBuilding(), from.getNumber());
+        }
+        if (!to.getSuffix().isEmpty()) {
+            return from.compareTo(to) > 0
+                    ? new ArrayList<>()
+                    : resolve(apartmentOrderIndex.range(from, true, to, true));
+        }
+        // Everything of the unit number sorts before the next number's lower bound
+        ApartmentNumber beyond = ApartmentNumber.lowerBound(to.getBuilding(), to.getNumber() + 1);
+        return from.compareTo(beyond) >= 0
+                ? new ArrayList<>()
+                : resolve(apartmentOrderIndex.range(from, true, beyond, false));
+    }
+    
+    /**
+     * One page of residents in apartment order
+     * 
+     * KEYSET PAGINATION:
+     * - Pass the last apartment of the previous page (null for the first)
+     * - O(log n + pageSize) for every page, however deep
+     * 
+     * @param afterApartment Last apartment already shown, or null
+     * @param pageSize Maximum residents per page
+     * @return The next page (empty after the last one)
+     */
+    public List<Resident> getResidentsPage(String afterApartment, int pageSize) {
+        ApartmentNumber after = afterApartment == null || afterApartment.trim().isEmpty()
+                ? null
+                : ApartmentNumber.parse(afterApartment);
+        return resolve(apartmentOrderIndex.page(after, pageSize));
+    }
+    
+    /**
+     * PRIVATE HELPER METHOD resolving index ids to residents, in order
+     * (ids deleted since the index was read are skipped)
+     */
+    private List<Resident> resolve(Collection<String> ids) {
+        List<Resident> residents = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            residentRepository.findById(id).ifPresent(residents::add);
+        }
+        return residents;
     }
     
     /**
@@ -262,10 +524,9 @@ public class ResidentService {
      * - Enum comparison
      * - Business logic with enums
      * 
-     * STREAM API:
-     * - Filtering by enum value
-     * - Lambda expressions
-     * - Collecting results
+     * SECONDARY INDEX:
+     * - Status index returns only the matching residents
+     * - Sorting touches the matches, not the whole dataset
      * 
      * @param status The resident status to filter by
      * @return List of residents with the specified status
@@ -275,8 +536,7 @@ public class ResidentService {
             return new ArrayList<>();
         }
         
-        return residentRepository.findAll().stream()
-                .filter(resident -> resident.getStatus() == status)
+        return residentRepository.findByIndex(STATUS_INDEX, status).stream()
                 .sorted(Comparator.comparing(Resident::getName))
                 .collect(Collectors.toList());
     }
@@ -308,13 +568,9 @@ public class ResidentService {
             throw ResidentNotFoundException.forEmail(resident.getEmail());
         }
         
-        // Check for apartment number conflicts (if apartment changed)
-        Optional<Resident> existingResident = findByApartmentNumber(resident.getApartmentNumber());
-        if (existingResident.isPresent() && !existingResident.get().getId().equals(resident.getId())) {
-            throw DuplicateResidentException.forApartment(resident.getApartmentNumber());
-        }
-        
-        return residentRepository.save(resident);
+        // Apartment number conflicts (if apartment changed) are rejected
+        // atomically by the unique index
+        return saveEnforcingUniqueApartment(resident);
     }
     
     /**
@@ -376,27 +632,73 @@ public class ResidentService {
             return false;
         }
         
-        return findByApartmentNumber(apartmentNumber).isEmpty();
+        return !apartmentIndex.containsKey(normalizeApartment(apartmentNumber));
     }
     
     /**
      * Get occupied apartments
      * 
-     * JAVA 8+ STREAM API:
-     * - Stream operations for mapping
-     * - Method reference for property extraction
-     * - Collecting to Set for uniqueness
-     * 
      * COLLECTIONS FRAMEWORK:
      * - Set for unique apartment numbers
-     * - Sorted set for ordered results
+     * - LinkedHashSet keeps the index's natural order
+     * 
+     * SORTED INDEX:
+     * - Keys are read in order from the skip list; no resident is
+     *   touched and nothing is re-sorted
      * 
-     * @return Set of occupied apartment numbers
+     * @return Set of occupied apartment numbers, in natural order
      */
     public Set<String> getOccupiedApartments() {
-        return residentRepository.findAll().stream()
-                .map(Resident::getApartmentNumber)
-                .collect(Collectors.toCollection(TreeSet::new));
+        Set<String> apartments = new LinkedHashSet<>();
+        for (ApartmentNumber apartment : apartmentOrderIndex.keys()) {
+            apartments.add(apartment.getText());
+        }
+        return apartments;
+    }
+    
+    /**
+     * Check whether a unit is vacant
+     * 
+     * OCCUPANCY BITMAP:
+     * - Units are addressed as floor and unit: apartment "B-1205" is
+     *   building "B", floor 12, unit 5 (OccupancyIndex.UNITS_PER_FLOOR)
+     * - One bit test; suffixed apartments ("12-A") occupy their unit
+     * 
+     * @param building Building prefix ("" or null for plain numbers)
+     * @param floor The floor
+     * @param unit The unit on that floor
+     * @return true if no resident lives in the unit
+     */
+    public boolean isUnitVacant(String building, int floor, int unit) {
+        return !occupancyIndex.isOccupied(building, floor, unit);
+    }
+    
+    /**
+     * Number of occupied units on a floor
+     * 
+     * OCCUPANCY BITMAP:
+     * - A floor is one bitmap container, so this is its cardinality
+     * 
+     * @param building Building prefix ("" or null for plain numbers)
+     * @param floor The floor
+     * @return Occupied units on the floor
+     */
+    public int getOccupiedUnitCount(String building, int floor) {
+        return occupancyIndex.occupiedUnits(building, floor);
+    }
+    
+    /**
+     * Find the first free unit on a floor (units 1 to 99)
+     * 
+     * OCCUPANCY BITMAP:
+     * - One next-clear-bit search on the floor's container
+     * 
+     * @param building Building prefix ("" or null for plain numbers)
+     * @param floor The floor
+     * @return The lowest vacant unit, or empty if the floor is full
+     */
+    public OptionalInt findFirstFreeUnit(String building, int floor) {
+        return occupancyIndex.firstFreeUnit(building, floor, 1, OccupancyIndex.UNITS_PER_FLOOR - 1);
     }
     
     /**
@@ -420,7 +722,7 @@ public class ResidentService {
             return getAllResidentsSortedByApartment();
         }
         
-        return residentRepository.findAll().stream()
+        return residentRepository.stream()
                 .filter(predicate)
                 .sorted(Comparator.comparing(Resident::getName))
                 .collect(Collectors.toList());
@@ -431,22 +733,122 @@ public class ResidentService {
      * 
      * INNER CLASS for statistics
      * 
-     * BUSINESS LOGIC:
-     * - Calculates various statistics
-     * - Groups data by different criteria
-     * - Provides summary information
+     * INCREMENTAL COUNTERS:
+     * - Status counts come from the status index's LongAdders
+     * - Occupied apartments = keys in the unique apartment index
+     * - O(1): no scan, no TreeSet, safe to poll every few seconds
+     * - Occupancy bitmaps are read-only snapshots that share their
+     *   containers with the live index (no bits copied)
+     * 
+     * CONSISTENCY:
+     * - Read through readConsistent(), so the numbers all describe the
+     *   same repository state, identified by its modification count
      * 
      * @return ResidentStatistics object
      */
     public ResidentStatistics getStatistics() {
-        List<Resident> allResidents = residentRepository.findAll();
+        return residentRepository.readConsistent(modificationCount -> new ResidentStatistics(
+            (int) residentRepository.count(),
+            (int) statusIndex.count(Resident.ResidentStatus.ACTIVE),
+            (int) statusIndex.count(Resident.ResidentStatus.INACTIVE),
+            apartmentIndex.keyCount(),
+            modificationCount,
+            occupancyIndex.snapshot()
+        ));
+    }
+    
+    /**
+     * Outcome of one row of a bulk registration
+     */
+    public enum RegistrationStatus {
+        REGISTERED, INVALID, DUPLICATE_EMAIL, DUPLICATE_APARTMENT, DUPLICATE_KEY
+    }
+    
+    /**
+     * NESTED CLASS: result of one bulk registration row
+     * 
+     * IMMUTABLE OBJECT:
+     * - Final fields, static factory methods
+     * - message is null for registered rows
+     */
+    public static class RegistrationResult {
+        private final int row;
+        private final Resident resident;
+        private final RegistrationStatus status;
+        private final String message;
+        
+        private RegistrationResult(int row, Resident resident, RegistrationStatus status, String message) {
+            this.row = row;
+            this.resident = resident;
+            this.status = status;
+            this.message = message;
+        }
+        
+        static RegistrationResult registered(int row, Resident resident) {
+            return new RegistrationResult(row, resident, RegistrationStatus.REGISTERED, null);
+        }
+        
+        static RegistrationResult rejected(int row, Resident resident, RegistrationStatus status, String message) {
+            return new RegistrationResult(row, resident, status, message);
+        }
+        
+        /**
+         * Zero-based position in the input collection
+         */
+        public int getRow() { return row; }
+        public Resident getResident() { return resident; }
+        public RegistrationStatus getStatus() { return status; }
+        public String getMessage() { return message; }
+        
+        public boolean isRegistered() {
+            return status == RegistrationStatus.REGISTERED;
+        }
+        
+        @Override
+        public String toString() {
+            return isRegistered()
+                    ? String.format("Row %d: %s", row, status)
+                    : String.format("Row %d: %s (%s)", row, status, message);
+        }
+    }
+    
+    /**
+     * NESTED CLASS: per-row report of a bulk registration
+     * 
+     * IMMUTABLE OBJECT:
+     * - Results are kept in input order in an unmodifiable list
+     * - Counts are computed once at construction
+     */
+    public static class BulkRegistrationReport {
+        private final List<RegistrationResult> results;
+        private final int registeredCount;
+        
+        public BulkRegistrationReport(List<RegistrationResult> results) {
+            this.results = Collections.unmodifiableList(new ArrayList<>(results));
+            this.registeredCount = (int) results.stream().filter(RegistrationResult::isRegistered).count();
+        }
+        
+        /**
+         * One result per input row, in input order
+         */
+        public List<RegistrationResult> getResults() { return results; }
+        public int getRegisteredCount() { return registeredCount; }
+        public int getRejectedCount() { return results.size() - registeredCount; }
         
-        return new ResidentStatistics(
-            allResidents.size(),
-            (int) allResidents.stream().filter(r -> r.getStatus() == Resident.ResidentStatus.ACTIVE).count(),
-            (int) allResidents.stream().filter(r -> r.getStatus() == Resident.ResidentStatus.INACTIVE).count(),
-            getOccupiedApartments().size()
-        );
+        /**
+         * Only the rows that were not registered
+         */
+        public List<RegistrationResult> getRejected() {
+            return results.stream()
+                    .filter(result -> !result.isRegistered())
+                    .collect(Collectors.toList());
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("BulkRegistrationReport{rows=%d, registered=%d, rejected=%d}",
+                    results.size(), registeredCount, getRejectedCount());
+        }
     }
     
     /**
@@ -467,13 +869,30 @@ public class ResidentService {
         private final int activeResidents;
         private final int inactiveResidents;
         private final int occupiedApartments;
+        private final long modificationCount;
+        private final Map<String, RoaringBitmap> occupancyByBuilding;
         
         public ResidentStatistics(int totalResidents, int activeResidents, 
                                 int inactiveResidents, int occupiedApartments) {
+            this(totalResidents, activeResidents, inactiveResidents, occupiedApartments, -1);
+        }
+        
+        public ResidentStatistics(int totalResidents, int activeResidents, 
+                                int inactiveResidents, int occupiedApartments,
+                                long modificationCount) {
+            this(totalResidents, activeResidents, inactiveResidents, occupiedApartments,
+                    modificationCount, Collections.emptyMap());
+        }
+        
+        public ResidentStatistics(int totalResidents, int activeResidents, 
+                                int inactiveResidents, int occupiedApartments,
+                                long modificationCount, Map<String, RoaringBitmap> occupancyByBuilding) {
             this.totalResidents = totalResidents;
             this.activeResidents = activeResidents;
             this.inactiveResidents = inactiveResidents;
             this.occupiedApartments = occupiedApartments;
+            this.modificationCount = modificationCount;
+            this.occupancyByBuilding = occupancyByBuilding;
         }
         
         public int getTotalResidents() { return totalResidents; }
@@ -481,6 +900,30 @@ public class ResidentService {
         public int getInactiveResidents() { return inactiveResidents; }
         public int getOccupiedApartments() { return occupiedApartments; }
         
+        /**
+         * Repository modification count these numbers are consistent with
+         * (-1 if unknown)
+         */
+        public long getModificationCount() { return modificationCount; }
+        
+        /**
+         * Read-only occupancy bitmap per building ("" for plain numbers);
+         * bit positions come from OccupancyIndex.position(floor, unit)
+         */
+        public Map<String, RoaringBitmap> getOccupancyByBuilding() { return occupancyByBuilding; }
+        
+        /**
+         * Occupied units on one floor of a building, from the bitmaps
+         */
+        public int getOccupiedUnits(String building, int floor) {
+            RoaringBitmap bitmap = occupancyByBuilding.get(building == null ? "" : building.trim().toUpperCase());
+            if (bitmap == null || floor < 0 || floor > OccupancyIndex.MAX_FLOOR) {
+                return 0;
+            }
+            return bitmap.cardinality(OccupancyIndex.position(floor, 0),
+                    OccupancyIndex.position(floor, OccupancyIndex.UNITS_PER_FLOOR));
+        }
+        
         @Override
         public String toString() {
             return String.format(
@@ -0,0 +1,221 @@
+package com.community.communityApp.service;
+
+import com.community.communityApp.model.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style generator of unique, time-ordered service ids.
+ *
+ * CORE JAVA CONCEPTS DEMONSTRATED:
+ * - Lock-free updates with AtomicLong compare-and-set
+ * - Bit packing of several fields into one long
+ * - Fixed-width base-32 encoding into a char[]
+ * - LongSupplier as an injectable clock
+ *
+ * ID LAYOUT (63 bits, always positive):
+ * - 41 bits: milliseconds since EPOCH_MILLIS (about 69 years)
+ * - 10 bits: node id, distinct per process writing to the same store
+ * - 12 bits: sequence within the millisecond (4096 ids per ms)
+ *
+ * ENCODING: {SERVICE_TYPE}_{13 Crockford base-32 characters}
+ * - e.g. "CLEANING_01J9Z3K4WB000"
+ * - The alphabet is in ASCII order and the width is fixed, so the
+ *   suffixes sort like the numbers they encode: by creation time
+ *
+ * UNIQUENESS:
+ * - The last (timestamp, sequence) pair is one AtomicLong; each id is
+ *   one CAS that moves it strictly forward, so no two threads can ever
+ *   receive the same pair
+ * - A full millisecond (sequence overflow) or a clock that went back
+ *   does not block: the pair simply carries into the next millisecond
+ *   and the wall clock catches up later
+ * - Across restarts, observe() every stored id before generating
+ *   (CommunityService does this), so a clock set back between runs
+ *   cannot reissue an id either
+ */
+public final class ServiceIdGenerator {
+
+    /**
+     * Custom epoch: 2024-01-01T00:00:00Z
+     */
+    public static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    static final int SEQUENCE_BITS = 12;
+    static final int NODE_BITS = 10;
+    static final int TIMESTAMP_BITS = 41;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_STATE = (1L << (TIMESTAMP_BITS + SEQUENCE_BITS)) - 1;
+
+    static final char SEPARATOR = '_';
+    static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private final int nodeId;
+    private final LongSupplier clock;
+
+    /**
+     * Last issued (milliseconds since EPOCH_MILLIS) << SEQUENCE_BITS | sequence
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    /**
+     * Generator for node 0 on the system clock
+     */
+    public ServiceIdGenerator() {
+        this(0);
+    }
+
+    public ServiceIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * @param nodeId 0 to MAX_NODE_ID, unique per process sharing a store
+     * @param clock Wall clock in epoch milliseconds
+     */
+    public ServiceIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Next id for a service type.
+     *
+     * @param serviceType The type, used as the readable id prefix
+     * @return A new id, greater (in suffix order) than every id this
+     *         generator issued or observed before
+     */
+    public String nextId(Service.ServiceType serviceType) {
+        if (serviceType == null) {
+            throw new IllegalArgumentException("Service type cannot be null");
+        }
+        return format(serviceType, nextValue());
+    }
+
+    /**
+     * Next raw 63-bit id.
+     *
+     * LOCK-FREE:
+     * - Read the last pair, compute max(now, last + 1), CAS it in
+     * - A failed CAS means another thread issued an id; retry with
+     *   the newer pair (bounded by the number of competing threads)
+     */
+    public long nextValue() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastState.get();
+            long next = Math.max(now, last + 1);
+            if (next > MAX_STATE) {
+                throw new IllegalStateException("Service id space exhausted");
+            }
+            if (lastState.compareAndSet(last, next)) {
+                return compose(next);
+            }
+        }
+    }
+
+    /**
+     * Make sure later ids sort after an existing one (e.g. loaded from
+     * disk). Ids from other nodes or in another format are harmless to
+     * pass; only the time and sequence of well-formed ids are used.
+     *
+     * @param serviceId A stored service id
+     */
+    public void observe(String serviceId) {
+        long value = parse(serviceId);
+        if (value < 0) {
+            return;
+        }
+        long state = (value >>> (NODE_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | (value & SEQUENCE_MASK);
+        lastState.accumulateAndGet(state, Math::max);
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Creation time of an id in epoch milliseconds, or -1 if the id was
+     * not produced by this scheme
+     */
+    public static long timestampOf(String serviceId) {
+        long value = parse(serviceId);
+        return value < 0 ? -1 : (value >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    /**
+     * Node that issued an id, or -1 if the id was not produced by this scheme
+     */
+    public static int nodeOf(String serviceId) {
+        long value = parse(serviceId);
+        return value < 0 ? -1 : (int) ((value >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    private long compose(long state) {
+        long timestamp = state >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS))
+                | ((long) nodeId << SEQUENCE_BITS)
+                | (state & SEQUENCE_MASK);
+    }
+
+    /**
+     * "{TYPE}_{13 base-32 digits}", built in one char[] (no String.format)
+     */
+    static String format(Service.ServiceType serviceType, long value) {
+        String prefix = serviceType.name();
+        char[] chars = new char[prefix.length() + 1 + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        chars[prefix.length()] = SEPARATOR;
+        for (int i = chars.length - 1; i > prefix.length(); i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Raw value of an id's suffix, or -1 if it is not 13 base-32 digits
+     */
+    static long parse(String serviceId) {
+        if (serviceId == null) {
+            return -1;
+        }
+        int start = serviceId.lastIndexOf(SEPARATOR) + 1;
+        if (start == 0 || serviceId.length() - start != ENCODED_LENGTH) {
+            return -1;
+        }
+        // 13 digits hold 65 bits; a 63-bit id leaves the top two clear
+        if (serviceId.charAt(start) > '7') {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < serviceId.length(); i++) {
+            char c = serviceId.charAt(i);
+            int digit = c < DIGITS.length ? DIGITS[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+}
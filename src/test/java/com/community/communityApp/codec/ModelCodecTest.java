@@ -0,0 +1,201 @@
+package com.community.communityApp.codec;
+
+import com.community.communityApp.model.Administrator;
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.model.Service;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for the binary model codecs.
+ */
+class ModelCodecTest {
+
+    private final ResidentCodec residentCodec = new ResidentCodec();
+    private final ServiceCodec serviceCodec = new ServiceCodec();
+
+    @Test
+    void residentRoundTripKeepsEveryField() {
+        Resident resident = new Resident("John Doe", "john.doe@email.com", LocalDate.of(1985, 5, 15), "101", 2);
+        resident.setStatus(Resident.ResidentStatus.SUSPENDED);
+        resident.setPhoneNumber("555-0101");
+        resident.addServiceRequest("Fix sink");
+        resident.addServiceRequest("Fix sink");
+        resident.addEmergencyContact("Mary Doe");
+        resident.setPreference("sms_notifications", "true");
+        resident.setPreference("language", "es");
+
+        Resident decoded = roundTrip(resident);
+
+        assertEquals(Resident.class, decoded.getClass());
+        assertResidentFieldsEqual(resident, decoded);
+    }
+
+    @Test
+    void residentWithNullsRoundTrips() {
+        Resident resident = new Resident("Jane Smith", "jane@email.com", null, "a-7", null);
+
+        Resident decoded = roundTrip(resident);
+
+        assertNull(decoded.getBirthDate());
+        assertNull(decoded.getUnitCount());
+        assertTrue(decoded.getPhoneNumber().isEmpty());
+        assertResidentFieldsEqual(resident, decoded);
+    }
+
+    @Test
+    void administratorRoundTripKeepsHistoryAndMetadata() {
+        Administrator admin = new Administrator("Robert Johnson", "robert.admin@email.com",
+                LocalDate.of(1975, 3, 10), "201", 3, Administrator.AdminRole.TREASURER);
+        admin.addPermission("audit_logs");
+        admin.recordAction("BUDGET_REVIEW", "Reviewed Q3 budget");
+        admin.setMetadata("term", 2);
+        admin.setMetadata("budgetLimit", 2500.5);
+        admin.setMetadata("elected", true);
+        admin.setMetadata("termEnds", LocalDate.of(2027, 1, 31));
+        admin.setMetadata("note", null);
+
+        Resident decoded = roundTrip(admin);
+
+        assertEquals(Administrator.class, decoded.getClass());
+        Administrator restored = (Administrator) decoded;
+        assertResidentFieldsEqual(admin, restored);
+        assertEquals(admin.getAdminRole(), restored.getAdminRole());
+        assertEquals(admin.getAppointmentDate(), restored.getAppointmentDate());
+        assertEquals(admin.getPermissions(), restored.getPermissions());
+        assertEquals(admin.getAllMetadata(), restored.getAllMetadata());
+
+        List<Administrator.AdminAction> expected = admin.getAdminActions();
+        List<Administrator.AdminAction> actual = restored.getAdminActions();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+            assertEquals(expected.get(i).getAction(), actual.get(i).getAction());
+            assertEquals(expected.get(i).getDescription(), actual.get(i).getDescription());
+        }
+    }
+
+    @Test
+    void serviceRoundTripKeepsLifecycleAndMetadata() {
+        Service service = Service.builder()
+                .serviceId("SRV-1")
+                .serviceType(Service.ServiceType.CLEANING)
+                .description("Deep clean of the lobby")
+                .providerName("CleanCo")
+                .estimatedCost(150.0)
+                .requestedBy("101")
+                .addRequirement("Bring ladder")
+                .addTag("lobby")
+                .build();
+        service.setMetadata("floor", 1);
+        service.setMetadata("visits", 12L);
+        service.setMetadata("urgent", false);
+        service.setMetadata("window", LocalDateTime.of(2030, 6, 3, 9, 30, 15, 123_456_789));
+        service.scheduleService(LocalDateTime.of(2030, 6, 3, 9, 0));
+
+        Service decoded = roundTrip(service);
+
+        assertEquals(service.getServiceId(), decoded.getServiceId());
+        assertEquals(service.getServiceType(), decoded.getServiceType());
+        assertEquals(service.getDescription(), decoded.getDescription());
+        assertEquals(service.getProviderName(), decoded.getProviderName());
+        assertEquals(service.getEstimatedCost(), decoded.getEstimatedCost());
+        assertEquals(service.getRequestedBy(), decoded.getRequestedBy());
+        assertEquals(Service.ServiceStatus.SCHEDULED, decoded.getStatus());
+        assertEquals(service.getRequestedAt(), decoded.getRequestedAt());
+        assertEquals(service.getScheduledAt(), decoded.getScheduledAt());
+        assertEquals(service.getCompletedAt(), decoded.getCompletedAt());
+        assertEquals(service.getRequirements(), decoded.getRequirements());
+        assertEquals(service.getTags(), decoded.getTags());
+        assertEquals(service.getAllMetadata(), decoded.getAllMetadata());
+    }
+
+    @Test
+    void serviceWithoutCostRoundTrips() {
+        Service service = new Service("SRV-2", Service.ServiceType.SECURITY, "Night patrol",
+                "SafeGuard", null, "B-12");
+
+        Service decoded = roundTrip(service);
+
+        assertNull(decoded.getEstimatedCost());
+        assertEquals(Service.ServiceStatus.REQUESTED, decoded.getStatus());
+        assertTrue(decoded.getScheduledAt().isEmpty());
+    }
+
+    @Test
+    void streamSharesDictionaryAcrossRecords() {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        BinaryWriter writer = new BinaryWriter(buffer);
+        int separateBytes = 0;
+        for (int i = 0; i < 10; i++) {
+            Service service = new Service("SRV-" + i, Service.ServiceType.GARDENING, "Trim hedges",
+                    "Green Thumb Landscaping", 80.0, "301");
+            serviceCodec.encodeTo(service, writer);
+            separateBytes += serviceCodec.encode(service).length;
+        }
+        assertTrue(writer.size() < separateBytes, "stream should reuse repeated strings");
+
+        buffer.flip();
+        BinaryReader reader = new BinaryReader(buffer);
+        for (int i = 0; i < 10; i++) {
+            Service decoded = serviceCodec.decodeFrom(reader);
+            assertEquals("SRV-" + i, decoded.getServiceId());
+            assertEquals("Green Thumb Landscaping", decoded.getProviderName());
+        }
+        assertFalse(reader.hasRemaining());
+    }
+
+    @Test
+    void fullCallerBufferOverflows() {
+        Resident resident = new Resident("John Doe", "john.doe@email.com", null, "101", 2);
+
+        assertThrows(BufferOverflowException.class,
+                () -> residentCodec.encodeTo(resident, new BinaryWriter(ByteBuffer.allocate(8))));
+    }
+
+    @Test
+    void newerFormatVersionIsRejected() {
+        byte[] bytes = residentCodec.encode(new Resident("John Doe", "john.doe@email.com", null, "101", 2));
+        bytes[0] = (byte) (ModelCodec.FORMAT_VERSION + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> residentCodec.decode(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void unsupportedMetadataTypeIsRejected() {
+        Service service = new Service("SRV-3", Service.ServiceType.MAINTENANCE, "Fix door",
+                "Fix-It-Fast", 40.0, "102");
+        service.setMetadata("parts", new Object());
+
+        assertThrows(IllegalArgumentException.class, () -> serviceCodec.encode(service));
+    }
+
+    private Resident roundTrip(Resident resident) {
+        return residentCodec.decode(ByteBuffer.wrap(residentCodec.encode(resident)));
+    }
+
+    private Service roundTrip(Service service) {
+        return serviceCodec.decode(ByteBuffer.wrap(serviceCodec.encode(service)));
+    }
+
+    private static void assertResidentFieldsEqual(Resident expected, Resident actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getEmail(), actual.getEmail());
+        assertEquals(expected.getBirthDate(), actual.getBirthDate());
+        assertEquals(expected.getAge(), actual.getAge());
+        assertEquals(expected.getApartmentNumber(), actual.getApartmentNumber());
+        assertEquals(expected.getUnitCount(), actual.getUnitCount());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPhoneNumber(), actual.getPhoneNumber());
+        assertEquals(expected.getServiceRequests(), actual.getServiceRequests());
+        assertEquals(expected.getEmergencyContacts(), actual.getEmergencyContacts());
+        assertEquals(expected.getAllPreferences(), actual.getAllPreferences());
+    }
+}
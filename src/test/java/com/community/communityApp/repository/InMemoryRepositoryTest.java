@@ -0,0 +1,71 @@
+package com.community.communityApp.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Consistent reads against writers that never pause.
+ */
+class InMemoryRepositoryTest {
+
+    private static final int WRITERS = 4;
+    private static final int READS = 200;
+
+    @Test
+    void readConsistentCompletesUnderOverlappingWriters() throws Exception {
+        InMemoryRepository<Item, Long> repository = new InMemoryRepository<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong nextId = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            writers.add(pool.submit(() -> {
+                while (running.get()) {
+                    repository.save(new Item(nextId.incrementAndGet()));
+                }
+                return null;
+            }));
+        }
+
+        // Each save adds one new id and one modification, so a consistent
+        // read always sees both numbers equal
+        Future<?> reads = pool.submit(() -> {
+            for (int i = 0; i < READS; i++) {
+                long[] snapshot = repository.readConsistent(modifications ->
+                        new long[]{modifications, repository.count()});
+                assertEquals(snapshot[0], snapshot[1], "read overlapped a write");
+            }
+            return null;
+        });
+        try {
+            reads.get(30, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            pool.shutdown();
+        }
+    }
+
+    private static final class Item implements Identifiable<Long> {
+        private Long id;
+
+        Item(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() { return id; }
+
+        @Override
+        public void setId(Long id) { this.id = id; }
+    }
+}
@@ -0,0 +1,130 @@
+package com.community.communityApp.repository;
+
+import com.community.communityApp.codec.ResidentCodec;
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.persistence.FsyncPolicy;
+import com.community.communityApp.persistence.RecordCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Durability tests: what a reopened repository holds must be what the
+ * live one held when it was closed.
+ */
+class PersistentRepositoryTest {
+
+    private static final String EMAIL = "ana@example.com";
+
+    @Test
+    void racingSavesOfOneEntityReplayToItsLatestState(@TempDir Path directory) throws Exception {
+        RecordCodec<String> ids = RecordCodec.utf8();
+        PausingCodec codec = new PausingCodec();
+        Resident shared = new Resident("Ana Lima", EMAIL, LocalDate.of(1980, 1, 1), "101", 1);
+
+        try (PersistentRepository<Resident, String> repository =
+                     new PersistentRepository<>(directory, codec, ids, FsyncPolicy.OS_DEFAULT)) {
+            repository.save(shared);
+
+            // A saves "555-A" but stalls right after encoding it...
+            shared.setPhoneNumber("555-A");
+            codec.pauseNextEncode();
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            Future<?> first = pool.submit(() -> repository.update(shared));
+            assertTrue(codec.paused.await(10, TimeUnit.SECONDS));
+
+            // ...while B changes the resident and saves it too
+            Future<?> second = pool.submit(() -> {
+                shared.setPhoneNumber("555-B");
+                repository.save(shared);
+                codec.secondSaved.countDown();
+            });
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+            pool.shutdown();
+        }
+
+        try (PersistentRepository<Resident, String> reopened =
+                     new PersistentRepository<>(directory, new ResidentCodec(), ids, FsyncPolicy.OS_DEFAULT)) {
+            assertEquals("555-B", reopened.findById(EMAIL).orElseThrow().getPhoneNumber().orElseThrow(),
+                    "replay must end in the state memory ended in");
+        }
+    }
+
+    @Test
+    void snapshotHoldsOnlyLoggedChanges(@TempDir Path directory) {
+        RecordCodec<String> ids = RecordCodec.utf8();
+        Resident saved = new Resident("Ana Lima", EMAIL, LocalDate.of(1980, 1, 1), "101", 1);
+        Resident deleted = new Resident("Bo Li", "bo@example.com", LocalDate.of(1975, 3, 10), "102", 2);
+        try (PersistentRepository<Resident, String> repository =
+                     new PersistentRepository<>(directory, new ResidentCodec(), ids, FsyncPolicy.OS_DEFAULT)) {
+            saved.setPhoneNumber("555-0101");
+            repository.save(saved);
+            repository.save(deleted);
+            repository.deleteById(deleted.getId());
+
+            // Changed in place but never saved (e.g. a save that failed)
+            saved.setPhoneNumber("555-9999");
+            repository.snapshot();
+        }
+
+        try (PersistentRepository<Resident, String> reopened =
+                     new PersistentRepository<>(directory, new ResidentCodec(), ids, FsyncPolicy.OS_DEFAULT)) {
+            assertEquals(1, reopened.count());
+            assertEquals("555-0101", reopened.findById(EMAIL).orElseThrow().getPhoneNumber().orElseThrow());
+
+            // The image plus later records still replay as before
+            Resident reloaded = reopened.findById(EMAIL).orElseThrow();
+            reloaded.setPhoneNumber("555-0202");
+            reopened.save(reloaded);
+        }
+
+        try (PersistentRepository<Resident, String> reopened =
+                     new PersistentRepository<>(directory, new ResidentCodec(), ids, FsyncPolicy.OS_DEFAULT)) {
+            assertEquals("555-0202", reopened.findById(EMAIL).orElseThrow().getPhoneNumber().orElseThrow());
+        }
+    }
+
+    /**
+     * Resident codec that can hold one encode until another save finished
+     * (or, if that save is blocked behind it, for PAUSE_MILLIS)
+     */
+    private static final class PausingCodec implements RecordCodec<Resident> {
+        private static final long PAUSE_MILLIS = 300;
+
+        private final ResidentCodec delegate = new ResidentCodec();
+        private final CountDownLatch paused = new CountDownLatch(1);
+        private final CountDownLatch secondSaved = new CountDownLatch(1);
+        private volatile boolean pauseNext;
+
+        void pauseNextEncode() {
+            pauseNext = true;
+        }
+
+        @Override
+        public byte[] encode(Resident value) {
+            byte[] bytes = delegate.encode(value);
+            if (pauseNext) {
+                pauseNext = false;
+                paused.countDown();
+                try {
+                    secondSaved.await(PAUSE_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return bytes;
+        }
+
+        @Override
+        public Resident decode(ByteBuffer buffer) {
+            return delegate.decode(buffer);
+        }
+    }
+}
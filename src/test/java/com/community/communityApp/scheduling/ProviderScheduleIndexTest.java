@@ -0,0 +1,108 @@
+package com.community.communityApp.scheduling;
+
+import com.community.communityApp.exception.DuplicateKeyException;
+import com.community.communityApp.model.Service;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Booking rules of the provider schedule index: a provider slot is held
+ * by at most one service, whatever order callers and saves arrive in.
+ */
+class ProviderScheduleIndexTest {
+
+    private static final String PROVIDER = "Fix-It-Fast";
+    private static final LocalDateTime MONDAY_NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+    private static final LocalDateTime TUESDAY_NINE = MONDAY_NINE.plusDays(1);
+
+    private final ProviderScheduleIndex index = new ProviderScheduleIndex();
+
+    @Test
+    void secondCallerCannotMoveAnotherCallersReservation() {
+        Service contested = service("S1");
+        Service other = service("S2");
+
+        assertTrue(index.tryBook(contested, MONDAY_NINE));
+        assertFalse(index.tryBook(contested, TUESDAY_NINE), "S1 is already being scheduled");
+        assertFalse(index.tryBook(other, MONDAY_NINE), "the Monday slot must stay taken");
+
+        // The first caller commits; the refused ones never touched the index
+        contested.scheduleService(MONDAY_NINE);
+        index.onSave(contested.getServiceId(), contested);
+        assertEquals(List.of("S1"), bookedServices());
+    }
+
+    @Test
+    void saveOfRequestedServiceKeepsItsReservation() {
+        Service contested = service("S1");
+        assertTrue(index.tryBook(contested, MONDAY_NINE));
+
+        index.onSave(contested.getServiceId(), contested);
+
+        assertFalse(index.tryBook(service("S2"), MONDAY_NINE));
+        assertEquals(List.of("S1"), bookedServices());
+    }
+
+    @Test
+    void saveOfAnOverlappingBookingIsRejected() {
+        Service first = service("S1");
+        Service second = service("S2");
+        first.scheduleService(MONDAY_NINE);
+        second.scheduleService(MONDAY_NINE.plusHours(1));
+        index.reserve(first.getServiceId(), first);
+        index.onSave(first.getServiceId(), first);
+
+        DuplicateKeyException rejected = assertThrows(DuplicateKeyException.class,
+                () -> index.reserve(second.getServiceId(), second));
+
+        assertEquals(ProviderScheduleIndex.NAME, rejected.getIndexName());
+        assertEquals(List.of("S1"), bookedServices());
+    }
+
+    @Test
+    void releasedClaimFreesTheSlot() {
+        Service first = service("S1");
+        first.scheduleService(MONDAY_NINE);
+        index.reserve(first.getServiceId(), first);
+
+        assertFalse(index.tryBook(service("S2"), MONDAY_NINE), "a claimed slot is taken");
+        index.release(first.getServiceId(), first);
+
+        assertTrue(index.tryBook(service("S2"), MONDAY_NINE));
+    }
+
+    @Test
+    void leavingScheduledReleasesTheSlot() {
+        Service first = service("S1");
+        assertTrue(index.tryBook(first, MONDAY_NINE));
+        first.scheduleService(MONDAY_NINE);
+        index.onSave(first.getServiceId(), first);
+
+        first.cancelService();
+        index.onSave(first.getServiceId(), first);
+
+        assertTrue(index.tryBook(service("S2"), MONDAY_NINE));
+        assertEquals(List.of("S2"), bookedServices());
+    }
+
+    private List<String> bookedServices() {
+        return index.getBookings(PROVIDER).stream()
+                .map(ProviderScheduleIndex.Booking::getServiceId)
+                .toList();
+    }
+
+    private static Service service(String id) {
+        return Service.builder()
+                .serviceId(id)
+                .serviceType(Service.ServiceType.CLEANING)
+                .description("Stairwell cleaning")
+                .providerName(PROVIDER)
+                .estimatedCost(80.0)
+                .requestedBy("101")
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.community.communityApp.service;
+
+import com.community.communityApp.exception.DuplicateKeyException;
+import com.community.communityApp.model.Service;
+import com.community.communityApp.repository.InMemoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Service layer tests that need control over the repository underneath.
+ */
+class CommunityServiceTest {
+
+    private static final String PROVIDER = "Fix-It-Fast";
+    private static final LocalDateTime MONDAY_NINE = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private final PrintStream originalOut = System.out;
+    private FailingRepository repository;
+    private CommunityService communityService;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        repository = new FailingRepository();
+        communityService = new CommunityService(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void failedBatchSaveLeavesTheBacklogUntouched() {
+        Service first = request("Stairwell cleaning");
+        Service second = request("Lobby cleaning");
+
+        repository.failNextBatch = true;
+        assertThrows(IllegalStateException.class,
+                () -> communityService.autoScheduleRequested(MONDAY_NINE, MONDAY_NINE.plusDays(7)));
+
+        for (Service service : List.of(first, second)) {
+            assertEquals(Service.ServiceStatus.REQUESTED, service.getStatus());
+            assertTrue(service.getScheduledAt().isEmpty());
+        }
+        assertEquals(2, communityService.getServicesByStatus(Service.ServiceStatus.REQUESTED).size());
+        assertEquals(MONDAY_NINE, communityService.findNextAvailableSlot(PROVIDER, Service.ServiceType.CLEANING,
+                MONDAY_NINE).orElseThrow(), "the planned slots must be free again");
+
+        CommunityService.BatchScheduleResult retry =
+                communityService.autoScheduleRequested(MONDAY_NINE, MONDAY_NINE.plusDays(7));
+        assertEquals(2, retry.getScheduled().size());
+    }
+
+    @Test
+    void requesterPageContinuesAfterItsCursorWasDeleted() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(Service.builder()
+                    .serviceId("S" + i)
+                    .serviceType(Service.ServiceType.MAINTENANCE)
+                    .description("Request " + i)
+                    .providerName(PROVIDER)
+                    .estimatedCost(40.0)
+                    .requestedBy("101")
+                    .requestedAt(MONDAY_NINE.minusDays(10).plusHours(i))
+                    .build());
+        }
+
+        List<Service> first = communityService.getServicesByRequesterPage("101", null, null, 2);
+        assertEquals(List.of("S4", "S3"), ids(first));
+
+        Service cursor = first.get(first.size() - 1);
+        assertTrue(repository.deleteById(cursor.getServiceId()));
+
+        List<Service> second = communityService.getServicesByRequesterPage("101", cursor.getRequestedAt(),
+                cursor.getServiceId(), 2);
+        assertEquals(List.of("S2", "S1"), ids(second));
+    }
+
+    private static List<String> ids(List<Service> services) {
+        return services.stream().map(Service::getServiceId).toList();
+    }
+
+    private Service request(String description) {
+        return communityService.requestService(Service.ServiceType.CLEANING, description, PROVIDER, 80.0, "101");
+    }
+
+    /**
+     * Repository whose next batch save fails halfway, after the first
+     * entity was written
+     */
+    private static final class FailingRepository extends InMemoryRepository<Service, String> {
+        private volatile boolean failNextBatch;
+
+        @Override
+        public List<Service> saveAll(Collection<? extends Service> entities,
+                                     BiConsumer<? super Service, ? super DuplicateKeyException> onRejected) {
+            if (!failNextBatch) {
+                return super.saveAll(entities, onRejected);
+            }
+            failNextBatch = false;
+            super.saveAll(List.copyOf(entities).subList(0, 1), onRejected);
+            throw new IllegalStateException("disk full");
+        }
+    }
+}
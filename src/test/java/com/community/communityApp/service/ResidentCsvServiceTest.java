@@ -0,0 +1,65 @@
+package com.community.communityApp.service;
+
+import com.community.communityApp.model.Administrator;
+import com.community.communityApp.model.Resident;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for the resident CSV import and export: whatever the
+ * store holds, exporting it and importing the file must bring it back.
+ */
+class ResidentCsvServiceTest {
+
+    @Test
+    void exportedResidentsImportIntoAnEmptyService(@TempDir Path directory) {
+        ResidentService source = new ResidentService();
+        Resident withoutBirthDate = new Resident("Ana Lima", "ana@example.com", null, "101", null);
+        Resident accented = new Resident("Ñandú Pérez", "nandu@example.com", LocalDate.of(1980, 2, 29), "102", 2);
+        accented.setPhoneNumber("+54 11 5555-0102");
+        Resident quoted = new Administrator("Bo, \"Jr\" Li", "bo@example.com", LocalDate.of(1975, 3, 10), "201", 3,
+                Administrator.AdminRole.TREASURER);
+        quoted.setStatus(Resident.ResidentStatus.SUSPENDED);
+        for (Resident resident : List.of(withoutBirthDate, accented, quoted)) {
+            source.registerResident(resident);
+        }
+
+        Path file = directory.resolve("residents.csv");
+        assertEquals(3, new ResidentCsvService(source).exportCsv(file));
+
+        ResidentService target = new ResidentService();
+        ResidentCsvService.ImportReport report = new ResidentCsvService(target).importCsv(file);
+
+        assertEquals(3, report.getRegistered(), () -> "rejected: " + report.getErrors());
+        assertEquals(0, report.getRejected());
+        for (Resident original : List.of(withoutBirthDate, accented, quoted)) {
+            Resident imported = target.findByEmail(original.getEmail()).orElseThrow();
+            assertEquals(original.getClass(), imported.getClass());
+            assertEquals(original.getName(), imported.getName());
+            assertEquals(original.getBirthDate(), imported.getBirthDate());
+            assertEquals(original.getApartmentNumber(), imported.getApartmentNumber());
+            assertEquals(original.getUnitCount(), imported.getUnitCount());
+            assertEquals(original.getStatus(), imported.getStatus());
+            assertEquals(original.getPhoneNumber(), imported.getPhoneNumber());
+        }
+    }
+
+    @Test
+    void headerWithoutBirthDateIsAccepted(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("minimal.csv");
+        Files.writeString(file, "name,email,apartmentNumber\nAna Lima,ana@example.com,101\n");
+
+        ResidentService target = new ResidentService();
+        ResidentCsvService.ImportReport report = new ResidentCsvService(target).importCsv(file);
+
+        assertEquals(1, report.getRegistered(), () -> "rejected: " + report.getErrors());
+        assertNull(target.findByEmail("ana@example.com").orElseThrow().getBirthDate());
+    }
+}
@@ -0,0 +1,61 @@
+package com.community.communityApp.service;
+
+import com.community.communityApp.model.Resident;
+import com.community.communityApp.repository.HashIndex;
+import com.community.communityApp.repository.InMemoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Registration and lookup rules of the resident service.
+ */
+class ResidentServiceTest {
+
+    @Test
+    void bulkRowRejectedByAnotherUniqueIndexIsNotCalledADuplicateApartment() {
+        InMemoryRepository<Resident, String> repository = new InMemoryRepository<>();
+        repository.addIndex(HashIndex.<Resident, String, String>unique("resident.phone",
+                resident -> resident.getPhoneNumber().orElse(null)));
+        ResidentService residentService = new ResidentService(repository);
+
+        Resident first = resident("Ana Lima", "ana@example.com", "101");
+        Resident second = resident("Bo Li", "bo@example.com", "102");
+        first.setPhoneNumber("555-0101");
+        second.setPhoneNumber("555-0101");
+
+        ResidentService.BulkRegistrationReport report = residentService.registerAll(List.of(first, second));
+
+        assertEquals(1, report.getRegisteredCount());
+        ResidentService.RegistrationResult rejected = report.getRejected().get(0);
+        assertEquals(ResidentService.RegistrationStatus.DUPLICATE_KEY, rejected.getStatus());
+        assertTrue(rejected.getMessage().contains("resident.phone"), rejected::getMessage);
+    }
+
+    @Test
+    void bareUpperBoundIncludesTheUnitsSuffixedApartments() {
+        ResidentService residentService = new ResidentService();
+        for (String apartment : List.of("200", "299", "299A", "299-B", "300", "B-205")) {
+            residentService.registerResident(resident("Resident " + apartment,
+                    apartment.toLowerCase() + "@example.com", apartment));
+        }
+
+        assertEquals(List.of("200", "299", "299A", "299-B"),
+                apartments(residentService.findResidentsByApartmentRange("200", "299")));
+        assertEquals(List.of("200", "299", "299A"),
+                apartments(residentService.findResidentsByApartmentRange("200", "299A")));
+        assertEquals(List.of("B-205"),
+                apartments(residentService.findResidentsByApartmentRange("B205", "B205")));
+    }
+
+    private static List<String> apartments(List<Resident> residents) {
+        return residents.stream().map(Resident::getApartmentNumber).toList();
+    }
+
+    private static Resident resident(String name, String email, String apartment) {
+        return new Resident(name, email, LocalDate.of(1980, 1, 1), apartment, 1);
+    }
+}
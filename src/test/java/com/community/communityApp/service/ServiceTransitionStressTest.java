@@ -0,0 +1,233 @@
+package com.community.communityApp.service;
+
+import com.community.communityApp.codec.ServiceCodec;
+import com.community.communityApp.exception.ServiceException;
+import com.community.communityApp.model.Service;
+import com.community.communityApp.persistence.FsyncPolicy;
+import com.community.communityApp.persistence.RecordCodec;
+import com.community.communityApp.repository.PersistentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.PrintStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for the compare-and-set service lifecycle: many threads
+ * drive one service at once and exactly one may win each step.
+ */
+class ServiceTransitionStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 200;
+
+    private final PrintStream originalOut = System.out;
+    private ExecutorService pool;
+    private CommunityService communityService;
+
+    @BeforeEach
+    void setUp() {
+        // The service layer logs every transition; keep the test output readable
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        pool = Executors.newFixedThreadPool(THREADS);
+        communityService = new CommunityService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void startRacingCancelHasExactlyOneWinner() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Service service = scheduledService(round);
+            String serviceId = service.getServiceId();
+
+            List<Service.Transition> outcomes = race(thread -> communityService.tryTransition(serviceId,
+                    thread % 2 == 0 ? Service.ServiceStatus.IN_PROGRESS : Service.ServiceStatus.CANCELLED));
+
+            Service.Transition winner = singleWinner(outcomes);
+            assertEquals(Service.ServiceStatus.SCHEDULED, winner.getPrevious().getStatus());
+            for (Service.Transition outcome : outcomes) {
+                if (!outcome.isApplied()) {
+                    assertEquals(winner.getCurrent().getStatus(), outcome.getCurrent().getStatus(),
+                            "losers must see the state that won");
+                }
+            }
+
+            Service.ServiceStatus finalStatus = winner.getCurrent().getStatus();
+            assertEquals(finalStatus, service.getStatus());
+            assertTrue(communityService.getServicesByStatus(finalStatus).contains(service));
+            assertFalse(communityService.getServicesByStatus(Service.ServiceStatus.SCHEDULED).contains(service));
+            if (finalStatus == Service.ServiceStatus.IN_PROGRESS) {
+                assertTrue(service.getStartedAt().isPresent());
+            }
+        }
+    }
+
+    @Test
+    void cancelledServiceReleasesItsSlot() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Service service = scheduledService(round);
+            String serviceId = service.getServiceId();
+
+            race(thread -> communityService.tryTransition(serviceId, Service.ServiceStatus.CANCELLED));
+
+            assertEquals(Service.ServiceStatus.CANCELLED, service.getStatus());
+            Service next = communityService.requestService(Service.ServiceType.CLEANING, "Same slot",
+                    service.getProviderName(), 50.0, "10" + round);
+            communityService.scheduleService(next.getServiceId(), service.getScheduledAt().orElseThrow());
+        }
+    }
+
+    @Test
+    void everyTargetAtOnceFollowsTheStateMachine() throws Exception {
+        Service.ServiceStatus[] targets = {
+            Service.ServiceStatus.IN_PROGRESS, Service.ServiceStatus.COMPLETED,
+            Service.ServiceStatus.FAILED, Service.ServiceStatus.CANCELLED
+        };
+        for (int round = 0; round < ROUNDS; round++) {
+            Service service = scheduledService(round);
+            String serviceId = service.getServiceId();
+
+            List<Service.Transition> outcomes = race(thread -> {
+                // Each thread keeps trying its target until the service is terminal
+                Service.ServiceStatus target = targets[thread % targets.length];
+                Service.Transition last;
+                do {
+                    last = communityService.tryTransition(serviceId, target);
+                } while (!last.isApplied() && !last.getCurrent().getStatus().isTerminal());
+                return last;
+            });
+
+            List<Service.Transition> applied = new ArrayList<>();
+            for (Service.Transition outcome : outcomes) {
+                if (outcome.isApplied()) {
+                    applied.add(outcome);
+                }
+            }
+            // SCHEDULED → CANCELLED, or SCHEDULED → IN_PROGRESS → COMPLETED/FAILED
+            applied.sort((a, b) -> Integer.compare(a.getPrevious().getStatus().ordinal(),
+                    b.getPrevious().getStatus().ordinal()));
+            Service.ServiceStatus status = Service.ServiceStatus.SCHEDULED;
+            for (Service.Transition step : applied) {
+                assertEquals(status, step.getPrevious().getStatus());
+                assertTrue(status.canTransitionTo(step.getCurrent().getStatus()));
+                status = step.getCurrent().getStatus();
+            }
+            assertTrue(status.isTerminal(), "service should end terminal, was " + status);
+            assertEquals(status, service.getStatus());
+            assertEquals(1, countStatus(service, status), "status index must hold the service once");
+        }
+    }
+
+    @Test
+    void losingCallersOfStartServiceGetATransitionError() throws Exception {
+        Service service = scheduledService(0);
+        String serviceId = service.getServiceId();
+
+        List<String> outcomes = race(thread -> {
+            try {
+                communityService.startService(serviceId);
+                return "started";
+            } catch (ServiceException e) {
+                return e.getErrorCode();
+            }
+        });
+
+        assertEquals(1, outcomes.stream().filter("started"::equals).count());
+        assertEquals(THREADS - 1, outcomes.stream().filter("INVALID_STATE_TRANSITION"::equals).count());
+        assertEquals(Service.ServiceStatus.IN_PROGRESS, service.getStatus());
+    }
+
+    @Test
+    void transitionsArePersisted(@TempDir Path directory) {
+        RecordCodec<String> ids = RecordCodec.utf8();
+        String started;
+        String cancelled;
+        try (PersistentRepository<Service, String> repository =
+                     new PersistentRepository<>(directory, new ServiceCodec(), ids, FsyncPolicy.OS_DEFAULT)) {
+            communityService = new CommunityService(repository);
+            started = scheduledService(0).getServiceId();
+            cancelled = scheduledService(1).getServiceId();
+            communityService.startService(started);
+            communityService.cancelService(cancelled);
+        }
+
+        try (PersistentRepository<Service, String> reopened =
+                     new PersistentRepository<>(directory, new ServiceCodec(), ids, FsyncPolicy.OS_DEFAULT)) {
+            Service startedService = reopened.findById(started).orElseThrow();
+            assertEquals(Service.ServiceStatus.IN_PROGRESS, startedService.getStatus());
+            assertTrue(startedService.getStartedAt().isPresent());
+            assertEquals(Service.ServiceStatus.CANCELLED, reopened.findById(cancelled).orElseThrow().getStatus());
+        }
+    }
+
+    /**
+     * A SCHEDULED service with its own provider and a future weekday slot
+     */
+    private Service scheduledService(int round) {
+        Service service = communityService.requestService(Service.ServiceType.CLEANING, "Stairwell cleaning",
+                "Provider " + round, 80.0, "A-" + round);
+        LocalDateTime slot = LocalDateTime.now().plusWeeks(1)
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .withHour(9).withMinute(0).withSecond(0).withNano(0);
+        return communityService.scheduleService(service.getServiceId(), slot);
+    }
+
+    /**
+     * Run one task per thread, released together by a start gate
+     */
+    private <R> List<R> race(IntFunction<R> task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<R>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int id = thread;
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                start.await();
+                return task.apply(id);
+            }));
+        }
+        ready.await();
+        start.countDown();
+        List<R> results = new ArrayList<>();
+        for (Future<R> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static Service.Transition singleWinner(List<Service.Transition> outcomes) {
+        Service.Transition winner = null;
+        for (Service.Transition outcome : outcomes) {
+            if (outcome.isApplied()) {
+                assertNull(winner, "two callers won the same transition");
+                winner = outcome;
+            }
+        }
+        assertNotNull(winner, "no caller won");
+        return winner;
+    }
+
+    private long countStatus(Service service, Service.ServiceStatus status) {
+        return communityService.getServicesByStatus(status).stream()
+                .filter(service::equals)
+                .count();
+    }
+}